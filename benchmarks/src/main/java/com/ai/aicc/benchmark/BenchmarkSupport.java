@@ -0,0 +1,76 @@
+package com.ai.aicc.benchmark;
+
+import com.ai.aicc.AiCodeConverterApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Inputs and application context shared by the benchmarks.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class BenchmarkSupport {
+
+    /** Returned by the fake backend for every conversion */
+    public static final String CONVERTED_CODE = """
+            def total(items):
+                return sum(item * 3 for item in items)
+            """;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Generates Java source code of exactly the given size, made of distinct methods so that the
+     * tokenizer sees realistic identifiers and numbers rather than one repeated chunk.
+     *
+     * @param bytes Size of the source in bytes (ASCII, so also in characters)
+     * @return The source code; cut off mid-method at the requested size
+     */
+    public static String javaSource(int bytes) {
+        StringBuilder code = new StringBuilder(bytes + 256).append("public class Orders {\n");
+        for (int i = 0; code.length() < bytes; i++) {
+            code.append("    public int total").append(i).append("(int[] items) {\n")
+                    .append("        int sum = 0;\n")
+                    .append("        for (int item : items) {\n")
+                    .append("            sum += item * ").append(i % 7 + 1).append(";\n")
+                    .append("        }\n")
+                    .append("        return sum;\n")
+                    .append("    }\n\n");
+        }
+        code.setLength(bytes);
+        return code.toString();
+    }
+
+    /**
+     * Starts the application without a web server, with every Azure OpenAI call answered by a
+     * {@link FakeOpenAIHttpClient}.
+     *
+     * <p>The result cache, conversion templates and the local fast path are disabled so each
+     * conversion takes the full path to the client, and INFO logging is turned off so the numbers
+     * are not dominated by log appenders.
+     *
+     * @return The running context; close it in the benchmark's tear-down
+     */
+    public static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(AiCodeConverterApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(context -> context.getBeanFactory()
+                        .registerSingleton("fakeOpenAIHttpClient", new FakeOpenAIHttpClient(CONVERTED_CODE)))
+                .run(
+                        // Command-line arguments, so they take precedence over application.properties
+                        "--azure.openai.endpoint=https://benchmark.openai.azure.com/",
+                        "--azure.openai.api-key=benchmark",
+                        "--azure.openai.deployment-name=benchmark",
+                        "--aicc.cache.enabled=false",
+                        "--aicc.cache.fingerprint.enabled=false",
+                        "--aicc.fast-path.enabled=false",
+                        "--aicc.upstream.limiter.enabled=false",
+                        "--aicc.jobs.workers=1",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.ai.aicc=WARN",
+                        "--spring.main.banner-mode=off");
+    }
+}
@@ -0,0 +1,94 @@
+package com.ai.aicc.benchmark;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-process stand-in for the HTTP transport of the Azure OpenAI clients.
+ *
+ * <p>Every request is answered immediately with the same chat completion, without a socket or
+ * thread hop. The SDK still builds, signs and serializes the request and parses the response, so a
+ * benchmark through this client measures everything the service does except the network and the
+ * model.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class FakeOpenAIHttpClient implements HttpClient {
+
+    private final byte[] completion;
+    private final HttpHeaders headers = new HttpHeaders()
+            .set(HttpHeaderName.CONTENT_TYPE, "application/json");
+
+    /**
+     * @param convertedCode Content of the assistant message returned for every request
+     */
+    public FakeOpenAIHttpClient(String convertedCode) {
+        this.completion = ("{\"id\":\"benchmark\",\"created\":0,\"choices\":[{\"index\":0,"
+                + "\"message\":{\"role\":\"assistant\",\"content\":\"" + jsonString(convertedCode) + "\"},"
+                + "\"finish_reason\":\"stop\"}],"
+                + "\"usage\":{\"prompt_tokens\":100,\"completion_tokens\":50,\"total_tokens\":150}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Mono<HttpResponse> send(HttpRequest request) {
+        return Mono.just(new CompletionResponse(request));
+    }
+
+    private static String jsonString(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private final class CompletionResponse extends HttpResponse {
+
+        CompletionResponse(HttpRequest request) {
+            super(request);
+        }
+
+        @Override
+        public int getStatusCode() {
+            return 200;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public String getHeaderValue(String name) {
+            return headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.just(ByteBuffer.wrap(completion));
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.just(completion);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return getBodyAsString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.just(new String(completion, charset));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ai.aicc.benchmark;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.TokenUsage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (de)serialization of the conversion API's request and response bodies, with the
+ * ObjectMapper settings Spring MVC uses.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    /** Size of the source code, and of the converted code, in bytes */
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ConversionRequest request;
+    private ConversionResponse response;
+    private byte[] requestJson;
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        String code = BenchmarkSupport.javaSource(size);
+        request = new ConversionRequest(code, "Java", "Python");
+        response = new ConversionResponse(code, "Java", "Python");
+        response.setUsage(new TokenUsage(size / 4, size / 4, size / 2));
+        requestJson = objectMapper.writeValueAsBytes(request);
+        responseJson = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ConversionRequest readRequest() throws Exception {
+        return objectMapper.readValue(requestJson, ConversionRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public ConversionResponse readResponse() throws Exception {
+        return objectMapper.readValue(responseJson, ConversionResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ai.aicc.benchmark;
+
+import com.ai.aicc.cache.RequestDigest;
+import com.ai.aicc.model.ConversionRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequestDigest#of}: the result cache key, computed for every request that is not
+ * converted locally. Its allocation per operation should stay flat as the source grows.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestDigestBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    public int size;
+
+    private ConversionRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new ConversionRequest(BenchmarkSupport.javaSource(size), "Java", "Python");
+    }
+
+    @Benchmark
+    public String requestDigest() {
+        return RequestDigest.of(request, "benchmark", "1");
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.aicc.benchmark;
+
+import com.ai.aicc.token.TokenCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local token counting, which runs on every prompt before the Azure OpenAI call.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenCounterBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"o200k_base", "cl100k_base"})
+    public String encoding;
+
+    private TokenCounter counter;
+    private String source;
+
+    @Setup
+    public void setUp() {
+        counter = new TokenCounter(encoding);
+        source = BenchmarkSupport.javaSource(size);
+    }
+
+    @Benchmark
+    public int count() {
+        return counter.count(source);
+    }
+}
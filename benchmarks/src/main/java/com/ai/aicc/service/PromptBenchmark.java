@@ -0,0 +1,59 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.benchmark.BenchmarkSupport;
+import com.ai.aicc.model.ConversionRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CodeConversionService#buildPrompt}: prompt formatting plus token counting and maxTokens
+ * sizing. Lives in the service's package because the method is package-private.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private CodeConversionService service;
+    private ConversionRequest request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        service = context.getBean(CodeConversionService.class);
+        request = new ConversionRequest(BenchmarkSupport.javaSource(size), "Java", "Python");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object buildPrompt() {
+        return service.buildPrompt(request);
+    }
+}
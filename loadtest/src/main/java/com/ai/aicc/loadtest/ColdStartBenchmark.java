@@ -0,0 +1,210 @@
+package com.ai.aicc.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures startup time and first-request latency of the application with and without the
+ * connection warm-up, against the {@link OpenAISimulator}.
+ *
+ * <p>Each run starts the application jar in a fresh JVM, so nothing is shared between runs: no
+ * loaded classes, no pooled connections. Runs alternate between {@code aicc.upstream.warmup.enabled}
+ * false ("cold") and true ("warm"). A run measures how long the process takes until the health
+ * endpoint answers, then sends {@code --requests} conversions one after another and records each
+ * latency. The result cache and the local fast path are turned off so every request reaches the
+ * simulator. The summary shows medians over the runs of each mode: the first request against the
+ * steady state (median of the later requests) is what the warm-up is meant to close.
+ *
+ * <p><b>Options:</b>
+ * <ul>
+ *   <li>--jar - Application jar (default {@code target/aicc-1.0.0.jar}, run {@code mvn package} first)</li>
+ *   <li>--endpoint - Azure OpenAI endpoint the application calls (default {@code http://localhost:8090/})</li>
+ *   <li>--port - Port the application listens on (default 8081)</li>
+ *   <li>--runs - Runs per mode (default 5)</li>
+ *   <li>--requests - Conversions per run (default 5)</li>
+ *   <li>--ready-timeout - Longest wait for the application to start (default 120s)</li>
+ *   <li>--app-args - Further application arguments, separated by spaces</li>
+ * </ul>
+ *
+ * <p>The application's output goes to {@code target/coldstart-<mode>-<run>.log}.
+ *
+ * <p><b>Usage:</b>
+ * <pre>
+ * mvn -f loadtest/pom.xml compile exec:java@coldstart -Dexec.args="--runs=5"
+ * </pre>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class ColdStartBenchmark {
+
+    private final Path jar;
+    private final String endpoint;
+    private final int port;
+    private final int runs;
+    private final int requests;
+    private final Duration readyTimeout;
+    private final List<String> appArgs;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    ColdStartBenchmark(Options options) {
+        this.jar = Path.of(options.string("jar", "target/aicc-1.0.0.jar"));
+        this.endpoint = options.string("endpoint", "http://localhost:8090/");
+        this.port = options.integer("port", 8081);
+        this.runs = options.integer("runs", 5);
+        this.requests = Math.max(1, options.integer("requests", 5));
+        this.readyTimeout = options.duration("ready-timeout", Duration.ofSeconds(120));
+        String extra = options.string("app-args", "").trim();
+        this.appArgs = extra.isEmpty() ? List.of() : Arrays.asList(extra.split("\\s+"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ColdStartBenchmark(new Options(args)).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Application jar not found: " + jar.toAbsolutePath()
+                    + "; build it with mvn package -DskipTests");
+        }
+        System.out.printf("Starting %s %d times per mode against %s%n", jar, runs, endpoint);
+
+        List<long[]> cold = new ArrayList<>();
+        List<long[]> warm = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            cold.add(measure(false, run));
+            warm.add(measure(true, run));
+        }
+
+        System.out.println();
+        System.out.printf("%-6s %10s %14s %16s%n", "Mode", "Ready", "First request", "Later requests");
+        summarize("cold", cold);
+        summarize("warm", warm);
+    }
+
+    /**
+     * @return Time to ready, then the latency of each request, in nanoseconds
+     */
+    private long[] measure(boolean warmup, int run) throws IOException, InterruptedException {
+        String mode = warmup ? "warm" : "cold";
+        List<String> command = new ArrayList<>(List.of(javaExecutable(), "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--azure.openai.endpoint=" + endpoint,
+                "--aicc.upstream.warmup.enabled=" + warmup,
+                "--aicc.cache.enabled=false",
+                "--aicc.fast-path.enabled=false",
+                "--aicc.ratelimit.enabled=false"));
+        command.addAll(appArgs);
+        File log = Path.of("target", "coldstart-" + mode + "-" + run + ".log").toFile();
+        log.getParentFile().mkdirs();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(log)).start();
+        try {
+            long[] sample = new long[1 + requests];
+            sample[0] = awaitReady(process, start) - start;
+            for (int i = 0; i < requests; i++) {
+                sample[1 + i] = convert(mode + " run " + run + " request " + i);
+            }
+            System.out.printf("%s run %d: ready %d ms, requests %s ms%n", mode, run, millis(sample[0]),
+                    Arrays.stream(sample, 1, sample.length).map(ColdStartBenchmark::millis).boxed().toList());
+            return sample;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Polls the health endpoint, which only answers once the web server has started.
+     *
+     * @return {@link System#nanoTime()} when it first answered
+     */
+    private long awaitReady(Process process, long start) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/ai-code-converter/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        while (System.nanoTime() - start < readyTimeout.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue()
+                        + " before it was ready, see target/coldstart-*.log");
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("Application not ready after " + readyTimeout.toSeconds() + "s");
+    }
+
+    /**
+     * Sends one conversion; a comment makes its source distinct from the other requests'.
+     *
+     * @return Latency in nanoseconds
+     */
+    private long convert(String label) throws IOException, InterruptedException {
+        String body = "{\"sourceCode\":\"" + LoadGenerator.json("// " + label + "\n" + LoadGenerator.DEFAULT_SOURCE)
+                + "\",\"sourceLanguage\":\"Java\",\"targetLanguage\":\"Python\"}";
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/ai-code-converter/api/convert"))
+                .timeout(Duration.ofSeconds(120))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long latency = System.nanoTime() - start;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Conversion failed with status " + response.statusCode()
+                    + "; is the simulator running at " + endpoint + "?");
+        }
+        return latency;
+    }
+
+    private static void summarize(String mode, List<long[]> samples) {
+        long[] ready = samples.stream().mapToLong(sample -> sample[0]).toArray();
+        long[] first = samples.stream().mapToLong(sample -> sample[1]).toArray();
+        long[] later = samples.stream()
+                .flatMapToLong(sample -> Arrays.stream(sample, 2, sample.length))
+                .toArray();
+        System.out.printf("%-6s %7d ms %11d ms %13s ms%n", mode, millis(median(ready)), millis(median(first)),
+                later.length == 0 ? "-" : Long.toString(millis(median(later))));
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static String javaExecutable() {
+        return ProcessHandle.current().info().command().orElse("java");
+    }
+}
@@ -0,0 +1,102 @@
+package com.ai.aicc.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution the simulator draws response latencies from.
+ *
+ * <p><b>Specifications:</b>
+ * <ul>
+ *   <li>{@code fixed:2s} - Always the same latency</li>
+ *   <li>{@code uniform:500ms-3s} - Uniform between the bounds</li>
+ *   <li>{@code lognormal:median=2s,p99=10s} - Log-normal with the given median and 99th percentile;
+ *       the long right tail resembles real model latencies</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+final class LatencyDistribution {
+
+    /** z-score of the 99th percentile of the standard normal distribution */
+    private static final double Z_99 = 2.3263;
+
+    private final String spec;
+    private final Kind kind;
+    private final double a;
+    private final double b;
+
+    private enum Kind { FIXED, UNIFORM, LOGNORMAL }
+
+    private LatencyDistribution(String spec, Kind kind, double a, double b) {
+        this.spec = spec;
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * @param spec Distribution specification, see the class documentation
+     * @return The parsed distribution
+     * @throws IllegalArgumentException if the specification cannot be parsed
+     */
+    static LatencyDistribution parse(String spec) {
+        int colon = spec.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Expected fixed:, uniform: or lognormal: but got: " + spec);
+        }
+        String type = spec.substring(0, colon);
+        String args = spec.substring(colon + 1);
+        switch (type) {
+            case "fixed" -> {
+                return new LatencyDistribution(spec, Kind.FIXED, nanos(args), 0);
+            }
+            case "uniform" -> {
+                int dash = args.indexOf('-');
+                double min = nanos(args.substring(0, dash));
+                double max = nanos(args.substring(dash + 1));
+                if (max < min) {
+                    throw new IllegalArgumentException("Upper bound below lower bound: " + spec);
+                }
+                return new LatencyDistribution(spec, Kind.UNIFORM, min, max);
+            }
+            case "lognormal" -> {
+                double median = 0;
+                double p99 = 0;
+                for (String parameter : args.split(",")) {
+                    String[] pair = parameter.split("=", 2);
+                    switch (pair[0].trim()) {
+                        case "median" -> median = nanos(pair[1]);
+                        case "p99" -> p99 = nanos(pair[1]);
+                        default -> throw new IllegalArgumentException("Unknown parameter " + pair[0] + ": " + spec);
+                    }
+                }
+                if (median <= 0 || p99 < median) {
+                    throw new IllegalArgumentException("Need 0 < median <= p99: " + spec);
+                }
+                double mu = Math.log(median);
+                return new LatencyDistribution(spec, Kind.LOGNORMAL, mu, (Math.log(p99) - mu) / Z_99);
+            }
+            default -> throw new IllegalArgumentException("Unknown distribution " + type + ": " + spec);
+        }
+    }
+
+    /** @return A random latency in nanoseconds */
+    long sampleNanos() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (kind) {
+            case FIXED -> (long) a;
+            case UNIFORM -> (long) (a + random.nextDouble() * (b - a));
+            case LOGNORMAL -> (long) Math.exp(a + b * random.nextGaussian());
+        };
+    }
+
+    private static double nanos(String duration) {
+        return Options.parseDuration(duration).toNanos();
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
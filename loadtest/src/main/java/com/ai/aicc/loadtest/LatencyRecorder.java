@@ -0,0 +1,124 @@
+package com.ai.aicc.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latencies and outcomes of the load generator's requests.
+ *
+ * <p>Every sample is kept, so percentiles are exact; at 1,000 requests per second for an hour that
+ * is 29 MB. Samples also go into the current reporting interval, which {@link #drainInterval}
+ * summarizes and resets.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+final class LatencyRecorder {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+    private long[] interval = new long[1024];
+    private int intervalCount;
+    private long intervalErrors;
+
+    /**
+     * @param outcome      HTTP status code, or an error kind such as {@code timeout}
+     * @param success      Whether the outcome counts as success
+     * @param latencyNanos Time from the request's scheduled send time to its completion
+     */
+    void record(String outcome, boolean success, long latencyNanos) {
+        lock.lock();
+        try {
+            outcomes.merge(outcome, 1L, Long::sum);
+            if (!success) {
+                errors++;
+                intervalErrors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (intervalCount == interval.length) {
+                interval = Arrays.copyOf(interval, intervalCount * 2);
+            }
+            interval[intervalCount++] = latencyNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return One-line summary of the requests completed since the previous call
+     */
+    String drainInterval() {
+        long[] samples;
+        long failed;
+        lock.lock();
+        try {
+            samples = Arrays.copyOf(interval, intervalCount);
+            failed = intervalErrors;
+            intervalCount = 0;
+            intervalErrors = 0;
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(samples);
+        return String.format("completed=%d errors=%d p50=%s p99=%s max=%s", samples.length, failed,
+                millis(percentile(samples, 0.50)), millis(percentile(samples, 0.99)),
+                millis(samples.length == 0 ? 0 : samples[samples.length - 1]));
+    }
+
+    /**
+     * @param seconds Length of the measured period, for the completion rate
+     * @return Multi-line summary of all recorded requests
+     */
+    String summary(double seconds) {
+        long[] samples;
+        long failed;
+        Map<String, Long> byOutcome;
+        lock.lock();
+        try {
+            samples = Arrays.copyOf(latencies, count);
+            failed = errors;
+            byOutcome = new TreeMap<>(outcomes);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(samples);
+        double mean = Arrays.stream(samples).average().orElse(0);
+        StringBuilder summary = new StringBuilder()
+                .append(String.format("Completed:  %d (%.1f req/s)%n", samples.length, samples.length / seconds))
+                .append(String.format("Errors:     %d (%.2f%%)%n", failed,
+                        samples.length == 0 ? 0 : 100.0 * failed / samples.length))
+                .append("Outcomes:  ");
+        byOutcome.forEach((outcome, n) -> summary.append(' ').append(outcome).append('=').append(n));
+        return summary.append(System.lineSeparator())
+                .append(String.format("Latency:    mean=%s p50=%s p90=%s p95=%s p99=%s p99.9=%s max=%s",
+                        millis((long) mean), millis(percentile(samples, 0.50)), millis(percentile(samples, 0.90)),
+                        millis(percentile(samples, 0.95)), millis(percentile(samples, 0.99)),
+                        millis(percentile(samples, 0.999)),
+                        millis(samples.length == 0 ? 0 : samples[samples.length - 1])))
+                .toString();
+    }
+
+    /** Nearest-rank percentile of sorted samples */
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static String millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos) + "ms";
+    }
+}
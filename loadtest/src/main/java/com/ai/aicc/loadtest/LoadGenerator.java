@@ -0,0 +1,211 @@
+package com.ai.aicc.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a conversion endpoint at a fixed request rate and reports latency percentiles and errors.
+ *
+ * <p>The generator is open-loop: request {@code n} is sent at {@code start + n / rps} whether or not
+ * earlier requests have completed, and its latency is measured from that scheduled time. A slow
+ * server therefore shows up as growing latency instead of a silently reduced request rate
+ * (coordinated omission). Requests that would exceed {@code --max-in-flight} are not sent and are
+ * counted as {@code dropped}.
+ *
+ * <p><b>Options:</b>
+ * <ul>
+ *   <li>--url - Endpoint to call (default {@code http://localhost:8080/ai-code-converter/api/convert})</li>
+ *   <li>--rps - Target requests per second (default 10)</li>
+ *   <li>--duration - Measured period (default 60s), after --warmup (default 10s) whose requests are
+ *       not included in the summary</li>
+ *   <li>--source-file, --source-language, --target-language - What to convert (default: a generated
+ *       Java class to Python)</li>
+ *   <li>--distinct - Number of distinct sources cycled through; 0 makes every request unique so the
+ *       result cache never hits (default 0)</li>
+ *   <li>--timeout - Per-request timeout (default 120s)</li>
+ *   <li>--max-in-flight - Cap on outstanding requests (default 10000)</li>
+ * </ul>
+ *
+ * <p><b>Usage:</b>
+ * <pre>
+ * mvn -f loadtest/pom.xml compile exec:java@load -Dexec.args="--rps=50 --duration=60s"
+ * </pre>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class LoadGenerator {
+
+    /** Converted when no --source-file is given */
+    static final String DEFAULT_SOURCE = """
+            public class OrderService {
+                public int total(int[] prices, int[] quantities) {
+                    int sum = 0;
+                    for (int i = 0; i < prices.length; i++) {
+                        sum += prices[i] * quantities[i];
+                    }
+                    return sum;
+                }
+            }
+            """;
+
+    private final URI url;
+    private final double rps;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration timeout;
+    private final int maxInFlight;
+    private final int distinct;
+    private final String source;
+    private final String sourceLanguage;
+    private final String targetLanguage;
+    private final Duration reportInterval;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private long sent;
+    private long dropped;
+
+    LoadGenerator(Options options) throws IOException {
+        this.url = URI.create(options.string("url", "http://localhost:8080/ai-code-converter/api/convert"));
+        this.rps = options.decimal("rps", 10);
+        this.warmup = options.duration("warmup", Duration.ofSeconds(10));
+        this.duration = options.duration("duration", Duration.ofSeconds(60));
+        this.timeout = options.duration("timeout", Duration.ofSeconds(120));
+        this.maxInFlight = options.integer("max-in-flight", 10_000);
+        this.distinct = options.integer("distinct", 0);
+        String sourceFile = options.string("source-file", null);
+        this.source = sourceFile != null ? Files.readString(Path.of(sourceFile)) : DEFAULT_SOURCE;
+        this.sourceLanguage = options.string("source-language", "Java");
+        this.targetLanguage = options.string("target-language", "Python");
+        this.reportInterval = options.duration("report-interval", Duration.ofSeconds(5));
+    }
+
+    public static void main(String[] args) throws IOException {
+        new LoadGenerator(new Options(args)).run();
+    }
+
+    void run() {
+        System.out.printf("Sending %.1f req/s to %s for %ds after %ds warm-up%n", rps, url,
+                duration.toSeconds(), warmup.toSeconds());
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        reporter.scheduleAtFixedRate(() -> System.out.printf("[%3ds] inFlight=%d %s%n",
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), inFlight.get(),
+                        recorder.drainInterval()),
+                reportInterval.toMillis(), reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        double periodNanos = 1e9 / rps;
+        for (long n = 0; ; n++) {
+            long scheduled = start + (long) (n * periodNanos);
+            if (scheduled - end >= 0) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = scheduled - measureFrom >= 0;
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    dropped++;
+                }
+                continue;
+            }
+            send(n, scheduled, measured);
+        }
+
+        // Give outstanding requests up to the timeout to complete
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        reporter.shutdownNow();
+
+        System.out.println();
+        System.out.printf("Target:     %.1f req/s for %ds; sent %d, dropped %d (max in flight %d), "
+                + "unfinished %d%n", rps, duration.toSeconds(), sent, dropped, maxInFlight, inFlight.get());
+        System.out.println(recorder.summary(duration.toNanos() / 1e9));
+    }
+
+    private void send(long n, long scheduled, boolean measured) {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body(n)))
+                .build();
+        if (measured) {
+            sent++;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            long latency = System.nanoTime() - scheduled;
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            if (failure == null) {
+                recorder.record(Integer.toString(response.statusCode()), response.statusCode() == 200, latency);
+            } else {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                recorder.record(cause instanceof HttpTimeoutException ? "timeout" : "io_error", false, latency);
+            }
+        });
+    }
+
+    /**
+     * Request {@code n}'s body. A comment with the variant number makes sources distinct for the
+     * result cache without changing what is converted.
+     */
+    private String body(long n) {
+        String code = source;
+        if (distinct != 1) {
+            code = "// variant " + (distinct == 0 ? n : n % distinct) + "\n" + source;
+        }
+        return "{\"sourceCode\":\"" + json(code) + "\",\"sourceLanguage\":\"" + json(sourceLanguage)
+                + "\",\"targetLanguage\":\"" + json(targetLanguage) + "\"}";
+    }
+
+    static String json(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
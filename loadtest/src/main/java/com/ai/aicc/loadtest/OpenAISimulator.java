@@ -0,0 +1,262 @@
+package com.ai.aicc.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-alone simulator of the Azure OpenAI chat completions endpoint for offline load tests.
+ *
+ * <p>Answers {@code POST .../chat/completions} like Azure OpenAI does, so the application can be
+ * pointed at it with {@code azure.openai.endpoint=http://localhost:8090/}:
+ * <ul>
+ *   <li><b>Latency:</b> Drawn per request from {@code --latency}, see {@link LatencyDistribution}.
+ *       Streams send their first chunk after that latency and the rest every {@code --chunk-interval}.</li>
+ *   <li><b>Quota:</b> With {@code --tokens-per-minute}, each request is charged its estimated prompt
+ *       tokens plus max_tokens; requests over the quota get 429 with Retry-After.</li>
+ *   <li><b>Faults:</b> {@code --error-429-rate} and {@code --error-503-rate} answer that fraction of
+ *       requests with 429 or 503 right away.</li>
+ *   <li><b>Streaming:</b> Requests with {@code "stream": true} are answered as Server-Sent Events in
+ *       {@code --stream-chunks} chunks, terminated by {@code data: [DONE]}.</li>
+ * </ul>
+ * Responses are scheduled on a timer instead of sleeping in a handler thread, so the simulator
+ * holds thousands of slow requests open without becoming the bottleneck under test.
+ *
+ * <p><b>Usage:</b>
+ * <pre>
+ * mvn -f loadtest/pom.xml compile exec:java@simulator \
+ *     -Dexec.args="--port=8090 --latency=lognormal:median=2s,p99=8s --tokens-per-minute=300000 --error-503-rate=0.01"
+ * </pre>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class OpenAISimulator implements AutoCloseable {
+
+    private static final Pattern MAX_TOKENS = Pattern.compile("\"max_tokens\"\\s*:\\s*(\\d+)");
+    private static final Pattern STREAM = Pattern.compile("\"stream\"\\s*:\\s*true");
+
+    /** Rough prompt token estimate from the request size, as JSON averages about 4 bytes per token */
+    private static final int BYTES_PER_TOKEN = 4;
+
+    /** Converted code returned by the simulator, repeated to the configured completion size */
+    private static final String LINES = """
+            def total(items):
+                return sum(item.price * item.quantity for item in items)
+            """;
+
+    private final HttpServer server;
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(4);
+    private final ScheduledExecutorService timer = Executors.newScheduledThreadPool(4);
+
+    private final LatencyDistribution latency;
+    private final TokenBucket quota;
+    private final double error429Rate;
+    private final double error503Rate;
+    private final int streamChunks;
+    private final Duration chunkInterval;
+    private final int completionTokens;
+    private final String completionContent;
+
+    /** Non-streamed response body; the usage's prompt and total tokens are filled in per request */
+    private final String completionTemplate;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong injected429 = new AtomicLong();
+    private final AtomicLong injected503 = new AtomicLong();
+
+    OpenAISimulator(Options options) throws IOException {
+        this.latency = LatencyDistribution.parse(options.string("latency", "lognormal:median=2s,p99=8s"));
+        int tokensPerMinute = options.integer("tokens-per-minute", 0);
+        this.quota = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute, System.nanoTime()) : null;
+        this.error429Rate = options.decimal("error-429-rate", 0);
+        this.error503Rate = options.decimal("error-503-rate", 0);
+        this.streamChunks = Math.max(1, options.integer("stream-chunks", 20));
+        this.chunkInterval = options.duration("chunk-interval", Duration.ofMillis(25));
+
+        this.completionTokens = options.integer("completion-tokens", 200);
+        this.completionContent = LINES.repeat(Math.max(1, completionTokens * BYTES_PER_TOKEN / LINES.length()));
+        this.completionTemplate = "{\"id\":\"simulator\",\"object\":\"chat.completion\",\"created\":0,"
+                + "\"model\":\"simulator\","
+                + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\""
+                + json(completionContent) + "\"},\"finish_reason\":\"stop\"}],"
+                + "\"usage\":{\"prompt_tokens\":%d,\"completion_tokens\":" + completionTokens
+                + ",\"total_tokens\":%d}}";
+
+        this.server = HttpServer.create(new InetSocketAddress(options.integer("port", 8090)), 16_384);
+        server.createContext("/", this::handle);
+        server.setExecutor(dispatcher);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = new Options(args);
+        OpenAISimulator simulator = new OpenAISimulator(options);
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::close));
+        simulator.start(options.duration("report-interval", Duration.ofSeconds(10)));
+    }
+
+    void start(Duration reportInterval) {
+        server.start();
+        System.out.printf("Azure OpenAI simulator listening on http://localhost:%d/ (latency %s, quota %s, "
+                        + "429 rate %.3f, 503 rate %.3f)%n", server.getAddress().getPort(), latency,
+                quota != null ? "on" : "off", error429Rate, error503Rate);
+        timer.scheduleAtFixedRate(this::report, reportInterval.toMillis(), reportInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void report() {
+        System.out.printf("requests=%d completed=%d active=%d peakActive=%d throttled=%d injected429=%d "
+                        + "injected503=%d%n", requests.get(), completed.get(), active.get(), peakActive.get(),
+                throttled.get(), injected429.get(), injected503.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        requests.incrementAndGet();
+        if (!"POST".equals(exchange.getRequestMethod())
+                || !exchange.getRequestURI().getPath().endsWith("/chat/completions")) {
+            respond(exchange, 404, "{\"error\":{\"code\":\"404\",\"message\":\"Resource not found\"}}", 0);
+            return;
+        }
+
+        double fault = ThreadLocalRandom.current().nextDouble();
+        if (fault < error429Rate) {
+            injected429.incrementAndGet();
+            respond(exchange, 429, error("429", "Rate limit is exceeded. Try again in 1 seconds."), 1);
+            return;
+        }
+        if (fault < error429Rate + error503Rate) {
+            injected503.incrementAndGet();
+            respond(exchange, 503, error("503", "The service is temporarily unable to process your request."), 0);
+            return;
+        }
+
+        String request = new String(body, StandardCharsets.UTF_8);
+        int promptTokens = body.length / BYTES_PER_TOKEN;
+        if (quota != null) {
+            long waitNanos = quota.tryTake(promptTokens + maxTokens(request), System.nanoTime());
+            if (waitNanos > 0) {
+                throttled.incrementAndGet();
+                long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+                respond(exchange, 429, error("429", "Requests to the ChatCompletions_Create Operation have exceeded "
+                        + "the token rate limit. Please retry after " + seconds + " seconds."), seconds);
+                return;
+            }
+        }
+
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        long delay = latency.sampleNanos();
+        if (STREAM.matcher(request).find()) {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            timer.schedule(() -> streamChunk(exchange, 0), delay, TimeUnit.NANOSECONDS);
+        } else {
+            byte[] response = String.format(completionTemplate, promptTokens, promptTokens + completionTokens)
+                    .getBytes(StandardCharsets.UTF_8);
+            timer.schedule(() -> complete(exchange, response), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void complete(HttpExchange exchange, byte[] response) {
+        active.decrementAndGet();
+        completed.incrementAndGet();
+        try (exchange) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    /**
+     * Sends chunk {@code index} of a streamed completion and schedules the next one.
+     */
+    private void streamChunk(HttpExchange exchange, int index) {
+        try {
+            if (index == 0) {
+                exchange.sendResponseHeaders(200, 0);
+            }
+            OutputStream out = exchange.getResponseBody();
+            int length = completionContent.length();
+            String delta = completionContent.substring(
+                    length * index / streamChunks, length * (index + 1) / streamChunks);
+            boolean last = index == streamChunks - 1;
+            out.write(("data: {\"id\":\"simulator\",\"object\":\"chat.completion.chunk\",\"created\":0,"
+                    + "\"model\":\"simulator\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"" + json(delta)
+                    + "\"},\"finish_reason\":" + (last ? "\"stop\"" : "null") + "}]}\n\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            if (last) {
+                out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+                out.close();
+                finishStream(exchange);
+                return;
+            }
+            out.flush();
+            timer.schedule(() -> streamChunk(exchange, index + 1), chunkInterval.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            // Client cancelled the stream
+            finishStream(exchange);
+        }
+    }
+
+    private void finishStream(HttpExchange exchange) {
+        active.decrementAndGet();
+        completed.incrementAndGet();
+        exchange.close();
+    }
+
+    private void respond(HttpExchange exchange, int status, String body, long retryAfterSeconds) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (exchange) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (retryAfterSeconds > 0) {
+                exchange.getResponseHeaders().add("Retry-After", Long.toString(retryAfterSeconds));
+                exchange.getResponseHeaders().add("retry-after-ms", Long.toString(retryAfterSeconds * 1000));
+            }
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static int maxTokens(String request) {
+        Matcher matcher = MAX_TOKENS.matcher(request);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private static String error(String code, String message) {
+        return "{\"error\":{\"code\":\"" + code + "\",\"message\":\"" + json(message) + "\"}}";
+    }
+
+    private static String json(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        timer.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ai.aicc.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tokens-per-minute quota as Azure OpenAI enforces it: a bucket of one minute of tokens that
+ * refills continuously. A request is charged its prompt plus its max_tokens up front.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+final class TokenBucket {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final long tokensPerMinute;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private double tokens;
+    private long refilledAtNanos;
+
+    TokenBucket(long tokensPerMinute, long nowNanos) {
+        this.tokensPerMinute = tokensPerMinute;
+        this.tokens = tokensPerMinute;
+        this.refilledAtNanos = nowNanos;
+    }
+
+    /**
+     * Charges a request against the quota.
+     *
+     * @param requested Tokens the request is charged; capped at one minute of quota
+     * @param nowNanos  Current {@link System#nanoTime()}
+     * @return 0 if the request was admitted, otherwise nanoseconds until it would be
+     */
+    long tryTake(long requested, long nowNanos) {
+        double needed = Math.min(requested, tokensPerMinute);
+        lock.lock();
+        try {
+            tokens = Math.min(tokensPerMinute,
+                    tokens + (nowNanos - refilledAtNanos) * (double) tokensPerMinute / NANOS_PER_MINUTE);
+            refilledAtNanos = nowNanos;
+            if (tokens >= needed) {
+                tokens -= needed;
+                return 0;
+            }
+            return (long) Math.ceil((needed - tokens) * NANOS_PER_MINUTE / tokensPerMinute);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
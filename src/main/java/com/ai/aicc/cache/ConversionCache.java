@@ -0,0 +1,306 @@
+package com.ai.aicc.cache;
+
+import com.ai.aicc.model.CacheStats;
+import com.ai.aicc.model.ConversionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory cache of successful conversion results.
+ *
+ * <p>Entries are keyed by {@link RequestDigest} and evicted in least-recently-used order
+ * once either the entry count or the approximate heap footprint exceeds its limit.
+ * Each entry also carries a time-to-live after which it is treated as a miss.
+ *
+ * <p>If a {@link DiskConversionStore} is configured it acts as a second tier: memory misses are
+ * looked up on disk and promoted, keeping the age of the record, and every put and invalidation is
+ * written through.
+ *
+ * <p><b>Configuration</b> (application.properties):
+ * <ul>
+ *   <li>aicc.cache.enabled - Turns the cache on or off (default: true)</li>
+ *   <li>aicc.cache.max-entries - Maximum number of cached conversions (default: 10000)</li>
+ *   <li>aicc.cache.max-weight-bytes - Maximum approximate footprint in bytes (default: 64 MB)</li>
+ *   <li>aicc.cache.ttl - Time-to-live of an entry (default: 24h)</li>
+ * </ul>
+ *
+ * <p><b>Thread Safety:</b> All operations are guarded by a single lock. Critical sections only
+ * touch the map, so lookups complete in microseconds even under contention.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Component
+public class ConversionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionCache.class);
+
+    /** Fixed per-entry overhead (key, map node, entry object) used in the weight estimate */
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxWeightBytes;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    /** Optional persistent second tier, null if disabled */
+    private final DiskConversionStore diskStore;
+
+    /** Access-ordered map: iteration starts at the least recently used entry */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long weightBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+
+    @Autowired
+    public ConversionCache(@Value("${aicc.cache.enabled:true}") boolean enabled,
+                           @Value("${aicc.cache.max-entries:10000}") int maxEntries,
+                           @Value("${aicc.cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                           @Value("${aicc.cache.ttl:24h}") Duration ttl,
+                           ObjectProvider<DiskConversionStore> diskStore) {
+        this(enabled, maxEntries, maxWeightBytes, ttl, System::nanoTime, diskStore.getIfAvailable());
+    }
+
+    ConversionCache(boolean enabled, int maxEntries, long maxWeightBytes, Duration ttl, LongSupplier nanoClock,
+                    DiskConversionStore diskStore) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxWeightBytes = maxWeightBytes;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.diskStore = enabled ? diskStore : null;
+        logger.info("Conversion cache enabled={}, maxEntries={}, maxWeightBytes={}, ttl={}",
+                enabled, maxEntries, maxWeightBytes, ttl);
+    }
+
+    /**
+     * Looks up a cached conversion in memory, then in the persistent store if configured.
+     *
+     * @param key Request digest computed by {@link RequestDigest}
+     * @return A copy of the cached response, or null on a miss or expired entry
+     */
+    public ConversionResponse get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && nanoClock.getAsLong() - entry.createdNanos >= ttlNanos) {
+                removeEntry(key, entry);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+            if (entry != null) {
+                hits.incrementAndGet();
+                return copy(entry.response);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        DiskConversionStore.Stored persisted = diskStore == null ? null : diskStore.read(key);
+        if (persisted == null || !persisted.getResponse().isSuccess()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        diskHits.incrementAndGet();
+        // The record's age counts against the memory time-to-live, so promotion does not extend it
+        long ageNanos = TimeUnit.MILLISECONDS.toNanos(persisted.getAgeMillis());
+        if (ageNanos < ttlNanos) {
+            putInMemory(key, persisted.getResponse(), nanoClock.getAsLong() - ageNanos);
+        }
+        return copy(persisted.getResponse());
+    }
+
+    /**
+     * Looks up a live in-memory entry without touching the counters or the persistent store.
+     * Used to re-check the cache after a miss has already been recorded.
+     *
+     * @param key Request digest computed by {@link RequestDigest}
+     * @return A copy of the cached response, or null if absent or expired
+     */
+    public ConversionResponse peek(String key) {
+        if (!enabled) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            boolean live = entry != null && nanoClock.getAsLong() - entry.createdNanos < ttlNanos;
+            return live ? copy(entry.response) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a successful conversion. Failed responses are never cached.
+     *
+     * @param key      Request digest computed by {@link RequestDigest}
+     * @param response The conversion result
+     */
+    public void put(String key, ConversionResponse response) {
+        if (!enabled || response == null || !response.isSuccess()) {
+            return;
+        }
+        putInMemory(key, response, nanoClock.getAsLong());
+        if (diskStore != null) {
+            diskStore.put(key, response);
+        }
+    }
+
+    private void putInMemory(String key, ConversionResponse response, long createdNanos) {
+        Entry entry = new Entry(copy(response), weigh(key, response), createdNanos);
+        if (entry.weightBytes > maxWeightBytes) {
+            logger.debug("Conversion result of {} bytes exceeds cache capacity, not caching", entry.weightBytes);
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                weightBytes -= previous.weightBytes;
+            }
+            weightBytes += entry.weightBytes;
+            evictIfNecessary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a single entry.
+     *
+     * @param key Request digest
+     * @return true if an entry was removed
+     */
+    public boolean invalidate(String key) {
+        boolean removed = false;
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                removeEntry(key, entry);
+                removed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (diskStore != null) {
+            removed |= diskStore.invalidate(key);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all entries from both tiers. Counters are kept.
+     *
+     * @return Number of entries removed from memory, or from the persistent store if it held more
+     */
+    public int invalidateAll() {
+        int removed;
+        lock.lock();
+        try {
+            removed = entries.size();
+            entries.clear();
+            weightBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+        if (diskStore != null) {
+            removed = Math.max(removed, diskStore.invalidateAll());
+        }
+        return removed;
+    }
+
+    /**
+     * Returns a consistent snapshot of the cache counters.
+     *
+     * @return Current cache statistics
+     */
+    public CacheStats stats() {
+        CacheStats stats;
+        lock.lock();
+        try {
+            stats = new CacheStats(enabled, entries.size(), weightBytes, maxEntries, maxWeightBytes,
+                    hits.get(), misses.get(), evictions.get(), expirations.get());
+        } finally {
+            lock.unlock();
+        }
+        stats.setDiskHits(diskHits.get());
+        if (diskStore != null) {
+            stats.setDisk(diskStore.stats());
+        }
+        return stats;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Evicts least recently used entries until both limits hold. Caller must hold the lock. */
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weightBytes > maxWeightBytes) && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            weightBytes -= eldest.getValue().weightBytes;
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void removeEntry(String key, Entry entry) {
+        entries.remove(key);
+        weightBytes -= entry.weightBytes;
+    }
+
+    /** Approximates the retained size: two bytes per char for the strings plus fixed overhead. */
+    private static long weigh(String key, ConversionResponse response) {
+        long chars = key.length()
+                + length(response.getConvertedCode())
+                + length(response.getSourceLanguage())
+                + length(response.getTargetLanguage());
+        return ENTRY_OVERHEAD_BYTES + 2 * chars;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static ConversionResponse copy(ConversionResponse response) {
+        return new ConversionResponse(response.getConvertedCode(), response.getSourceLanguage(),
+                response.getTargetLanguage());
+    }
+
+    private static final class Entry {
+        private final ConversionResponse response;
+        private final long weightBytes;
+        private final long createdNanos;
+
+        private Entry(ConversionResponse response, long weightBytes, long createdNanos) {
+            this.response = response;
+            this.weightBytes = weightBytes;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
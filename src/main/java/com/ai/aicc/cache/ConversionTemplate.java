@@ -0,0 +1,248 @@
+package com.ai.aicc.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converted code with the source's abstracted names and literals replaced by placeholders, so it
+ * can be filled in for another snippet with the same {@link SourceFingerprint}.
+ *
+ * <p>A template is only created when the substitution is unambiguous:
+ * <ul>
+ *   <li>Every abstracted name of the source occurs verbatim in the converted code. A name the
+ *       model rewrote (e.g. {@code user_name} to {@code userName}) could not be re-targeted.</li>
+ *   <li>Every abstracted literal occurs exactly as often as in the source, so no number or string
+ *       the model introduced itself is mistaken for one of the source's.</li>
+ *   <li>No abstracted name occurs inside a string of the converted code (e.g. an f-string).</li>
+ * </ul>
+ * Rendering refuses names that would collide with a word already in the converted code or with a
+ * keyword of the target language.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class ConversionTemplate {
+
+    private static final char MARKER = SourceFingerprint.MARKER;
+
+    private final String text;
+
+    private ConversionTemplate(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @param text Template text as returned by {@link #text()}
+     * @return The template
+     */
+    static ConversionTemplate of(String text) {
+        return new ConversionTemplate(text);
+    }
+
+    /**
+     * @return Converted code with placeholders, for storage
+     */
+    String text() {
+        return text;
+    }
+
+    /**
+     * Abstracts a conversion into a template.
+     *
+     * @param source        Fingerprint of the converted source code
+     * @param convertedCode The model's conversion of that source code
+     * @return The template, or {@code null} if the substitution would be ambiguous
+     */
+    static ConversionTemplate create(SourceFingerprint source, String convertedCode) {
+        if (convertedCode == null || convertedCode.indexOf(MARKER) >= 0) {
+            return null;
+        }
+        Map<String, Integer> identifiers = indexes(source.identifiers());
+        Map<String, Integer> strings = indexes(source.strings());
+        Map<String, Integer> numbers = indexes(source.numbers());
+        int[] identifierHits = new int[identifiers.size()];
+        int[] stringHits = new int[strings.size()];
+        int[] numberHits = new int[numbers.size()];
+
+        StringBuilder template = new StringBuilder(convertedCode.length());
+        int length = convertedCode.length();
+        int i = 0;
+        while (i < length) {
+            char c = convertedCode.charAt(i);
+            if (c == '"' || c == '\'') {
+                int end = closingQuote(convertedCode, i);
+                if (end < 0) {
+                    // A lone apostrophe, e.g. in a comment
+                    template.append(c);
+                    i++;
+                    continue;
+                }
+                String content = convertedCode.substring(i + 1, end);
+                Integer index = strings.get(content);
+                if (index != null) {
+                    stringHits[index]++;
+                    template.append(c).append(MARKER).append('S').append(index).append(MARKER).append(c);
+                } else {
+                    for (String word : words(content)) {
+                        if (identifiers.containsKey(word)) {
+                            return null;
+                        }
+                    }
+                    template.append(convertedCode, i, end + 1);
+                }
+                i = end + 1;
+            } else if (isWordPart(c)) {
+                int end = wordEnd(convertedCode, i);
+                String word = convertedCode.substring(i, end);
+                Integer index = Character.isDigit(c) ? numbers.get(word) : identifiers.get(word);
+                if (index == null) {
+                    template.append(word);
+                } else if (Character.isDigit(c)) {
+                    numberHits[index]++;
+                    template.append(MARKER).append('N').append(index).append(MARKER);
+                } else {
+                    identifierHits[index]++;
+                    template.append(MARKER).append('I').append(index).append(MARKER);
+                }
+                i = end;
+            } else {
+                template.append(c);
+                i++;
+            }
+        }
+
+        for (int hits : identifierHits) {
+            if (hits == 0) {
+                return null;
+            }
+        }
+        for (int s = 0; s < stringHits.length; s++) {
+            if (stringHits[s] != source.stringOccurrences(s)) {
+                return null;
+            }
+        }
+        for (int n = 0; n < numberHits.length; n++) {
+            if (numberHits[n] != source.numberOccurrences(n)) {
+                return null;
+            }
+        }
+        return new ConversionTemplate(template.toString());
+    }
+
+    /**
+     * Fills the template in with another snippet's names and literals.
+     *
+     * @param target         Fingerprint of the snippet to convert; must equal the template's source fingerprint
+     * @param targetLanguage Language of the converted code
+     * @return The converted code, or {@code null} if a new name would collide with the converted code
+     */
+    String render(SourceFingerprint target, String targetLanguage) {
+        Set<String> words = new HashSet<>();
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            char c = text.charAt(i);
+            if (c == MARKER) {
+                i = text.indexOf(MARKER, i + 1) + 1;
+            } else if (isWordPart(c)) {
+                int end = wordEnd(text, i);
+                words.add(text.substring(i, end));
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        for (String identifier : target.identifiers()) {
+            if (words.contains(identifier) || SourceFingerprint.isKeyword(identifier, targetLanguage)) {
+                return null;
+            }
+        }
+
+        StringBuilder code = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            int start = text.indexOf(MARKER, i);
+            if (start < 0) {
+                code.append(text, i, length);
+                break;
+            }
+            int end = text.indexOf(MARKER, start + 1);
+            code.append(text, i, start);
+            int index = Integer.parseInt(text, start + 2, end, 10);
+            List<String> values = switch (text.charAt(start + 1)) {
+                case 'I' -> target.identifiers();
+                case 'S' -> target.strings();
+                default -> target.numbers();
+            };
+            if (index >= values.size()) {
+                return null;
+            }
+            code.append(values.get(index));
+            i = end + 1;
+        }
+        return code.toString();
+    }
+
+    private static Map<String, Integer> indexes(List<String> values) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            indexes.put(values.get(i), i);
+        }
+        return indexes;
+    }
+
+    /** @return Index of the quote closing the literal opened at {@code open}, or -1 if it ends on this line */
+    private static int closingQuote(String code, int open) {
+        char quote = code.charAt(open);
+        for (int i = open + 1; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == quote) {
+                return i;
+            } else if (c == '\n') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            if (isWordPart(text.charAt(i))) {
+                int end = wordEnd(text, i);
+                words.add(text.substring(i, end));
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return words;
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /** End of the word at {@code start}; numbers include a decimal point followed by a digit */
+    private static int wordEnd(String text, int start) {
+        boolean number = Character.isDigit(text.charAt(start));
+        int i = start;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (isWordPart(c)) {
+                i++;
+            } else if (number && c == '.' && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1))) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+}
@@ -0,0 +1,660 @@
+package com.ai.aicc.cache;
+
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.DiskCacheStats;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Persistent second-tier store for conversion results that survives application restarts.
+ *
+ * <p>The store consists of two files in the configured directory:
+ * <ul>
+ *   <li><b>segment.dat</b> - Append-only log of records. Each record holds the request digest,
+ *       its creation time and the JSON-serialized {@link ConversionResponse}. Invalidations are
+ *       appended as tombstone records so they also survive an index rebuild.</li>
+ *   <li><b>index.dat</b> - Memory-mapped open-addressing hash table mapping a request digest to
+ *       the offset and length of its latest record in the segment.</li>
+ * </ul>
+ *
+ * <p>A lookup probes the mapped index and reads exactly one record with a positional read, so
+ * only the requested response is deserialized. If the index is missing or does not match the
+ * segment (for example after a crash), it is rebuilt by scanning the segment on startup.
+ *
+ * <p><b>Compaction:</b> Records superseded by a newer put or an invalidation become garbage.
+ * The segment is rewritten with only live records when the garbage ratio exceeds the configured
+ * threshold, when the size cap would be exceeded, or when the index is near its load limit.
+ * If live data alone exceeds the cap, the oldest records are dropped.
+ *
+ * <p><b>Configuration</b> (application.properties):
+ * <ul>
+ *   <li>aicc.cache.disk.enabled - Enables this store (default: false)</li>
+ *   <li>aicc.cache.disk.directory - Directory for the segment and index files</li>
+ *   <li>aicc.cache.disk.max-size-bytes - Size cap of the segment file</li>
+ *   <li>aicc.cache.disk.index-slots - Hash table slots, rounded up to a power of two</li>
+ *   <li>aicc.cache.disk.compaction-garbage-ratio - Garbage fraction that triggers compaction</li>
+ *   <li>aicc.cache.disk.ttl - Age after which persisted entries are ignored</li>
+ * </ul>
+ *
+ * <p><b>Thread Safety:</b> Lookups share a read lock; writes and compaction take the write lock.
+ * The files must not be shared between application instances.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ConversionCache
+ */
+@Component
+@ConditionalOnProperty(name = "aicc.cache.disk.enabled", havingValue = "true")
+public class DiskConversionStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiskConversionStore.class);
+
+    static final String SEGMENT_FILE = "segment.dat";
+    static final String INDEX_FILE = "index.dat";
+
+    private static final int SEGMENT_MAGIC = 0x41494353; // "AICS"
+    private static final int INDEX_MAGIC = 0x41494349;   // "AICI"
+    private static final int FORMAT_VERSION = 1;
+
+    /** Segment header: magic, version */
+    private static final int SEGMENT_HEADER_BYTES = 8;
+
+    /** Record header: digest, created epoch millis, payload length (-1 for tombstones) */
+    private static final int DIGEST_BYTES = 32;
+    private static final int RECORD_HEADER_BYTES = DIGEST_BYTES + 8 + 4;
+    private static final int TOMBSTONE = -1;
+
+    /** Index header: magic, version, slot count, reserved, committed segment length */
+    private static final int INDEX_HEADER_BYTES = 24;
+
+    /** Index slot: digest, record offset, record length, state */
+    private static final int SLOT_BYTES = 48;
+    private static final int SLOT_OFFSET = 32;
+    private static final int SLOT_LENGTH = 40;
+    private static final int SLOT_STATE = 44;
+    private static final int STATE_EMPTY = 0;
+    private static final int STATE_LIVE = 1;
+    private static final int STATE_DELETED = 2;
+
+    private static final double MAX_LOAD_FACTOR = 0.7;
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final int slotCount;
+    private final int maxEntries;
+    private final double compactionGarbageRatio;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel segment;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private long segmentEnd;
+    private int liveEntries;
+    private int usedSlots;
+    private long liveBytes;
+
+    private final AtomicLong compactions = new AtomicLong();
+
+    @Autowired
+    public DiskConversionStore(@Value("${aicc.cache.disk.directory:data/conversion-cache}") String directory,
+                               @Value("${aicc.cache.disk.max-size-bytes:536870912}") long maxSizeBytes,
+                               @Value("${aicc.cache.disk.index-slots:262144}") int indexSlots,
+                               @Value("${aicc.cache.disk.compaction-garbage-ratio:0.5}") double compactionGarbageRatio,
+                               @Value("${aicc.cache.disk.ttl:${aicc.cache.ttl:24h}}") Duration ttl) {
+        this(Paths.get(directory), maxSizeBytes, indexSlots, compactionGarbageRatio, ttl, System::currentTimeMillis);
+    }
+
+    DiskConversionStore(Path directory, long maxSizeBytes, int indexSlots, double compactionGarbageRatio,
+                        Duration ttl, LongSupplier clock) {
+        if (indexSlots < 2 || indexSlots > (Integer.MAX_VALUE - INDEX_HEADER_BYTES) / SLOT_BYTES) {
+            throw new IllegalArgumentException("aicc.cache.disk.index-slots out of range: " + indexSlots);
+        }
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+        this.slotCount = Integer.highestOneBit(indexSlots - 1) << 1;
+        this.maxEntries = (int) (slotCount * MAX_LOAD_FACTOR);
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open conversion store in " + directory.toAbsolutePath(), e);
+        }
+        logger.info("Disk conversion store opened at {} with {} entries ({} bytes live, {} bytes on disk)",
+                directory.toAbsolutePath(), liveEntries, liveBytes, segmentEnd);
+    }
+
+    /**
+     * Reads a persisted conversion.
+     *
+     * @param key Hex request digest
+     * @return The stored response, or null if absent, expired or unreadable
+     */
+    public ConversionResponse get(String key) {
+        Stored stored = read(key);
+        return stored != null ? stored.getResponse() : null;
+    }
+
+    /**
+     * Reads a persisted conversion together with its age, so a copy kept elsewhere can expire
+     * when the record does rather than a full time-to-live later.
+     *
+     * @param key Hex request digest
+     * @return The stored response and its age, or null if absent, expired or unreadable
+     */
+    public Stored read(String key) {
+        byte[] digest = parseDigest(key);
+        if (digest == null) {
+            return null;
+        }
+        ByteBuffer record;
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(digest);
+            if (slot < 0) {
+                return null;
+            }
+            int base = slotBase(slot);
+            record = ByteBuffer.allocate(index.getInt(base + SLOT_LENGTH));
+            readFully(segment, record, index.getLong(base + SLOT_OFFSET));
+        } catch (IOException e) {
+            logger.warn("Failed to read conversion {} from disk store", key, e);
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        long createdMillis = record.getLong(DIGEST_BYTES);
+        if (isExpired(createdMillis)) {
+            return null;
+        }
+        try {
+            return new Stored(objectMapper.readValue(record.array(), RECORD_HEADER_BYTES,
+                    record.getInt(DIGEST_BYTES + 8), ConversionResponse.class),
+                    Math.max(0, clock.getAsLong() - createdMillis));
+        } catch (IOException e) {
+            logger.warn("Corrupt conversion record {} in disk store", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Appends a conversion and points the index at it. A previous record for the same key
+     * becomes garbage that is reclaimed by the next compaction.
+     *
+     * @param key      Hex request digest
+     * @param response The conversion result
+     */
+    public void put(String key, ConversionResponse response) {
+        byte[] digest = parseDigest(key);
+        if (digest == null) {
+            return;
+        }
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(response);
+        } catch (IOException e) {
+            logger.warn("Cannot serialize conversion {} for disk store", key, e);
+            return;
+        }
+        int recordLength = RECORD_HEADER_BYTES + payload.length;
+        if (SEGMENT_HEADER_BYTES + recordLength > maxSizeBytes) {
+            logger.debug("Conversion record of {} bytes exceeds disk store capacity, not persisting", recordLength);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(recordLength, true);
+            long offset = append(digest, clock.getAsLong(), payload);
+            upsert(digest, offset, recordLength);
+            commit();
+        } catch (IOException e) {
+            logger.warn("Failed to persist conversion {}", key, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a persisted conversion by appending a tombstone.
+     *
+     * @param key Hex request digest
+     * @return true if a live entry was removed
+     */
+    public boolean invalidate(String key) {
+        byte[] digest = parseDigest(key);
+        if (digest == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (findSlot(digest) < 0) {
+                return false;
+            }
+            ensureCapacity(RECORD_HEADER_BYTES, false);
+            append(digest, clock.getAsLong(), null);
+            int slot = findSlot(digest);
+            if (slot >= 0) {
+                markDeleted(slot);
+            }
+            commit();
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to invalidate conversion {} in disk store", key, e);
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all persisted conversions and truncates the segment.
+     *
+     * @return Number of entries removed
+     */
+    public int invalidateAll() {
+        lock.writeLock().lock();
+        try {
+            int removed = liveEntries;
+            segment.truncate(SEGMENT_HEADER_BYTES);
+            segmentEnd = SEGMENT_HEADER_BYTES;
+            clearIndex();
+            commit();
+            return removed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear disk conversion store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the segment with only live, unexpired records.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            compact(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact disk conversion store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public DiskCacheStats stats() {
+        lock.readLock().lock();
+        try {
+            return new DiskCacheStats(liveEntries, segmentEnd, liveBytes, maxSizeBytes, slotCount, compactions.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            index.force();
+            segment.force(true);
+            segment.close();
+            indexChannel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        openSegment();
+        indexChannel = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long indexBytes = INDEX_HEADER_BYTES + (long) slotCount * SLOT_BYTES;
+        boolean resized = indexChannel.size() != indexBytes;
+        if (resized) {
+            indexChannel.truncate(0);
+        }
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexBytes);
+        if (resized || index.getInt(0) != INDEX_MAGIC || index.getInt(4) != FORMAT_VERSION
+                || index.getInt(8) != slotCount || index.getLong(16) != segmentEnd) {
+            logger.info("Rebuilding disk conversion index from segment");
+            rebuildIndex();
+        } else {
+            loadCounters();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segment = FileChannel.open(directory.resolve(SEGMENT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES);
+        if (segment.size() >= SEGMENT_HEADER_BYTES) {
+            readFully(segment, header, 0);
+            if (header.getInt(0) == SEGMENT_MAGIC && header.getInt(4) == FORMAT_VERSION) {
+                segmentEnd = segment.size();
+                return;
+            }
+            logger.warn("Unrecognized disk conversion segment format, discarding its contents");
+        }
+        segment.truncate(0);
+        header.clear();
+        header.putInt(SEGMENT_MAGIC).putInt(FORMAT_VERSION).flip();
+        writeFully(segment, header, 0);
+        segmentEnd = SEGMENT_HEADER_BYTES;
+    }
+
+    /** Rebuilds the index by replaying the segment; truncates a torn record at the tail. */
+    private void rebuildIndex() throws IOException {
+        clearIndex();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        byte[] digest = new byte[DIGEST_BYTES];
+        long position = SEGMENT_HEADER_BYTES;
+        long size = segment.size();
+        while (position + RECORD_HEADER_BYTES <= size) {
+            header.clear();
+            readFully(segment, header, position);
+            int payloadLength = header.getInt(DIGEST_BYTES + 8);
+            int recordLength = RECORD_HEADER_BYTES + Math.max(payloadLength, 0);
+            if (payloadLength < TOMBSTONE || position + recordLength > size) {
+                break;
+            }
+            header.get(0, digest);
+            if (payloadLength == TOMBSTONE) {
+                int slot = findSlot(digest);
+                if (slot >= 0) {
+                    markDeleted(slot);
+                }
+            } else if (!upsert(digest, position, recordLength)) {
+                logger.warn("Disk conversion index is full, ignoring remaining records");
+                break;
+            }
+            position += recordLength;
+        }
+        if (position != size) {
+            logger.warn("Truncating {} trailing bytes of incomplete records in disk conversion segment",
+                    size - position);
+            segment.truncate(position);
+        }
+        segmentEnd = position;
+        commit();
+    }
+
+    private void loadCounters() {
+        liveEntries = 0;
+        usedSlots = 0;
+        liveBytes = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int state = index.getInt(slotBase(slot) + SLOT_STATE);
+            if (state != STATE_EMPTY) {
+                usedSlots++;
+            }
+            if (state == STATE_LIVE) {
+                liveEntries++;
+                liveBytes += index.getInt(slotBase(slot) + SLOT_LENGTH);
+            }
+        }
+    }
+
+    /** Compacts before an append of {@code needed} bytes if a limit or the garbage threshold is hit. */
+    private void ensureCapacity(int needed, boolean newEntry) throws IOException {
+        long garbage = segmentEnd - SEGMENT_HEADER_BYTES - liveBytes;
+        if (segmentEnd + needed > maxSizeBytes
+                || (newEntry && usedSlots >= maxEntries)
+                || (segmentEnd > MIN_COMPACTION_BYTES && garbage > compactionGarbageRatio * segmentEnd)) {
+            compact(needed);
+        }
+    }
+
+    /**
+     * Copies live records into a fresh segment, oldest first, dropping expired records and, if
+     * still over budget, the oldest records until the store is at three quarters of its limits.
+     */
+    private void compact(int reserve) throws IOException {
+        List<long[]> live = new ArrayList<>(liveEntries);
+        for (int slot = 0; slot < slotCount; slot++) {
+            int base = slotBase(slot);
+            if (index.getInt(base + SLOT_STATE) == STATE_LIVE) {
+                live.add(new long[]{index.getLong(base + SLOT_OFFSET), index.getInt(base + SLOT_LENGTH)});
+            }
+        }
+        live.sort(Comparator.comparingLong(record -> record[0]));
+
+        long totalBytes = 0;
+        for (long[] record : live) {
+            totalBytes += record[1];
+        }
+        long byteBudget = maxSizeBytes - SEGMENT_HEADER_BYTES - reserve;
+        if (totalBytes > byteBudget) {
+            byteBudget = byteBudget * 3 / 4;
+        }
+        int entryBudget = live.size() >= maxEntries ? maxEntries * 3 / 4 : maxEntries;
+        int first = 0;
+        while (first < live.size() && (totalBytes > byteBudget || live.size() - first > entryBudget)) {
+            totalBytes -= live.get(first)[1];
+            first++;
+        }
+
+        Path compacted = directory.resolve(SEGMENT_FILE + ".compact");
+        int expired = 0;
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES);
+            header.putInt(SEGMENT_MAGIC).putInt(FORMAT_VERSION).flip();
+            writeFully(target, header, 0);
+            long position = SEGMENT_HEADER_BYTES;
+            ByteBuffer created = ByteBuffer.allocate(8);
+            for (int i = first; i < live.size(); i++) {
+                long offset = live.get(i)[0];
+                int length = (int) live.get(i)[1];
+                created.clear();
+                readFully(segment, created, offset + DIGEST_BYTES);
+                if (isExpired(created.getLong(0))) {
+                    expired++;
+                    continue;
+                }
+                long copied = 0;
+                while (copied < length) {
+                    copied += segment.transferTo(offset + copied, length - copied, target.position(position + copied));
+                }
+                position += length;
+            }
+            target.force(true);
+        }
+        segment.close();
+        Files.move(compacted, directory.resolve(SEGMENT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openSegment();
+        rebuildIndex();
+        compactions.incrementAndGet();
+        logger.info("Compacted disk conversion store: {} entries kept, {} dropped, {} expired, {} bytes on disk",
+                liveEntries, first, expired, segmentEnd);
+    }
+
+    /** Appends a record (tombstone if payload is null) and returns its offset. */
+    private long append(byte[] digest, long createdMillis, byte[] payload) throws IOException {
+        int payloadLength = payload == null ? 0 : payload.length;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payloadLength);
+        record.put(digest).putLong(createdMillis).putInt(payload == null ? TOMBSTONE : payloadLength);
+        if (payload != null) {
+            record.put(payload);
+        }
+        record.flip();
+        long offset = segmentEnd;
+        writeFully(segment, record, offset);
+        segmentEnd += record.capacity();
+        return offset;
+    }
+
+    /** Points the digest at a record, replacing an existing entry. Returns false if the index is full. */
+    private boolean upsert(byte[] digest, long offset, int recordLength) {
+        int mask = slotCount - 1;
+        int slot = (int) ByteBuffer.wrap(digest).getLong() & mask;
+        int reusable = -1;
+        for (int probe = 0; probe < slotCount; probe++, slot = (slot + 1) & mask) {
+            int base = slotBase(slot);
+            int state = index.getInt(base + SLOT_STATE);
+            if (state == STATE_LIVE && digestEquals(base, digest)) {
+                liveBytes += recordLength - index.getInt(base + SLOT_LENGTH);
+                index.putLong(base + SLOT_OFFSET, offset);
+                index.putInt(base + SLOT_LENGTH, recordLength);
+                return true;
+            }
+            if (state == STATE_DELETED && reusable < 0) {
+                reusable = slot;
+            } else if (state == STATE_EMPTY) {
+                if (reusable < 0) {
+                    reusable = slot;
+                    usedSlots++;
+                }
+                break;
+            }
+        }
+        if (reusable < 0) {
+            return false;
+        }
+        int base = slotBase(reusable);
+        index.put(base, digest);
+        index.putLong(base + SLOT_OFFSET, offset);
+        index.putInt(base + SLOT_LENGTH, recordLength);
+        index.putInt(base + SLOT_STATE, STATE_LIVE);
+        liveEntries++;
+        liveBytes += recordLength;
+        return true;
+    }
+
+    private int findSlot(byte[] digest) {
+        int mask = slotCount - 1;
+        int slot = (int) ByteBuffer.wrap(digest).getLong() & mask;
+        for (int probe = 0; probe < slotCount; probe++, slot = (slot + 1) & mask) {
+            int base = slotBase(slot);
+            int state = index.getInt(base + SLOT_STATE);
+            if (state == STATE_EMPTY) {
+                return -1;
+            }
+            if (state == STATE_LIVE && digestEquals(base, digest)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void markDeleted(int slot) {
+        int base = slotBase(slot);
+        index.putInt(base + SLOT_STATE, STATE_DELETED);
+        liveEntries--;
+        liveBytes -= index.getInt(base + SLOT_LENGTH);
+    }
+
+    private boolean digestEquals(int base, byte[] digest) {
+        ByteBuffer expected = ByteBuffer.wrap(digest);
+        for (int i = 0; i < DIGEST_BYTES; i += 8) {
+            if (index.getLong(base + i) != expected.getLong(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clearIndex() {
+        for (int position = 0; position < index.capacity(); position += 8) {
+            index.putLong(position, 0L);
+        }
+        liveEntries = 0;
+        usedSlots = 0;
+        liveBytes = 0;
+    }
+
+    /** Records the segment length the index is consistent with. */
+    private void commit() {
+        index.putInt(0, INDEX_MAGIC);
+        index.putInt(4, FORMAT_VERSION);
+        index.putInt(8, slotCount);
+        index.putLong(16, segmentEnd);
+    }
+
+    private boolean isExpired(long createdMillis) {
+        return clock.getAsLong() - createdMillis >= ttlMillis;
+    }
+
+    private static int slotBase(int slot) {
+        return INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private static byte[] parseDigest(String key) {
+        if (key == null || key.length() != DIGEST_BYTES * 2) {
+            return null;
+        }
+        try {
+            return HexFormat.of().parseHex(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of disk conversion segment");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * A persisted conversion and how long ago it was written.
+     */
+    public static final class Stored {
+
+        private final ConversionResponse response;
+        private final long ageMillis;
+
+        Stored(ConversionResponse response, long ageMillis) {
+            this.response = response;
+            this.ageMillis = ageMillis;
+        }
+
+        public ConversionResponse getResponse() {
+            return response;
+        }
+
+        public long getAgeMillis() {
+            return ageMillis;
+        }
+    }
+}
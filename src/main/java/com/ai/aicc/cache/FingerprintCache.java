@@ -0,0 +1,234 @@
+package com.ai.aicc.cache;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.FingerprintCacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Near-duplicate cache that reuses a conversion for snippets differing only in whitespace,
+ * comments, names or literal values.
+ *
+ * <p>Successful conversions are stored as a {@link ConversionTemplate} keyed by the
+ * {@link SourceFingerprint} of the source code (plus languages, deployment and prompt version,
+ * like {@link RequestDigest}). A later request with the same fingerprint is answered by filling
+ * in its own names and literals - without calling Azure OpenAI. Conversions that cannot be
+ * templated safely are simply not stored, so such requests keep going to the model.
+ *
+ * <p>Entries are evicted in least-recently-used order and expire after the result cache's
+ * time-to-live. The fingerprint cache is in-memory only and is off whenever the result cache is.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.cache.fingerprint.enabled - Turns near-duplicate reuse on or off</li>
+ *   <li>aicc.cache.fingerprint.max-entries - Maximum number of stored templates</li>
+ *   <li>aicc.cache.fingerprint.max-source-length - Longer sources are not fingerprinted; tokenizing a
+ *       large file costs many times its size in garbage and such files rarely recur with new names</li>
+ * </ul>
+ *
+ * <p><b>Thread Safety:</b> The map is guarded by a single lock; fingerprinting and rendering
+ * happen outside of it.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ConversionCache
+ */
+@Component
+public class FingerprintCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FingerprintCache.class);
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int maxSourceLength;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong notTemplatable = new AtomicLong();
+
+    @Autowired
+    public FingerprintCache(@Value("${aicc.cache.enabled:true}") boolean cacheEnabled,
+                            @Value("${aicc.cache.fingerprint.enabled:true}") boolean enabled,
+                            @Value("${aicc.cache.fingerprint.max-entries:10000}") int maxEntries,
+                            @Value("${aicc.cache.fingerprint.max-source-length:20000}") int maxSourceLength,
+                            @Value("${aicc.cache.ttl:24h}") Duration ttl) {
+        this(cacheEnabled && enabled, maxEntries, maxSourceLength, ttl, System::nanoTime);
+    }
+
+    FingerprintCache(boolean enabled, int maxEntries, int maxSourceLength, Duration ttl, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxSourceLength = maxSourceLength;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        logger.info("Fingerprint cache enabled={}, maxEntries={}, maxSourceLength={}",
+                enabled, maxEntries, maxSourceLength);
+    }
+
+    /**
+     * Converts a request from the template of a structurally identical, earlier request.
+     *
+     * @param request        The conversion request
+     * @param deploymentName The Azure OpenAI deployment the request would be sent to
+     * @param promptVersion  Version of the prompt template used by the service
+     * @return The converted code, or {@code null} if no usable template exists
+     */
+    public String get(ConversionRequest request, String deploymentName, String promptVersion) {
+        if (!enabled) {
+            return null;
+        }
+        SourceFingerprint fingerprint = fingerprint(request);
+        if (fingerprint == null) {
+            return null;
+        }
+
+        ConversionTemplate template = null;
+        String key = key(fingerprint, request, deploymentName, promptVersion);
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && nanoClock.getAsLong() - entry.createdNanos >= ttlNanos) {
+                entries.remove(key);
+            } else if (entry != null) {
+                template = entry.template;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        String converted = template == null ? null : template.render(fingerprint, request.getTargetLanguage());
+        (converted == null ? misses : hits).incrementAndGet();
+        return converted;
+    }
+
+    /**
+     * Stores a successful conversion as a template if it can be re-targeted safely.
+     *
+     * @param request        The converted request
+     * @param convertedCode  The model's conversion
+     * @param deploymentName The Azure OpenAI deployment that converted it
+     * @param promptVersion  Version of the prompt template used by the service
+     */
+    public void put(ConversionRequest request, String convertedCode, String deploymentName, String promptVersion) {
+        if (!enabled) {
+            return;
+        }
+        SourceFingerprint fingerprint = fingerprint(request);
+        if (fingerprint == null) {
+            return;
+        }
+        ConversionTemplate template = ConversionTemplate.create(fingerprint, convertedCode);
+        if (template == null) {
+            notTemplatable.incrementAndGet();
+            return;
+        }
+
+        String key = key(fingerprint, request, deploymentName, promptVersion);
+        lock.lock();
+        try {
+            entries.put(key, new Entry(template, nanoClock.getAsLong()));
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        stored.incrementAndGet();
+    }
+
+    /**
+     * Removes the template the given request would be answered from.
+     *
+     * @return true if a template was removed
+     */
+    public boolean invalidate(ConversionRequest request, String deploymentName, String promptVersion) {
+        SourceFingerprint fingerprint = fingerprint(request);
+        if (fingerprint == null) {
+            return false;
+        }
+        String key = key(fingerprint, request, deploymentName, promptVersion);
+        lock.lock();
+        try {
+            return entries.remove(key) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all templates.
+     *
+     * @return Number of templates removed
+     */
+    public int invalidateAll() {
+        lock.lock();
+        try {
+            int removed = entries.size();
+            entries.clear();
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Current counters
+     */
+    public FingerprintCacheStats stats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new FingerprintCacheStats(enabled, size, hits.get(), misses.get(), stored.get(), notTemplatable.get());
+    }
+
+    /**
+     * @return The fingerprint of the request's source, or {@code null} if it is too long or cannot
+     *         be fingerprinted
+     */
+    private SourceFingerprint fingerprint(ConversionRequest request) {
+        String sourceCode = request.getSourceCode();
+        if (sourceCode == null || sourceCode.length() > maxSourceLength) {
+            return null;
+        }
+        return SourceFingerprint.of(sourceCode, request.getSourceLanguage());
+    }
+
+    private static String key(SourceFingerprint fingerprint, ConversionRequest request, String deploymentName,
+                              String promptVersion) {
+        return RequestDigest.of(new ConversionRequest(fingerprint.canonical(), request.getSourceLanguage(),
+                request.getTargetLanguage()), deploymentName, promptVersion + "-fingerprint");
+    }
+
+    private static final class Entry {
+        private final ConversionTemplate template;
+        private final long createdNanos;
+
+        private Entry(ConversionTemplate template, long createdNanos) {
+            this.template = template;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
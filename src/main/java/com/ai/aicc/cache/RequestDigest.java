@@ -0,0 +1,212 @@
+package com.ai.aicc.cache;
+
+import com.ai.aicc.model.ConversionRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Computes content-addressed cache keys for conversion requests.
+ *
+ * <p>The key is a SHA-256 digest over everything that determines the model output:
+ * <ul>
+ *   <li>The normalized source code (line endings unified, trailing whitespace and
+ *       surrounding blank lines removed)</li>
+ *   <li>The source and target languages (case-insensitive)</li>
+ *   <li>The deployment name the prompt is sent to</li>
+ *   <li>The prompt version, so prompt changes never serve stale conversions</li>
+ * </ul>
+ *
+ * <p>Two requests that only differ in cosmetic whitespace therefore share a key. The source is
+ * normalized and hashed line by line through a small buffer, so a large source is never copied.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class RequestDigest {
+
+    /** Field separator that cannot appear in normalized language or deployment names */
+    private static final byte SEPARATOR = 0;
+
+    /** Maximum size of the buffer the normalized source is encoded through */
+    private static final int ENCODE_BUFFER_BYTES = 8192;
+
+    private RequestDigest() {
+    }
+
+    /**
+     * Computes the hex-encoded cache key for a request.
+     *
+     * @param request        The conversion request
+     * @param deploymentName The Azure OpenAI deployment the request would be sent to
+     * @param promptVersion  Version of the prompt template used by the service
+     * @return 64-character lowercase hex SHA-256 digest
+     */
+    public static String of(ConversionRequest request, String deploymentName, String promptVersion) {
+        MessageDigest digest = newDigest();
+        update(digest, normalizeLanguage(request.getSourceLanguage()));
+        update(digest, normalizeLanguage(request.getTargetLanguage()));
+        update(digest, deploymentName);
+        update(digest, promptVersion);
+        updateNormalizedSource(digest, request.getSourceCode());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Normalizes source code so that cosmetic differences do not change the key.
+     *
+     * <p>CRLF and CR line endings become LF, trailing whitespace on each line is dropped,
+     * and leading/trailing blank lines are removed. Indentation is preserved because it is
+     * significant in Python.
+     *
+     * @param sourceCode Raw source code, may be null
+     * @return Normalized source code, never null
+     */
+    static String normalizeSource(String sourceCode) {
+        StringBuilder normalized = new StringBuilder(sourceCode == null ? 0 : sourceCode.length());
+        forEachNormalizedLine(sourceCode, (text, start, end, newlines) -> {
+            normalized.append("\n".repeat(newlines)).append(text, start, end);
+        });
+        return normalized.toString();
+    }
+
+    /**
+     * Hashes the UTF-8 encoding of {@link #normalizeSource normalized} source code, followed by
+     * the field separator, without building the normalized string.
+     *
+     * @param digest     Digest to update
+     * @param sourceCode Raw source code, may be null
+     */
+    private static void updateNormalizedSource(MessageDigest digest, String sourceCode) {
+        int length = sourceCode == null ? 0 : sourceCode.length();
+        // Small sources need no more than their worst-case encoded size
+        Utf8DigestWriter writer = new Utf8DigestWriter(digest, Math.max(4, Math.min(ENCODE_BUFFER_BYTES, length * 3)));
+        forEachNormalizedLine(sourceCode, writer);
+        writer.flush();
+        digest.update(SEPARATOR);
+    }
+
+    /**
+     * Walks the lines of the normalized source without copying them.
+     *
+     * @param sourceCode Raw source code, may be null
+     * @param consumer   Receives each non-blank line, in order
+     */
+    private static void forEachNormalizedLine(String sourceCode, LineConsumer consumer) {
+        if (sourceCode == null) {
+            return;
+        }
+        int length = sourceCode.length();
+        int lineStart = 0;
+        // Blank lines are held back until a non-blank line follows, which drops trailing ones
+        int pendingNewlines = -1;
+        while (lineStart <= length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && sourceCode.charAt(lineEnd) != '\n' && sourceCode.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd;
+            while (contentEnd > lineStart && Character.isWhitespace(sourceCode.charAt(contentEnd - 1))) {
+                contentEnd--;
+            }
+            if (contentEnd > lineStart) {
+                consumer.accept(sourceCode, lineStart, contentEnd, Math.max(0, pendingNewlines));
+                pendingNewlines = 1;
+            } else if (pendingNewlines >= 0) {
+                pendingNewlines++;
+            }
+            if (lineEnd < length && sourceCode.charAt(lineEnd) == '\r'
+                    && lineEnd + 1 < length && sourceCode.charAt(lineEnd + 1) == '\n') {
+                lineEnd++;
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /** Receives a normalized line: {@code text[start, end)} preceded by {@code newlines} line feeds */
+    @FunctionalInterface
+    private interface LineConsumer {
+        void accept(String text, int start, int end, int newlines);
+    }
+
+    private static String normalizeLanguage(String language) {
+        return language == null ? "" : language.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(SEPARATOR);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Encodes normalized lines as UTF-8 into a fixed buffer that is hashed whenever it fills up.
+     * Lone surrogates become {@code ?}, as in {@link String#getBytes}.
+     */
+    private static final class Utf8DigestWriter implements LineConsumer {
+
+        private final MessageDigest digest;
+        private final byte[] buffer;
+        private int position;
+
+        private Utf8DigestWriter(MessageDigest digest, int bufferBytes) {
+            this.digest = digest;
+            this.buffer = new byte[bufferBytes];
+        }
+
+        @Override
+        public void accept(String text, int start, int end, int newlines) {
+            for (int i = 0; i < newlines; i++) {
+                ensureCapacity(1);
+                buffer[position++] = '\n';
+            }
+            for (int i = start; i < end; i++) {
+                // Up to four bytes per code point
+                ensureCapacity(4);
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | c >> 6);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < end
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    buffer[position++] = '?';
+                } else {
+                    buffer[position++] = (byte) (0xE0 | c >> 12);
+                    buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+        }
+
+        private void ensureCapacity(int bytes) {
+            if (position + bytes > buffer.length) {
+                flush();
+            }
+        }
+
+        void flush() {
+            digest.update(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,594 @@
+package com.ai.aicc.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Structural fingerprint of a piece of source code: its token sequence with user-chosen names and
+ * literal values replaced by numbered placeholders.
+ *
+ * <p>Two snippets share a fingerprint when they differ only in whitespace, comments, local names
+ * or literal values, e.g. {@code int total = price * 2; // doubled} and
+ * {@code int sum = cost * 3;}. The values that were abstracted away are kept as
+ * {@link #identifiers()}, {@link #strings()} and {@link #numbers()}, numbered by first occurrence,
+ * so a conversion of one snippet can be re-targeted to the other, see {@link ConversionTemplate}.
+ *
+ * <p><b>What stays literal:</b> Keywords, operators, member names after a dot, names of called
+ * functions and methods, type names used for static access, annotations, import statements,
+ * string literals with quotes, escapes or interpolation, and numbers other than plain integers
+ * and decimals. These usually map to target-language constructs rather than being copied, so
+ * abstracting them could silently produce wrong conversions. Python indentation is kept as
+ * indent/dedent tokens because it is part of the program structure.
+ *
+ * <p><b>Supported Languages:</b> Java, C#, Python, SQL. For other languages {@link #of} returns
+ * {@code null}.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class SourceFingerprint {
+
+    /** Starts a placeholder in canonical text and templates; rejected in input */
+    static final char MARKER = '\u0001';
+
+    private static final Set<String> JAVA_KEYWORDS = Set.of(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if",
+            "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private",
+            "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized",
+            "this", "throw", "throws", "transient", "try", "void", "volatile", "while", "var", "record", "yield",
+            "sealed", "permits", "true", "false", "null");
+
+    private static final Set<String> CSHARP_KEYWORDS = Set.of(
+            "abstract", "as", "base", "bool", "break", "byte", "case", "catch", "char", "checked", "class", "const",
+            "continue", "decimal", "default", "delegate", "do", "double", "else", "enum", "event", "explicit",
+            "extern", "false", "finally", "fixed", "float", "for", "foreach", "goto", "if", "implicit", "in", "int",
+            "interface", "internal", "is", "lock", "long", "namespace", "new", "null", "object", "operator", "out",
+            "override", "params", "private", "protected", "public", "readonly", "ref", "return", "sbyte", "sealed",
+            "short", "sizeof", "stackalloc", "static", "string", "struct", "switch", "this", "throw", "true", "try",
+            "typeof", "uint", "ulong", "unchecked", "unsafe", "ushort", "using", "virtual", "void", "volatile",
+            "while", "var", "async", "await", "dynamic", "get", "set", "value", "yield", "record", "init");
+
+    private static final Set<String> PYTHON_KEYWORDS = Set.of(
+            "False", "None", "True", "and", "as", "assert", "async", "await", "break", "class", "continue", "def",
+            "del", "elif", "else", "except", "finally", "for", "from", "global", "if", "import", "in", "is",
+            "lambda", "nonlocal", "not", "or", "pass", "raise", "return", "try", "while", "with", "yield",
+            "self", "cls", "match", "case");
+
+    private static final Set<String> SQL_KEYWORDS = Set.of(
+            "SELECT", "FROM", "WHERE", "AND", "OR", "NOT", "NULL", "IS", "LIKE", "IN", "BETWEEN", "EXISTS", "AS",
+            "ON", "JOIN", "INNER", "LEFT", "RIGHT", "FULL", "OUTER", "CROSS", "GROUP", "BY", "ORDER", "HAVING",
+            "ASC", "DESC", "LIMIT", "OFFSET", "TOP", "DISTINCT", "UNION", "ALL", "INSERT", "INTO", "VALUES",
+            "UPDATE", "SET", "DELETE", "CREATE", "TABLE", "VIEW", "INDEX", "DROP", "ALTER", "ADD", "COLUMN",
+            "PRIMARY", "KEY", "FOREIGN", "REFERENCES", "CONSTRAINT", "DEFAULT", "UNIQUE", "CHECK", "CASE", "WHEN",
+            "THEN", "ELSE", "END", "BEGIN", "COMMIT", "ROLLBACK", "TRANSACTION", "DECLARE", "PROCEDURE",
+            "FUNCTION", "RETURNS", "RETURN", "IF", "WHILE", "TRUE", "FALSE", "WITH", "RECURSIVE", "INT",
+            "INTEGER", "BIGINT", "SMALLINT", "DECIMAL", "NUMERIC", "VARCHAR", "CHAR", "TEXT", "DATE",
+            "TIMESTAMP", "BOOLEAN", "FLOAT", "REAL", "DOUBLE", "CAST", "OVER", "PARTITION", "ROWS", "RANGE");
+
+    /** Keywords that name a type, so a following {@code name(} is a declaration rather than a call */
+    private static final Set<String> TYPE_KEYWORDS = Set.of(
+            "void", "boolean", "bool", "byte", "sbyte", "char", "short", "ushort", "int", "uint", "long", "ulong",
+            "float", "double", "decimal", "string", "object", "var", "dynamic");
+
+    /** Operators lexed as one token, longest first, so e.g. {@code a - -b} and {@code a--b} differ */
+    private static final String[] OPERATORS = {
+            ">>>=", "<<=", ">>=", ">>>", "...", "**=", "//=", "->", "::", "++", "--", "&&", "||", "==", "!=", "<=",
+            ">=", "+=", "-=", "*=", "/=", "%=", "&=", "|=", "^=", "<<", ">>", "**", "//", ":=", "=>", "??", "?.",
+            "<>"
+    };
+
+    private enum Language { JAVA, CSHARP, PYTHON, SQL }
+
+    private enum TokenType { WORD, NUMBER, STRING, OPAQUE, SYMBOL, NEWLINE, INDENT, DEDENT }
+
+    private static final class Token {
+
+        private final TokenType type;
+        private final String text;
+        /** Opening quote of a STRING token */
+        private final char quote;
+
+        private Token(TokenType type, String text, char quote) {
+            this.type = type;
+            this.text = text;
+            this.quote = quote;
+        }
+    }
+
+    private final String canonical;
+    private final List<String> identifiers;
+    private final List<String> strings;
+    private final List<String> numbers;
+    private final int[] stringOccurrences;
+    private final int[] numberOccurrences;
+
+    private SourceFingerprint(String canonical, List<String> identifiers, List<String> strings, List<String> numbers,
+                              int[] stringOccurrences, int[] numberOccurrences) {
+        this.canonical = canonical;
+        this.identifiers = identifiers;
+        this.strings = strings;
+        this.numbers = numbers;
+        this.stringOccurrences = stringOccurrences;
+        this.numberOccurrences = numberOccurrences;
+    }
+
+    /**
+     * Fingerprints source code.
+     *
+     * @param sourceCode Source code
+     * @param language   Declared source language
+     * @return The fingerprint, or {@code null} if the language is not supported or the code
+     *         cannot be tokenized (e.g. an unterminated string)
+     */
+    public static SourceFingerprint of(String sourceCode, String language) {
+        Language lang = language(language);
+        if (lang == null || sourceCode == null || sourceCode.indexOf(MARKER) >= 0) {
+            return null;
+        }
+        List<Token> tokens = new Lexer(sourceCode, lang).tokenize();
+        return tokens == null ? null : canonicalize(tokens, lang);
+    }
+
+    /**
+     * @return Token sequence with placeholders; equal for snippets that differ only in abstracted values
+     */
+    public String canonical() {
+        return canonical;
+    }
+
+    /** Distinct abstracted names in order of first occurrence */
+    public List<String> identifiers() {
+        return identifiers;
+    }
+
+    /** Distinct abstracted string literal contents, without quotes, in order of first occurrence */
+    public List<String> strings() {
+        return strings;
+    }
+
+    /** Distinct abstracted numeric literals in order of first occurrence */
+    public List<String> numbers() {
+        return numbers;
+    }
+
+    /** How often {@code strings().get(index)} occurs in the source */
+    int stringOccurrences(int index) {
+        return stringOccurrences[index];
+    }
+
+    /** How often {@code numbers().get(index)} occurs in the source */
+    int numberOccurrences(int index) {
+        return numberOccurrences[index];
+    }
+
+    /**
+     * @return Whether the name is a keyword of the language, so it must not be introduced as a
+     *         variable name; {@code false} for unsupported languages
+     */
+    static boolean isKeyword(String word, String language) {
+        Language lang = language(language);
+        return lang != null && keywords(lang).contains(lang == Language.SQL ? word.toUpperCase(Locale.ROOT) : word);
+    }
+
+    private static Language language(String language) {
+        if (language == null) {
+            return null;
+        }
+        return switch (language.trim().toLowerCase(Locale.ROOT)) {
+            case "java" -> Language.JAVA;
+            case "c#", "csharp" -> Language.CSHARP;
+            case "python" -> Language.PYTHON;
+            case "sql" -> Language.SQL;
+            default -> null;
+        };
+    }
+
+    private static Set<String> keywords(Language language) {
+        return switch (language) {
+            case JAVA -> JAVA_KEYWORDS;
+            case CSHARP -> CSHARP_KEYWORDS;
+            case PYTHON -> PYTHON_KEYWORDS;
+            case SQL -> SQL_KEYWORDS;
+        };
+    }
+
+    private static SourceFingerprint canonicalize(List<Token> tokens, Language language) {
+        Set<String> keywords = keywords(language);
+        Map<String, Integer> identifiers = new HashMap<>();
+        Map<String, Integer> strings = new HashMap<>();
+        Map<String, Integer> numbers = new HashMap<>();
+        List<String> identifierList = new ArrayList<>();
+        List<String> stringList = new ArrayList<>();
+        List<String> numberList = new ArrayList<>();
+        List<Integer> stringCounts = new ArrayList<>();
+        List<Integer> numberCounts = new ArrayList<>();
+
+        StringBuilder canonical = new StringBuilder();
+        boolean importStatement = false;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            Token previous = i > 0 ? tokens.get(i - 1) : null;
+            Token next = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+
+            // Import statements name libraries, which are never renamed
+            if (importStatement && (token.type == TokenType.NEWLINE || isSymbol(token, ";") || isSymbol(token, "{"))) {
+                importStatement = false;
+            } else if (token.type == TokenType.WORD && startsImport(token.text, language)
+                    && (previous == null || previous.type == TokenType.NEWLINE || isSymbol(previous, ";")
+                    || isSymbol(previous, "}") || previous.type == TokenType.INDENT
+                    || previous.type == TokenType.DEDENT)) {
+                importStatement = true;
+            }
+
+            canonical.append(' ');
+            switch (token.type) {
+                case WORD -> {
+                    String keyword = language == Language.SQL ? token.text.toUpperCase(Locale.ROOT) : token.text;
+                    if (keywords.contains(keyword)) {
+                        canonical.append(keyword);
+                    } else if (importStatement || isLiteralName(token, previous, next, language)) {
+                        canonical.append(token.text);
+                    } else {
+                        canonical.append(MARKER).append('I').append(index(identifiers, identifierList, token.text));
+                    }
+                }
+                case NUMBER -> {
+                    if (isPlainNumber(token.text)) {
+                        int index = index(numbers, numberList, token.text);
+                        count(numberCounts, index);
+                        canonical.append(MARKER).append(token.text.indexOf('.') >= 0 ? 'D' : 'N').append(index);
+                    } else {
+                        canonical.append(token.text);
+                    }
+                }
+                case STRING -> {
+                    int index = index(strings, stringList, token.text);
+                    count(stringCounts, index);
+                    canonical.append(MARKER).append('S').append(token.quote).append(index);
+                }
+                case NEWLINE -> canonical.append('\n');
+                case INDENT -> canonical.append(">>");
+                case DEDENT -> canonical.append("<<");
+                default -> canonical.append(token.text);
+            }
+        }
+        return new SourceFingerprint(canonical.toString(), List.copyOf(identifierList), List.copyOf(stringList),
+                List.copyOf(numberList), stringCounts.stream().mapToInt(Integer::intValue).toArray(),
+                numberCounts.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void count(List<Integer> counts, int index) {
+        if (index == counts.size()) {
+            counts.add(1);
+        } else {
+            counts.set(index, counts.get(index) + 1);
+        }
+    }
+
+    private static int index(Map<String, Integer> indexes, List<String> values, String value) {
+        return indexes.computeIfAbsent(value, v -> {
+            values.add(v);
+            return values.size() - 1;
+        });
+    }
+
+    private static boolean startsImport(String word, Language language) {
+        return switch (language) {
+            case JAVA -> word.equals("import") || word.equals("package");
+            case CSHARP -> word.equals("using") || word.equals("namespace");
+            case PYTHON -> word.equals("import") || word.equals("from");
+            case SQL -> false;
+        };
+    }
+
+    /**
+     * Decides whether a name refers to something outside the snippet - a member, a called
+     * function, a type used for static access, an annotation - and therefore stays literal.
+     */
+    private static boolean isLiteralName(Token token, Token previous, Token next, Language language) {
+        if (previous != null && (isSymbol(previous, ".") || isSymbol(previous, "?.") || isSymbol(previous, "@"))) {
+            return true;
+        }
+        if (next == null) {
+            return false;
+        }
+        if (isSymbol(next, "(")) {
+            return !isDeclaration(previous, language);
+        }
+        if (isSymbol(next, ".")) {
+            // Python modules and Java/C# classes (System.out, Math.max) are accessed by name
+            return language == Language.PYTHON || Character.isUpperCase(token.text.charAt(0));
+        }
+        return false;
+    }
+
+    /** Whether {@code name(} after this token declares a function or method rather than calling it */
+    private static boolean isDeclaration(Token previous, Language language) {
+        if (previous == null) {
+            return false;
+        }
+        return switch (language) {
+            case PYTHON -> previous.type == TokenType.WORD && (previous.text.equals("def") || previous.text.equals("class"));
+            case JAVA, CSHARP -> isSymbol(previous, ">") || isSymbol(previous, "]")
+                    || (previous.type == TokenType.WORD && (TYPE_KEYWORDS.contains(previous.text)
+                    || !keywords(language).contains(previous.text)));
+            case SQL -> false;
+        };
+    }
+
+    private static boolean isSymbol(Token token, String symbol) {
+        return token.type == TokenType.SYMBOL && token.text.equals(symbol);
+    }
+
+    private static boolean isPlainNumber(String text) {
+        int dot = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.' && dot < 0 && i > 0 && i < text.length() - 1) {
+                dot = i;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits source code into tokens, dropping whitespace and comments.
+     */
+    private static final class Lexer {
+
+        private final String source;
+        private final Language language;
+        private final List<Token> tokens = new ArrayList<>();
+        private int position;
+
+        // Python layout
+        private final List<Integer> indents = new ArrayList<>(List.of(0));
+        private int bracketDepth;
+        private boolean lineStart = true;
+
+        private Lexer(String source, Language language) {
+            this.source = source;
+            this.language = language;
+        }
+
+        /** @return The tokens, or {@code null} if the source is malformed */
+        private List<Token> tokenize() {
+            int length = source.length();
+            while (position < length) {
+                if (language == Language.PYTHON && lineStart) {
+                    layout();
+                    continue;
+                }
+                char c = source.charAt(position);
+                if (c == '\n') {
+                    position++;
+                    if (language == Language.PYTHON && bracketDepth == 0) {
+                        newline();
+                    }
+                } else if (Character.isWhitespace(c)) {
+                    position++;
+                } else if (startsComment()) {
+                    skipComment();
+                } else if (language == Language.PYTHON && c == '\\' && next(1) == '\n') {
+                    position += 2;
+                } else if (Character.isLetter(c) || c == '_' || (c == '$' && language == Language.JAVA)) {
+                    if (!word()) {
+                        return null;
+                    }
+                } else if (c >= '0' && c <= '9') {
+                    number();
+                } else if (c == '"' || c == '\'' || (c == '`' && language == Language.SQL)) {
+                    if (!string(position, position)) {
+                        return null;
+                    }
+                } else if (language == Language.CSHARP && (c == '@' || c == '$')
+                        && (next(1) == '"' || (next(1) == '@' || next(1) == '$') && next(2) == '"')) {
+                    if (!string(position, source.indexOf('"', position))) {
+                        return null;
+                    }
+                } else {
+                    symbol();
+                }
+            }
+            if (language == Language.PYTHON) {
+                newline();
+                while (indents.size() > 1) {
+                    indents.remove(indents.size() - 1);
+                    tokens.add(new Token(TokenType.DEDENT, "", '\0'));
+                }
+            }
+            return tokens;
+        }
+
+        /**
+         * Handles indentation at the start of a Python line, skipping blank and comment-only lines.
+         */
+        private void layout() {
+            int column = 0;
+            int i = position;
+            while (i < source.length() && (source.charAt(i) == ' ' || source.charAt(i) == '\t')) {
+                column = source.charAt(i) == '\t' ? (column / 8 + 1) * 8 : column + 1;
+                i++;
+            }
+            if (i >= source.length() || source.charAt(i) == '\n' || source.charAt(i) == '\r'
+                    || source.charAt(i) == '#') {
+                // Blank and comment-only lines do not affect indentation
+                while (i < source.length() && source.charAt(i) != '\n') {
+                    i++;
+                }
+                position = Math.min(i + 1, source.length());
+                return;
+            }
+            position = i;
+            lineStart = false;
+            int current = indents.get(indents.size() - 1);
+            if (column > current) {
+                indents.add(column);
+                tokens.add(new Token(TokenType.INDENT, "", '\0'));
+            } else {
+                while (column < indents.get(indents.size() - 1)) {
+                    indents.remove(indents.size() - 1);
+                    tokens.add(new Token(TokenType.DEDENT, "", '\0'));
+                }
+                if (column != indents.get(indents.size() - 1)) {
+                    // Inconsistent dedent; keep it visible in the fingerprint
+                    tokens.add(new Token(TokenType.OPAQUE, "<?" + column, '\0'));
+                }
+            }
+        }
+
+        private void newline() {
+            if (!tokens.isEmpty() && tokens.get(tokens.size() - 1).type != TokenType.NEWLINE) {
+                tokens.add(new Token(TokenType.NEWLINE, "", '\0'));
+            }
+            lineStart = true;
+        }
+
+        private boolean startsComment() {
+            char c = source.charAt(position);
+            return switch (language) {
+                case PYTHON -> c == '#';
+                case SQL -> (c == '-' && next(1) == '-') || (c == '/' && next(1) == '*');
+                case JAVA, CSHARP -> c == '/' && (next(1) == '/' || next(1) == '*');
+            };
+        }
+
+        private void skipComment() {
+            if (source.charAt(position) == '/' && next(1) == '*') {
+                int end = source.indexOf("*/", position + 2);
+                position = end < 0 ? source.length() : end + 2;
+            } else {
+                while (position < source.length() && source.charAt(position) != '\n') {
+                    position++;
+                }
+            }
+        }
+
+        /** @return false if a prefixed Python string is malformed */
+        private boolean word() {
+            int start = position;
+            while (position < source.length() && isWordPart(source.charAt(position))) {
+                position++;
+            }
+            String word = source.substring(start, position);
+            if (language == Language.PYTHON && position < source.length()
+                    && (source.charAt(position) == '"' || source.charAt(position) == '\'')
+                    && word.length() <= 2 && word.toLowerCase(Locale.ROOT).matches("[rbuf]+")) {
+                // String prefix: r"", b"", f"{x}" ... u"" is an ordinary string
+                return string(start, position);
+            }
+            tokens.add(new Token(TokenType.WORD, word, '\0'));
+            return true;
+        }
+
+        private boolean isWordPart(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || (c == '$' && language == Language.JAVA);
+        }
+
+        private void number() {
+            int start = position;
+            while (position < source.length()) {
+                char c = source.charAt(position);
+                if (Character.isLetterOrDigit(c) || c == '_') {
+                    position++;
+                } else if (c == '.' && position + 1 < source.length() && Character.isDigit(source.charAt(position + 1))) {
+                    position++;
+                } else if ((c == '+' || c == '-') && (source.charAt(position - 1) == 'e' || source.charAt(position - 1) == 'E')
+                        && !source.startsWith("0x", start) && !source.startsWith("0X", start)) {
+                    position++;
+                } else {
+                    break;
+                }
+            }
+            tokens.add(new Token(TokenType.NUMBER, source.substring(start, position), '\0'));
+        }
+
+        /**
+         * Reads a string literal. Plain literals whose content is safe to substitute become STRING
+         * tokens; prefixed, triple-quoted, escaped or multi-line literals stay verbatim (OPAQUE).
+         *
+         * @param start Start of the literal including any prefix
+         * @param quote Position of the opening quote
+         * @return false if the literal is unterminated
+         */
+        private boolean string(int start, int quote) {
+            char q = source.charAt(quote);
+            boolean prefixed = quote > start;
+            boolean triple = (language == Language.PYTHON || language == Language.JAVA)
+                    && source.startsWith(String.valueOf(q).repeat(3), quote);
+            boolean verbatim = language == Language.CSHARP && source.substring(start, quote).contains("@");
+            boolean doubledQuotes = language == Language.SQL || verbatim;
+
+            int i = quote + (triple ? 3 : 1);
+            boolean escaped = false;
+            while (true) {
+                if (i >= source.length()) {
+                    return false;
+                }
+                char c = source.charAt(i);
+                if (triple) {
+                    if (source.startsWith(String.valueOf(q).repeat(3), i)) {
+                        i += 3;
+                        break;
+                    }
+                    if (c == '\\') {
+                        i++;
+                    }
+                } else if (c == q) {
+                    if (doubledQuotes && i + 1 < source.length() && source.charAt(i + 1) == q) {
+                        escaped = true;
+                        i++;
+                    } else {
+                        i++;
+                        break;
+                    }
+                } else if (c == '\\' && !doubledQuotes) {
+                    escaped = true;
+                    i++;
+                } else if (c == '\n' && !verbatim) {
+                    return false;
+                }
+                i++;
+            }
+            position = i;
+
+            String raw = source.substring(start, i);
+            String content = source.substring(quote + 1, i - 1);
+            // Contents with quotes could not be substituted into a literal of another quote style
+            boolean plain = !prefixed && !triple && !escaped && q != '`'
+                    && !(language == Language.SQL && q == '"') && content.indexOf('\n') < 0
+                    && content.indexOf('"') < 0 && content.indexOf('\'') < 0 && content.indexOf('`') < 0;
+            tokens.add(plain ? new Token(TokenType.STRING, content, q) : new Token(TokenType.OPAQUE, raw, '\0'));
+            return true;
+        }
+
+        private void symbol() {
+            for (String operator : OPERATORS) {
+                if (source.startsWith(operator, position)) {
+                    tokens.add(new Token(TokenType.SYMBOL, operator, '\0'));
+                    position += operator.length();
+                    return;
+                }
+            }
+            char c = source.charAt(position++);
+            if (c == '(' || c == '[' || c == '{') {
+                bracketDepth++;
+            } else if ((c == ')' || c == ']' || c == '}') && bracketDepth > 0) {
+                bracketDepth--;
+            }
+            tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c), '\0'));
+        }
+
+        private char next(int offset) {
+            int i = position + offset;
+            return i < source.length() ? source.charAt(i) : '\0';
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ai.aicc.chunk;
+
+/**
+ * A contiguous slice of a source file that is converted on its own.
+ *
+ * <p>Segments of one file partition it: joining their {@link #getCode() code} with newlines in
+ * order yields the original source. The {@link #getContext() context} repeats the parts of the file
+ * the slice depends on, such as imports and the declaration of the enclosing class, so the model
+ * can resolve names without converting them again.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see SourceSegmenter
+ */
+public final class SourceSegment {
+
+    private final String code;
+    private final String context;
+
+    public SourceSegment(String code, String context) {
+        this.code = code;
+        this.context = context;
+    }
+
+    /**
+     * @return The source lines of this segment
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return Declarations the segment depends on but does not contain, or {@code null} if none
+     */
+    public String getContext() {
+        return context;
+    }
+}
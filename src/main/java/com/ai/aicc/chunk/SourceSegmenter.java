@@ -0,0 +1,709 @@
+package com.ai.aicc.chunk;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits large source files into segments that can be converted independently.
+ *
+ * <p>Cuts are only made between syntactically complete units, never inside a statement, string
+ * or comment:
+ * <ul>
+ *   <li><b>Java, C#:</b> between top-level declarations; a type that alone exceeds the segment size
+ *       is further split between its members</li>
+ *   <li><b>Python:</b> between top-level statements, functions and classes; an oversized class is
+ *       split between its methods</li>
+ *   <li><b>SQL:</b> between statements (terminated by {@code ;}, {@code GO} or {@code /}); procedure
+ *       and function bodies with {@code BEGIN ... END} blocks are kept whole</li>
+ * </ul>
+ * Consecutive units are then packed into segments of at most {@code maxSegmentChars} characters.
+ * A single unit that cannot be split any further becomes an oversized segment of its own. Sources
+ * in other languages are returned as one segment.
+ *
+ * <p>Imports (and package or using declarations) are the shared context of every segment after the
+ * first; members of a split type additionally get the type's declaration as context.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see SourceSegment
+ */
+@Component
+public class SourceSegmenter {
+
+    private static final Pattern BRACE_TYPE_DECLARATION =
+            Pattern.compile("\\b(class|interface|enum|record|struct|namespace)\\b");
+
+    /**
+     * Splits the source code into segments of at most {@code maxSegmentChars} characters.
+     *
+     * @param sourceCode      Source code to split
+     * @param language        Source language, e.g. "Java", "Python", "SQL"
+     * @param maxSegmentChars Target maximum size of a segment
+     * @return Segments in source order; a single segment if the source is small or cannot be split
+     */
+    public List<SourceSegment> split(String sourceCode, String language, int maxSegmentChars) {
+        List<String> lines = Arrays.asList(sourceCode.replace("\r\n", "\n").split("\n", -1));
+        if (sourceCode.length() <= maxSegmentChars) {
+            return List.of(new SourceSegment(String.join("\n", lines), null));
+        }
+
+        Structure structure = structureOf(lines, language);
+        if (structure == null) {
+            return List.of(new SourceSegment(String.join("\n", lines), null));
+        }
+        return pack(lines, structure, units(lines, structure, maxSegmentChars), maxSegmentChars);
+    }
+
+    /**
+     * Returns every line before which {@link #split} may cut the source, whatever the segment size:
+     * the starts of top-level units and of the members of every type declaration.
+     *
+     * @param sourceCode Source code to analyze
+     * @param language   Source language, e.g. "Java", "Python", "SQL"
+     * @return Ascending line indexes (0-based, never 0); empty if the language cannot be split
+     */
+    public List<Integer> cuts(String sourceCode, String language) {
+        List<String> lines = Arrays.asList(sourceCode.replace("\r\n", "\n").split("\n", -1));
+        Structure structure = structureOf(lines, language);
+        List<Integer> cuts = new ArrayList<>();
+        if (structure == null) {
+            return cuts;
+        }
+        // With a segment size of 0 every type is split into its members
+        for (Unit unit : units(lines, structure, 0)) {
+            if (unit.from > 0) {
+                cuts.add(unit.from);
+            }
+        }
+        return cuts;
+    }
+
+    /**
+     * Returns the context {@link #split} gives a segment starting at the given line: the imports,
+     * unless the line is part of them, and the declaration of the type whose body contains the line.
+     *
+     * @param sourceCode Source code the segment is part of
+     * @param language   Source language, e.g. "Java", "Python", "SQL"
+     * @param line       First line of the segment (0-based)
+     * @return Declarations the segment depends on, or {@code null} if none
+     */
+    public String contextAt(String sourceCode, String language, int line) {
+        List<String> lines = Arrays.asList(sourceCode.replace("\r\n", "\n").split("\n", -1));
+        Structure structure = structureOf(lines, language);
+        if (structure == null) {
+            return null;
+        }
+        int preambleEnd = structure.preambleEnd();
+        String preamble = preambleEnd > 0 && line >= preambleEnd
+                ? String.join("\n", lines.subList(0, preambleEnd)) : null;
+
+        String header = null;
+        int from = 0;
+        List<Integer> cuts = boundaries(lines, structure, 0, lines.size(), 0);
+        for (int i = 0; i <= cuts.size(); i++) {
+            int to = i < cuts.size() ? cuts.get(i) : lines.size();
+            if (line < to) {
+                int bodyStart = structure.typeBodyStart(from, to);
+                if (bodyStart >= 0 && line >= bodyStart) {
+                    header = String.join("\n", lines.subList(from, bodyStart)).strip();
+                }
+                break;
+            }
+            from = to;
+        }
+        return context(preamble, header);
+    }
+
+    private static Structure structureOf(List<String> lines, String language) {
+        String normalized = language == null ? "" : language.trim().toLowerCase(Locale.ROOT);
+        switch (normalized) {
+            case "java":
+            case "c#":
+            case "csharp":
+                return new BraceStructure(lines);
+            case "python":
+                return new IndentStructure(lines);
+            case "sql":
+                return new SqlStructure(lines);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Splits the file into top-level units, and oversized type declarations into member units.
+     */
+    private static List<Unit> units(List<String> lines, Structure structure, int maxSegmentChars) {
+        List<Unit> units = new ArrayList<>();
+        List<Integer> cuts = boundaries(lines, structure, 0, lines.size(), 0);
+        int from = 0;
+        for (int i = 0; i <= cuts.size(); i++) {
+            int to = i < cuts.size() ? cuts.get(i) : lines.size();
+            int bodyStart = chars(lines, from, to) > maxSegmentChars ? structure.typeBodyStart(from, to) : -1;
+            if (bodyStart < 0) {
+                units.add(new Unit(from, to, -1, null));
+            } else {
+                // Members of the type share its declaration as context. The first one contains the
+                // declaration itself, so it can be packed with the preceding top-level units.
+                String header = String.join("\n", lines.subList(from, bodyStart)).strip();
+                int memberFrom = from;
+                for (int cut : boundaries(lines, structure, bodyStart, to, 1)) {
+                    units.add(memberFrom == from ? new Unit(from, cut, -1, null) : new Unit(memberFrom, cut, from, header));
+                    memberFrom = cut;
+                }
+                units.add(memberFrom == from ? new Unit(from, to, -1, null) : new Unit(memberFrom, to, from, header));
+            }
+            from = to;
+        }
+        return units;
+    }
+
+    /**
+     * Returns the structure's boundaries, without a final cut that would only split off blank lines.
+     */
+    private static List<Integer> boundaries(List<String> lines, Structure structure, int from, int to, int level) {
+        List<Integer> cuts = structure.boundaries(from, to, level);
+        if (!cuts.isEmpty() && String.join("", lines.subList(cuts.get(cuts.size() - 1), to)).isBlank()) {
+            cuts.remove(cuts.size() - 1);
+        }
+        return cuts;
+    }
+
+    /**
+     * Greedily packs consecutive units of the same parent into segments.
+     */
+    private static List<SourceSegment> pack(List<String> lines, Structure structure, List<Unit> units,
+                                            int maxSegmentChars) {
+        int preambleEnd = structure.preambleEnd();
+        String preamble = preambleEnd > 0 ? String.join("\n", lines.subList(0, preambleEnd)) : null;
+
+        List<SourceSegment> segments = new ArrayList<>();
+        Unit first = units.get(0);
+        int to = first.to;
+        for (int i = 1; i <= units.size(); i++) {
+            Unit unit = i < units.size() ? units.get(i) : null;
+            if (unit != null && unit.parent == first.parent && chars(lines, first.from, unit.to) <= maxSegmentChars) {
+                to = unit.to;
+                continue;
+            }
+            String code = String.join("\n", lines.subList(first.from, to));
+            segments.add(new SourceSegment(code, context(first.from >= preambleEnd ? preamble : null, first.header)));
+            if (unit != null) {
+                first = unit;
+                to = unit.to;
+            }
+        }
+        return segments;
+    }
+
+    private static String context(String preamble, String header) {
+        if (preamble == null) {
+            return header;
+        }
+        return header == null ? preamble : preamble + "\n\n" + header;
+    }
+
+    private static int chars(List<String> lines, int from, int to) {
+        int chars = 0;
+        for (int i = from; i < to; i++) {
+            chars += lines.get(i).length() + 1;
+        }
+        return chars;
+    }
+
+    private static String firstWord(String line) {
+        String trimmed = line.trim();
+        int end = 0;
+        while (end < trimmed.length() && Character.isJavaIdentifierPart(trimmed.charAt(end))) {
+            end++;
+        }
+        return trimmed.substring(0, end);
+    }
+
+    /** Line range of a unit; {@code parent} is the first line of the split type it belongs to, or -1 */
+    private record Unit(int from, int to, int parent, String header) {
+    }
+
+    /**
+     * Language-specific knowledge of where a source file may be cut.
+     */
+    private interface Structure {
+
+        /**
+         * Returns the lines in {@code (from, to)} before which the file can be cut at the given
+         * nesting level: 0 for top-level units, 1 for members of a type.
+         */
+        List<Integer> boundaries(int from, int to, int level);
+
+        /**
+         * Returns the first line of the body if {@code [from, to)} is a type declaration whose
+         * members can be converted separately, otherwise -1.
+         */
+        int typeBodyStart(int from, int to);
+
+        /** Returns the number of leading lines holding imports and similar shared declarations */
+        int preambleEnd();
+    }
+
+    /**
+     * Brace-delimited languages (Java, C#). Tracks brace depth outside comments, strings, character
+     * literals, text blocks and verbatim strings.
+     */
+    private static final class BraceStructure implements Structure {
+
+        private final List<String> lines;
+        /** Brace depth at the start of each line */
+        private final int[] depth;
+        /** Whether each line starts inside a comment or string */
+        private final boolean[] continued;
+        /** Last code character of each line, or 0 if the line has no code */
+        private final char[] lastCode;
+        /** First code character of each line, or 0 if the line has no code */
+        private final char[] firstCode;
+
+        BraceStructure(List<String> lines) {
+            this.lines = lines;
+            int n = lines.size();
+            depth = new int[n];
+            continued = new boolean[n];
+            lastCode = new char[n];
+            firstCode = new char[n];
+
+            int level = 0;
+            boolean blockComment = false;
+            boolean textBlock = false;
+            boolean verbatim = false;
+            for (int i = 0; i < n; i++) {
+                String line = lines.get(i);
+                depth[i] = level;
+                continued[i] = blockComment || textBlock || verbatim;
+                for (int c = 0; c < line.length(); c++) {
+                    char ch = line.charAt(c);
+                    if (blockComment) {
+                        if (ch == '*' && c + 1 < line.length() && line.charAt(c + 1) == '/') {
+                            blockComment = false;
+                            c++;
+                        }
+                    } else if (textBlock) {
+                        if (ch == '\\') {
+                            c++;
+                        } else if (line.startsWith("\"\"\"", c)) {
+                            textBlock = false;
+                            c += 2;
+                        }
+                    } else if (verbatim) {
+                        if (ch == '"') {
+                            if (c + 1 < line.length() && line.charAt(c + 1) == '"') {
+                                c++;
+                            } else {
+                                verbatim = false;
+                            }
+                        }
+                    } else if (ch == '/' && c + 1 < line.length() && line.charAt(c + 1) == '/') {
+                        break;
+                    } else if (ch == '/' && c + 1 < line.length() && line.charAt(c + 1) == '*') {
+                        blockComment = true;
+                        c++;
+                    } else if (Character.isWhitespace(ch)) {
+                        continue;
+                    } else {
+                        if (firstCode[i] == 0) {
+                            firstCode[i] = ch;
+                        }
+                        lastCode[i] = ch;
+                        if (line.startsWith("\"\"\"", c)) {
+                            textBlock = true;
+                            c += 2;
+                        } else if (ch == '@' && c + 1 < line.length() && line.charAt(c + 1) == '"') {
+                            verbatim = true;
+                            c++;
+                        } else if (ch == '"' || ch == '\'') {
+                            c = skipQuoted(line, c, ch);
+                            lastCode[i] = ch;
+                        } else if (ch == '{') {
+                            level++;
+                        } else if (ch == '}') {
+                            level = Math.max(0, level - 1);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static int skipQuoted(String line, int start, char quote) {
+            for (int c = start + 1; c < line.length(); c++) {
+                char ch = line.charAt(c);
+                if (ch == '\\') {
+                    c++;
+                } else if (ch == quote) {
+                    return c;
+                }
+            }
+            return line.length();
+        }
+
+        @Override
+        public List<Integer> boundaries(int from, int to, int level) {
+            List<Integer> cuts = new ArrayList<>();
+            for (int i = from + 1; i < to; i++) {
+                // Cut right after a line that completed a declaration or statement at this level
+                if (depth[i] == level && !continued[i] && (lastCode[i - 1] == ';' || lastCode[i - 1] == '}')
+                        && firstCode[i] != '}' && firstCode[i] != ')' && !continuesStatement(lines.get(i))) {
+                    cuts.add(i);
+                }
+            }
+            return cuts;
+        }
+
+        private static boolean continuesStatement(String line) {
+            String word = firstWord(line);
+            return word.equals("else") || word.equals("catch") || word.equals("finally");
+        }
+
+        @Override
+        public int typeBodyStart(int from, int to) {
+            for (int i = from + 1; i < to; i++) {
+                if (depth[i] == 1) {
+                    String header = String.join("\n", lines.subList(from, i));
+                    return BRACE_TYPE_DECLARATION.matcher(header).find() ? i : -1;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int preambleEnd() {
+            int end = 0;
+            for (int i = 0; i < lines.size(); i++) {
+                String word = firstWord(lines.get(i));
+                if (continued[i] || firstCode[i] == 0) {
+                    continue;
+                }
+                boolean declaration = word.equals("package") || word.equals("import")
+                        || (word.equals("using") && !lines.get(i).contains("("));
+                if (!declaration) {
+                    break;
+                }
+                end = i + 1;
+            }
+            return end;
+        }
+    }
+
+    /**
+     * Indentation-structured languages (Python). A logical line starts outside brackets, strings
+     * and backslash continuations; cuts are made before logical lines at the target indentation.
+     */
+    private static final class IndentStructure implements Structure {
+
+        private final List<String> lines;
+        /** Whether each line starts a logical line with code */
+        private final boolean[] logical;
+        /** Whether each line holds only a comment */
+        private final boolean[] commentOnly;
+        private final int[] indent;
+
+        IndentStructure(List<String> lines) {
+            this.lines = lines;
+            int n = lines.size();
+            logical = new boolean[n];
+            commentOnly = new boolean[n];
+            indent = new int[n];
+
+            int brackets = 0;
+            String tripleQuote = null;
+            boolean backslash = false;
+            for (int i = 0; i < n; i++) {
+                String line = lines.get(i);
+                String trimmed = line.trim();
+                indent[i] = line.length() - line.stripLeading().length();
+                boolean open = brackets > 0 || tripleQuote != null || backslash;
+                logical[i] = !open && !trimmed.isEmpty() && !trimmed.startsWith("#");
+                commentOnly[i] = !open && trimmed.startsWith("#");
+
+                backslash = false;
+                for (int c = 0; c < line.length(); c++) {
+                    char ch = line.charAt(c);
+                    if (tripleQuote != null) {
+                        if (ch == '\\') {
+                            c++;
+                        } else if (line.startsWith(tripleQuote, c)) {
+                            tripleQuote = null;
+                            c += 2;
+                        }
+                    } else if (ch == '#') {
+                        break;
+                    } else if (line.startsWith("\"\"\"", c) || line.startsWith("'''", c)) {
+                        tripleQuote = line.substring(c, c + 3);
+                        c += 2;
+                    } else if (ch == '"' || ch == '\'') {
+                        c = skipQuoted(line, c, ch);
+                    } else if (ch == '(' || ch == '[' || ch == '{') {
+                        brackets++;
+                    } else if (ch == ')' || ch == ']' || ch == '}') {
+                        brackets = Math.max(0, brackets - 1);
+                    } else if (ch == '\\' && c == line.length() - 1) {
+                        backslash = true;
+                    }
+                }
+            }
+        }
+
+        private static int skipQuoted(String line, int start, char quote) {
+            for (int c = start + 1; c < line.length(); c++) {
+                char ch = line.charAt(c);
+                if (ch == '\\') {
+                    c++;
+                } else if (ch == quote) {
+                    return c;
+                }
+            }
+            return line.length();
+        }
+
+        @Override
+        public List<Integer> boundaries(int from, int to, int level) {
+            int target = level == 0 ? 0 : firstLogicalIndent(from, to);
+            List<Integer> cuts = new ArrayList<>();
+            int previousLogical = -1;
+            for (int i = from; i < to; i++) {
+                if (!logical[i]) {
+                    continue;
+                }
+                boolean candidate = i > from && previousLogical >= 0 && indent[i] == target
+                        && !continuesStatement(lines.get(i)) && !lines.get(previousLogical).trim().startsWith("@");
+                previousLogical = i;
+                if (!candidate) {
+                    continue;
+                }
+                // Keep comments directly above a definition with it
+                int cut = i;
+                while (cut - 1 > from && commentOnly[cut - 1] && indent[cut - 1] == target) {
+                    cut--;
+                }
+                if (cuts.isEmpty() || cut > cuts.get(cuts.size() - 1)) {
+                    cuts.add(cut);
+                }
+            }
+            return cuts;
+        }
+
+        private int firstLogicalIndent(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (logical[i]) {
+                    return indent[i];
+                }
+            }
+            return 0;
+        }
+
+        private static boolean continuesStatement(String line) {
+            String word = firstWord(line);
+            return word.equals("else") || word.equals("elif") || word.equals("except") || word.equals("finally");
+        }
+
+        @Override
+        public int typeBodyStart(int from, int to) {
+            int declaration = from;
+            while (declaration < to && (!logical[declaration] || lines.get(declaration).trim().startsWith("@"))) {
+                declaration++;
+            }
+            if (declaration == to || !firstWord(lines.get(declaration)).equals("class")) {
+                return -1;
+            }
+            for (int i = declaration + 1; i < to; i++) {
+                if (logical[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int preambleEnd() {
+            int end = 0;
+            for (int i = 0; i < lines.size(); i++) {
+                if (!logical[i]) {
+                    continue;
+                }
+                String word = firstWord(lines.get(i));
+                if (indent[i] != 0 || !(word.equals("import") || word.equals("from"))) {
+                    break;
+                }
+                end = i + 1;
+            }
+            // A parenthesized import may continue on the following lines
+            while (end > 0 && end < lines.size() && !logical[end] && !commentOnly[end] && !lines.get(end).isBlank()) {
+                end++;
+            }
+            return end;
+        }
+    }
+
+    /**
+     * SQL scripts. Statements end at {@code ;} outside {@code BEGIN ... END} and {@code CASE ... END}
+     * blocks, or at a line holding only {@code GO} or {@code /}. The declarations of a
+     * {@code CREATE PROCEDURE/FUNCTION/TRIGGER} are kept with its body.
+     */
+    private static final class SqlStructure implements Structure {
+
+        /** Whether a statement ended on each line */
+        private final boolean[] terminates;
+        /** Whether a statement is still open at the start of each line */
+        private final boolean[] open;
+
+        SqlStructure(List<String> lines) {
+            int n = lines.size();
+            terminates = new boolean[n];
+            open = new boolean[n];
+
+            boolean statement = false;
+            boolean routine = false;
+            boolean pkg = false;
+            int blocks = 0;
+            String firstWord = null;
+            String previousWord = null;
+            String quote = null;
+            for (int i = 0; i < n; i++) {
+                String line = lines.get(i);
+                open[i] = statement || quote != null;
+                String trimmed = line.trim();
+                if (quote == null && (trimmed.equalsIgnoreCase("go") || trimmed.equals("/"))) {
+                    terminates[i] = statement;
+                    statement = routine = pkg = false;
+                    blocks = 0;
+                    firstWord = previousWord = null;
+                    continue;
+                }
+
+                int c = 0;
+                while (c < line.length()) {
+                    char ch = line.charAt(c);
+                    if (quote != null) {
+                        int end = line.indexOf(quote, c);
+                        if (end < 0) {
+                            break;
+                        }
+                        c = end + quote.length();
+                        quote = null;
+                        continue;
+                    }
+                    if (line.startsWith("--", c)) {
+                        break;
+                    }
+                    if (line.startsWith("/*", c)) {
+                        quote = "*/";
+                        c += 2;
+                        continue;
+                    }
+                    if (Character.isWhitespace(ch)) {
+                        c++;
+                        continue;
+                    }
+                    statement = true;
+                    if (ch == '\'') {
+                        quote = "'";
+                        c++;
+                    } else if (ch == '"') {
+                        quote = "\"";
+                        c++;
+                    } else if (ch == '[') {
+                        quote = "]";
+                        c++;
+                    } else if (ch == '$' && dollarTag(line, c) != null) {
+                        quote = dollarTag(line, c);
+                        c += quote.length();
+                    } else if (Character.isLetter(ch) || ch == '_') {
+                        int end = c;
+                        while (end < line.length() && (Character.isLetterOrDigit(line.charAt(end)) || line.charAt(end) == '_')) {
+                            end++;
+                        }
+                        String word = line.substring(c, end).toUpperCase(Locale.ROOT);
+                        c = end;
+                        if (firstWord == null) {
+                            firstWord = word;
+                        }
+                        if ((firstWord.equals("CREATE") || firstWord.equals("ALTER")) && isRoutine(word)) {
+                            routine = true;
+                            pkg |= word.equals("PACKAGE");
+                        }
+                        if ("BEGIN".equals(previousWord) && isTransaction(word)) {
+                            blocks--;
+                        } else if ("END".equals(previousWord) && isLoop(word)) {
+                            blocks++;
+                        } else if (word.equals("BEGIN") || (word.equals("CASE") && !"END".equals(previousWord))) {
+                            blocks++;
+                        } else if (word.equals("END") && blocks > 0) {
+                            blocks--;
+                            if (blocks == 0 && !pkg) {
+                                routine = false;
+                            }
+                        }
+                        previousWord = word;
+                    } else {
+                        if (ch == ';') {
+                            if ("BEGIN".equals(previousWord)) {
+                                // BEGIN; starts a transaction, not a block
+                                blocks--;
+                            }
+                            if (blocks == 0 && !routine) {
+                                terminates[i] = true;
+                                statement = false;
+                                firstWord = null;
+                            }
+                        }
+                        previousWord = null;
+                        c++;
+                    }
+                }
+            }
+        }
+
+        private static String dollarTag(String line, int start) {
+            int end = start + 1;
+            while (end < line.length() && (Character.isLetterOrDigit(line.charAt(end)) || line.charAt(end) == '_')) {
+                end++;
+            }
+            return end < line.length() && line.charAt(end) == '$' ? line.substring(start, end + 1) : null;
+        }
+
+        private static boolean isRoutine(String word) {
+            return word.equals("PROCEDURE") || word.equals("PROC") || word.equals("FUNCTION")
+                    || word.equals("TRIGGER") || word.equals("PACKAGE");
+        }
+
+        private static boolean isTransaction(String word) {
+            return word.equals("TRAN") || word.equals("TRANSACTION") || word.equals("DISTRIBUTED");
+        }
+
+        private static boolean isLoop(String word) {
+            return word.equals("IF") || word.equals("LOOP") || word.equals("WHILE") || word.equals("REPEAT");
+        }
+
+        @Override
+        public List<Integer> boundaries(int from, int to, int level) {
+            List<Integer> cuts = new ArrayList<>();
+            for (int i = from + 1; i < to; i++) {
+                if (terminates[i - 1] && !open[i]) {
+                    cuts.add(i);
+                }
+            }
+            return cuts;
+        }
+
+        @Override
+        public int typeBodyStart(int from, int to) {
+            return -1;
+        }
+
+        @Override
+        public int preambleEnd() {
+            return 0;
+        }
+    }
+}
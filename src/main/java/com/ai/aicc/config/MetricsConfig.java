@@ -0,0 +1,43 @@
+package com.ai.aicc.config;
+
+import com.ai.aicc.metrics.ConversionMetrics;
+import com.ai.aicc.metrics.TimedJsonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Metrics configuration for the AI Code Converter.
+ *
+ * <p>Conversion timers and counters are recorded by {@link ConversionMetrics} and exported by
+ * Spring Boot Actuator.
+ *
+ * <p><b>Access Points:</b>
+ * <ul>
+ *   <li>Prometheus: <a href="http://localhost:8080/ai-code-converter/actuator/prometheus">
+ *       http://localhost:8080/ai-code-converter/actuator/prometheus</a></li>
+ *   <li>Single meter: <a href="http://localhost:8080/ai-code-converter/actuator/metrics/aicc.conversion">
+ *       http://localhost:8080/ai-code-converter/actuator/metrics/aicc.conversion</a></li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces Spring Boot's Jackson message converter with one that times response serialization.
+     * Boot backs off its own converter when a bean of this type exists.
+     *
+     * @param objectMapper The application's configured ObjectMapper
+     * @param metrics      Conversion meters
+     * @return The JSON message converter used by all controllers
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ConversionMetrics metrics) {
+        return new TimedJsonHttpMessageConverter(objectMapper, metrics);
+    }
+}
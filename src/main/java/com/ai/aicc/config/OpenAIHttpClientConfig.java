@@ -0,0 +1,87 @@
+package com.ai.aicc.config;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * HTTP transport shared by every Azure OpenAI client.
+ *
+ * <p>Without this bean each client would run on the SDK's global Netty client, whose pool is sized
+ * from the CPU count (16 connections on an 8-core host). Calls above that wait for a connection
+ * even when the {@link com.ai.aicc.upstream.UpstreamScheduler} admitted them, so the pool is sized
+ * to the limiter's maximum instead.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.upstream.http.enabled - Use this transport; if false, clients use the SDK's default one</li>
+ *   <li>aicc.upstream.http.max-connections - Connections per endpoint</li>
+ *   <li>aicc.upstream.http.pending-acquire-timeout - How long a call waits for a free connection</li>
+ *   <li>aicc.upstream.http.max-idle-time - Idle connections are closed after this, before the
+ *       service side drops them silently</li>
+ *   <li>aicc.upstream.http.http2 - Offer HTTP/2 during the TLS handshake, multiplexing calls over
+ *       few connections</li>
+ *   <li>aicc.upstream.http.connect-timeout, write-timeout, response-timeout, read-timeout - Socket
+ *       timeouts; the response timeout runs until the response headers arrive, the read timeout
+ *       between chunks of a streamed body</li>
+ * </ul>
+ *
+ * <p>Tests and benchmarks can replace the transport by defining their own {@link HttpClient} bean
+ * marked {@code @Primary}, or by setting {@code aicc.upstream.http.enabled=false}.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see com.ai.aicc.upstream.ConnectionWarmup
+ */
+@Configuration
+@ConditionalOnProperty(name = "aicc.upstream.http.enabled", havingValue = "true", matchIfMissing = true)
+public class OpenAIHttpClientConfig {
+
+    /**
+     * @return Connection pool of the Azure OpenAI transport, disposed with the application context
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openAIConnectionProvider(
+            @Value("${aicc.upstream.http.max-connections:256}") int maxConnections,
+            @Value("${aicc.upstream.http.pending-acquire-timeout:30s}") Duration pendingAcquireTimeout,
+            @Value("${aicc.upstream.http.max-idle-time:60s}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("azure-openai")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                // Close idle connections proactively instead of on the next acquire
+                .evictInBackground(maxIdleTime)
+                .build();
+    }
+
+    /**
+     * @return Transport used by every deployment's clients
+     */
+    @Bean
+    public HttpClient openAIHttpClient(ConnectionProvider openAIConnectionProvider,
+                                       @Value("${aicc.upstream.http.http2:false}") boolean http2,
+                                       @Value("${aicc.upstream.http.connect-timeout:10s}") Duration connectTimeout,
+                                       @Value("${aicc.upstream.http.write-timeout:60s}") Duration writeTimeout,
+                                       @Value("${aicc.upstream.http.response-timeout:60s}") Duration responseTimeout,
+                                       @Value("${aicc.upstream.http.read-timeout:60s}") Duration readTimeout) {
+        reactor.netty.http.client.HttpClient netty = reactor.netty.http.client.HttpClient.create(
+                openAIConnectionProvider);
+        if (http2) {
+            // Negotiated through ALPN; plain-HTTP endpoints and servers without HTTP/2 keep HTTP/1.1
+            netty = netty.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return new NettyAsyncHttpClientBuilder(netty)
+                .connectTimeout(connectTimeout)
+                .writeTimeout(writeTimeout)
+                .responseTimeout(responseTimeout)
+                .readTimeout(readTimeout)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.ai.aicc.config;
+
+import com.ai.aicc.ratelimit.RateLimitFilter;
+import com.ai.aicc.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Applies the per-tenant rate limits to the conversion API.
+ *
+ * <p>The filter is registered for {@code /api/convert} and everything below it, after the
+ * observation filter so rejected requests still show up in {@code http.server.requests}.
+ * Set {@code aicc.ratelimit.enabled=false} to turn it off, e.g. for load tests.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see RateLimiter
+ */
+@Configuration
+@ConditionalOnProperty(name = "aicc.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    /**
+     * @return Registration of the rate limit filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            RateLimiter rateLimiter, ObjectMapper objectMapper,
+            @Value("${aicc.ratelimit.api-key-header:X-API-Key}") String apiKeyHeader) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, apiKeyHeader, objectMapper));
+        registration.addUrlPatterns("/api/convert", "/api/convert/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.aicc.config;
+
+import com.ai.aicc.metrics.ConversionMetrics;
+import com.ai.aicc.metrics.TimedCborHttpMessageConverter;
+import com.ai.aicc.metrics.TimedSmileHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Compact binary response formats for high-volume clients.
+ *
+ * <p>JSON stays the default. A client that sends {@code Accept: application/cbor} or
+ * {@code Accept: application/x-smile} gets the same ConversionResponse fields in that format, which
+ * is smaller and cheaper to write because the converted code is stored as a length-prefixed string
+ * instead of being escaped. Request bodies may be sent in either format as well.
+ *
+ * <p>Response compression is configured separately through {@code server.compression.*}.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Configuration
+public class ResponseFormatConfig {
+
+    /**
+     * @param builder Spring Boot's ObjectMapper builder, so the {@code spring.jackson.*} settings apply
+     * @param metrics Conversion meters
+     * @return CBOR converter; replaces Spring MVC's default one
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                           ConversionMetrics metrics) {
+        return new TimedCborHttpMessageConverter(builder.factory(new CBORFactory()).build(), metrics);
+    }
+
+    /**
+     * @param builder Spring Boot's ObjectMapper builder, so the {@code spring.jackson.*} settings apply
+     * @param metrics Conversion meters
+     * @return Smile converter; replaces Spring MVC's default one
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                             ConversionMetrics metrics) {
+        return new TimedSmileHttpMessageConverter(builder.factory(new SmileFactory()).build(), metrics);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ai.aicc.controller;
+
+import com.ai.aicc.fastpath.FastPathConverter;
+import com.ai.aicc.job.ConversionJobQueue;
+import com.ai.aicc.model.CoalescingStats;
+import com.ai.aicc.model.DeploymentStats;
+import com.ai.aicc.model.FastPathStats;
+import com.ai.aicc.model.HedgingStats;
+import com.ai.aicc.model.JobQueueStats;
+import com.ai.aicc.model.TenantQuotaStats;
+import com.ai.aicc.model.UpstreamStats;
+import com.ai.aicc.ratelimit.RateLimiter;
+import com.ai.aicc.service.CodeConversionService;
+import com.ai.aicc.upstream.DeploymentRouter;
+import com.ai.aicc.upstream.HedgingPolicy;
+import com.ai.aicc.upstream.UpstreamScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Read-only operational statistics of the conversion pipeline.
+ *
+ * <p><b>Endpoints:</b>
+ * <ul>
+ *   <li>GET /api/admin/stats/coalescing - Upstream calls and deduplicated requests</li>
+ *   <li>GET /api/admin/stats/deployments - Load, health and token budget per Azure OpenAI deployment</li>
+ *   <li>GET /api/admin/stats/fast-path - Requests converted locally without Azure OpenAI</li>
+ *   <li>GET /api/admin/stats/hedging - Hedged Azure OpenAI calls and the tail latency they saved</li>
+ *   <li>GET /api/admin/stats/jobs - Depth and throughput of the conversion job queue</li>
+ *   <li>GET /api/admin/stats/rate-limits - Admitted and rejected requests and tokens per tenant</li>
+ *   <li>GET /api/admin/stats/upstream - Adaptive concurrency limit and waiting Azure OpenAI calls</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see CacheAdminController
+ */
+@RestController
+@RequestMapping("/api/admin/stats")
+@Tag(name = "Statistics", description = "Operational statistics of the conversion pipeline")
+public class AdminStatsController {
+
+    @Autowired
+    private CodeConversionService conversionService;
+
+    @Autowired
+    private ConversionJobQueue jobQueue;
+
+    @Autowired
+    private UpstreamScheduler upstreamScheduler;
+
+    @Autowired
+    private FastPathConverter fastPath;
+
+    @Autowired
+    private DeploymentRouter router;
+
+    @Autowired
+    private HedgingPolicy hedging;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Operation(
+            summary = "Get request coalescing statistics",
+            description = "Reports how many requests shared an identical in-flight Azure OpenAI call."
+    )
+    @GetMapping("/coalescing")
+    public CoalescingStats getCoalescingStats() {
+        return conversionService.getCoalescingStats();
+    }
+
+    @Operation(
+            summary = "Get local fast-path statistics",
+            description = "Reports how many requests were converted from local templates instead of calling Azure OpenAI."
+    )
+    @GetMapping("/fast-path")
+    public FastPathStats getFastPathStats() {
+        return fastPath.stats();
+    }
+
+    @Operation(
+            summary = "Get conversion job queue statistics",
+            description = "Reports waiting and running jobs and how many submissions were rejected because the queue was full."
+    )
+    @GetMapping("/jobs")
+    public JobQueueStats getJobQueueStats() {
+        return jobQueue.stats();
+    }
+
+    @Operation(
+            summary = "Get upstream admission control statistics",
+            description = "Reports the current concurrency limit for Azure OpenAI calls, calls in flight and callers waiting per priority."
+    )
+    @GetMapping("/upstream")
+    public UpstreamStats getUpstreamStats() {
+        return upstreamScheduler.stats();
+    }
+
+    @Operation(
+            summary = "Get per-deployment routing statistics",
+            description = "Reports outstanding calls, health, failures and remaining tokens-per-minute budget of every Azure OpenAI deployment calls are routed to."
+    )
+    @GetMapping("/deployments")
+    public List<DeploymentStats> getDeploymentStats() {
+        return router.stats();
+    }
+
+    @Operation(
+            summary = "Get hedged request statistics",
+            description = "Reports the current hedge delay, how many calls were hedged and won by the hedge, and the p50/p99 latency of first attempts compared with what callers waited."
+    )
+    @GetMapping("/hedging")
+    public HedgingStats getHedgingStats() {
+        return hedging.stats();
+    }
+
+    @Operation(
+            summary = "Get per-tenant rate limit accounting",
+            description = "Reports each tenant's limits and the requests and estimated tokens admitted and rejected with 429 since startup."
+    )
+    @GetMapping("/rate-limits")
+    public List<TenantQuotaStats> getRateLimitStats() {
+        return rateLimiter.stats();
+    }
+}
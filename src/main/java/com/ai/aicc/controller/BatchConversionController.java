@@ -0,0 +1,86 @@
+package com.ai.aicc.controller;
+
+import com.ai.aicc.model.BatchConversionRequest;
+import com.ai.aicc.model.BatchConversionResponse;
+import com.ai.aicc.model.BatchItemResult;
+import com.ai.aicc.service.BatchConversionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for converting many snippets in one HTTP call.
+ *
+ * <p><b>Endpoints:</b>
+ * <ul>
+ *   <li>POST /api/convert/batch (Accept: application/json) - All results in request order once the
+ *       whole batch is converted</li>
+ *   <li>POST /api/convert/batch (Accept: application/x-ndjson) - One JSON line per item, written as
+ *       soon as the item is converted</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see CodeConversionController
+ */
+@RestController
+@RequestMapping("/api/convert/batch")
+@CrossOrigin(origins = "*")
+@Tag(name = "Code Conversion", description = "API endpoints for converting code between programming languages")
+public class BatchConversionController {
+    private static final Logger logger = LoggerFactory.getLogger(BatchConversionController.class);
+
+    @Autowired
+    private BatchConversionService batchService;
+
+    @Operation(
+            summary = "Convert a batch of snippets",
+            description = """
+                    Converts every item of the batch and returns the results in request order.
+
+                    A failed item does not fail the batch: check `success` and `error` of each result.
+                    Items are converted concurrently, up to `aicc.batch.parallelism` at a time.
+
+                    Send `Accept: application/x-ndjson` to receive each result as soon as it is ready instead.
+                    """
+    )
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BatchConversionResponse>> convertBatch(@RequestBody BatchConversionRequest request) {
+        String invalid = batchService.validate(request.getItems());
+        if (invalid != null) {
+            logger.warn("Rejected batch: {}", invalid);
+            return Mono.just(ResponseEntity.badRequest().body(BatchConversionResponse.error(invalid)));
+        }
+
+        logger.info("Received batch conversion request with {} items", request.getItems().size());
+        return batchService.convertBatchOrdered(request.getItems()).map(ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Convert a batch of snippets, streaming results as NDJSON",
+            description = """
+                    Same request as the JSON variant. Each line of the response is a `BatchItemResult` written
+                    as soon as its item is converted, so lines arrive in completion order; use `index` to match
+                    them to the request items.
+                    """
+    )
+    @PostMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<?>> convertBatchStream(@RequestBody BatchConversionRequest request) {
+        String invalid = batchService.validate(request.getItems());
+        if (invalid != null) {
+            logger.warn("Rejected batch: {}", invalid);
+            return ResponseEntity.badRequest().body(Flux.just(BatchConversionResponse.error(invalid)));
+        }
+
+        logger.info("Received streaming batch conversion request with {} items", request.getItems().size());
+        Flux<BatchItemResult> results = batchService.convertBatch(request.getItems());
+        return ResponseEntity.ok(results);
+    }
+}
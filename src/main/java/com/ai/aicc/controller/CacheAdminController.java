@@ -0,0 +1,87 @@
+package com.ai.aicc.controller;
+
+import com.ai.aicc.cache.ConversionCache;
+import com.ai.aicc.cache.FingerprintCache;
+import com.ai.aicc.model.CacheStats;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.service.CodeConversionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Administrative endpoints for the conversion result cache.
+ *
+ * <p><b>Endpoints:</b>
+ * <ul>
+ *   <li>GET /api/admin/cache - Hit/miss/eviction counters and current size, including the
+ *       near-duplicate fingerprint cache</li>
+ *   <li>DELETE /api/admin/cache - Invalidate all entries and conversion templates</li>
+ *   <li>DELETE /api/admin/cache/{key} - Invalidate a single entry by request digest</li>
+ *   <li>POST /api/admin/cache/invalidate - Invalidate the entry and the template a given request would hit</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@Tag(name = "Cache Administration", description = "Inspect and invalidate cached conversion results")
+public class CacheAdminController {
+    private static final Logger logger = LoggerFactory.getLogger(CacheAdminController.class);
+
+    @Autowired
+    private ConversionCache cache;
+
+    @Autowired
+    private FingerprintCache fingerprintCache;
+
+    @Autowired
+    private CodeConversionService conversionService;
+
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss, eviction and expiration counters.")
+    @GetMapping
+    public CacheStats getStats() {
+        CacheStats stats = cache.stats();
+        stats.setFingerprint(fingerprintCache.stats());
+        return stats;
+    }
+
+    @Operation(summary = "Invalidate all cached conversions")
+    @DeleteMapping
+    public Map<String, Integer> invalidateAll() {
+        int removed = cache.invalidateAll();
+        int templates = fingerprintCache.invalidateAll();
+        logger.info("Invalidated {} cached conversions and {} conversion templates", removed, templates);
+        return Map.of("removed", removed);
+    }
+
+    @Operation(summary = "Invalidate a cached conversion by its request digest")
+    @DeleteMapping("/{key}")
+    public ResponseEntity<Void> invalidate(
+            @Parameter(description = "Hex SHA-256 request digest") @PathVariable String key) {
+        if (!cache.invalidate(key)) {
+            return ResponseEntity.notFound().build();
+        }
+        logger.info("Invalidated cached conversion {}", key);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Invalidate the cached conversion for a request",
+            description = "Computes the request digest the same way /api/convert does and removes that entry."
+    )
+    @PostMapping("/invalidate")
+    public ResponseEntity<Void> invalidate(@RequestBody ConversionRequest request) {
+        boolean template = conversionService.invalidateTemplate(request);
+        ResponseEntity<Void> response = invalidate(conversionService.cacheKey(request));
+        return template ? ResponseEntity.noContent().build() : response;
+    }
+}
@@ -1,8 +1,15 @@
 package com.ai.aicc.controller;
 
+import com.ai.aicc.metrics.ConversionMetrics;
+import com.ai.aicc.model.ConversionDelta;
 import com.ai.aicc.model.ConversionRequest;
 import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.DocumentConversionResponse;
+import com.ai.aicc.service.ChunkedConversionService;
 import com.ai.aicc.service.CodeConversionService;
+import com.ai.aicc.service.IncrementalConversionService;
+import com.ai.aicc.token.TokenLimitExceededException;
+import com.ai.aicc.upstream.CircuitOpenException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,8 +21,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
 
 /**
  * REST controller for code conversion operations.
@@ -24,7 +42,22 @@ import org.springframework.web.bind.annotation.*;
  * programming languages using Azure OpenAI. It handles HTTP requests, validates input,
  * and returns conversion results or error responses.
  *
- * <p><b>Endpoint:</b> POST /api/convert
+ * <p><b>Endpoints:</b>
+ * <ul>
+ *   <li>POST /api/convert - Blocking conversion; the servlet thread waits for Azure OpenAI</li>
+ *   <li>POST /api/convert/async - Same contract, but the servlet thread is released while the
+ *       model generates and the response is written when the conversion completes</li>
+ *   <li>POST /api/convert/stream - Server-Sent Events: converted code is forwarded as the model
+ *       generates it</li>
+ *   <li>POST /api/convert/large - Large-input mode: the source is split into segments that are
+ *       converted in parallel and reassembled</li>
+ *   <li>POST /api/convert/documents/{documentId} - Incremental mode: a new revision of a document is
+ *       diffed against the previous one and only the changed regions are converted again</li>
+ *   <li>DELETE /api/convert/documents/{documentId} - Forgets a document's previous revision</li>
+ * </ul>
+ *
+ * <p>The end-to-end time of every request is recorded as {@value ConversionMetrics#CONVERSION}, tagged
+ * by endpoint, language pair and outcome.
  *
  * @author AI Code Converter Team
  * @version 1.0
@@ -39,6 +72,23 @@ public class CodeConversionController {
     @Autowired
     private CodeConversionService conversionService;
 
+    /** Maximum time an async conversion may take before the request is answered with 503 */
+    @Value("${aicc.async.timeout:60s}")
+    private Duration asyncTimeout;
+
+    @Autowired
+    private ChunkedConversionService chunkedConversionService;
+
+    /** Maximum time a large-input conversion may take before the request is answered with 503 */
+    @Value("${aicc.chunk.timeout:5m}")
+    private Duration largeTimeout;
+
+    @Autowired
+    private IncrementalConversionService incrementalConversionService;
+
+    @Autowired
+    private ConversionMetrics metrics;
+
     @Operation(
             summary = "Convert code between programming languages",
             description = """
@@ -95,6 +145,23 @@ public class CodeConversionController {
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "413",
+                    description = "Source code too large for the model context - use /api/convert/large",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ConversionResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Azure OpenAI calls are suspended by the circuit breaker - retry after the "
+                            + "Retry-After header's seconds",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ConversionResponse.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal server error - Azure OpenAI API failure or service error",
@@ -180,18 +247,276 @@ public class CodeConversionController {
             )
             @RequestBody ConversionRequest request) {
         logger.info("Received conversion request: {} to {}", request.getSourceLanguage(), request.getTargetLanguage());
+        long start = System.nanoTime();
+
+        ResponseEntity<ConversionResponse> invalid = validate(request);
+        if (invalid != null) {
+            metrics.recordConversion(request, "sync", "invalid", System.nanoTime() - start);
+            return invalid;
+        }
 
-        if (request.getSourceCode() == null || request.getSourceCode().trim().isEmpty()) {
+        return toResponseEntity(request, "sync", start, conversionService.convertCode(request));
+    }
+
+    @Operation(
+            summary = "Convert code without holding a server thread",
+            description = """
+                    Same request and response as POST /api/convert, processed on the non-blocking Azure OpenAI
+                    client. The server thread is released while the model generates, so many slow conversions
+                    can be in flight at once. Returns 503 if the conversion exceeds the configured timeout.
+                    """
+    )
+    @PostMapping("/async")
+    public DeferredResult<ResponseEntity<ConversionResponse>> convertCodeAsync(@RequestBody ConversionRequest request) {
+        logger.info("Received async conversion request: {} to {}",
+                request.getSourceLanguage(), request.getTargetLanguage());
+
+        long start = System.nanoTime();
+
+        DeferredResult<ResponseEntity<ConversionResponse>> result = new DeferredResult<>(
+                asyncTimeout.toMillis(),
+                () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(ConversionResponse.error("Conversion timed out")));
+        result.onTimeout(() -> metrics.recordConversion(request, "async", "timeout", System.nanoTime() - start));
+
+        ResponseEntity<ConversionResponse> invalid = validate(request);
+        if (invalid != null) {
+            metrics.recordConversion(request, "async", "invalid", System.nanoTime() - start);
+            result.setResult(invalid);
+            return result;
+        }
+
+        conversionService.convertCodeAsync(request)
+                .thenAccept(response -> {
+                    // A timed-out request was already answered and recorded
+                    if (!result.isSetOrExpired()) {
+                        result.setResult(toResponseEntity(request, "async", start, response));
+                    }
+                });
+        return result;
+    }
+
+    @Operation(
+            summary = "Convert a large source file segment by segment",
+            description = """
+                    Same contract as POST /api/convert, for files too large for a single completion.
+
+                    The source is split between top-level declarations (Java, C#, Python), class members
+                    (oversized classes) or statements (SQL). Segments are converted in parallel with the
+                    file's imports and enclosing declarations as context, then concatenated in order.
+                    Sources small enough for one segment are converted as a regular request.
+                    """
+    )
+    @PostMapping("/large")
+    public DeferredResult<ResponseEntity<ConversionResponse>> convertLargeCode(@RequestBody ConversionRequest request) {
+        logger.info("Received large-input conversion request: {} to {}",
+                request.getSourceLanguage(), request.getTargetLanguage());
+
+        long start = System.nanoTime();
+
+        DeferredResult<ResponseEntity<ConversionResponse>> result = new DeferredResult<>(
+                largeTimeout.toMillis(),
+                () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(ConversionResponse.error("Conversion timed out")));
+        result.onTimeout(() -> metrics.recordConversion(request, "large", "timeout", System.nanoTime() - start));
+
+        ResponseEntity<ConversionResponse> invalid = validate(request);
+        if (invalid != null) {
+            metrics.recordConversion(request, "large", "invalid", System.nanoTime() - start);
+            result.setResult(invalid);
+            return result;
+        }
+
+        chunkedConversionService.convertLarge(request)
+                .thenAccept(response -> {
+                    // A timed-out request was already answered and recorded
+                    if (!result.isSetOrExpired()) {
+                        result.setResult(toResponseEntity(request, "large", start, response));
+                    }
+                });
+        return result;
+    }
+
+    @Operation(
+            summary = "Convert a new revision of a document, reconverting only what changed",
+            description = """
+                    Same request as POST /api/convert, for a document that is converted again after every edit.
+
+                    The source is diffed against the document's previously converted revision. Regions whose
+                    lines are unchanged keep their previous conversion; only the changed lines are converted,
+                    with the file's imports and enclosing declarations as context, and spliced in. The first
+                    revision, and one converted between other languages, is converted in full. `reusedLines`
+                    and `convertedLines` in the response show how much was reconverted.
+                    """
+    )
+    @PostMapping("/documents/{documentId}")
+    public DeferredResult<ResponseEntity<DocumentConversionResponse>> convertDocument(
+            @Parameter(description = "Client-chosen identifier of the document", example = "OrderService.java")
+            @PathVariable String documentId,
+            @RequestBody ConversionRequest request) {
+        logger.info("Received document conversion request for {}: {} to {}",
+                documentId, request.getSourceLanguage(), request.getTargetLanguage());
+
+        long start = System.nanoTime();
+
+        DeferredResult<ResponseEntity<DocumentConversionResponse>> result = new DeferredResult<>(
+                largeTimeout.toMillis(),
+                () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new DocumentConversionResponse(
+                        documentId, 0, 0, 0, ConversionResponse.error("Conversion timed out"))));
+        result.onTimeout(() -> metrics.recordConversion(request, "document", "timeout", System.nanoTime() - start));
+
+        ResponseEntity<ConversionResponse> invalid = validate(request);
+        if (invalid != null) {
+            metrics.recordConversion(request, "document", "invalid", System.nanoTime() - start);
+            result.setResult(ResponseEntity.status(invalid.getStatusCode())
+                    .body(new DocumentConversionResponse(documentId, 0, 0, 0, invalid.getBody())));
+            return result;
+        }
+
+        incrementalConversionService.convert(documentId, request)
+                .thenAccept(response -> {
+                    // A timed-out request was already answered and recorded
+                    if (!result.isSetOrExpired()) {
+                        ResponseEntity<ConversionResponse> entity =
+                                toResponseEntity(request, "document", start, response.getResult());
+                        result.setResult(ResponseEntity.status(entity.getStatusCode())
+                                .headers(entity.getHeaders()).body(response));
+                    }
+                });
+        return result;
+    }
+
+    @Operation(
+            summary = "Forget a document's previous revision",
+            description = "The next conversion of the document is a full one. Returns 404 if the document is unknown."
+    )
+    @DeleteMapping("/documents/{documentId}")
+    public ResponseEntity<Void> forgetDocument(@PathVariable String documentId) {
+        return incrementalConversionService.forget(documentId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @Operation(
+            summary = "Stream converted code as it is generated",
+            description = """
+                    Same request as POST /api/convert, answered as Server-Sent Events so the first code appears
+                    within roughly 100 ms instead of after the full generation time.
+
+                    **Events:**
+                    - `delta` - `{"content": "..."}` with the next fragment of converted code
+                    - `done` - A ConversionResponse without `convertedCode`, sent after the last fragment
+                    - `error` - A ConversionResponse describing the failure; ends the stream
+
+                    A request that fails before the first fragment, such as one too large for the model
+                    context (413), is answered with the status POST /api/convert would return and a single
+                    `error` event.
+                    """
+    )
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<Object>>>> convertCodeStream(@RequestBody ConversionRequest request) {
+        logger.info("Received streaming conversion request: {} to {}",
+                request.getSourceLanguage(), request.getTargetLanguage());
+
+        long start = System.nanoTime();
+
+        ResponseEntity<ConversionResponse> invalid = validate(request);
+        if (invalid != null) {
+            metrics.recordConversion(request, "stream", "invalid", System.nanoTime() - start);
+            return Mono.just(ResponseEntity.status(invalid.getStatusCode())
+                    .body(Flux.just(event("error", invalid.getBody()))));
+        }
+
+        // The status is sent with the first event, so only a failure before it can still change the status
+        return conversionService.convertCodeStream(request)
+                .switchOnFirst((first, content) -> {
+                    if (!first.isOnError()) {
+                        return Mono.just(ResponseEntity.ok(events(request, start, content)));
+                    }
+                    metrics.recordConversion(request, "stream", ConversionMetrics.ERROR, System.nanoTime() - start);
+                    ConversionResponse error = ConversionResponse.error(
+                            "Failed to convert code: " + first.getThrowable().getMessage(), first.getThrowable());
+                    return Mono.just(errorResponse(error).body(Flux.just(event("error", error))));
+                }, false)
+                .single();
+    }
+
+    /**
+     * Maps the converted fragments to Server-Sent Events, ending with {@code done} or {@code error}.
+     */
+    private Flux<ServerSentEvent<Object>> events(ConversionRequest request, long start, Flux<String> content) {
+        return content
+                .map(delta -> event("delta", new ConversionDelta(delta)))
+                .concatWith(Mono.fromSupplier(() -> {
+                    metrics.recordConversion(request, "stream", ConversionMetrics.SUCCESS, System.nanoTime() - start);
+                    return event("done",
+                            new ConversionResponse(null, request.getSourceLanguage(), request.getTargetLanguage()));
+                }))
+                .onErrorResume(e -> {
+                    metrics.recordConversion(request, "stream", ConversionMetrics.ERROR, System.nanoTime() - start);
+                    return Mono.just(event("error",
+                            ConversionResponse.error("Failed to convert code: " + e.getMessage())));
+                });
+    }
+
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+
+    /**
+     * Rejects requests without source code.
+     *
+     * @param request The incoming conversion request
+     * @return A 400 response if the request is invalid, or null if it may be processed
+     */
+    private ResponseEntity<ConversionResponse> validate(ConversionRequest request) {
+        if (request.getSourceCode() == null || request.getSourceCode().isBlank()) {
             return ResponseEntity.badRequest()
                     .body(ConversionResponse.error("Source code cannot be empty"));
         }
+        return null;
+    }
 
-        ConversionResponse response = conversionService.convertCode(request);
-
+    /**
+     * Maps a conversion result to its HTTP response and records the request's duration.
+     *
+     * @param request  The conversion request
+     * @param endpoint Which API served it
+     * @param start    {@link System#nanoTime()} when the request was received
+     * @param response The conversion result
+     * @return 200 with the result, or the error response with the status chosen by {@link #errorResponse}
+     */
+    private ResponseEntity<ConversionResponse> toResponseEntity(ConversionRequest request, String endpoint, long start,
+                                                                ConversionResponse response) {
+        metrics.recordConversion(request, endpoint,
+                response.isSuccess() ? ConversionMetrics.SUCCESS : ConversionMetrics.ERROR, System.nanoTime() - start);
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
         } else {
-            return ResponseEntity.internalServerError().body(response);
+            return errorResponse(response).body(response);
+        }
+    }
+
+    /**
+     * Chooses the status of a failed conversion: 413 if the source does not fit the model context,
+     * which retrying cannot fix, 503 with Retry-After while the circuit breaker suspends Azure OpenAI
+     * calls, otherwise 500.
+     *
+     * @param response The failed conversion
+     * @return Response builder with the status set
+     */
+    private static ResponseEntity.BodyBuilder errorResponse(ConversionResponse response) {
+        Throwable cause = response.getFailure();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof TokenLimitExceededException) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        if (cause instanceof CircuitOpenException circuitOpen) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(circuitOpen.getRetryAfterSeconds()));
         }
+        return ResponseEntity.internalServerError();
     }
 }
@@ -0,0 +1,85 @@
+package com.ai.aicc.controller;
+
+import com.ai.aicc.job.ConversionJobQueue;
+import com.ai.aicc.model.ConversionJob;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.Optional;
+
+/**
+ * REST controller for long-running conversions submitted as jobs.
+ *
+ * <p>Instead of holding the connection open while Azure OpenAI generates, clients submit a job,
+ * receive its id immediately and poll for the result.
+ *
+ * <p><b>Endpoints:</b>
+ * <ul>
+ *   <li>POST /api/convert/jobs - Queue a conversion; answers 202 with the job and its Location</li>
+ *   <li>GET /api/convert/jobs/{id} - Job status, and the ConversionResponse once finished</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ConversionJobQueue
+ */
+@RestController
+@RequestMapping("/api/convert/jobs")
+@CrossOrigin(origins = "*")
+@Tag(name = "Conversion Jobs", description = "Submit long-running conversions and poll for their results")
+public class ConversionJobController {
+    private static final Logger logger = LoggerFactory.getLogger(ConversionJobController.class);
+
+    /** Seconds a client should wait before retrying a rejected submission */
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @Autowired
+    private ConversionJobQueue jobQueue;
+
+    @Operation(
+            summary = "Submit a conversion job",
+            description = """
+                    Queues the conversion and returns immediately with status 202 and the job, including its `id`.
+                    Poll GET /api/convert/jobs/{id} until `status` is SUCCEEDED or FAILED.
+
+                    Returns 503 with a Retry-After header when the queue is full.
+                    """
+    )
+    @PostMapping
+    public ResponseEntity<?> submitJob(@RequestBody ConversionRequest request) {
+        if (request.getSourceCode() == null || request.getSourceCode().isBlank()) {
+            return ResponseEntity.badRequest().body(ConversionResponse.error("Source code cannot be empty"));
+        }
+
+        Optional<ConversionJob> job = jobQueue.submit(request);
+        if (job.isEmpty()) {
+            logger.warn("Rejected conversion job: queue is full");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(ConversionResponse.error("Job queue is full, retry later"));
+        }
+
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{id}").buildAndExpand(job.get().getId()).toUri())
+                .body(job.get());
+    }
+
+    @Operation(summary = "Get a conversion job", description = "Returns the job's status and, once finished, its result.")
+    @GetMapping("/{id}")
+    public ResponseEntity<ConversionJob> getJob(
+            @Parameter(description = "Job id returned on submission") @PathVariable String id) {
+        return ResponseEntity.of(jobQueue.find(id));
+    }
+}
@@ -0,0 +1,127 @@
+package com.ai.aicc.controller;
+
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.ProjectConversionStatus;
+import com.ai.aicc.project.ProjectConversion;
+import com.ai.aicc.project.ProjectConversionService;
+import com.ai.aicc.project.ProjectTooLargeException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * REST controller for converting whole projects uploaded as zip or tar archives.
+ *
+ * <p><b>Endpoints:</b>
+ * <ul>
+ *   <li>POST /api/convert/projects?targetLanguage=... - Upload an archive (zip, tar or tar.gz) as the
+ *       request body; answers 202 with the project's status and its Location</li>
+ *   <li>GET /api/convert/projects/{id} - Progress: files converted, failed, throughput</li>
+ *   <li>GET /api/convert/projects/{id}/archive - The converted project as a zip, streamed as files finish</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ProjectConversionService
+ */
+@RestController
+@RequestMapping("/api/convert/projects")
+@CrossOrigin(origins = "*")
+@Tag(name = "Project Conversion", description = "Convert whole projects uploaded as archives")
+public class ProjectConversionController {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectConversionController.class);
+
+    /** Seconds a client should wait before retrying a rejected upload */
+    private static final String RETRY_AFTER_SECONDS = "30";
+
+    @Autowired
+    private ProjectConversionService projectConversionService;
+
+    @Operation(
+            summary = "Convert a project archive",
+            description = """
+                    Reads the zip, tar or tar.gz archive sent as the request body and starts converting every
+                    Java, Python, SQL and C# file to the target language, dependencies first. Returns 202 with
+                    the project's status, including its `id`.
+
+                    Returns 400 for an unreadable archive or one without source files, 413 when the archive
+                    exceeds the configured limits and 503 with a Retry-After header when too many projects
+                    are being converted.
+                    """
+    )
+    @PostMapping(consumes = {"application/zip", "application/x-tar", "application/gzip",
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> submitProject(
+            @Parameter(description = "Language every file is converted to") @RequestParam String targetLanguage,
+            InputStream archive) {
+        if (targetLanguage.isBlank()) {
+            return ResponseEntity.badRequest().body(ConversionResponse.error("Target language cannot be empty"));
+        }
+
+        Optional<ProjectConversion> project;
+        try {
+            project = projectConversionService.submit(archive, targetLanguage);
+        } catch (ProjectTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(ConversionResponse.error(e.getMessage()));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Rejected project archive: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ConversionResponse.error("Invalid archive: " + e.getMessage()));
+        }
+        if (project.isEmpty()) {
+            logger.warn("Rejected project archive: too many projects running");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(ConversionResponse.error("Too many projects are being converted, retry later"));
+        }
+
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().replaceQuery(null)
+                        .path("/{id}").buildAndExpand(project.get().getId()).toUri())
+                .body(project.get().status(System.nanoTime()));
+    }
+
+    @Operation(summary = "Get a project conversion", description = "Returns the project's progress and throughput.")
+    @GetMapping("/{id}")
+    public ResponseEntity<ProjectConversionStatus> getProject(
+            @Parameter(description = "Project id returned on upload") @PathVariable String id) {
+        return ResponseEntity.of(projectConversionService.find(id).map(project -> project.status(System.nanoTime())));
+    }
+
+    @Operation(
+            summary = "Download a converted project",
+            description = """
+                    Streams the converted project as a zip archive. Files are written in conversion order as
+                    they finish, so the download can start while the project is still running. The last entry,
+                    CONVERSION-REPORT.txt, lists failed files and skipped archive entries.
+                    """
+    )
+    @GetMapping(value = "/{id}/archive", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> getArchive(
+            @Parameter(description = "Project id returned on upload") @PathVariable String id) {
+        Optional<ProjectConversion> project = projectConversionService.find(id);
+        if (project.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> projectConversionService.writeArchive(project.get(), out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("converted-" + id + ".zip").build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ai.aicc.fastpath;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.FastPathStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tries the registered {@link LocalConverter}s before a request is sent to Azure OpenAI.
+ *
+ * <p>Converters are consulted in order; the first one that supports the language pair and
+ * accepts the input produces the result. Requests no converter accepts continue to the cache and
+ * the model unchanged. Counters record how many requests were answered locally, i.e. how many
+ * Azure OpenAI calls the fast path saved.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.fast-path.enabled - Turns local conversion on or off</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see SqlTemplateConverter
+ */
+@Component
+public class FastPathConverter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FastPathConverter.class);
+
+    private final List<LocalConverter> converters;
+    private final boolean enabled;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong eligible = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+
+    @Autowired
+    public FastPathConverter(List<LocalConverter> converters,
+                             @Value("${aicc.fast-path.enabled:true}") boolean enabled) {
+        this.converters = List.copyOf(converters);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Converts the request locally if a converter accepts it.
+     *
+     * @param request The conversion request
+     * @return The converted code, or empty if the request must go to Azure OpenAI
+     */
+    public Optional<String> tryConvert(ConversionRequest request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        requests.incrementAndGet();
+
+        boolean supported = false;
+        for (LocalConverter converter : converters) {
+            if (!converter.supports(request.getSourceLanguage(), request.getTargetLanguage())) {
+                continue;
+            }
+            supported = true;
+            try {
+                Optional<String> converted = converter.convert(request);
+                if (converted.isPresent()) {
+                    eligible.incrementAndGet();
+                    hits.incrementAndGet();
+                    return converted;
+                }
+            } catch (RuntimeException e) {
+                // A converter bug must not fail a request the model can still handle
+                logger.warn("Local converter {} failed, falling back to Azure OpenAI",
+                        converter.getClass().getSimpleName(), e);
+            }
+        }
+        if (supported) {
+            eligible.incrementAndGet();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return Fast-path hit counters
+     */
+    public FastPathStats stats() {
+        long total = requests.get();
+        long answered = hits.get();
+        return new FastPathStats(enabled, total, eligible.get(), answered,
+                total == 0 ? 0.0 : (double) answered / total);
+    }
+}
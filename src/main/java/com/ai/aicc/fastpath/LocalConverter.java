@@ -0,0 +1,35 @@
+package com.ai.aicc.fastpath;
+
+import com.ai.aicc.model.ConversionRequest;
+
+import java.util.Optional;
+
+/**
+ * Strategy that converts code locally, without calling Azure OpenAI.
+ *
+ * <p>Implementations handle a narrow class of inputs deterministically and decline everything
+ * else, so a request they return nothing for is converted by the model as before. They must be
+ * fast and side-effect free: {@link FastPathConverter} consults them on the request thread before
+ * the cache and the Azure OpenAI call.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see FastPathConverter
+ */
+public interface LocalConverter {
+
+    /**
+     * @param sourceLanguage Language of the source code, e.g. "SQL"
+     * @param targetLanguage Requested output language, e.g. "Java"
+     * @return Whether this converter can handle some inputs of this language pair
+     */
+    boolean supports(String sourceLanguage, String targetLanguage);
+
+    /**
+     * Converts the request if the input is fully understood.
+     *
+     * @param request The conversion request of a supported language pair
+     * @return The converted code, or empty if the request should go to Azure OpenAI
+     */
+    Optional<String> convert(ConversionRequest request);
+}
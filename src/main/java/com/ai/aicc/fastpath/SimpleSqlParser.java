@@ -0,0 +1,443 @@
+package com.ai.aicc.fastpath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Recognizes single, simple SQL statements whose conversion is pure boilerplate.
+ *
+ * <p><b>Accepted Grammar</b> (keywords case-insensitive, optional trailing semicolon):
+ * <pre>
+ * SELECT * | column, ... FROM table [WHERE condition] [ORDER BY column [ASC|DESC], ...] [LIMIT n]
+ * INSERT INTO table (column, ...) VALUES (value, ...)
+ * UPDATE table SET column = value, ... [WHERE condition]
+ * DELETE FROM table [WHERE condition]
+ *
+ * condition: column op value | column IS [NOT] NULL, joined by AND / OR
+ * op:        = &lt;&gt; != &lt; &gt; &lt;= &gt;= LIKE
+ * value:     ? | 'string' | [-]number | NULL | TRUE | FALSE
+ * </pre>
+ * Anything else - joins, aliases, functions, subqueries, parentheses in conditions, comments,
+ * quoted identifiers, several statements - is declined, because a template could not convert it
+ * as faithfully as the model.
+ *
+ * <p>Parsing is a single pass over the input without regular expressions, so a statement is
+ * recognized or declined in microseconds.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+final class SimpleSqlParser {
+
+    /** Words that end an identifier list or start a clause; never accepted as names */
+    private static final Set<String> RESERVED = Set.of(
+            "SELECT", "FROM", "WHERE", "AND", "OR", "NOT", "NULL", "IS", "LIKE", "ORDER", "BY", "ASC", "DESC",
+            "LIMIT", "INSERT", "INTO", "VALUES", "UPDATE", "SET", "DELETE", "JOIN", "INNER", "LEFT", "RIGHT",
+            "OUTER", "FULL", "CROSS", "ON", "GROUP", "HAVING", "UNION", "DISTINCT", "AS", "IN", "BETWEEN",
+            "EXISTS", "CASE", "WHEN", "THEN", "ELSE", "END", "TRUE", "FALSE", "OFFSET", "TOP", "WITH");
+
+    private static final Set<String> COMPARISONS = Set.of("=", "<>", "!=", "<", ">", "<=", ">=");
+
+    private enum TokenType { WORD, NUMBER, STRING, SYMBOL, PARAM, END }
+
+    private static final class Token {
+
+        private final TokenType type;
+        private final String text;
+
+        private Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+    }
+
+    /** Thrown internally when the input leaves the accepted grammar */
+    private static final class Unsupported extends RuntimeException {
+
+        private Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final Unsupported UNSUPPORTED = new Unsupported();
+
+    private final List<Token> tokens;
+    private int position;
+
+    private final List<String> fragments = new ArrayList<>();
+    private final List<SqlStatement.Parameter> parameters = new ArrayList<>();
+    private final StringBuilder fragment = new StringBuilder();
+
+    private SimpleSqlParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * @param sql Source code of a conversion request
+     * @return The recognized statement, or empty if the input is not a single simple statement
+     */
+    static Optional<SqlStatement> parse(String sql) {
+        if (sql == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new SimpleSqlParser(tokenize(sql)).statement());
+        } catch (Unsupported e) {
+            return Optional.empty();
+        }
+    }
+
+    private SqlStatement statement() {
+        Token first = next();
+        if (first.type != TokenType.WORD) {
+            throw UNSUPPORTED;
+        }
+        SqlStatement statement = switch (first.text.toUpperCase(Locale.ROOT)) {
+            case "SELECT" -> select();
+            case "INSERT" -> insert();
+            case "UPDATE" -> update();
+            case "DELETE" -> delete();
+            default -> throw UNSUPPORTED;
+        };
+        acceptSymbol(";");
+        if (peek().type != TokenType.END) {
+            throw UNSUPPORTED;
+        }
+        return statement;
+    }
+
+    private SqlStatement select() {
+        emit("SELECT ");
+        if (acceptSymbol("*")) {
+            emit("*");
+        } else {
+            emit(identifier());
+            while (acceptSymbol(",")) {
+                emit(", ").emit(identifier());
+            }
+        }
+        expectKeyword("FROM");
+        String table = identifier();
+        emit(" FROM ").emit(table);
+
+        if (acceptKeyword("WHERE")) {
+            emit(" WHERE ");
+            condition();
+        }
+        if (acceptKeyword("ORDER")) {
+            expectKeyword("BY");
+            emit(" ORDER BY ").emit(identifier());
+            sortDirection();
+            while (acceptSymbol(",")) {
+                emit(", ").emit(identifier());
+                sortDirection();
+            }
+        }
+        if (acceptKeyword("LIMIT")) {
+            Token limit = next();
+            if (limit.type != TokenType.NUMBER || limit.text.indexOf('.') >= 0) {
+                throw UNSUPPORTED;
+            }
+            emit(" LIMIT ").emit(limit.text);
+        }
+        return finish(SqlStatement.Kind.SELECT, table);
+    }
+
+    private void sortDirection() {
+        if (acceptKeyword("ASC")) {
+            emit(" ASC");
+        } else if (acceptKeyword("DESC")) {
+            emit(" DESC");
+        }
+    }
+
+    private SqlStatement insert() {
+        expectKeyword("INTO");
+        String table = identifier();
+        emit("INSERT INTO ").emit(table).emit(" (");
+
+        expectSymbol("(");
+        List<String> columns = new ArrayList<>();
+        do {
+            columns.add(identifier());
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        emit(String.join(", ", columns)).emit(") VALUES (");
+
+        expectKeyword("VALUES");
+        expectSymbol("(");
+        int count = 0;
+        do {
+            if (count >= columns.size()) {
+                throw UNSUPPORTED;
+            }
+            if (count > 0) {
+                emit(", ");
+            }
+            value(columns.get(count++), true);
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        if (count != columns.size()) {
+            throw UNSUPPORTED;
+        }
+        emit(")");
+        return finish(SqlStatement.Kind.INSERT, table);
+    }
+
+    private SqlStatement update() {
+        String table = identifier();
+        expectKeyword("SET");
+        emit("UPDATE ").emit(table).emit(" SET ");
+        assignment();
+        while (acceptSymbol(",")) {
+            emit(", ");
+            assignment();
+        }
+
+        if (acceptKeyword("WHERE")) {
+            emit(" WHERE ");
+            condition();
+        }
+        return finish(SqlStatement.Kind.UPDATE, table);
+    }
+
+    private void assignment() {
+        String column = identifier();
+        expectSymbol("=");
+        emit(column).emit(" = ");
+        value(column, true);
+    }
+
+    private SqlStatement delete() {
+        expectKeyword("FROM");
+        String table = identifier();
+        emit("DELETE FROM ").emit(table);
+        if (acceptKeyword("WHERE")) {
+            emit(" WHERE ");
+            condition();
+        }
+        return finish(SqlStatement.Kind.DELETE, table);
+    }
+
+    private void condition() {
+        predicate();
+        while (true) {
+            if (acceptKeyword("AND")) {
+                emit(" AND ");
+            } else if (acceptKeyword("OR")) {
+                emit(" OR ");
+            } else {
+                return;
+            }
+            predicate();
+        }
+    }
+
+    private void predicate() {
+        String column = identifier();
+        emit(column);
+        if (acceptKeyword("IS")) {
+            emit(acceptKeyword("NOT") ? " IS NOT NULL" : " IS NULL");
+            expectKeyword("NULL");
+            return;
+        }
+        Token operator = next();
+        if (operator.type == TokenType.SYMBOL && COMPARISONS.contains(operator.text)) {
+            emit(" ").emit(operator.text).emit(" ");
+        } else if (isKeyword(operator, "LIKE")) {
+            emit(" LIKE ");
+        } else {
+            throw UNSUPPORTED;
+        }
+        value(column, false);
+    }
+
+    /**
+     * Consumes a value; literals and placeholders become bind parameters.
+     *
+     * @param column    Column the value belongs to
+     * @param allowNull Whether NULL is accepted (assignments, not comparisons)
+     */
+    private void value(String column, boolean allowNull) {
+        Token token = next();
+        String name = column.substring(column.lastIndexOf('.') + 1);
+        switch (token.type) {
+            case PARAM -> bind(new SqlStatement.Parameter(name, null, null));
+            case STRING -> bind(new SqlStatement.Parameter(name, SqlStatement.ValueType.STRING, token.text));
+            case NUMBER -> bind(number(name, token.text));
+            case SYMBOL -> {
+                Token number = next();
+                if (!token.text.equals("-") || number.type != TokenType.NUMBER) {
+                    throw UNSUPPORTED;
+                }
+                bind(number(name, "-" + number.text));
+            }
+            case WORD -> {
+                String word = token.text.toUpperCase(Locale.ROOT);
+                if (!(word.equals("TRUE") || word.equals("FALSE") || (allowNull && word.equals("NULL")))) {
+                    throw UNSUPPORTED;
+                }
+                emit(word);
+            }
+            default -> throw UNSUPPORTED;
+        }
+    }
+
+    private static SqlStatement.Parameter number(String column, String text) {
+        SqlStatement.ValueType type = text.indexOf('.') >= 0
+                ? SqlStatement.ValueType.DECIMAL : SqlStatement.ValueType.INTEGER;
+        return new SqlStatement.Parameter(column, type, text);
+    }
+
+    private void bind(SqlStatement.Parameter parameter) {
+        fragments.add(fragment.toString());
+        fragment.setLength(0);
+        parameters.add(parameter);
+    }
+
+    private SqlStatement finish(SqlStatement.Kind kind, String table) {
+        fragments.add(fragment.toString());
+        return new SqlStatement(kind, table.substring(table.lastIndexOf('.') + 1), fragments, parameters);
+    }
+
+    private SimpleSqlParser emit(String text) {
+        fragment.append(text);
+        return this;
+    }
+
+    /** Consumes a possibly schema-qualified name that is not a keyword */
+    private String identifier() {
+        StringBuilder name = new StringBuilder(word());
+        while (acceptSymbol(".")) {
+            name.append('.').append(word());
+        }
+        return name.toString();
+    }
+
+    private String word() {
+        Token token = next();
+        if (token.type != TokenType.WORD || RESERVED.contains(token.text.toUpperCase(Locale.ROOT))) {
+            throw UNSUPPORTED;
+        }
+        return token.text;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (isKeyword(peek(), keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) {
+            throw UNSUPPORTED;
+        }
+    }
+
+    private boolean acceptSymbol(String symbol) {
+        Token token = peek();
+        if (token.type == TokenType.SYMBOL && token.text.equals(symbol)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectSymbol(String symbol) {
+        if (!acceptSymbol(symbol)) {
+            throw UNSUPPORTED;
+        }
+    }
+
+    private static boolean isKeyword(Token token, String keyword) {
+        return token.type == TokenType.WORD && token.text.equalsIgnoreCase(keyword);
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private Token next() {
+        Token token = tokens.get(position);
+        if (token.type != TokenType.END) {
+            position++;
+        }
+        return token;
+    }
+
+    private static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.WORD, sql.substring(start, i)));
+            } else if (c >= '0' && c <= '9') {
+                int start = i;
+                while (i < length && Character.isDigit(sql.charAt(i))) {
+                    i++;
+                }
+                if (i + 1 < length && sql.charAt(i) == '.' && Character.isDigit(sql.charAt(i + 1))) {
+                    i++;
+                    while (i < length && Character.isDigit(sql.charAt(i))) {
+                        i++;
+                    }
+                }
+                if (i < length && (Character.isLetter(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    throw UNSUPPORTED;
+                }
+                tokens.add(new Token(TokenType.NUMBER, sql.substring(start, i)));
+            } else if (c == '\'') {
+                StringBuilder value = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw UNSUPPORTED;
+                    }
+                    char s = sql.charAt(i++);
+                    if (s == '\'') {
+                        if (i < length && sql.charAt(i) == '\'') {
+                            value.append('\'');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        value.append(s);
+                    }
+                }
+                tokens.add(new Token(TokenType.STRING, value.toString()));
+            } else if (c == '?') {
+                tokens.add(new Token(TokenType.PARAM, "?"));
+                i++;
+            } else if ((c == '<' || c == '>' || c == '!') && i + 1 < length
+                    && (sql.charAt(i + 1) == '=' || (c == '<' && sql.charAt(i + 1) == '>'))) {
+                tokens.add(new Token(TokenType.SYMBOL, sql.substring(i, i + 2)));
+                i += 2;
+            } else if ("=<>(),;*.-".indexOf(c) >= 0) {
+                if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                    // Comments may carry intent the template would drop
+                    throw UNSUPPORTED;
+                }
+                tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c)));
+                i++;
+            } else {
+                throw UNSUPPORTED;
+            }
+        }
+        tokens.add(new Token(TokenType.END, ""));
+        return tokens;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ai.aicc.fastpath;
+
+import java.util.List;
+
+/**
+ * A simple SQL statement recognized by {@link SimpleSqlParser}.
+ *
+ * <p>The normalized SQL text is kept as the fragments between bind parameters, so each target
+ * language can join them with its own placeholder syntax. Every literal value and every {@code ?}
+ * of the original statement became a bind parameter.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+final class SqlStatement {
+
+    enum Kind { SELECT, INSERT, UPDATE, DELETE }
+
+    /** Type of a literal bound as a parameter */
+    enum ValueType { STRING, INTEGER, DECIMAL }
+
+    /**
+     * A bind parameter: either a {@code ?} placeholder supplied by the caller or a literal from the
+     * original statement.
+     */
+    static final class Parameter {
+
+        private final String column;
+        private final ValueType type;
+        private final String value;
+
+        Parameter(String column, ValueType type, String value) {
+            this.column = column;
+            this.type = type;
+            this.value = value;
+        }
+
+        /** Column the parameter is compared with or assigned to, used to name it */
+        String column() {
+            return column;
+        }
+
+        /** Type of the literal, or {@code null} for a placeholder */
+        ValueType type() {
+            return type;
+        }
+
+        /** The literal's value without quotes, or {@code null} for a placeholder */
+        String value() {
+            return value;
+        }
+
+        boolean isPlaceholder() {
+            return type == null;
+        }
+    }
+
+    private final Kind kind;
+    private final String table;
+    private final List<String> fragments;
+    private final List<Parameter> parameters;
+
+    SqlStatement(Kind kind, String table, List<String> fragments, List<Parameter> parameters) {
+        this.kind = kind;
+        this.table = table;
+        this.fragments = List.copyOf(fragments);
+        this.parameters = List.copyOf(parameters);
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    /** Table name without schema */
+    String table() {
+        return table;
+    }
+
+    List<Parameter> parameters() {
+        return parameters;
+    }
+
+    /**
+     * @param placeholder Bind parameter syntax of the target driver, e.g. {@code ?} or {@code %s}
+     * @return The normalized SQL text
+     */
+    String sql(String placeholder) {
+        StringBuilder sql = new StringBuilder(fragments.get(0));
+        for (int i = 1; i < fragments.size(); i++) {
+            sql.append(placeholder).append(fragments.get(i));
+        }
+        return sql.toString();
+    }
+}
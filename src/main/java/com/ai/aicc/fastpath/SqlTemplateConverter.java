@@ -0,0 +1,297 @@
+package com.ai.aicc.fastpath;
+
+import com.ai.aicc.model.ConversionRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Converts simple SQL statements to JDBC (Java) or DB-API (Python) code from fixed templates.
+ *
+ * <p>Statements recognized by {@link SimpleSqlParser} become one data-access method:
+ * <ul>
+ *   <li><b>SELECT:</b> executes the query and returns the rows as column-name-to-value maps</li>
+ *   <li><b>INSERT, UPDATE, DELETE:</b> executes the statement and returns the affected row count</li>
+ * </ul>
+ * Literal values are moved into bind parameters and {@code ?} placeholders become method
+ * parameters named after their column, so the generated code never concatenates values into SQL.
+ *
+ * <p><b>Example:</b> {@code SELECT id, name FROM users WHERE id = ?} converted to Python becomes
+ * <pre>
+ * def find_users(connection, id):
+ *     sql = "SELECT id, name FROM users WHERE id = %s"
+ *     cursor = connection.cursor()
+ *     ...
+ * </pre>
+ * Python code uses the {@code format} parameter style of psycopg2 and mysql-connector.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Component
+public class SqlTemplateConverter implements LocalConverter {
+
+    private static final Set<String> JAVA_KEYWORDS = Set.of(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if",
+            "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private",
+            "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized",
+            "this", "throw", "throws", "transient", "try", "void", "volatile", "while", "var", "record", "yield",
+            "true", "false", "null", "connection", "sql", "statement", "resultSet", "rows", "row", "metaData");
+
+    private static final Set<String> PYTHON_KEYWORDS = Set.of(
+            "and", "as", "assert", "async", "await", "break", "class", "continue", "def", "del", "elif", "else",
+            "except", "finally", "for", "from", "global", "if", "import", "in", "is", "lambda", "nonlocal", "not",
+            "or", "pass", "raise", "return", "try", "while", "with", "yield", "none", "true", "false",
+            "connection", "sql", "cursor", "columns", "column", "row");
+
+    @Override
+    public boolean supports(String sourceLanguage, String targetLanguage) {
+        return "SQL".equalsIgnoreCase(sourceLanguage)
+                && ("Java".equalsIgnoreCase(targetLanguage) || "Python".equalsIgnoreCase(targetLanguage));
+    }
+
+    @Override
+    public Optional<String> convert(ConversionRequest request) {
+        boolean java = "Java".equalsIgnoreCase(request.getTargetLanguage());
+        return SimpleSqlParser.parse(request.getSourceCode())
+                .map(statement -> java ? toJava(statement) : toPython(statement));
+    }
+
+    private String toJava(SqlStatement statement) {
+        List<String> names = parameterNames(statement, true);
+        boolean query = statement.kind() == SqlStatement.Kind.SELECT;
+        boolean decimal = statement.parameters().stream()
+                .anyMatch(parameter -> parameter.type() == SqlStatement.ValueType.DECIMAL);
+
+        StringBuilder code = new StringBuilder();
+        if (decimal) {
+            code.append("import java.math.BigDecimal;\n");
+        }
+        code.append("import java.sql.Connection;\n")
+                .append("import java.sql.PreparedStatement;\n");
+        if (query) {
+            code.append("import java.sql.ResultSet;\n")
+                    .append("import java.sql.ResultSetMetaData;\n");
+        }
+        code.append("import java.sql.SQLException;\n");
+        if (query) {
+            code.append("import java.util.ArrayList;\n")
+                    .append("import java.util.LinkedHashMap;\n")
+                    .append("import java.util.List;\n")
+                    .append("import java.util.Map;\n");
+        }
+
+        String entity = pascalCase(statement.table());
+        code.append("\npublic class ").append(entity).append("Repository {\n\n")
+                .append("    public ").append(query ? "List<Map<String, Object>>" : "int").append(' ')
+                .append(methodPrefix(statement.kind())).append(entity).append("(Connection connection");
+        for (int i = 0; i < names.size(); i++) {
+            if (statement.parameters().get(i).isPlaceholder()) {
+                code.append(", Object ").append(names.get(i));
+            }
+        }
+        code.append(") throws SQLException {\n")
+                .append("        String sql = \"").append(statement.sql("?")).append("\";\n")
+                .append("        try (PreparedStatement statement = connection.prepareStatement(sql)) {\n");
+
+        for (int i = 0; i < names.size(); i++) {
+            SqlStatement.Parameter parameter = statement.parameters().get(i);
+            code.append("            statement.");
+            if (parameter.isPlaceholder()) {
+                code.append("setObject(").append(i + 1).append(", ").append(names.get(i));
+            } else if (parameter.type() == SqlStatement.ValueType.STRING) {
+                code.append("setString(").append(i + 1).append(", \"").append(javaString(parameter.value())).append('"');
+            } else if (parameter.type() == SqlStatement.ValueType.DECIMAL) {
+                code.append("setBigDecimal(").append(i + 1).append(", new BigDecimal(\"")
+                        .append(parameter.value()).append("\")");
+            } else if (fitsInt(parameter.value())) {
+                code.append("setInt(").append(i + 1).append(", ").append(parameter.value());
+            } else {
+                code.append("setLong(").append(i + 1).append(", ").append(parameter.value()).append('L');
+            }
+            code.append(");\n");
+        }
+
+        if (query) {
+            code.append("            try (ResultSet resultSet = statement.executeQuery()) {\n")
+                    .append("                List<Map<String, Object>> rows = new ArrayList<>();\n")
+                    .append("                ResultSetMetaData metaData = resultSet.getMetaData();\n")
+                    .append("                while (resultSet.next()) {\n")
+                    .append("                    Map<String, Object> row = new LinkedHashMap<>();\n")
+                    .append("                    for (int i = 1; i <= metaData.getColumnCount(); i++) {\n")
+                    .append("                        row.put(metaData.getColumnLabel(i), resultSet.getObject(i));\n")
+                    .append("                    }\n")
+                    .append("                    rows.add(row);\n")
+                    .append("                }\n")
+                    .append("                return rows;\n")
+                    .append("            }\n");
+        } else {
+            code.append("            return statement.executeUpdate();\n");
+        }
+        return code.append("        }\n")
+                .append("    }\n")
+                .append("}\n")
+                .toString();
+    }
+
+    private String toPython(SqlStatement statement) {
+        List<String> names = parameterNames(statement, false);
+
+        StringBuilder code = new StringBuilder("def ")
+                .append(methodPrefix(statement.kind())).append('_').append(snakeCase(statement.table()))
+                .append("(connection");
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            SqlStatement.Parameter parameter = statement.parameters().get(i);
+            if (parameter.isPlaceholder()) {
+                code.append(", ").append(names.get(i));
+                values.add(names.get(i));
+            } else if (parameter.type() == SqlStatement.ValueType.STRING) {
+                values.add("'" + pythonString(parameter.value()) + "'");
+            } else {
+                values.add(parameter.value());
+            }
+        }
+        code.append("):\n")
+                .append("    sql = \"").append(statement.sql("%s")).append("\"\n")
+                .append("    cursor = connection.cursor()\n")
+                .append("    try:\n")
+                .append("        cursor.execute(sql");
+        if (!values.isEmpty()) {
+            code.append(", (").append(String.join(", ", values)).append(values.size() == 1 ? ",)" : ")");
+        }
+        code.append(")\n");
+
+        if (statement.kind() == SqlStatement.Kind.SELECT) {
+            code.append("        columns = [column[0] for column in cursor.description]\n")
+                    .append("        return [dict(zip(columns, row)) for row in cursor.fetchall()]\n");
+        } else {
+            code.append("        return cursor.rowcount\n");
+        }
+        return code.append("    finally:\n")
+                .append("        cursor.close()\n")
+                .toString();
+    }
+
+    private static String methodPrefix(SqlStatement.Kind kind) {
+        return switch (kind) {
+            case SELECT -> "find";
+            case INSERT -> "insert";
+            case UPDATE -> "update";
+            case DELETE -> "delete";
+        };
+    }
+
+    /**
+     * Names every parameter after its column, unique within the statement and never a keyword or
+     * a local variable of the template. Literal parameters get names too, so numbering is stable.
+     */
+    private static List<String> parameterNames(SqlStatement statement, boolean java) {
+        Set<String> used = new HashSet<>();
+        List<String> names = new ArrayList<>();
+        for (SqlStatement.Parameter parameter : statement.parameters()) {
+            String base = java ? camelCase(parameter.column()) : snakeCase(parameter.column());
+            Set<String> reserved = java ? JAVA_KEYWORDS : PYTHON_KEYWORDS;
+            if (reserved.contains(java ? base : base.toLowerCase(Locale.ROOT))) {
+                base = base + (java ? "Value" : "_value");
+            }
+            String name = base;
+            for (int n = 2; !used.add(name); n++) {
+                name = base + n;
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private static String camelCase(String name) {
+        String pascal = pascalCase(name);
+        return Character.toLowerCase(pascal.charAt(0)) + pascal.substring(1);
+    }
+
+    private static String pascalCase(String name) {
+        StringBuilder result = new StringBuilder();
+        boolean upper = true;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_') {
+                upper = true;
+            } else {
+                result.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return result.isEmpty() ? "Table" : result.toString();
+    }
+
+    private static String snakeCase(String name) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && Character.isLowerCase(name.charAt(i - 1))) {
+                result.append('_');
+            }
+            result.append(Character.toLowerCase(c));
+        }
+        return result.toString();
+    }
+
+    private static boolean fitsInt(String value) {
+        try {
+            Integer.parseInt(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String javaString(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String pythonString(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\'' -> escaped.append("\\'");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\x%02x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.aicc.incremental;
+
+/**
+ * A consecutive range of whole source lines of a document, together with its conversion.
+ *
+ * <p>The regions of a {@link DocumentRevision} partition its source: joining their
+ * {@link #getSource() source} with newlines in order yields the document. Each region was
+ * converted on its own, so its converted code can be reused whenever the same lines appear
+ * unchanged in a later revision.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see RevisionDiff
+ */
+public final class ConvertedRegion {
+
+    private final String source;
+    private final String convertedCode;
+    private final int lineCount;
+
+    public ConvertedRegion(String source, String convertedCode) {
+        this.source = source;
+        this.convertedCode = convertedCode;
+        int lines = 1;
+        for (int i = source.indexOf('\n'); i >= 0; i = source.indexOf('\n', i + 1)) {
+            lines++;
+        }
+        this.lineCount = lines;
+    }
+
+    /**
+     * @return The source lines of this region, separated by {@code \n}
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return The region's converted code, without surrounding blank lines
+     */
+    public String getConvertedCode() {
+        return convertedCode;
+    }
+
+    /**
+     * @return Number of source lines in this region
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+}
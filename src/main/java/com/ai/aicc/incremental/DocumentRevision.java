@@ -0,0 +1,58 @@
+package com.ai.aicc.incremental;
+
+import java.util.List;
+
+/**
+ * The last converted revision of a document, as kept by the {@link DocumentStore}.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class DocumentRevision {
+
+    private final int revision;
+    private final String sourceLanguage;
+    private final String targetLanguage;
+    private final List<ConvertedRegion> regions;
+
+    public DocumentRevision(int revision, String sourceLanguage, String targetLanguage,
+                            List<ConvertedRegion> regions) {
+        this.revision = revision;
+        this.sourceLanguage = sourceLanguage;
+        this.targetLanguage = targetLanguage;
+        this.regions = List.copyOf(regions);
+    }
+
+    /**
+     * @return Number of this revision, starting at 1 for a document's first conversion
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    public String getSourceLanguage() {
+        return sourceLanguage;
+    }
+
+    public String getTargetLanguage() {
+        return targetLanguage;
+    }
+
+    /**
+     * @return The converted regions in source order
+     */
+    public List<ConvertedRegion> getRegions() {
+        return regions;
+    }
+
+    /**
+     * @return Whether this revision was converted between the given languages
+     */
+    public boolean converts(String sourceLanguage, String targetLanguage) {
+        return same(this.sourceLanguage, sourceLanguage) && same(this.targetLanguage, targetLanguage);
+    }
+
+    private static boolean same(String language, String other) {
+        return language == null ? other == null : language.equalsIgnoreCase(other);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ai.aicc.incremental;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the last converted revision of each document for incremental re-conversion.
+ *
+ * <p>Documents are evicted in least-recently-used order and expire a time-to-live after their
+ * last conversion. The store is in-memory only; a document that was evicted or lost on restart is
+ * simply converted in full again, and its regions are then usually served from the result cache.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.incremental.max-documents - Maximum number of documents kept</li>
+ *   <li>aicc.incremental.ttl - How long a document is kept after its last conversion</li>
+ * </ul>
+ *
+ * <p><b>Thread Safety:</b> The map is guarded by a single lock. Two concurrent conversions of the
+ * same document both diff against the revision they read; the one stored last wins, and since each
+ * stored revision is complete in itself, the next diff is correct either way.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see com.ai.aicc.service.IncrementalConversionService
+ */
+@Component
+public class DocumentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentStore.class);
+
+    private final int maxDocuments;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final LinkedHashMap<String, Entry> documents = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public DocumentStore(@Value("${aicc.incremental.max-documents:1000}") int maxDocuments,
+                         @Value("${aicc.incremental.ttl:24h}") Duration ttl) {
+        this(maxDocuments, ttl, System::nanoTime);
+    }
+
+    DocumentStore(int maxDocuments, Duration ttl, LongSupplier nanoClock) {
+        this.maxDocuments = maxDocuments;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        logger.info("Document store maxDocuments={}, ttl={}", maxDocuments, ttl);
+    }
+
+    /**
+     * @return The document's last converted revision, or {@code null} if it is unknown or expired
+     */
+    public DocumentRevision get(String documentId) {
+        lock.lock();
+        try {
+            Entry entry = documents.get(documentId);
+            if (entry != null && nanoClock.getAsLong() - entry.storedNanos >= ttlNanos) {
+                documents.remove(documentId);
+                return null;
+            }
+            return entry == null ? null : entry.revision;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the document's last converted revision.
+     */
+    public void put(String documentId, DocumentRevision revision) {
+        lock.lock();
+        try {
+            documents.put(documentId, new Entry(revision, nanoClock.getAsLong()));
+            Iterator<Map.Entry<String, Entry>> iterator = documents.entrySet().iterator();
+            while (documents.size() > maxDocuments && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets a document, so that its next conversion starts over.
+     *
+     * @return true if the document was known
+     */
+    public boolean remove(String documentId) {
+        lock.lock();
+        try {
+            return documents.remove(documentId) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of documents currently kept
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(DocumentRevision revision, long storedNanos) {
+    }
+}
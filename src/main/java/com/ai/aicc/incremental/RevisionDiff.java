@@ -0,0 +1,146 @@
+package com.ai.aicc.incremental;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Diffs a new revision of a document against the converted regions of the previous one.
+ *
+ * <p>The previous regions are located in the new source in order. A region is reused if all of
+ * its lines appear unchanged and consecutively, starting and ending at lines where the new source
+ * may be cut (see {@link com.ai.aicc.chunk.SourceSegmenter#cuts}); the cut requirement keeps a
+ * short region such as a closing brace from matching inside an edited method. The lines between
+ * reused regions are the changed parts that have to be converted again.
+ *
+ * <p>Regions are matched greedily at their first occurrence after the previous match, so a block
+ * that was moved up or down may be reconverted. That only costs tokens - the result is still
+ * assembled from conversions of exactly the new source's lines.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ConvertedRegion
+ */
+public final class RevisionDiff {
+
+    private RevisionDiff() {
+    }
+
+    /**
+     * Partitions the new source into reused regions and changed line ranges.
+     *
+     * @param previous Regions of the previous revision, in source order
+     * @param lines    Lines of the new source
+     * @param cuts     Lines of the new source before which it may be cut; the start and the end
+     *                 of the source are always allowed
+     * @return Consecutive parts covering all lines, in source order
+     */
+    public static List<Part> align(List<ConvertedRegion> previous, List<String> lines, List<Integer> cuts) {
+        Set<Integer> boundaries = new HashSet<>(cuts);
+        boundaries.add(0);
+        boundaries.add(lines.size());
+
+        // Cut lines by their text, ascending, as candidate starts of a reused region
+        Map<String, List<Integer>> starts = new HashMap<>();
+        List<Integer> sorted = new ArrayList<>(boundaries);
+        Collections.sort(sorted);
+        for (int line : sorted) {
+            if (line < lines.size()) {
+                starts.computeIfAbsent(lines.get(line), text -> new ArrayList<>()).add(line);
+            }
+        }
+
+        List<Part> parts = new ArrayList<>();
+        int cursor = 0;
+        for (ConvertedRegion region : previous) {
+            String[] regionLines = region.getSource().split("\n", -1);
+            int start = find(regionLines, lines, boundaries, starts.get(regionLines[0]), cursor);
+            if (start < 0) {
+                continue;
+            }
+            if (start > cursor) {
+                parts.add(new Part(cursor, start, null));
+            }
+            parts.add(new Part(start, start + regionLines.length, region));
+            cursor = start + regionLines.length;
+        }
+        if (cursor < lines.size()) {
+            parts.add(new Part(cursor, lines.size(), null));
+        }
+        return parts;
+    }
+
+    private static int find(String[] regionLines, List<String> lines, Set<Integer> boundaries,
+                            List<Integer> candidates, int cursor) {
+        if (candidates == null) {
+            return -1;
+        }
+        int index = Collections.binarySearch(candidates, cursor);
+        for (int i = index >= 0 ? index : -index - 1; i < candidates.size(); i++) {
+            int start = candidates.get(i);
+            int end = start + regionLines.length;
+            if (end > lines.size()) {
+                return -1;
+            }
+            if (boundaries.contains(end) && matches(regionLines, lines, start)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(String[] regionLines, List<String> lines, int start) {
+        for (int i = 0; i < regionLines.length; i++) {
+            if (!regionLines[i].equals(lines.get(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A range of lines of the new source: either an unchanged region of the previous revision or
+     * lines that have to be converted.
+     */
+    public static final class Part {
+
+        private final int from;
+        private final int to;
+        private final ConvertedRegion region;
+
+        Part(int from, int to, ConvertedRegion region) {
+            this.from = from;
+            this.to = to;
+            this.region = region;
+        }
+
+        /**
+         * @return First line of the part (0-based, inclusive)
+         */
+        public int getFrom() {
+            return from;
+        }
+
+        /**
+         * @return Line after the part (exclusive)
+         */
+        public int getTo() {
+            return to;
+        }
+
+        /**
+         * @return The reused region, or {@code null} if the lines have changed
+         */
+        public ConvertedRegion getRegion() {
+            return region;
+        }
+
+        public boolean isChanged() {
+            return region == null;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ai.aicc.job;
+
+import com.ai.aicc.model.ConversionJob;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.JobQueueStats;
+import com.ai.aicc.model.JobStatus;
+import com.ai.aicc.service.CodeConversionService;
+import com.ai.aicc.upstream.Priority;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of conversion jobs drained by a fixed pool of workers.
+ *
+ * <p>Submitting a job only stores it and enqueues its id, so the HTTP request returns immediately.
+ * Workers take jobs in submission order and run them through
+ * {@link CodeConversionService#convertCode} with {@link Priority#BATCH}. When
+ * {@code aicc.jobs.queue-capacity} jobs are already waiting, further submissions are rejected
+ * instead of piling up; clients are expected to retry.
+ *
+ * <p>On startup all unfinished jobs in the {@link JobStore} are enqueued again, including jobs that
+ * were running when the application stopped. With the file-backed store this resumes pending work
+ * after a restart. Finished jobs are removed once they are older than {@code aicc.jobs.retention}.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.jobs.workers - Number of worker threads, i.e. concurrent conversions</li>
+ *   <li>aicc.jobs.queue-capacity - Maximum number of waiting jobs</li>
+ *   <li>aicc.jobs.retention - How long finished jobs can be polled</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see JobStore
+ */
+@Component
+public class ConversionJobQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionJobQueue.class);
+
+    /** Finished jobs are purged at most this often */
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final JobStore store;
+    private final CodeConversionService conversionService;
+    private final int workerCount;
+    private final int capacity;
+    private final Duration retention;
+    private final Clock clock;
+
+    private final BlockingQueue<String> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong nextPurgeMillis = new AtomicLong();
+    private volatile boolean stopped;
+
+    @Autowired
+    public ConversionJobQueue(JobStore store,
+                              CodeConversionService conversionService,
+                              @Value("${aicc.jobs.workers:4}") int workerCount,
+                              @Value("${aicc.jobs.queue-capacity:1000}") int capacity,
+                              @Value("${aicc.jobs.retention:24h}") Duration retention) {
+        this(store, conversionService, workerCount, capacity, retention, Clock.systemUTC());
+    }
+
+    ConversionJobQueue(JobStore store, CodeConversionService conversionService, int workerCount, int capacity,
+                       Duration retention, Clock clock) {
+        this.store = store;
+        this.conversionService = conversionService;
+        this.workerCount = workerCount;
+        this.capacity = capacity;
+        this.retention = retention;
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Starts the workers and resumes unfinished jobs from the store.
+     */
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "conversion-job-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        List<ConversionJob> unfinished = store.findUnfinished();
+        if (!unfinished.isEmpty()) {
+            logger.info("Resuming {} unfinished conversion jobs", unfinished.size());
+            // More jobs than fit into the queue are enqueued as workers make room
+            Thread resume = new Thread(() -> resume(unfinished), "conversion-job-resume");
+            resume.setDaemon(true);
+            resume.start();
+        }
+        logger.info("Conversion job queue started with {} workers, capacity {}, retention {}",
+                workerCount, capacity, retention);
+    }
+
+    private void resume(List<ConversionJob> unfinished) {
+        try {
+            for (ConversionJob job : unfinished) {
+                if (job.getStatus() != JobStatus.QUEUED) {
+                    job.setStatus(JobStatus.QUEUED);
+                    job.setStartedAt(null);
+                    store.save(job);
+                }
+                queue.put(job.getId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the workers. Jobs that are still queued or running stay unfinished in the store.
+     */
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Accepts a conversion job.
+     *
+     * @param request The conversion request
+     * @return The queued job, or empty if the queue is full
+     */
+    public Optional<ConversionJob> submit(ConversionRequest request) {
+        purgeExpired();
+
+        ConversionJob job = new ConversionJob(UUID.randomUUID().toString(), request, clock.instant());
+        if (queue.remainingCapacity() == 0) {
+            rejected.incrementAndGet();
+            return Optional.empty();
+        }
+        store.save(job);
+        if (!queue.offer(job.getId())) {
+            // Lost the race for the last free slot
+            job.setStatus(JobStatus.FAILED);
+            job.setResult(ConversionResponse.error("Job queue is full"));
+            job.setCompletedAt(clock.instant());
+            store.save(job);
+            rejected.incrementAndGet();
+            return Optional.empty();
+        }
+        submitted.incrementAndGet();
+        logger.info("Queued conversion job {} ({} to {})", job.getId(),
+                request.getSourceLanguage(), request.getTargetLanguage());
+        return Optional.of(job);
+    }
+
+    /**
+     * @param id Job identifier
+     * @return The job's current state, or empty if unknown or purged
+     */
+    public Optional<ConversionJob> find(String id) {
+        return store.find(id);
+    }
+
+    /**
+     * @return Current queue counters
+     */
+    public JobQueueStats stats() {
+        return new JobQueueStats(queue.size(), running.get(), workerCount, capacity,
+                submitted.get(), rejected.get(), completed.get());
+    }
+
+    private void work() {
+        while (!stopped) {
+            String id;
+            try {
+                id = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            store.find(id).filter(job -> !job.isDone()).ifPresent(this::run);
+        }
+    }
+
+    private void run(ConversionJob job) {
+        running.incrementAndGet();
+        try {
+            job.setStatus(JobStatus.RUNNING);
+            job.setStartedAt(clock.instant());
+            store.save(job);
+
+            ConversionResponse result = conversionService.convertCode(job.getRequest(), Priority.BATCH);
+
+            job.setResult(result);
+            job.setStatus(result.isSuccess() ? JobStatus.SUCCEEDED : JobStatus.FAILED);
+            job.setCompletedAt(clock.instant());
+            store.save(job);
+            completed.incrementAndGet();
+            logger.info("Conversion job {} finished: {}", job.getId(), job.getStatus());
+        } catch (RuntimeException e) {
+            logger.error("Conversion job {} could not be processed", job.getId(), e);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private void purgeExpired() {
+        long now = clock.millis();
+        long next = nextPurgeMillis.get();
+        if (now < next || !nextPurgeMillis.compareAndSet(next, now + PURGE_INTERVAL.toMillis())) {
+            return;
+        }
+        int removed = store.deleteCompletedBefore(clock.instant().minus(retention));
+        if (removed > 0) {
+            logger.info("Removed {} finished conversion jobs older than {}", removed, retention);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ai.aicc.job;
+
+import com.ai.aicc.model.ConversionJob;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Job store that writes every job to a JSON file so pending work survives restarts.
+ *
+ * <p>Each job is kept in {@code <directory>/<id>.json}. Updates are written to a temporary file
+ * and atomically moved into place, so a crash never leaves a half-written job behind. All jobs are
+ * loaded on startup and served from memory afterwards; the files are only written, never read,
+ * while the application runs.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.jobs.store=file - Selects this store</li>
+ *   <li>aicc.jobs.file.directory - Directory holding the job files (one application instance per directory)</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "aicc.jobs.store", havingValue = "file")
+public class FileJobStore extends InMemoryJobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileJobStore.class);
+
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public FileJobStore(@Value("${aicc.jobs.file.directory:data/jobs}") String directory) throws IOException {
+        this.directory = Paths.get(directory);
+        Files.createDirectories(this.directory);
+        load();
+    }
+
+    private void load() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    ConversionJob job = objectMapper.readValue(file.toFile(), ConversionJob.class);
+                    jobs.put(job.getId(), job);
+                } catch (IOException e) {
+                    logger.warn("Skipping unreadable job file {}", file, e);
+                }
+            }
+        }
+        logger.info("Loaded {} conversion jobs from {}", jobs.size(), directory.toAbsolutePath());
+    }
+
+    @Override
+    public void save(ConversionJob job) {
+        Path target = directory.resolve(job.getId() + SUFFIX);
+        Path temp = directory.resolve(job.getId() + SUFFIX + ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), job);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist job " + job.getId(), e);
+        }
+        super.save(job);
+    }
+
+    @Override
+    protected void onDeleted(String id) {
+        try {
+            Files.deleteIfExists(directory.resolve(id + SUFFIX));
+        } catch (IOException e) {
+            logger.warn("Failed to delete job file for {}", id, e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ai.aicc.job;
+
+import com.ai.aicc.model.ConversionJob;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default job store: jobs live on the heap and are lost on restart.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "aicc.jobs.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryJobStore implements JobStore {
+
+    /** Jobs by id; values are private copies and never handed out */
+    protected final Map<String, ConversionJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(ConversionJob job) {
+        jobs.put(job.getId(), new ConversionJob(job));
+    }
+
+    @Override
+    public Optional<ConversionJob> find(String id) {
+        ConversionJob job = jobs.get(id);
+        return job == null ? Optional.empty() : Optional.of(new ConversionJob(job));
+    }
+
+    @Override
+    public List<ConversionJob> findUnfinished() {
+        return jobs.values().stream()
+                .filter(job -> !job.isDone())
+                .sorted(Comparator.comparing(ConversionJob::getCreatedAt))
+                .map(ConversionJob::new)
+                .toList();
+    }
+
+    @Override
+    public int deleteCompletedBefore(Instant cutoff) {
+        int removed = 0;
+        for (ConversionJob job : jobs.values()) {
+            if (job.isDone() && job.getCompletedAt().isBefore(cutoff) && jobs.remove(job.getId(), job)) {
+                removed++;
+                onDeleted(job.getId());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Called after a job was removed by {@link #deleteCompletedBefore}.
+     *
+     * @param id Identifier of the removed job
+     */
+    protected void onDeleted(String id) {
+    }
+}
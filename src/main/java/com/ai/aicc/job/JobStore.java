@@ -0,0 +1,50 @@
+package com.ai.aicc.job;
+
+import com.ai.aicc.model.ConversionJob;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of asynchronous conversion jobs.
+ *
+ * <p>Implementations are selected with {@code aicc.jobs.store}: {@code memory} (default) keeps
+ * jobs on the heap, {@code file} additionally writes each job to disk so that queued work survives
+ * a restart. Jobs passed in and handed out are copies; callers may modify them freely and must
+ * {@link #save} to publish changes.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ConversionJobQueue
+ */
+public interface JobStore {
+
+    /**
+     * Creates or replaces a job.
+     *
+     * @param job Job to store
+     */
+    void save(ConversionJob job);
+
+    /**
+     * @param id Job identifier
+     * @return A copy of the job, or empty if unknown or already purged
+     */
+    Optional<ConversionJob> find(String id);
+
+    /**
+     * Returns the jobs that have not finished, oldest first. Used to resume work after a restart.
+     *
+     * @return Queued and running jobs
+     */
+    List<ConversionJob> findUnfinished();
+
+    /**
+     * Removes finished jobs that completed before the cutoff.
+     *
+     * @param cutoff Completion time before which jobs are removed
+     * @return Number of removed jobs
+     */
+    int deleteCompletedBefore(Instant cutoff);
+}
@@ -0,0 +1,47 @@
+package com.ai.aicc.metrics;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Collects a serialized body in memory so it can be sent with a {@code Content-Length}.
+ *
+ * <p>Jackson converters stream their output and leave the length unset, and Tomcat applies
+ * {@code server.compression.min-response-size} only to responses with a known length. Conversion
+ * results are buffered through this message, so small ones, such as error bodies, are sent
+ * uncompressed and only results above the threshold are gzipped.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+final class BufferedOutputMessage implements HttpOutputMessage {
+
+    private final HttpOutputMessage target;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+    BufferedOutputMessage(HttpOutputMessage target) {
+        this.target = target;
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return target.getHeaders();
+    }
+
+    /**
+     * Sets the length of the buffered body and writes it to the target message.
+     */
+    void writeTo() throws IOException {
+        target.getHeaders().setContentLength(body.size());
+        body.writeTo(target.getBody());
+    }
+}
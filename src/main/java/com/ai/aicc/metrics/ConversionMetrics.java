@@ -0,0 +1,234 @@
+package com.ai.aicc.metrics;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.TokenUsage;
+import com.ai.aicc.token.TokenLimitExceededException;
+import com.ai.aicc.upstream.CircuitOpenException;
+import com.ai.aicc.upstream.UpstreamRejectedException;
+import com.azure.core.exception.HttpResponseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Micrometer meters of the conversion path, exported at {@code /actuator/prometheus}.
+ *
+ * <p><b>Meters:</b>
+ * <ul>
+ *   <li>{@value #CONVERSION} - End-to-end time of a conversion request, tagged by {@code endpoint}
+ *       (sync, async, large, document, stream)</li>
+ *   <li>{@value #PROMPT_BUILD} - Building and token-counting the prompt</li>
+ *   <li>{@value #UPSTREAM_CALL} - The Azure OpenAI call once admitted, including failover and hedging</li>
+ *   <li>{@value #SERIALIZATION} - Writing a ConversionResponse, tagged by {@code format} (json, cbor,
+ *       smile)</li>
+ *   <li>{@value #TOKENS} - Prompt and completion tokens of model calls, tagged by {@code type}</li>
+ *   <li>{@value #ERRORS} - Failed conversions, tagged by error {@code type}</li>
+ * </ul>
+ * All meters are tagged by {@code source} and {@code target} language, timers also by
+ * {@code outcome}. Percentile histograms are enabled through
+ * {@code management.metrics.distribution.percentiles-histogram.aicc.conversion}.
+ *
+ * <p><b>Cardinality:</b> Languages are free text in requests, so tag values are limited to the
+ * supported languages; anything else is tagged {@code other}. Error types are a fixed set, see
+ * {@link #errorType}.
+ *
+ * <p><b>Overhead:</b> Recording is a registry lookup of an existing meter and an atomic update,
+ * well under a microsecond, against model calls that take seconds.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Component
+public class ConversionMetrics {
+
+    public static final String CONVERSION = "aicc.conversion";
+    public static final String PROMPT_BUILD = "aicc.conversion.prompt.build";
+    public static final String UPSTREAM_CALL = "aicc.conversion.upstream.call";
+    public static final String SERIALIZATION = "aicc.conversion.serialization";
+    public static final String TOKENS = "aicc.conversion.tokens";
+    public static final String ERRORS = "aicc.conversion.errors";
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    /** Tag value of each supported language, keyed by its lower-case name */
+    private static final Map<String, String> LANGUAGES = Map.of(
+            "java", "java",
+            "python", "python",
+            "sql", "sql",
+            "c#", "csharp",
+            "csharp", "csharp");
+
+    private final MeterRegistry registry;
+
+    public ConversionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Records the end-to-end time of a conversion request.
+     *
+     * @param request  The conversion request
+     * @param endpoint Which API served it: sync, async, large or stream
+     * @param outcome  success, error, invalid or timeout
+     * @param nanos    Elapsed time
+     */
+    public void recordConversion(ConversionRequest request, String endpoint, String outcome, long nanos) {
+        Timer.builder(CONVERSION)
+                .description("Time to answer a conversion request")
+                .tags(languages(request).and("endpoint", endpoint, "outcome", outcome))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent building and token-counting a prompt.
+     *
+     * @param request The conversion request the prompt is built for
+     * @param success false if the prompt was rejected, e.g. because it exceeds the model context
+     * @param nanos   Elapsed time
+     */
+    public void recordPromptBuild(ConversionRequest request, boolean success, long nanos) {
+        Timer.builder(PROMPT_BUILD)
+                .description("Time to build and token-count a prompt")
+                .tags(languages(request).and("outcome", success ? SUCCESS : ERROR))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records an Azure OpenAI call, from admission to the response or failure.
+     *
+     * @param request The conversion request
+     * @param failure Why the call failed, or null
+     * @param nanos   Elapsed time
+     */
+    public void recordUpstreamCall(ConversionRequest request, Throwable failure, long nanos) {
+        Timer.builder(UPSTREAM_CALL)
+                .description("Time of Azure OpenAI calls after admission")
+                .tags(languages(request).and("outcome", failure == null ? SUCCESS : errorType(failure)))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent serializing a response.
+     *
+     * @param format         Wire format: json, cbor or smile
+     * @param sourceLanguage Source language of the response, may be null
+     * @param targetLanguage Target language of the response, may be null
+     * @param success        Whether the response reports a successful conversion
+     * @param nanos          Elapsed time
+     */
+    public void recordSerialization(String format, String sourceLanguage, String targetLanguage, boolean success,
+                                    long nanos) {
+        Timer.builder(SERIALIZATION)
+                .description("Time to serialize a conversion response")
+                .tags(languages(sourceLanguage, targetLanguage)
+                        .and("format", format)
+                        .and("outcome", success ? SUCCESS : ERROR))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts the tokens of a model call.
+     *
+     * @param request The conversion request
+     * @param usage   Token usage of the call; ignored if null
+     */
+    public void recordTokens(ConversionRequest request, TokenUsage usage) {
+        if (usage == null) {
+            return;
+        }
+        Tags tags = languages(request);
+        tokens(tags, "prompt").increment(usage.getPromptTokens());
+        tokens(tags, "completion").increment(usage.getCompletionTokens());
+    }
+
+    private Counter tokens(Tags tags, String type) {
+        return Counter.builder(TOKENS)
+                .description("Tokens of Azure OpenAI calls")
+                .baseUnit("tokens")
+                .tags(tags.and("type", type))
+                .register(registry);
+    }
+
+    /**
+     * Counts a failed conversion.
+     *
+     * @param request The conversion request
+     * @param failure Why it failed
+     */
+    public void recordError(ConversionRequest request, Throwable failure) {
+        Counter.builder(ERRORS)
+                .description("Failed conversions by error type")
+                .tags(languages(request).and("type", errorType(failure)))
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Classifies a failure into one of a fixed set of tag values.
+     *
+     * @param failure A conversion failure, possibly wrapped by a future
+     * @return throttled, upstream_4xx, upstream_5xx, circuit_open, rejected, token_limit, timeout, io or other
+     */
+    public static String errorType(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof HttpResponseException http && http.getResponse() != null) {
+            int status = http.getResponse().getStatusCode();
+            return status == 429 ? "throttled" : status >= 500 ? "upstream_5xx" : "upstream_4xx";
+        }
+        if (cause instanceof CircuitOpenException) {
+            return "circuit_open";
+        }
+        if (cause instanceof UpstreamRejectedException) {
+            return "rejected";
+        }
+        if (cause instanceof TokenLimitExceededException) {
+            return "token_limit";
+        }
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof IOException || cause instanceof UncheckedIOException) {
+            return "io";
+        }
+        return "other";
+    }
+
+    private static Tags languages(ConversionRequest request) {
+        return languages(request.getSourceLanguage(), request.getTargetLanguage());
+    }
+
+    private static Tags languages(String sourceLanguage, String targetLanguage) {
+        return Tags.of("source", language(sourceLanguage), "target", language(targetLanguage));
+    }
+
+    /**
+     * @param name Language name as given in a request
+     * @return Its tag value, {@code other} if unsupported, {@code none} if missing
+     */
+    static String language(String name) {
+        if (name == null) {
+            return "none";
+        }
+        return LANGUAGES.getOrDefault(name.toLowerCase(Locale.ROOT), "other");
+    }
+}
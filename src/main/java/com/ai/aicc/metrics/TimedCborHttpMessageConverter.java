@@ -0,0 +1,43 @@
+package com.ai.aicc.metrics;
+
+import com.ai.aicc.model.ConversionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR message converter that times the serialization of {@link ConversionResponse} bodies,
+ * like {@link TimedJsonHttpMessageConverter} does for JSON.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see com.ai.aicc.config.ResponseFormatConfig
+ */
+public class TimedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final ConversionMetrics metrics;
+
+    public TimedCborHttpMessageConverter(ObjectMapper objectMapper, ConversionMetrics metrics) {
+        super(objectMapper);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof ConversionResponse response)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        BufferedOutputMessage buffered = new BufferedOutputMessage(outputMessage);
+        super.writeInternal(object, type, buffered);
+        metrics.recordSerialization("cbor", response.getSourceLanguage(), response.getTargetLanguage(),
+                response.isSuccess(), System.nanoTime() - start);
+        buffered.writeTo();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ai.aicc.metrics;
+
+import com.ai.aicc.model.ConversionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON message converter that times the serialization of {@link ConversionResponse} bodies.
+ *
+ * <p>Replaces Spring Boot's default Jackson converter, see
+ * {@link com.ai.aicc.config.MetricsConfig}. Other bodies are written without timing. A result is
+ * serialized into a buffer first (see {@link BufferedOutputMessage}), so the measured time does not
+ * include writing to slow clients and the response carries a {@code Content-Length}. The compact
+ * formats are timed by {@link TimedCborHttpMessageConverter} and
+ * {@link TimedSmileHttpMessageConverter}.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ConversionMetrics#SERIALIZATION
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ConversionMetrics metrics;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, ConversionMetrics metrics) {
+        super(objectMapper);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof ConversionResponse response)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        BufferedOutputMessage buffered = new BufferedOutputMessage(outputMessage);
+        super.writeInternal(object, type, buffered);
+        metrics.recordSerialization("json", response.getSourceLanguage(), response.getTargetLanguage(),
+                response.isSuccess(), System.nanoTime() - start);
+        buffered.writeTo();
+    }
+}
@@ -0,0 +1,41 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Request model for converting many code snippets in one HTTP call.
+ *
+ * <p>Each item is an ordinary {@link ConversionRequest}; items are converted independently and
+ * may mix source and target languages.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see BatchConversionResponse
+ */
+@Schema(description = "Request payload for batch code conversion")
+public class BatchConversionRequest {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Snippets to convert, answered in the same order"),
+            schema = @Schema(implementation = ConversionRequest.class)
+    )
+    private List<ConversionRequest> items;
+
+    public BatchConversionRequest() {
+    }
+
+    public BatchConversionRequest(List<ConversionRequest> items) {
+        this.items = items;
+    }
+
+    public List<ConversionRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ConversionRequest> items) {
+        this.items = items;
+    }
+}
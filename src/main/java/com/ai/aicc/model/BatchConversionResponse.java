@@ -0,0 +1,84 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response model for batch code conversion.
+ *
+ * <p>{@code results} holds one {@link ConversionResponse} per requested item, in request order.
+ * A failed item does not fail the batch; it is reported through its own {@code success} and
+ * {@code error} fields. {@code error} is only set when the batch itself was rejected.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Response payload containing one conversion result per batch item")
+public class BatchConversionResponse {
+
+    @Schema(description = "Conversion results in request order")
+    private List<ConversionResponse> results;
+
+    @Schema(description = "Number of items converted successfully", example = "98")
+    private int succeeded;
+
+    @Schema(description = "Number of items that failed", example = "2")
+    private int failed;
+
+    @Schema(description = "Error message if the batch was rejected. Null otherwise.",
+            example = "Batch must contain at least one item")
+    private String error;
+
+    public BatchConversionResponse() {
+    }
+
+    public BatchConversionResponse(List<ConversionResponse> results) {
+        this.results = results;
+        for (ConversionResponse result : results) {
+            if (result.isSuccess()) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    public static BatchConversionResponse error(String error) {
+        BatchConversionResponse response = new BatchConversionResponse();
+        response.setError(error);
+        return response;
+    }
+
+    public List<ConversionResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ConversionResponse> results) {
+        this.results = results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
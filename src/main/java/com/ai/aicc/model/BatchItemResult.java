@@ -0,0 +1,46 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Result of one item of a batch conversion, as written on each line of the NDJSON response.
+ *
+ * <p>Streamed results arrive in completion order; {@code index} refers to the item's position
+ * in {@link BatchConversionRequest#getItems()}.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Result of a single batch item")
+public class BatchItemResult {
+
+    @Schema(description = "Zero-based position of the item in the batch request", example = "0")
+    private int index;
+
+    @Schema(description = "Conversion result of the item")
+    private ConversionResponse result;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(int index, ConversionResponse result) {
+        this.index = index;
+        this.result = result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public ConversionResponse getResult() {
+        return result;
+    }
+
+    public void setResult(ConversionResponse result) {
+        this.result = result;
+    }
+}
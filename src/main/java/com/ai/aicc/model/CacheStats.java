@@ -0,0 +1,178 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Snapshot of the conversion result cache counters.
+ *
+ * <p>Counters are cumulative since application start (or since the cache was created)
+ * and are not reset when entries are invalidated.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Conversion result cache statistics")
+public class CacheStats {
+
+    @Schema(description = "Whether the result cache is enabled", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Number of entries currently cached", example = "128")
+    private int size;
+
+    @Schema(description = "Approximate heap footprint of cached conversions in bytes", example = "524288")
+    private long weightBytes;
+
+    @Schema(description = "Maximum number of entries before LRU eviction", example = "10000")
+    private int maxEntries;
+
+    @Schema(description = "Maximum approximate footprint in bytes before LRU eviction", example = "67108864")
+    private long maxWeightBytes;
+
+    @Schema(description = "Lookups answered from the cache", example = "4210")
+    private long hits;
+
+    @Schema(description = "Lookups that had to call Azure OpenAI", example = "512")
+    private long misses;
+
+    @Schema(description = "Entries removed to respect the size limits", example = "3")
+    private long evictions;
+
+    @Schema(description = "Entries removed because their time-to-live elapsed", example = "17")
+    private long expirations;
+
+    @Schema(description = "Lookups that missed in memory but were answered by the persistent store", example = "96")
+    private long diskHits;
+
+    @Schema(description = "Persistent store statistics. Null if the persistent store is disabled.")
+    private DiskCacheStats disk;
+
+    @Schema(description = "Near-duplicate fingerprint cache statistics, consulted after a miss")
+    private FingerprintCacheStats fingerprint;
+
+    public CacheStats() {
+    }
+
+    public CacheStats(boolean enabled, int size, long weightBytes, int maxEntries, long maxWeightBytes,
+                      long hits, long misses, long evictions, long expirations) {
+        this.enabled = enabled;
+        this.size = size;
+        this.weightBytes = weightBytes;
+        this.maxEntries = maxEntries;
+        this.maxWeightBytes = maxWeightBytes;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+
+    @Schema(description = "Fraction of lookups answered from memory or the persistent store", example = "0.89")
+    public double getHitRate() {
+        long lookups = hits + diskHits + misses;
+        return lookups == 0 ? 0.0 : (double) (hits + diskHits) / lookups;
+    }
+
+    @Schema(description = "Fraction of lookups answered without Azure OpenAI, including near-duplicate reuse",
+            example = "0.93")
+    public double getEffectiveHitRate() {
+        long lookups = hits + diskHits + misses;
+        long fingerprintHits = fingerprint == null ? 0 : fingerprint.getHits();
+        return lookups == 0 ? 0.0 : (double) (hits + diskHits + fingerprintHits) / lookups;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getWeightBytes() {
+        return weightBytes;
+    }
+
+    public void setWeightBytes(long weightBytes) {
+        this.weightBytes = weightBytes;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getMaxWeightBytes() {
+        return maxWeightBytes;
+    }
+
+    public void setMaxWeightBytes(long maxWeightBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+
+    public long getDiskHits() {
+        return diskHits;
+    }
+
+    public void setDiskHits(long diskHits) {
+        this.diskHits = diskHits;
+    }
+
+    public DiskCacheStats getDisk() {
+        return disk;
+    }
+
+    public void setDisk(DiskCacheStats disk) {
+        this.disk = disk;
+    }
+
+    public FingerprintCacheStats getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(FingerprintCacheStats fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Counters for coalescing of identical in-flight conversion requests.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Request coalescing statistics")
+public class CoalescingStats {
+
+    @Schema(description = "Distinct conversions currently waiting on Azure OpenAI", example = "4")
+    private int inFlight;
+
+    @Schema(description = "Conversions that were sent to Azure OpenAI", example = "512")
+    private long upstreamCalls;
+
+    @Schema(description = "Requests that shared an identical in-flight conversion instead of calling Azure OpenAI",
+            example = "1830")
+    private long deduplicated;
+
+    public CoalescingStats() {
+    }
+
+    public CoalescingStats(int inFlight, long upstreamCalls, long deduplicated) {
+        this.inFlight = inFlight;
+        this.upstreamCalls = upstreamCalls;
+        this.deduplicated = deduplicated;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public long getUpstreamCalls() {
+        return upstreamCalls;
+    }
+
+    public void setUpstreamCalls(long upstreamCalls) {
+        this.upstreamCalls = upstreamCalls;
+    }
+
+    public long getDeduplicated() {
+        return deduplicated;
+    }
+
+    public void setDeduplicated(long deduplicated) {
+        this.deduplicated = deduplicated;
+    }
+}
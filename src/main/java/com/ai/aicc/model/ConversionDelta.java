@@ -0,0 +1,33 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A fragment of converted code emitted by the streaming conversion endpoint.
+ *
+ * <p>Concatenating the {@code content} of all deltas in order yields the complete converted code.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Fragment of converted code sent as a server-sent event")
+public class ConversionDelta {
+
+    @Schema(description = "Next piece of the converted code", example = "PreparedStatement stmt = ")
+    private String content;
+
+    public ConversionDelta() {
+    }
+
+    public ConversionDelta(String content) {
+        this.content = content;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
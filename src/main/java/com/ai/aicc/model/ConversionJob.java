@@ -0,0 +1,126 @@
+package com.ai.aicc.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * An asynchronous conversion job: the request, its state and, once done, its result.
+ *
+ * <p>Jobs are created by POST /api/convert/jobs and polled through GET /api/convert/jobs/{id}.
+ * The same representation is persisted by the file-backed job store.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Asynchronous conversion job")
+public class ConversionJob {
+
+    @Schema(description = "Job identifier used for polling", example = "3f2b8c1e-5d7a-4e0b-9c61-2a7f4d9e8b10")
+    private String id;
+
+    @Schema(description = "Current state of the job", example = "QUEUED")
+    private JobStatus status;
+
+    @Schema(description = "The submitted conversion request")
+    private ConversionRequest request;
+
+    @Schema(description = "Conversion result. Null until the job is SUCCEEDED or FAILED.")
+    private ConversionResponse result;
+
+    @Schema(description = "When the job was accepted", example = "2024-01-15T10:30:00Z")
+    private Instant createdAt;
+
+    @Schema(description = "When a worker started the conversion. Null while queued.")
+    private Instant startedAt;
+
+    @Schema(description = "When the conversion finished. Null until done.")
+    private Instant completedAt;
+
+    public ConversionJob() {
+    }
+
+    public ConversionJob(String id, ConversionRequest request, Instant createdAt) {
+        this.id = id;
+        this.request = request;
+        this.createdAt = createdAt;
+        this.status = JobStatus.QUEUED;
+    }
+
+    /**
+     * Creates a copy of another job, so stored jobs are never modified by their readers.
+     *
+     * @param other Job to copy
+     */
+    public ConversionJob(ConversionJob other) {
+        this.id = other.id;
+        this.status = other.status;
+        this.request = other.request;
+        this.result = other.result;
+        this.createdAt = other.createdAt;
+        this.startedAt = other.startedAt;
+        this.completedAt = other.completedAt;
+    }
+
+    @JsonIgnore
+    public boolean isDone() {
+        return status != null && status.isDone();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public ConversionRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(ConversionRequest request) {
+        this.request = request;
+    }
+
+    public ConversionResponse getResult() {
+        return result;
+    }
+
+    public void setResult(ConversionResponse result) {
+        this.result = result;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
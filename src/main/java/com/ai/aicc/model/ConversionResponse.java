@@ -1,5 +1,6 @@
 package com.ai.aicc.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
@@ -44,6 +45,14 @@ public class ConversionResponse {
     )
     private String error;
 
+    @Schema(description = "Tokens consumed by the Azure OpenAI call. Null if the result was served "
+            + "from a cache or a local template.")
+    private TokenUsage usage;
+
+    /** Why the conversion failed, used to choose the HTTP status; not part of the payload */
+    @JsonIgnore
+    private Throwable failure;
+
     public ConversionResponse() {
     }
 
@@ -61,6 +70,17 @@ public class ConversionResponse {
         return response;
     }
 
+    /**
+     * @param error   Error message returned to the client
+     * @param failure Exception that caused the error
+     * @return Error response remembering its cause
+     */
+    public static ConversionResponse error(String error, Throwable failure) {
+        ConversionResponse response = error(error);
+        response.failure = failure;
+        return response;
+    }
+
     public String getConvertedCode() {
         return convertedCode;
     }
@@ -100,4 +120,17 @@ public class ConversionResponse {
     public void setError(String error) {
         this.error = error;
     }
+
+    public TokenUsage getUsage() {
+        return usage;
+    }
+
+    public void setUsage(TokenUsage usage) {
+        this.usage = usage;
+    }
+
+    @JsonIgnore
+    public Throwable getFailure() {
+        return failure;
+    }
 }
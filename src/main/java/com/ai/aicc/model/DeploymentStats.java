@@ -0,0 +1,128 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Load, health and token budget of one Azure OpenAI deployment behind the router.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Routing state of one Azure OpenAI deployment")
+public class DeploymentStats {
+
+    @Schema(description = "Label of the deployment", example = "eastus")
+    private String name;
+
+    @Schema(description = "Model deployment name passed to Azure OpenAI", example = "gpt-4.1")
+    private String deploymentName;
+
+    @Schema(description = "Relative share of calls", example = "2")
+    private int weight;
+
+    @Schema(description = "Calls currently in progress", example = "7")
+    private int outstanding;
+
+    @Schema(description = "False while the deployment is ejected after repeated failures", example = "true")
+    private boolean healthy;
+
+    @Schema(description = "Calls routed to the deployment, including failed attempts", example = "15230")
+    private long calls;
+
+    @Schema(description = "Attempts that failed with a server error, 429, timeout or connection error", example = "12")
+    private long failures;
+
+    @Schema(description = "Configured tokens-per-minute quota; 0 if none", example = "300000")
+    private long tokensPerMinute;
+
+    @Schema(description = "Tokens currently left in the budget; -1 if no quota is configured", example = "181500")
+    private long availableTokens;
+
+    public DeploymentStats() {
+    }
+
+    public DeploymentStats(String name, String deploymentName, int weight, int outstanding, boolean healthy,
+                           long calls, long failures, long tokensPerMinute, long availableTokens) {
+        this.name = name;
+        this.deploymentName = deploymentName;
+        this.weight = weight;
+        this.outstanding = outstanding;
+        this.healthy = healthy;
+        this.calls = calls;
+        this.failures = failures;
+        this.tokensPerMinute = tokensPerMinute;
+        this.availableTokens = availableTokens;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDeploymentName() {
+        return deploymentName;
+    }
+
+    public void setDeploymentName(String deploymentName) {
+        this.deploymentName = deploymentName;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    public int getOutstanding() {
+        return outstanding;
+    }
+
+    public void setOutstanding(int outstanding) {
+        this.outstanding = outstanding;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public long getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+
+    public void setTokensPerMinute(long tokensPerMinute) {
+        this.tokensPerMinute = tokensPerMinute;
+    }
+
+    public long getAvailableTokens() {
+        return availableTokens;
+    }
+
+    public void setAvailableTokens(long availableTokens) {
+        this.availableTokens = availableTokens;
+    }
+}
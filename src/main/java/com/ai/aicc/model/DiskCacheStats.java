@@ -0,0 +1,92 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Snapshot of the persistent second-tier conversion store.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Persistent conversion store statistics")
+public class DiskCacheStats {
+
+    @Schema(description = "Number of live entries in the store", example = "20480")
+    private int entries;
+
+    @Schema(description = "Current size of the segment file in bytes", example = "41943040")
+    private long segmentBytes;
+
+    @Schema(description = "Bytes of the segment file occupied by live records", example = "33554432")
+    private long liveBytes;
+
+    @Schema(description = "Configured size cap of the segment file in bytes", example = "536870912")
+    private long maxSizeBytes;
+
+    @Schema(description = "Number of slots in the memory-mapped index", example = "262144")
+    private int indexSlots;
+
+    @Schema(description = "Number of compactions since startup", example = "2")
+    private long compactions;
+
+    public DiskCacheStats() {
+    }
+
+    public DiskCacheStats(int entries, long segmentBytes, long liveBytes, long maxSizeBytes,
+                          int indexSlots, long compactions) {
+        this.entries = entries;
+        this.segmentBytes = segmentBytes;
+        this.liveBytes = liveBytes;
+        this.maxSizeBytes = maxSizeBytes;
+        this.indexSlots = indexSlots;
+        this.compactions = compactions;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public void setEntries(int entries) {
+        this.entries = entries;
+    }
+
+    public long getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public void setSegmentBytes(long segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+
+    public void setLiveBytes(long liveBytes) {
+        this.liveBytes = liveBytes;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public void setMaxSizeBytes(long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public int getIndexSlots() {
+        return indexSlots;
+    }
+
+    public void setIndexSlots(int indexSlots) {
+        this.indexSlots = indexSlots;
+    }
+
+    public long getCompactions() {
+        return compactions;
+    }
+
+    public void setCompactions(long compactions) {
+        this.compactions = compactions;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Result of converting a new revision of a versioned document.
+ *
+ * <p>Besides the conversion itself, reports how much of the document was reused from its
+ * previous revision and how much had to be converted again.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Result of an incremental conversion of a versioned document")
+public class DocumentConversionResponse {
+
+    @Schema(description = "Client-chosen identifier of the document", example = "src/main/java/OrderService.java")
+    private String documentId;
+
+    @Schema(description = "Revision number of this conversion, starting at 1; 0 if the conversion failed "
+            + "and the previous revision was kept", example = "7")
+    private int revision;
+
+    @Schema(description = "Source lines whose conversion was reused from the previous revision", example = "412")
+    private int reusedLines;
+
+    @Schema(description = "Source lines that were converted again", example = "18")
+    private int convertedLines;
+
+    @Schema(description = "Conversion result of the whole document")
+    private ConversionResponse result;
+
+    public DocumentConversionResponse() {
+    }
+
+    public DocumentConversionResponse(String documentId, int revision, int reusedLines, int convertedLines,
+                                      ConversionResponse result) {
+        this.documentId = documentId;
+        this.revision = revision;
+        this.reusedLines = reusedLines;
+        this.convertedLines = convertedLines;
+        this.result = result;
+    }
+
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(String documentId) {
+        this.documentId = documentId;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    public void setRevision(int revision) {
+        this.revision = revision;
+    }
+
+    public int getReusedLines() {
+        return reusedLines;
+    }
+
+    public void setReusedLines(int reusedLines) {
+        this.reusedLines = reusedLines;
+    }
+
+    public int getConvertedLines() {
+        return convertedLines;
+    }
+
+    public void setConvertedLines(int convertedLines) {
+        this.convertedLines = convertedLines;
+    }
+
+    public ConversionResponse getResult() {
+        return result;
+    }
+
+    public void setResult(ConversionResponse result) {
+        this.result = result;
+    }
+}
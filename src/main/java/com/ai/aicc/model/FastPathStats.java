@@ -0,0 +1,79 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Counters of the local, template-based conversion fast path.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Local conversion fast-path statistics")
+public class FastPathStats {
+
+    @Schema(description = "Whether the fast path is active", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Conversion requests checked by the fast path", example = "10000")
+    private long requests;
+
+    @Schema(description = "Requests whose language pair a local converter supports", example = "6200")
+    private long eligible;
+
+    @Schema(description = "Requests converted locally instead of calling Azure OpenAI", example = "4100")
+    private long hits;
+
+    @Schema(description = "Share of all checked requests converted locally", example = "0.41")
+    private double hitRate;
+
+    public FastPathStats() {
+    }
+
+    public FastPathStats(boolean enabled, long requests, long eligible, long hits, double hitRate) {
+        this.enabled = enabled;
+        this.requests = requests;
+        this.eligible = eligible;
+        this.hits = hits;
+        this.hitRate = hitRate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getEligible() {
+        return eligible;
+    }
+
+    public void setEligible(long eligible) {
+        this.eligible = eligible;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Counters of the near-duplicate (fingerprint) cache.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Near-duplicate fingerprint cache statistics")
+public class FingerprintCacheStats {
+
+    @Schema(description = "Whether near-duplicate reuse is enabled", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Number of stored conversion templates", example = "2048")
+    private int size;
+
+    @Schema(description = "Exact-cache misses answered by re-targeting a stored template", example = "1730")
+    private long hits;
+
+    @Schema(description = "Lookups without a usable template", example = "640")
+    private long misses;
+
+    @Schema(description = "Conversions stored as templates", example = "2210")
+    private long stored;
+
+    @Schema(description = "Conversions not stored because names or literals could not be substituted unambiguously",
+            example = "312")
+    private long notTemplatable;
+
+    public FingerprintCacheStats() {
+    }
+
+    public FingerprintCacheStats(boolean enabled, int size, long hits, long misses, long stored, long notTemplatable) {
+        this.enabled = enabled;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.stored = stored;
+        this.notTemplatable = notTemplatable;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getStored() {
+        return stored;
+    }
+
+    public void setStored(long stored) {
+        this.stored = stored;
+    }
+
+    public long getNotTemplatable() {
+        return notTemplatable;
+    }
+
+    public void setNotTemplatable(long notTemplatable) {
+        this.notTemplatable = notTemplatable;
+    }
+}
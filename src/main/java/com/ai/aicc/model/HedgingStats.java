@@ -0,0 +1,140 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Counters and latency percentiles of hedged Azure OpenAI calls.
+ *
+ * <p>Latencies cover the most recent calls; -1 means no data yet.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Hedged request statistics")
+public class HedgingStats {
+
+    @Schema(description = "Whether slow calls are hedged", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Current delay after which a call is hedged; -1 until enough latencies were observed",
+            example = "9800")
+    private long hedgeDelayMillis;
+
+    @Schema(description = "Calls eligible for hedging", example = "20000")
+    private long calls;
+
+    @Schema(description = "Hedges sent", example = "950")
+    private long hedges;
+
+    @Schema(description = "Hedges that answered before the first attempt", example = "610")
+    private long hedgeWins;
+
+    @Schema(description = "Median latency of first attempts", example = "4100")
+    private long primaryP50Millis;
+
+    @Schema(description = "99th percentile latency of first attempts, i.e. without hedging", example = "31000")
+    private long primaryP99Millis;
+
+    @Schema(description = "Median latency seen by callers", example = "4100")
+    private long deliveredP50Millis;
+
+    @Schema(description = "99th percentile latency seen by callers, i.e. with hedging", example = "14500")
+    private long deliveredP99Millis;
+
+    public HedgingStats() {
+    }
+
+    public HedgingStats(boolean enabled, long hedgeDelayMillis, long calls, long hedges, long hedgeWins,
+                        long primaryP50Millis, long primaryP99Millis, long deliveredP50Millis,
+                        long deliveredP99Millis) {
+        this.enabled = enabled;
+        this.hedgeDelayMillis = hedgeDelayMillis;
+        this.calls = calls;
+        this.hedges = hedges;
+        this.hedgeWins = hedgeWins;
+        this.primaryP50Millis = primaryP50Millis;
+        this.primaryP99Millis = primaryP99Millis;
+        this.deliveredP50Millis = deliveredP50Millis;
+        this.deliveredP99Millis = deliveredP99Millis;
+    }
+
+    /**
+     * @return Milliseconds cut from the 99th percentile by hedging, or 0 without data
+     */
+    @Schema(description = "Milliseconds cut from the 99th percentile latency by hedging", example = "16500")
+    public long getP99ImprovementMillis() {
+        return primaryP99Millis < 0 || deliveredP99Millis < 0 ? 0 : primaryP99Millis - deliveredP99Millis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHedgeDelayMillis() {
+        return hedgeDelayMillis;
+    }
+
+    public void setHedgeDelayMillis(long hedgeDelayMillis) {
+        this.hedgeDelayMillis = hedgeDelayMillis;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getHedges() {
+        return hedges;
+    }
+
+    public void setHedges(long hedges) {
+        this.hedges = hedges;
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins;
+    }
+
+    public void setHedgeWins(long hedgeWins) {
+        this.hedgeWins = hedgeWins;
+    }
+
+    public long getPrimaryP50Millis() {
+        return primaryP50Millis;
+    }
+
+    public void setPrimaryP50Millis(long primaryP50Millis) {
+        this.primaryP50Millis = primaryP50Millis;
+    }
+
+    public long getPrimaryP99Millis() {
+        return primaryP99Millis;
+    }
+
+    public void setPrimaryP99Millis(long primaryP99Millis) {
+        this.primaryP99Millis = primaryP99Millis;
+    }
+
+    public long getDeliveredP50Millis() {
+        return deliveredP50Millis;
+    }
+
+    public void setDeliveredP50Millis(long deliveredP50Millis) {
+        this.deliveredP50Millis = deliveredP50Millis;
+    }
+
+    public long getDeliveredP99Millis() {
+        return deliveredP99Millis;
+    }
+
+    public void setDeliveredP99Millis(long deliveredP99Millis) {
+        this.deliveredP99Millis = deliveredP99Millis;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Counters of the asynchronous conversion job queue.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Conversion job queue statistics")
+public class JobQueueStats {
+
+    @Schema(description = "Jobs waiting for a worker", example = "12")
+    private int queued;
+
+    @Schema(description = "Jobs currently being converted", example = "4")
+    private int running;
+
+    @Schema(description = "Number of worker threads", example = "4")
+    private int workers;
+
+    @Schema(description = "Maximum number of waiting jobs before submissions are rejected", example = "1000")
+    private int capacity;
+
+    @Schema(description = "Jobs accepted since startup", example = "5120")
+    private long submitted;
+
+    @Schema(description = "Submissions rejected because the queue was full", example = "3")
+    private long rejected;
+
+    @Schema(description = "Jobs finished since startup, successfully or not", example = "5104")
+    private long completed;
+
+    public JobQueueStats() {
+    }
+
+    public JobQueueStats(int queued, int running, int workers, int capacity, long submitted, long rejected,
+                         long completed) {
+        this.queued = queued;
+        this.running = running;
+        this.workers = workers;
+        this.capacity = capacity;
+        this.submitted = submitted;
+        this.rejected = rejected;
+        this.completed = completed;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public int getRunning() {
+        return running;
+    }
+
+    public void setRunning(int running) {
+        this.running = running;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(long submitted) {
+        this.submitted = submitted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+}
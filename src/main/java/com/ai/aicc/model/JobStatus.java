@@ -0,0 +1,33 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Lifecycle state of an asynchronous conversion job.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ConversionJob
+ */
+@Schema(description = "State of a conversion job")
+public enum JobStatus {
+
+    /** Accepted and waiting for a worker */
+    QUEUED,
+
+    /** Being converted by a worker */
+    RUNNING,
+
+    /** Finished; the result holds the converted code */
+    SUCCEEDED,
+
+    /** Finished; the result holds the error */
+    FAILED;
+
+    /**
+     * @return Whether the job has finished and its result is available
+     */
+    public boolean isDone() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,173 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * Progress and throughput of a project conversion, as returned while it runs and after it finished.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Progress of a project conversion")
+public class ProjectConversionStatus {
+
+    @Schema(description = "Project conversion identifier", example = "7c9e6679-7425-40de-944b-e07fc1f90ae7")
+    private String id;
+
+    @Schema(description = "RUNNING until every file is done; then SUCCEEDED, or FAILED if any file failed",
+            example = "RUNNING")
+    private JobStatus status;
+
+    @Schema(description = "Language the project is converted to", example = "Python")
+    private String targetLanguage;
+
+    @Schema(description = "Source files in the archive", example = "240")
+    private int totalFiles;
+
+    @Schema(description = "Files converted successfully so far", example = "118")
+    private int convertedFiles;
+
+    @Schema(description = "Files already in the target language, copied unchanged", example = "3")
+    private int copiedFiles;
+
+    @Schema(description = "Files whose conversion failed; their original source is kept in the archive",
+            example = "1")
+    private int failedFiles;
+
+    @Schema(description = "Archive entries that are not supported source files and are not returned",
+            example = "57")
+    private int skippedEntries;
+
+    @Schema(description = "Prompt tokens spent so far", example = "412000")
+    private long promptTokens;
+
+    @Schema(description = "Completion tokens generated so far", example = "398000")
+    private long completionTokens;
+
+    @Schema(description = "Finished files per second since the conversion started", example = "1.9")
+    private double filesPerSecond;
+
+    @Schema(description = "Prompt plus completion tokens per second since the conversion started",
+            example = "6520.4")
+    private double tokensPerSecond;
+
+    @Schema(description = "When the archive was accepted", example = "2024-01-15T10:30:00Z")
+    private Instant createdAt;
+
+    @Schema(description = "When the last file finished. Null while running.")
+    private Instant completedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public String getTargetLanguage() {
+        return targetLanguage;
+    }
+
+    public void setTargetLanguage(String targetLanguage) {
+        this.targetLanguage = targetLanguage;
+    }
+
+    public int getTotalFiles() {
+        return totalFiles;
+    }
+
+    public void setTotalFiles(int totalFiles) {
+        this.totalFiles = totalFiles;
+    }
+
+    public int getConvertedFiles() {
+        return convertedFiles;
+    }
+
+    public void setConvertedFiles(int convertedFiles) {
+        this.convertedFiles = convertedFiles;
+    }
+
+    public int getCopiedFiles() {
+        return copiedFiles;
+    }
+
+    public void setCopiedFiles(int copiedFiles) {
+        this.copiedFiles = copiedFiles;
+    }
+
+    public int getFailedFiles() {
+        return failedFiles;
+    }
+
+    public void setFailedFiles(int failedFiles) {
+        this.failedFiles = failedFiles;
+    }
+
+    public int getSkippedEntries() {
+        return skippedEntries;
+    }
+
+    public void setSkippedEntries(int skippedEntries) {
+        this.skippedEntries = skippedEntries;
+    }
+
+    public long getPromptTokens() {
+        return promptTokens;
+    }
+
+    public void setPromptTokens(long promptTokens) {
+        this.promptTokens = promptTokens;
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public void setCompletionTokens(long completionTokens) {
+        this.completionTokens = completionTokens;
+    }
+
+    public double getFilesPerSecond() {
+        return filesPerSecond;
+    }
+
+    public void setFilesPerSecond(double filesPerSecond) {
+        this.filesPerSecond = filesPerSecond;
+    }
+
+    public double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    public void setTokensPerSecond(double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
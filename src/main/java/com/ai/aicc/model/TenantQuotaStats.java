@@ -0,0 +1,105 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Rate limit accounting of one tenant since startup.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Per-tenant rate limit accounting")
+public class TenantQuotaStats {
+
+    @Schema(description = "Configured tenant name, or ip-<address> for requests without a configured API key",
+            example = "payments")
+    private String tenant;
+
+    @Schema(description = "Sustained requests per second allowed; 0 if unlimited", example = "10.0")
+    private double requestsPerSecond;
+
+    @Schema(description = "Estimated tokens per minute allowed; 0 if unlimited", example = "100000")
+    private long tokensPerMinute;
+
+    @Schema(description = "Requests admitted", example = "5230")
+    private long admittedRequests;
+
+    @Schema(description = "Requests rejected with 429", example = "112")
+    private long rejectedRequests;
+
+    @Schema(description = "Estimated tokens of the admitted requests", example = "4100000")
+    private long admittedTokens;
+
+    @Schema(description = "Estimated tokens of the rejected requests", example = "96000")
+    private long rejectedTokens;
+
+    public TenantQuotaStats() {
+    }
+
+    public TenantQuotaStats(String tenant, double requestsPerSecond, long tokensPerMinute, long admittedRequests,
+                            long rejectedRequests, long admittedTokens, long rejectedTokens) {
+        this.tenant = tenant;
+        this.requestsPerSecond = requestsPerSecond;
+        this.tokensPerMinute = tokensPerMinute;
+        this.admittedRequests = admittedRequests;
+        this.rejectedRequests = rejectedRequests;
+        this.admittedTokens = admittedTokens;
+        this.rejectedTokens = rejectedTokens;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public long getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+
+    public void setTokensPerMinute(long tokensPerMinute) {
+        this.tokensPerMinute = tokensPerMinute;
+    }
+
+    public long getAdmittedRequests() {
+        return admittedRequests;
+    }
+
+    public void setAdmittedRequests(long admittedRequests) {
+        this.admittedRequests = admittedRequests;
+    }
+
+    public long getRejectedRequests() {
+        return rejectedRequests;
+    }
+
+    public void setRejectedRequests(long rejectedRequests) {
+        this.rejectedRequests = rejectedRequests;
+    }
+
+    public long getAdmittedTokens() {
+        return admittedTokens;
+    }
+
+    public void setAdmittedTokens(long admittedTokens) {
+        this.admittedTokens = admittedTokens;
+    }
+
+    public long getRejectedTokens() {
+        return rejectedTokens;
+    }
+
+    public void setRejectedTokens(long rejectedTokens) {
+        this.rejectedTokens = rejectedTokens;
+    }
+}
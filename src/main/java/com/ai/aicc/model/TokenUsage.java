@@ -0,0 +1,81 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Tokens consumed by the Azure OpenAI call that produced a conversion.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Token usage of the Azure OpenAI call behind a conversion")
+public class TokenUsage {
+
+    @Schema(description = "Tokens sent to the model, including instructions", example = "412")
+    private int promptTokens;
+
+    @Schema(description = "Tokens of the generated code", example = "655")
+    private int completionTokens;
+
+    @Schema(description = "Prompt plus completion tokens", example = "1067")
+    private int totalTokens;
+
+    @Schema(description = "Completion limit requested for the call, sized from the prompt", example = "1078")
+    private int maxTokens;
+
+    public TokenUsage() {
+    }
+
+    public TokenUsage(int promptTokens, int completionTokens, int maxTokens) {
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+        this.totalTokens = promptTokens + completionTokens;
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * Adds the usage of another call, e.g. of the segments of a large-input conversion.
+     *
+     * @param other Usage to add; may be null
+     * @return A new instance holding the sums
+     */
+    public TokenUsage plus(TokenUsage other) {
+        if (other == null) {
+            return this;
+        }
+        return new TokenUsage(promptTokens + other.promptTokens, completionTokens + other.completionTokens,
+                maxTokens + other.maxTokens);
+    }
+
+    public int getPromptTokens() {
+        return promptTokens;
+    }
+
+    public void setPromptTokens(int promptTokens) {
+        this.promptTokens = promptTokens;
+    }
+
+    public int getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public void setCompletionTokens(int completionTokens) {
+        this.completionTokens = completionTokens;
+    }
+
+    public int getTotalTokens() {
+        return totalTokens;
+    }
+
+    public void setTotalTokens(int totalTokens) {
+        this.totalTokens = totalTokens;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+}
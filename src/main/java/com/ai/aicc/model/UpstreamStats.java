@@ -0,0 +1,183 @@
+package com.ai.aicc.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Adaptive concurrency limit and queue lengths of the scheduler in front of Azure OpenAI.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Schema(description = "Upstream admission control statistics")
+public class UpstreamStats {
+
+    @Schema(description = "Whether admission control is active", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Current number of Azure OpenAI calls allowed in flight", example = "24")
+    private int limit;
+
+    @Schema(description = "Azure OpenAI calls currently in flight", example = "24")
+    private int inFlight;
+
+    @Schema(description = "Interactive callers waiting for capacity", example = "3")
+    private int queuedInteractive;
+
+    @Schema(description = "Batch callers waiting for capacity", example = "120")
+    private int queuedBatch;
+
+    @Schema(description = "Calls admitted since startup", example = "51234")
+    private long dispatched;
+
+    @Schema(description = "Calls that ended with a 429 or timeout", example = "17")
+    private long throttled;
+
+    @Schema(description = "Callers turned away because their queue was full", example = "0")
+    private long rejected;
+
+    @Schema(description = "Callers that gave up after their queue timeout", example = "2")
+    private long expired;
+
+    @Schema(description = "Interactive calls in flight", example = "20")
+    private int inFlightInteractive;
+
+    @Schema(description = "Batch calls in flight, at most the batch share of the limit", example = "4")
+    private int inFlightBatch;
+
+    @Schema(description = "Circuit breaker state: CLOSED, OPEN or HALF_OPEN; null if disabled", example = "CLOSED")
+    private String circuitState;
+
+    @Schema(description = "Times the circuit breaker opened since startup", example = "1")
+    private long circuitOpened;
+
+    @Schema(description = "Callers failed at once because the circuit breaker was open", example = "340")
+    private long shortCircuited;
+
+    public UpstreamStats() {
+    }
+
+    public UpstreamStats(boolean enabled, int limit, int inFlight, int queuedInteractive, int queuedBatch,
+                         long dispatched, long throttled, long rejected, long expired) {
+        this.enabled = enabled;
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.queuedInteractive = queuedInteractive;
+        this.queuedBatch = queuedBatch;
+        this.dispatched = dispatched;
+        this.throttled = throttled;
+        this.rejected = rejected;
+        this.expired = expired;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public int getQueuedInteractive() {
+        return queuedInteractive;
+    }
+
+    public void setQueuedInteractive(int queuedInteractive) {
+        this.queuedInteractive = queuedInteractive;
+    }
+
+    public int getQueuedBatch() {
+        return queuedBatch;
+    }
+
+    public void setQueuedBatch(int queuedBatch) {
+        this.queuedBatch = queuedBatch;
+    }
+
+    public long getDispatched() {
+        return dispatched;
+    }
+
+    public void setDispatched(long dispatched) {
+        this.dispatched = dispatched;
+    }
+
+    public long getThrottled() {
+        return throttled;
+    }
+
+    public void setThrottled(long throttled) {
+        this.throttled = throttled;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getExpired() {
+        return expired;
+    }
+
+    public void setExpired(long expired) {
+        this.expired = expired;
+    }
+
+    public int getInFlightInteractive() {
+        return inFlightInteractive;
+    }
+
+    public void setInFlightInteractive(int inFlightInteractive) {
+        this.inFlightInteractive = inFlightInteractive;
+    }
+
+    public int getInFlightBatch() {
+        return inFlightBatch;
+    }
+
+    public void setInFlightBatch(int inFlightBatch) {
+        this.inFlightBatch = inFlightBatch;
+    }
+
+    public String getCircuitState() {
+        return circuitState;
+    }
+
+    public void setCircuitState(String circuitState) {
+        this.circuitState = circuitState;
+    }
+
+    public long getCircuitOpened() {
+        return circuitOpened;
+    }
+
+    public void setCircuitOpened(long circuitOpened) {
+        this.circuitOpened = circuitOpened;
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited;
+    }
+
+    public void setShortCircuited(long shortCircuited) {
+        this.shortCircuited = shortCircuited;
+    }
+}
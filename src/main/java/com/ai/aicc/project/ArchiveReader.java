@@ -0,0 +1,192 @@
+package com.ai.aicc.project;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the source files of a project from a zip, tar or gzip-compressed tar archive.
+ *
+ * <p>The archive is read as a stream, entry by entry, straight from the request body: it is never
+ * buffered or extracted as a whole. Entries whose extension is not a supported language, binary
+ * files and unsafe paths (absolute or containing {@code ..}) are skipped: their content is not
+ * kept, and only their count and the paths of the first {@value Contents#MAX_SKIPPED_LISTED} are,
+ * so an archive of countless tiny entries cannot fill memory. Only the text of source files is
+ * held, up to the configured limits.
+ *
+ * <p>The format is detected from the first bytes, so clients do not have to declare it.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ProjectConversionService
+ */
+public final class ArchiveReader {
+
+    /** Language of each supported file extension */
+    private static final Map<String, String> LANGUAGES = Map.of(
+            "java", "Java",
+            "py", "Python",
+            "sql", "SQL",
+            "cs", "C#");
+
+    /** File extension of each supported language, keyed by its lower-case name */
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "java", "java",
+            "python", "py",
+            "sql", "sql",
+            "c#", "cs",
+            "csharp", "cs");
+
+    private ArchiveReader() {
+    }
+
+    /**
+     * Reads all source files of the archive.
+     *
+     * @param archive        The archive's bytes; read to the end but not closed
+     * @param maxFiles       Largest number of source files accepted
+     * @param maxSourceBytes Largest total size of the source files accepted
+     * @return Source files and skipped entries, in archive order
+     * @throws IOException              if the stream is not a readable zip or tar archive
+     * @throws ProjectTooLargeException if the archive exceeds one of the limits
+     */
+    public static Contents read(InputStream archive, int maxFiles, long maxSourceBytes) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(archive);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+
+        Contents contents = new Contents();
+        if (first == 'P' && second == 'K') {
+            ZipInputStream zip = new ZipInputStream(in, StandardCharsets.UTF_8);
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                contents.add(entry.getName(), entry.isDirectory(), zip, maxFiles, maxSourceBytes);
+            }
+        } else {
+            InputStream tarStream = first == 0x1f && second == 0x8b ? new GZIPInputStream(in) : in;
+            TarArchiveInputStream tar = new TarArchiveInputStream(tarStream, StandardCharsets.UTF_8.name());
+            for (ArchiveEntry entry = tar.getNextEntry(); entry != null; entry = tar.getNextEntry()) {
+                contents.add(entry.getName(), entry.isDirectory(), tar, maxFiles, maxSourceBytes);
+            }
+        }
+        if (contents.files.isEmpty() && contents.skippedCount == 0) {
+            throw new IOException("Not a zip or tar archive, or the archive is empty");
+        }
+        return contents;
+    }
+
+    /**
+     * @return The language of a file, detected from its extension, or {@code null} if unsupported
+     */
+    public static String languageOf(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? null : LANGUAGES.get(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the path a converted file is written to: the same path with the target language's
+     * extension.
+     *
+     * @param path           Path of the source file
+     * @param targetLanguage Language the file was converted to
+     * @return The converted file's path; unchanged if the target language is not supported
+     */
+    public static String convertedPath(String path, String targetLanguage) {
+        String extension = EXTENSIONS.get(targetLanguage.trim().toLowerCase(Locale.ROOT));
+        int dot = path.lastIndexOf('.');
+        return extension == null || dot < 0 ? path : path.substring(0, dot + 1) + extension;
+    }
+
+    /**
+     * Source files and skipped entries of an archive.
+     */
+    public static final class Contents {
+
+        /** Skipped entries whose path is kept for the conversion report */
+        public static final int MAX_SKIPPED_LISTED = 1000;
+
+        /** Longest skipped path kept; zip entry names may be up to 64 KB */
+        private static final int MAX_PATH_LENGTH = 512;
+
+        private final List<ProjectFile> files = new ArrayList<>();
+        private final List<String> skipped = new ArrayList<>();
+        private int skippedCount;
+        private long sourceBytes;
+
+        /**
+         * @return Source files in archive order
+         */
+        public List<ProjectFile> getFiles() {
+            return files;
+        }
+
+        /**
+         * @return Paths of the first {@value #MAX_SKIPPED_LISTED} entries that are not supported source files
+         */
+        public List<String> getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return Number of entries that are not supported source files, listed or not
+         */
+        public int getSkippedCount() {
+            return skippedCount;
+        }
+
+        private void add(String name, boolean directory, InputStream entry, int maxFiles, long maxSourceBytes)
+                throws IOException {
+            if (directory) {
+                return;
+            }
+            String path = name.replace('\\', '/');
+            String language = languageOf(path);
+            if (language == null || path.startsWith("/") || ("/" + path + "/").contains("/../")) {
+                skip(path);
+                return;
+            }
+            if (files.size() == maxFiles) {
+                throw new ProjectTooLargeException("Archive holds more than " + maxFiles + " source files");
+            }
+            // One byte more than the remaining budget tells whether the file fits
+            byte[] bytes = entry.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxSourceBytes - sourceBytes + 1));
+            sourceBytes += bytes.length;
+            if (sourceBytes > maxSourceBytes) {
+                throw new ProjectTooLargeException("Source files exceed " + maxSourceBytes + " bytes");
+            }
+            if (isBinary(bytes)) {
+                skip(path);
+                return;
+            }
+            files.add(new ProjectFile(path, language, new String(bytes, StandardCharsets.UTF_8)));
+        }
+
+        private void skip(String path) {
+            skippedCount++;
+            if (skipped.size() < MAX_SKIPPED_LISTED) {
+                skipped.add(path.length() > MAX_PATH_LENGTH ? path.substring(0, MAX_PATH_LENGTH) + "..." : path);
+            }
+        }
+
+        private static boolean isBinary(byte[] bytes) {
+            for (int i = 0; i < Math.min(bytes.length, 8000); i++) {
+                if (bytes[i] == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
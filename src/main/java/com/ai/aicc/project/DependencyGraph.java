@@ -0,0 +1,376 @@
+package com.ai.aicc.project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * File dependency graph of a project, built from the files' import declarations.
+ *
+ * <p>Dependencies are resolved between files of the same language:
+ * <ul>
+ *   <li><b>Java:</b> single-type, static and on-demand imports, matched against each file's
+ *       package and file name; types of the same package that the file mentions</li>
+ *   <li><b>C#:</b> types of imported ({@code using}) and enclosing namespaces that the file
+ *       mentions, a type being named after its file</li>
+ *   <li><b>Python:</b> absolute and relative {@code import} and {@code from ... import}, matched
+ *       against module paths; an absolute import matching several modules is ignored</li>
+ *   <li><b>SQL:</b> none</li>
+ * </ul>
+ * Resolution is textual and best effort: a missed dependency only means the file is converted
+ * without that context.
+ *
+ * <p>{@link #order()} is a topological order in which every file comes after the files it
+ * depends on. Cycles are broken by placing the cyclic file that is earliest in path order first;
+ * it is then converted without waiting for its cyclic dependencies.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ProjectConversionService
+ */
+public final class DependencyGraph {
+
+    private static final Pattern JAVA_PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern JAVA_IMPORT =
+            Pattern.compile("^\\s*import\\s+(?:static\\s+)?([\\w.]+?)(\\.\\*)?\\s*;", Pattern.MULTILINE);
+    private static final Pattern CSHARP_NAMESPACE = Pattern.compile("^\\s*namespace\\s+([\\w.]+)", Pattern.MULTILINE);
+    private static final Pattern CSHARP_USING =
+            Pattern.compile("^\\s*(?:global\\s+)?using\\s+(?:static\\s+)?([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern PYTHON_IMPORT = Pattern.compile("^[\\t ]*import[\\t ]+([\\w.,\\t ]+)", Pattern.MULTILINE);
+    private static final Pattern PYTHON_FROM =
+            Pattern.compile("^[\\t ]*from[\\t ]+(\\.*)([\\w.]*)[\\t ]+import[\\t ]+(\\([^)]*\\)|[\\w\\t ,*]+)",
+                    Pattern.MULTILINE);
+    private static final Pattern TYPE_NAME = Pattern.compile("\\b[A-Z]\\w*\\b");
+
+    private final List<ProjectFile> files;
+    private final List<Set<Integer>> dependencies;
+
+    private DependencyGraph(List<ProjectFile> files, List<Set<Integer>> dependencies) {
+        this.files = files;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Builds the graph of the given files.
+     *
+     * @param files Files of the project
+     * @return The graph; file {@code i} is {@code files.get(i)}
+     */
+    public static DependencyGraph of(List<ProjectFile> files) {
+        List<Set<Integer>> dependencies = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            dependencies.add(new LinkedHashSet<>());
+        }
+        new Java(files, dependencies).resolve();
+        new CSharp(files, dependencies).resolve();
+        new Python(files, dependencies).resolve();
+        for (int i = 0; i < files.size(); i++) {
+            dependencies.get(i).remove(i);
+        }
+        return new DependencyGraph(files, dependencies);
+    }
+
+    /**
+     * @return Indexes of the files file {@code index} depends on
+     */
+    public Set<Integer> dependenciesOf(int index) {
+        return Collections.unmodifiableSet(dependencies.get(index));
+    }
+
+    /**
+     * @return File indexes in an order where dependencies come first, cycles broken in path order
+     */
+    public List<Integer> order() {
+        int n = files.size();
+        int[] pending = new int[n];
+        List<List<Integer>> dependents = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            pending[i] = dependencies.get(i).size();
+            for (int dependency : dependencies.get(i)) {
+                dependents.get(dependency).add(i);
+            }
+        }
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>((a, b) -> files.get(a).getPath().compareTo(files.get(b).getPath()));
+        PriorityQueue<Integer> blocked = new PriorityQueue<>(ready.comparator());
+        for (int i = 0; i < n; i++) {
+            (pending[i] == 0 ? ready : blocked).add(i);
+        }
+        boolean[] placed = new boolean[n];
+        List<Integer> order = new ArrayList<>(n);
+        while (order.size() < n) {
+            Integer next = ready.poll();
+            if (next == null) {
+                // Only cycles are left: start with the first remaining file in path order
+                next = blocked.poll();
+            }
+            if (placed[next]) {
+                continue;
+            }
+            placed[next] = true;
+            order.add(next);
+            for (int dependent : dependents.get(next)) {
+                if (--pending[dependent] == 0 && !placed[dependent]) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private static String directoryOf(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    private static String baseName(String path) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    private static Set<String> typeNames(String source) {
+        Set<String> names = new HashSet<>();
+        Matcher matcher = TYPE_NAME.matcher(source);
+        while (matcher.find()) {
+            names.add(matcher.group());
+        }
+        return names;
+    }
+
+    /**
+     * Resolves the dependencies of one language's files.
+     */
+    private abstract static class Resolver {
+
+        final List<ProjectFile> files;
+        final List<Set<Integer>> dependencies;
+
+        Resolver(List<ProjectFile> files, List<Set<Integer>> dependencies) {
+            this.files = files;
+            this.dependencies = dependencies;
+        }
+
+        abstract String language();
+
+        abstract void resolve();
+
+        List<Integer> indexes() {
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                if (files.get(i).getLanguage().equals(language())) {
+                    indexes.add(i);
+                }
+            }
+            return indexes;
+        }
+    }
+
+    /** Java: packages and imports */
+    private static final class Java extends Resolver {
+
+        Java(List<ProjectFile> files, List<Set<Integer>> dependencies) {
+            super(files, dependencies);
+        }
+
+        @Override
+        String language() {
+            return "Java";
+        }
+
+        @Override
+        void resolve() {
+            Map<String, Integer> byQualifiedName = new HashMap<>();
+            Map<String, List<Integer>> byPackage = new HashMap<>();
+            Map<Integer, String> packages = new HashMap<>();
+            for (int i : indexes()) {
+                Matcher matcher = JAVA_PACKAGE.matcher(files.get(i).getSource());
+                String pkg = matcher.find() ? matcher.group(1) : "";
+                packages.put(i, pkg);
+                byPackage.computeIfAbsent(pkg, p -> new ArrayList<>()).add(i);
+                byQualifiedName.put(pkg.isEmpty() ? baseName(files.get(i).getPath())
+                        : pkg + "." + baseName(files.get(i).getPath()), i);
+            }
+            for (int i : packages.keySet()) {
+                String source = files.get(i).getSource();
+                Set<String> names = typeNames(source);
+                Matcher matcher = JAVA_IMPORT.matcher(source);
+                while (matcher.find()) {
+                    String name = matcher.group(1);
+                    if (matcher.group(2) != null) {
+                        // On-demand import of a package (or of a type's members)
+                        addMentioned(i, byPackage.getOrDefault(name, List.of()), names);
+                    }
+                    // The longest prefix naming a file, for types, nested types and static members
+                    for (String prefix = name; !prefix.isEmpty(); prefix = prefix.contains(".")
+                            ? prefix.substring(0, prefix.lastIndexOf('.')) : "") {
+                        Integer dependency = byQualifiedName.get(prefix);
+                        if (dependency != null) {
+                            dependencies.get(i).add(dependency);
+                            break;
+                        }
+                    }
+                }
+                addMentioned(i, byPackage.get(packages.get(i)), names);
+            }
+        }
+
+        private void addMentioned(int file, List<Integer> candidates, Set<String> names) {
+            for (int candidate : candidates) {
+                if (names.contains(baseName(files.get(candidate).getPath()))) {
+                    dependencies.get(file).add(candidate);
+                }
+            }
+        }
+    }
+
+    /** C#: namespaces and using directives */
+    private static final class CSharp extends Resolver {
+
+        CSharp(List<ProjectFile> files, List<Set<Integer>> dependencies) {
+            super(files, dependencies);
+        }
+
+        @Override
+        String language() {
+            return "C#";
+        }
+
+        @Override
+        void resolve() {
+            Map<String, List<Integer>> byNamespace = new HashMap<>();
+            Map<Integer, Set<String>> namespaces = new HashMap<>();
+            for (int i : indexes()) {
+                Set<String> declared = new LinkedHashSet<>();
+                Matcher matcher = CSHARP_NAMESPACE.matcher(files.get(i).getSource());
+                while (matcher.find()) {
+                    declared.add(matcher.group(1));
+                    byNamespace.computeIfAbsent(matcher.group(1), ns -> new ArrayList<>()).add(i);
+                }
+                namespaces.put(i, declared);
+            }
+            for (int i : namespaces.keySet()) {
+                String source = files.get(i).getSource();
+                Set<String> visible = new HashSet<>(namespaces.get(i));
+                Matcher matcher = CSHARP_USING.matcher(source);
+                while (matcher.find()) {
+                    visible.add(matcher.group(1));
+                }
+                Set<String> names = typeNames(source);
+                for (String namespace : visible) {
+                    for (int candidate : byNamespace.getOrDefault(namespace, List.of())) {
+                        if (names.contains(baseName(files.get(candidate).getPath()))) {
+                            dependencies.get(i).add(candidate);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Python: module paths and imports */
+    private static final class Python extends Resolver {
+
+        Python(List<ProjectFile> files, List<Set<Integer>> dependencies) {
+            super(files, dependencies);
+        }
+
+        @Override
+        String language() {
+            return "Python";
+        }
+
+        @Override
+        void resolve() {
+            // Every dotted suffix of a module's path, since the archive's root is rarely the import root
+            Map<String, List<Integer>> bySuffix = new HashMap<>();
+            Map<String, Integer> byPath = new HashMap<>();
+            List<Integer> indexes = indexes();
+            for (int i : indexes) {
+                String module = modulePath(files.get(i).getPath());
+                byPath.put(module, i);
+                String[] parts = module.split("/");
+                for (int start = 0; start < parts.length; start++) {
+                    String suffix = String.join(".", List.of(parts).subList(start, parts.length));
+                    if (!suffix.isEmpty()) {
+                        bySuffix.computeIfAbsent(suffix, s -> new ArrayList<>()).add(i);
+                    }
+                }
+            }
+            for (int i : indexes) {
+                String source = files.get(i).getSource();
+                Matcher imports = PYTHON_IMPORT.matcher(source);
+                while (imports.find()) {
+                    for (String module : imports.group(1).split(",")) {
+                        addAbsolute(i, module.trim().split("\\s+")[0], bySuffix);
+                    }
+                }
+                Matcher from = PYTHON_FROM.matcher(source);
+                while (from.find()) {
+                    String dots = from.group(1);
+                    String module = from.group(2);
+                    List<String> names = new ArrayList<>();
+                    for (String name : from.group(3).replace("(", "").replace(")", "").split(",")) {
+                        names.add(name.trim().split("\\s+")[0]);
+                    }
+                    if (dots.isEmpty()) {
+                        addAbsolute(i, module, bySuffix);
+                        for (String name : names) {
+                            addAbsolute(i, module + "." + name, bySuffix);
+                        }
+                    } else {
+                        addRelative(i, dots.length(), module, names, byPath);
+                    }
+                }
+            }
+        }
+
+        private void addAbsolute(int file, String module, Map<String, List<Integer>> bySuffix) {
+            List<Integer> candidates = bySuffix.get(module);
+            if (candidates != null && candidates.size() == 1) {
+                dependencies.get(file).add(candidates.get(0));
+            }
+        }
+
+        private void addRelative(int file, int level, String module, List<String> names, Map<String, Integer> byPath) {
+            String base = directoryOf(files.get(file).getPath());
+            for (int up = 1; up < level; up++) {
+                base = directoryOf(base);
+            }
+            String target = module.isEmpty() ? base : join(base, module.replace('.', '/'));
+            addPath(file, target, byPath);
+            for (String name : names) {
+                addPath(file, join(target, name), byPath);
+            }
+        }
+
+        private void addPath(int file, String module, Map<String, Integer> byPath) {
+            Integer dependency = byPath.get(module);
+            if (dependency != null) {
+                dependencies.get(file).add(dependency);
+            }
+        }
+
+        private static String join(String directory, String name) {
+            return directory.isEmpty() ? name : directory + "/" + name;
+        }
+
+        /** Module path without extension; a package's {@code __init__.py} stands for its directory */
+        private static String modulePath(String path) {
+            String module = path.substring(0, path.length() - ".py".length());
+            return module.endsWith("/__init__") ? module.substring(0, module.length() - "/__init__".length())
+                    : module.equals("__init__") ? "" : module;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.ai.aicc.project;
+
+import com.ai.aicc.model.JobStatus;
+import com.ai.aicc.model.ProjectConversionStatus;
+import com.ai.aicc.model.TokenUsage;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A running or finished project conversion: the project's files, the future result of each file
+ * and progress counters.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ProjectConversionService
+ */
+public final class ProjectConversion {
+
+    private final String id;
+    private final String targetLanguage;
+    private final List<ProjectFile> files;
+    private final List<String> skipped;
+    private final int skippedCount;
+    private final List<Integer> order;
+    private final List<CompletableFuture<FileResult>> results;
+    private final Instant createdAt;
+    private final long startNanos;
+
+    private final AtomicInteger converted = new AtomicInteger();
+    private final AtomicInteger copied = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger done = new AtomicInteger();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong completionTokens = new AtomicLong();
+    private volatile Instant completedAt;
+    private volatile long completedNanos;
+
+    ProjectConversion(String id, String targetLanguage, List<ProjectFile> files, List<String> skipped,
+                      int skippedCount, List<Integer> order, List<CompletableFuture<FileResult>> results, Instant createdAt,
+                      long startNanos) {
+        this.id = id;
+        this.targetLanguage = targetLanguage;
+        this.files = files;
+        this.skipped = skipped;
+        this.skippedCount = skippedCount;
+        this.order = order;
+        this.results = results;
+        this.createdAt = createdAt;
+        this.startNanos = startNanos;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTargetLanguage() {
+        return targetLanguage;
+    }
+
+    /**
+     * @return Source files of the project, in archive order
+     */
+    public List<ProjectFile> getFiles() {
+        return files;
+    }
+
+    /**
+     * @return Paths of the first archive entries that are not supported source files
+     */
+    public List<String> getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return Number of archive entries that are not supported source files
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * @return File indexes in conversion order: dependencies first
+     */
+    public List<Integer> getOrder() {
+        return order;
+    }
+
+    /**
+     * @return Result of file {@code index}, completed once it is converted; never completed exceptionally
+     */
+    public CompletableFuture<FileResult> result(int index) {
+        return results.get(index);
+    }
+
+    public boolean isDone() {
+        return completedAt != null;
+    }
+
+    /**
+     * @return Current progress; rates are averaged from the start to now, or to completion
+     */
+    public ProjectConversionStatus status(long nowNanos) {
+        ProjectConversionStatus status = new ProjectConversionStatus();
+        status.setId(id);
+        status.setTargetLanguage(targetLanguage);
+        status.setTotalFiles(files.size());
+        status.setConvertedFiles(converted.get());
+        status.setCopiedFiles(copied.get());
+        status.setFailedFiles(failed.get());
+        status.setSkippedEntries(skippedCount);
+        status.setPromptTokens(promptTokens.get());
+        status.setCompletionTokens(completionTokens.get());
+        status.setCreatedAt(createdAt);
+        status.setCompletedAt(completedAt);
+        status.setStatus(completedAt == null ? JobStatus.RUNNING
+                : failed.get() > 0 ? JobStatus.FAILED : JobStatus.SUCCEEDED);
+
+        double seconds = Math.max(1e-3, ((completedAt == null ? nowNanos : completedNanos) - startNanos) / 1e9);
+        status.setFilesPerSecond(done.get() / seconds);
+        status.setTokensPerSecond((promptTokens.get() + completionTokens.get()) / seconds);
+        return status;
+    }
+
+    /**
+     * Counts a finished file.
+     *
+     * @return Whether it was the project's last file
+     */
+    boolean finished(FileResult result, TokenUsage usage) {
+        if (usage != null) {
+            promptTokens.addAndGet(usage.getPromptTokens());
+            completionTokens.addAndGet(usage.getCompletionTokens());
+        }
+        (result.getError() != null ? failed : result.isCopied() ? copied : converted).incrementAndGet();
+        return done.incrementAndGet() == files.size();
+    }
+
+    void complete(Instant now, long nowNanos) {
+        completedNanos = nowNanos;
+        completedAt = now;
+    }
+
+    /**
+     * Outcome of one file: the code written to the converted archive.
+     */
+    public static final class FileResult {
+
+        private final String path;
+        private final String code;
+        private final String error;
+        private final boolean copied;
+
+        FileResult(String path, String code, String error, boolean copied) {
+            this.path = path;
+            this.code = code;
+            this.error = error;
+            this.copied = copied;
+        }
+
+        /**
+         * @return Path in the converted archive
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return Converted code; the original source if the file was copied or failed
+         */
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * @return Why the conversion failed, or {@code null}
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * @return Whether the file was already in the target language
+         */
+        public boolean isCopied() {
+            return copied;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.ai.aicc.project;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.service.ChunkedConversionService;
+import com.ai.aicc.service.CodeConversionService;
+import com.ai.aicc.upstream.Priority;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Converts whole projects uploaded as zip or tar archives.
+ *
+ * <p>The archive is read as a stream ({@link ArchiveReader}), keeping only the text of source files.
+ * A {@link DependencyGraph} is built from the files' imports, and each file is scheduled as soon as
+ * the files it depends on are converted, so the converted signatures of its dependencies
+ * ({@link SignatureExtractor}) can be given to the model as context. Files without pending
+ * dependencies are converted concurrently on a work-stealing pool shared by all projects; its size
+ * bounds the number of files in conversion at once. Calls are made with {@link Priority#BATCH},
+ * so interactive conversions are served first.
+ *
+ * <p>Files larger than one large-input segment are converted through the
+ * {@link ChunkedConversionService}, without dependency context. Files already in the target
+ * language are copied. A failed file keeps its original source and is listed in the archive's
+ * report; it does not stop the project.
+ *
+ * <p>The converted archive can be downloaded while the project runs: entries are written in
+ * conversion order as their files finish.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.project.parallelism - Files converted concurrently, across all projects</li>
+ *   <li>aicc.project.max-running - Projects converted at once; further uploads are rejected</li>
+ *   <li>aicc.project.max-files, aicc.project.max-source-size - Largest accepted project</li>
+ *   <li>aicc.project.max-context-chars - Dependency signatures given as context per file</li>
+ *   <li>aicc.project.retention - How long a finished project can be polled and downloaded</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see com.ai.aicc.controller.ProjectConversionController
+ */
+@Service
+public class ProjectConversionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectConversionService.class);
+
+    /** Name of the report written as the converted archive's last entry */
+    public static final String REPORT = "CONVERSION-REPORT.txt";
+
+    private final CodeConversionService conversionService;
+    private final ChunkedConversionService chunkedConversionService;
+    private final int maxFiles;
+    private final long maxSourceBytes;
+    private final int maxContextChars;
+    private final int largeFileChars;
+    private final Duration retention;
+    private final Clock clock;
+    private final LongSupplier nanoClock;
+
+    private final ForkJoinPool pool;
+    private final Map<String, ProjectConversion> projects = new ConcurrentHashMap<>();
+
+    /** One permit per project that may run; taken before the archive is read */
+    private final Semaphore running;
+
+    @Autowired
+    public ProjectConversionService(CodeConversionService conversionService,
+                                    ChunkedConversionService chunkedConversionService,
+                                    @Value("${aicc.project.parallelism:8}") int parallelism,
+                                    @Value("${aicc.project.max-running:4}") int maxRunning,
+                                    @Value("${aicc.project.max-files:5000}") int maxFiles,
+                                    @Value("${aicc.project.max-source-size:50MB}") DataSize maxSourceSize,
+                                    @Value("${aicc.project.max-context-chars:4000}") int maxContextChars,
+                                    @Value("${aicc.chunk.max-segment-chars:6000}") int largeFileChars,
+                                    @Value("${aicc.project.retention:1h}") Duration retention) {
+        this(conversionService, chunkedConversionService, parallelism, maxRunning, maxFiles,
+                maxSourceSize.toBytes(), maxContextChars, largeFileChars, retention, Clock.systemUTC(),
+                System::nanoTime);
+    }
+
+    ProjectConversionService(CodeConversionService conversionService,
+                             ChunkedConversionService chunkedConversionService, int parallelism, int maxRunning,
+                             int maxFiles, long maxSourceBytes, int maxContextChars, int largeFileChars,
+                             Duration retention, Clock clock, LongSupplier nanoClock) {
+        this.conversionService = conversionService;
+        this.chunkedConversionService = chunkedConversionService;
+        this.running = new Semaphore(maxRunning);
+        this.maxFiles = maxFiles;
+        this.maxSourceBytes = maxSourceBytes;
+        this.maxContextChars = maxContextChars;
+        this.largeFileChars = largeFileChars;
+        this.retention = retention;
+        this.clock = clock;
+        this.nanoClock = nanoClock;
+        // Workers block on their file's conversion. The maximum pool size equals the parallelism and
+        // saturation is accepted, so blocking never adds compensation threads beyond the bound.
+        this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null,
+                true, 0, parallelism, 1, p -> true, 60, TimeUnit.SECONDS);
+        logger.info("Project conversion parallelism={}, maxRunning={}, maxFiles={}, maxSourceBytes={}",
+                parallelism, maxRunning, maxFiles, maxSourceBytes);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Reads a project archive and starts converting it.
+     *
+     * @param archive        The archive's bytes, read to the end
+     * @param targetLanguage Language every file is converted to
+     * @return The running conversion, or empty if {@code aicc.project.max-running} projects are running
+     * @throws IOException              if the archive cannot be read
+     * @throws ProjectTooLargeException if the archive exceeds the configured limits
+     * @throws IllegalArgumentException if the archive holds no supported source files
+     */
+    public Optional<ProjectConversion> submit(InputStream archive, String targetLanguage) throws IOException {
+        purge();
+        // Reserved before the upload is read, so concurrent uploads cannot all pass the check
+        if (!running.tryAcquire()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(start(archive, targetLanguage));
+        } catch (IOException | RuntimeException e) {
+            running.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the archive and schedules its files under a running slot already taken.
+     */
+    private ProjectConversion start(InputStream archive, String targetLanguage) throws IOException {
+        ArchiveReader.Contents contents = ArchiveReader.read(archive, maxFiles, maxSourceBytes);
+        List<ProjectFile> files = contents.getFiles();
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("Archive contains no Java, Python, SQL or C# source files");
+        }
+
+        DependencyGraph graph = DependencyGraph.of(files);
+        List<Integer> order = graph.order();
+        List<CompletableFuture<ProjectConversion.FileResult>> results = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            results.add(null);
+        }
+        ProjectConversion project = new ProjectConversion(UUID.randomUUID().toString(), targetLanguage, files,
+                contents.getSkipped(), contents.getSkippedCount(), order, results, clock.instant(),
+                nanoClock.getAsLong());
+        projects.put(project.getId(), project);
+        logger.info("Converting project {} to {}: {} source files, {} skipped entries",
+                project.getId(), targetLanguage, files.size(), contents.getSkippedCount());
+
+        // A file waits for the dependencies placed before it; later ones are in a cycle with it
+        int[] position = new int[files.size()];
+        for (int i = 0; i < order.size(); i++) {
+            position[order.get(i)] = i;
+        }
+        for (int index : order) {
+            List<Integer> dependencies = new ArrayList<>();
+            for (int dependency : graph.dependenciesOf(index)) {
+                if (position[dependency] < position[index]) {
+                    dependencies.add(dependency);
+                }
+            }
+            CompletableFuture<?>[] waits = new CompletableFuture<?>[dependencies.size()];
+            for (int i = 0; i < waits.length; i++) {
+                waits[i] = results.get(dependencies.get(i));
+            }
+            results.set(index, CompletableFuture.allOf(waits)
+                    .thenApplyAsync(ignored -> convertFile(project, index, dependencies), pool));
+        }
+        return project;
+    }
+
+    /**
+     * @return The project conversion with the given id, if it is running or finished recently
+     */
+    public Optional<ProjectConversion> find(String id) {
+        return Optional.ofNullable(projects.get(id));
+    }
+
+    /**
+     * Writes the converted project as a zip archive, waiting for each file in conversion order.
+     *
+     * <p>Converted files get the target language's extension; copied and failed files keep their
+     * path. A report listing failed files and skipped entries is written last.
+     *
+     * @param project The project conversion
+     * @param out     Stream to write the archive to; not closed
+     * @throws IOException if writing fails
+     */
+    public void writeArchive(ProjectConversion project, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Set<String> written = new HashSet<>();
+        StringBuilder failures = new StringBuilder();
+        for (int index : project.getOrder()) {
+            ProjectConversion.FileResult result = project.result(index).join();
+            if (result.getError() != null) {
+                failures.append(project.getFiles().get(index).getPath()).append(": ")
+                        .append(result.getError()).append('\n');
+            }
+            if (!written.add(result.getPath())) {
+                failures.append(project.getFiles().get(index).getPath()).append(": not written, ")
+                        .append(result.getPath()).append(" already exists\n");
+                continue;
+            }
+            zip.putNextEntry(new ZipEntry(result.getPath()));
+            zip.write(result.getCode().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.putNextEntry(new ZipEntry(REPORT));
+        zip.write(report(project, failures).getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private String report(ProjectConversion project, StringBuilder failures) {
+        var status = project.status(nanoClock.getAsLong());
+        StringBuilder report = new StringBuilder()
+                .append("Converted to ").append(project.getTargetLanguage()).append(": ")
+                .append(status.getConvertedFiles()).append(" converted, ")
+                .append(status.getCopiedFiles()).append(" copied, ")
+                .append(status.getFailedFiles()).append(" failed\n");
+        if (failures.length() > 0) {
+            report.append("\nFailed files (original source kept):\n").append(failures);
+        }
+        if (!project.getSkipped().isEmpty()) {
+            report.append("\nSkipped archive entries (not included):\n");
+            for (String path : project.getSkipped()) {
+                report.append(path).append('\n');
+            }
+            int unlisted = project.getSkippedCount() - project.getSkipped().size();
+            if (unlisted > 0) {
+                report.append("... and ").append(unlisted).append(" more\n");
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Converts one file once its dependencies are done. Never throws, so dependents always run.
+     */
+    private ProjectConversion.FileResult convertFile(ProjectConversion project, int index, List<Integer> dependencies) {
+        ProjectFile file = project.getFiles().get(index);
+        ProjectConversion.FileResult result;
+        ConversionResponse response = null;
+        try {
+            if (file.getLanguage().equalsIgnoreCase(project.getTargetLanguage()) || file.getSource().isBlank()) {
+                result = new ProjectConversion.FileResult(file.getPath(), file.getSource(), null, true);
+            } else {
+                ConversionRequest request = new ConversionRequest(
+                        file.getSource(), file.getLanguage(), project.getTargetLanguage());
+                response = file.getSource().length() > largeFileChars
+                        ? chunkedConversionService.convertLarge(request).join()
+                        : conversionService.convertWithContextAsync(
+                                request, context(project, dependencies), Priority.BATCH).join();
+                result = response.isSuccess()
+                        ? new ProjectConversion.FileResult(ArchiveReader.convertedPath(file.getPath(),
+                                project.getTargetLanguage()), response.getConvertedCode(), null, false)
+                        : new ProjectConversion.FileResult(file.getPath(), file.getSource(), response.getError(), false);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error converting {} of project {}", file.getPath(), project.getId(), e);
+            result = new ProjectConversion.FileResult(file.getPath(), file.getSource(),
+                    "Failed to convert code: " + e.getMessage(), false);
+        }
+
+        if (project.finished(result, response != null ? response.getUsage() : null)) {
+            project.complete(clock.instant(), nanoClock.getAsLong());
+            running.release();
+            var status = project.status(nanoClock.getAsLong());
+            logger.info("Project {} finished: {} converted, {} copied, {} failed, {} files/s, {} tokens/s",
+                    project.getId(), status.getConvertedFiles(), status.getCopiedFiles(), status.getFailedFiles(),
+                    String.format("%.2f", status.getFilesPerSecond()), String.format("%.0f", status.getTokensPerSecond()));
+        }
+        return result;
+    }
+
+    /**
+     * Signatures of the file's converted dependencies, each under a comment naming its path.
+     */
+    private String context(ProjectConversion project, List<Integer> dependencies) {
+        String comment = project.getTargetLanguage().trim().equalsIgnoreCase("python") ? "# "
+                : project.getTargetLanguage().trim().equalsIgnoreCase("sql") ? "-- " : "// ";
+        StringBuilder context = new StringBuilder();
+        for (int dependency : dependencies) {
+            ProjectConversion.FileResult result = project.result(dependency).getNow(null);
+            if (result == null || result.getError() != null) {
+                continue;
+            }
+            String signatures = SignatureExtractor.extract(result.getCode(), project.getTargetLanguage());
+            String entry = comment + result.getPath() + "\n" + signatures.strip() + "\n\n";
+            if (context.length() + entry.length() > maxContextChars) {
+                break;
+            }
+            context.append(entry);
+        }
+        return context.toString().strip();
+    }
+
+    /**
+     * Forgets finished projects older than the retention.
+     */
+    private void purge() {
+        Instant cutoff = clock.instant().minus(retention);
+        projects.values().removeIf(project -> project.isDone()
+                && project.status(nanoClock.getAsLong()).getCompletedAt().isBefore(cutoff));
+    }
+}
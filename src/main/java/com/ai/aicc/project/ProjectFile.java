@@ -0,0 +1,39 @@
+package com.ai.aicc.project;
+
+/**
+ * A source file read from a project archive.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ArchiveReader
+ */
+public final class ProjectFile {
+
+    private final String path;
+    private final String language;
+    private final String source;
+
+    public ProjectFile(String path, String language, String source) {
+        this.path = path;
+        this.language = language;
+        this.source = source;
+    }
+
+    /**
+     * @return Path of the file inside the archive, with {@code /} separators and no leading slash
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return Language detected from the file extension, e.g. "Java"
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ai.aicc.project;
+
+/**
+ * Thrown while reading a project archive that holds more source files or source bytes than a
+ * single project conversion accepts.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ArchiveReader
+ */
+public class ProjectTooLargeException extends RuntimeException {
+
+    public ProjectTooLargeException(String message) {
+        super(message);
+    }
+}
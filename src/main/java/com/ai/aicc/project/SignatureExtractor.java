@@ -0,0 +1,105 @@
+package com.ai.aicc.project;
+
+import java.util.Locale;
+
+/**
+ * Reduces converted code to the declarations other files may refer to.
+ *
+ * <p>The signatures of a file's converted dependencies are its context, so they should name every
+ * type, function and member without spending tokens on bodies:
+ * <ul>
+ *   <li><b>Python:</b> {@code class} and {@code def} lines, decorators and module-level constants</li>
+ *   <li><b>Java, C#:</b> lines at type or member level (brace depth 0 or 1), i.e. type, field and
+ *       method declarations, without comments, imports and bodies</li>
+ *   <li><b>SQL:</b> {@code CREATE} statements' first lines</li>
+ * </ul>
+ * Other languages keep their code unchanged.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ProjectConversionService
+ */
+public final class SignatureExtractor {
+
+    private SignatureExtractor() {
+    }
+
+    /**
+     * @param code     Converted code of a file
+     * @param language Language the code is written in
+     * @return The code's declarations, one per line
+     */
+    public static String extract(String code, String language) {
+        switch (language.trim().toLowerCase(Locale.ROOT)) {
+            case "python":
+                return python(code);
+            case "java":
+            case "c#":
+            case "csharp":
+                return braces(code);
+            case "sql":
+                return sql(code);
+            default:
+                return code;
+        }
+    }
+
+    private static String python(String code) {
+        StringBuilder signatures = new StringBuilder();
+        for (String line : code.split("\n")) {
+            String trimmed = line.strip();
+            boolean constant = line.equals(trimmed) && trimmed.matches("[A-Z_][A-Z0-9_]*\\s*(:[^=]+)?=.*");
+            if (trimmed.startsWith("class ") || trimmed.startsWith("def ") || trimmed.startsWith("async def ")
+                    || trimmed.startsWith("@") || constant) {
+                signatures.append(line.stripTrailing()).append('\n');
+            }
+        }
+        return signatures.toString();
+    }
+
+    private static String braces(String code) {
+        StringBuilder signatures = new StringBuilder();
+        int depth = 0;
+        boolean comment = false;
+        for (String line : code.split("\n")) {
+            String trimmed = line.strip();
+            boolean declaration = depth <= 1 && !comment && !trimmed.isEmpty() && !trimmed.startsWith("//")
+                    && !trimmed.startsWith("/*") && !trimmed.startsWith("*") && !trimmed.startsWith("}")
+                    && !trimmed.startsWith("import ") && !trimmed.startsWith("using ")
+                    && !trimmed.startsWith("package ");
+            if (declaration) {
+                signatures.append(line.stripTrailing()).append('\n');
+            }
+            // Approximate depth: braces in strings and comments are rare on declaration lines
+            for (int i = 0; i < line.length(); i++) {
+                char ch = line.charAt(i);
+                if (comment) {
+                    if (ch == '*' && i + 1 < line.length() && line.charAt(i + 1) == '/') {
+                        comment = false;
+                        i++;
+                    }
+                } else if (ch == '/' && i + 1 < line.length() && line.charAt(i + 1) == '/') {
+                    break;
+                } else if (ch == '/' && i + 1 < line.length() && line.charAt(i + 1) == '*') {
+                    comment = true;
+                    i++;
+                } else if (ch == '{') {
+                    depth++;
+                } else if (ch == '}') {
+                    depth = Math.max(0, depth - 1);
+                }
+            }
+        }
+        return signatures.toString();
+    }
+
+    private static String sql(String code) {
+        StringBuilder signatures = new StringBuilder();
+        for (String line : code.split("\n")) {
+            if (line.strip().toUpperCase(Locale.ROOT).startsWith("CREATE ")) {
+                signatures.append(line.stripTrailing()).append('\n');
+            }
+        }
+        return signatures.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ai.aicc.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default rate limit store: lock-free {@link TokenBucket}s on the heap, per application instance.
+ *
+ * <p>Buckets of tenants that have been idle long enough to be full again are dropped once more than
+ * {@code aicc.ratelimit.max-tenants} tenants are tracked, which bounds memory when many client
+ * addresses are seen.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "aicc.ratelimit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final int maxTenants;
+    private final Map<String, Buckets> buckets = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimitStore(@Value("${aicc.ratelimit.max-tenants:10000}") int maxTenants) {
+        this.maxTenants = maxTenants;
+    }
+
+    @Override
+    public long tryAcquire(String tenant, TenantLimits limits, long tokens, long nowNanos) {
+        Buckets tenantBuckets = buckets.get(tenant);
+        if (tenantBuckets == null) {
+            if (buckets.size() >= maxTenants) {
+                buckets.values().removeIf(idle -> idle.isFull(nowNanos));
+            }
+            tenantBuckets = buckets.computeIfAbsent(tenant, ignored -> new Buckets(limits, nowNanos));
+        }
+        return tenantBuckets.tryAcquire(tokens, nowNanos);
+    }
+
+    /**
+     * @return Number of tenants whose buckets are held
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * The request and token buckets of one tenant; a bucket is {@code null} if its limit is off.
+     */
+    private static final class Buckets {
+
+        private final TokenBucket requests;
+        private final TokenBucket tokens;
+
+        Buckets(TenantLimits limits, long nowNanos) {
+            this.requests = limits.getRequestsPerSecond() > 0
+                    ? new TokenBucket(limits.getRequestsPerSecond(), limits.getBurst(), nowNanos) : null;
+            this.tokens = limits.getTokensPerMinute() > 0
+                    ? new TokenBucket(limits.getTokensPerMinute() / 60.0, limits.getTokensPerMinute(), nowNanos) : null;
+        }
+
+        long tryAcquire(long tokenCount, long nowNanos) {
+            if (requests != null) {
+                long wait = requests.tryAcquire(1, nowNanos);
+                if (wait > 0) {
+                    return wait;
+                }
+            }
+            if (tokens != null && tokenCount > 0) {
+                long wait = tokens.tryAcquire(tokenCount, nowNanos);
+                if (wait > 0) {
+                    if (requests != null) {
+                        requests.release(1);
+                    }
+                    return wait;
+                }
+            }
+            return 0;
+        }
+
+        boolean isFull(long nowNanos) {
+            return (requests == null || requests.isFull(nowNanos)) && (tokens == null || tokens.isFull(nowNanos));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ai.aicc.ratelimit;
+
+import com.ai.aicc.model.ConversionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects conversion requests over their tenant's limits with 429 and Retry-After.
+ *
+ * <p>Runs before the request body is read, so a rejected request costs no parsing, prompt building
+ * or upstream work. Only POST requests are limited; polling jobs and projects is not.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see RateLimiter
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimiter rateLimiter;
+    private final String apiKeyHeader;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, String apiKeyHeader, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = apiKeyHeader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(
+                request.getHeader(apiKeyHeader), request.getRemoteAddr(), request.getContentLengthLong());
+        if (decision.isAdmitted()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.getWaitNanos() + 999_999_999));
+        logger.debug("Rate limited {} request of tenant {} ({} estimated tokens), retry after {}s",
+                request.getRequestURI(), decision.getTenant(), decision.getTokens(), retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ConversionResponse.error(
+                "Rate limit exceeded for " + decision.getTenant() + ", retry after " + retryAfterSeconds + "s"));
+    }
+}
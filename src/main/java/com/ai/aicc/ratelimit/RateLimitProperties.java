@@ -0,0 +1,97 @@
+package com.ai.aicc.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tenants with their own API keys and limits.
+ *
+ * <p>Bound from indexed properties, for example:
+ * <pre>
+ * aicc.ratelimit.tenants[0].name=payments
+ * aicc.ratelimit.tenants[0].api-keys=${PAYMENTS_KEY},${PAYMENTS_CI_KEY}
+ * aicc.ratelimit.tenants[0].tokens-per-minute=200000
+ * </pre>
+ * Limits left out default to {@code aicc.ratelimit.requests-per-second}, {@code burst} and
+ * {@code tokens-per-minute}. Requests with other API keys, or without one, are limited per client
+ * address with the default limits.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see RateLimiter
+ */
+@Component
+@ConfigurationProperties(prefix = "aicc.ratelimit")
+public class RateLimitProperties {
+
+    private List<Tenant> tenants = new ArrayList<>();
+
+    public List<Tenant> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(List<Tenant> tenants) {
+        this.tenants = tenants;
+    }
+
+    /**
+     * One configured tenant.
+     */
+    public static class Tenant {
+
+        /** Label used in statistics and as the rate limit key */
+        private String name;
+
+        /** API keys identifying the tenant's requests */
+        private List<String> apiKeys = new ArrayList<>();
+
+        private Double requestsPerSecond;
+
+        private Integer burst;
+
+        private Long tokensPerMinute;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getApiKeys() {
+            return apiKeys;
+        }
+
+        public void setApiKeys(List<String> apiKeys) {
+            this.apiKeys = apiKeys;
+        }
+
+        public Double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(Double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public Integer getBurst() {
+            return burst;
+        }
+
+        public void setBurst(Integer burst) {
+            this.burst = burst;
+        }
+
+        public Long getTokensPerMinute() {
+            return tokensPerMinute;
+        }
+
+        public void setTokensPerMinute(Long tokensPerMinute) {
+            this.tokensPerMinute = tokensPerMinute;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ai.aicc.ratelimit;
+
+/**
+ * Holds the token buckets of every tenant.
+ *
+ * <p>Implementations are selected with {@code aicc.ratelimit.store}: {@code memory} (default) keeps
+ * the buckets on the heap, so each application instance enforces the limits on its own;
+ * {@code redis} keeps them in Redis, shared by every instance.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see RateLimiter
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one request and the given tokens from the tenant's buckets, or nothing if either
+     * bucket lacks room.
+     *
+     * @param tenant   Tenant identifier
+     * @param limits   The tenant's limits
+     * @param tokens   Estimated tokens of the request
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return 0 if the request is admitted, otherwise the nanoseconds until it would be
+     */
+    long tryAcquire(String tenant, TenantLimits limits, long tokens, long nowNanos);
+}
@@ -0,0 +1,226 @@
+package com.ai.aicc.ratelimit;
+
+import com.ai.aicc.model.TenantQuotaStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-tenant admission control for conversion requests.
+ *
+ * <p>Every tenant has two token buckets: one counting requests per second, one counting the
+ * Azure OpenAI tokens a request is estimated to use per minute. The estimate is taken from the
+ * request's {@code Content-Length} alone - the source plus a converted output of about the same
+ * size, at {@code aicc.ratelimit.bytes-per-token} - so a request can be refused before its body is
+ * read, parsed or turned into a prompt. A request is admitted only if both buckets have room.
+ *
+ * <p>The tenant is the one configured for the request's API key ({@link RateLimitProperties});
+ * a request without a key, or with a key that is not configured, is limited per client address,
+ * so sending made-up keys does not earn a client fresh buckets. Admitted and rejected requests and
+ * tokens are counted per tenant.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.ratelimit.enabled - Limit POST requests to /api/convert and below</li>
+ *   <li>aicc.ratelimit.api-key-header - Header carrying the API key</li>
+ *   <li>aicc.ratelimit.requests-per-second, aicc.ratelimit.burst - Default request limit</li>
+ *   <li>aicc.ratelimit.tokens-per-minute - Default estimated token limit</li>
+ *   <li>aicc.ratelimit.bytes-per-token - Request bytes per estimated token</li>
+ *   <li>aicc.ratelimit.unknown-length-tokens - Estimate for requests without Content-Length</li>
+ *   <li>aicc.ratelimit.max-tenants - Tenants tracked before idle ones are forgotten</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see RateLimitStore
+ * @see com.ai.aicc.config.RateLimitConfig
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    /** Tenant that accounting falls back to once max-tenants tenants are counted */
+    static final String OTHER_TENANT = "other";
+
+    private final RateLimitStore store;
+    private final TenantLimits defaultLimits;
+    private final double bytesPerToken;
+    private final long unknownLengthTokens;
+    private final int maxTenants;
+    private final LongSupplier nanoClock;
+
+    /** Configured tenants by API key */
+    private final Map<String, Tenant> tenantsByKey = new HashMap<>();
+    private final Map<String, Usage> usage = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiter(RateLimitStore store, RateLimitProperties properties,
+                       @Value("${aicc.ratelimit.requests-per-second:20}") double requestsPerSecond,
+                       @Value("${aicc.ratelimit.burst:40}") int burst,
+                       @Value("${aicc.ratelimit.tokens-per-minute:100000}") long tokensPerMinute,
+                       @Value("${aicc.ratelimit.bytes-per-token:4}") double bytesPerToken,
+                       @Value("${aicc.ratelimit.unknown-length-tokens:4000}") long unknownLengthTokens,
+                       @Value("${aicc.ratelimit.max-tenants:10000}") int maxTenants) {
+        this(store, properties, new TenantLimits(requestsPerSecond, burst, tokensPerMinute), bytesPerToken,
+                unknownLengthTokens, maxTenants, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitStore store, RateLimitProperties properties, TenantLimits defaultLimits,
+                double bytesPerToken, long unknownLengthTokens, int maxTenants, LongSupplier nanoClock) {
+        this.store = store;
+        this.defaultLimits = defaultLimits;
+        this.bytesPerToken = bytesPerToken;
+        this.unknownLengthTokens = unknownLengthTokens;
+        this.maxTenants = maxTenants;
+        this.nanoClock = nanoClock;
+        for (RateLimitProperties.Tenant configured : properties.getTenants()) {
+            Tenant tenant = new Tenant(configured.getName(), new TenantLimits(
+                    configured.getRequestsPerSecond() != null
+                            ? configured.getRequestsPerSecond() : defaultLimits.getRequestsPerSecond(),
+                    configured.getBurst() != null ? configured.getBurst() : defaultLimits.getBurst(),
+                    configured.getTokensPerMinute() != null
+                            ? configured.getTokensPerMinute() : defaultLimits.getTokensPerMinute()));
+            for (String key : configured.getApiKeys()) {
+                tenantsByKey.put(key, tenant);
+            }
+        }
+        logger.info("Rate limits: {} configured tenant(s); default {} req/s (burst {}), {} tokens/min",
+                properties.getTenants().size(), defaultLimits.getRequestsPerSecond(), defaultLimits.getBurst(),
+                defaultLimits.getTokensPerMinute());
+    }
+
+    /**
+     * Admits or rejects a request, taking its share of the tenant's limits if admitted.
+     *
+     * @param apiKey        The request's API key, or {@code null}; only configured keys select a tenant
+     * @param remoteAddress Address of the client
+     * @param contentLength Size of the request body, or -1 if unknown
+     * @return The decision; a rejected request must not be processed
+     */
+    public Decision tryAcquire(String apiKey, String remoteAddress, long contentLength) {
+        Tenant configured = apiKey != null ? tenantsByKey.get(apiKey) : null;
+        String tenant = configured != null ? configured.name : "ip-" + remoteAddress;
+        TenantLimits limits = configured != null ? configured.limits : defaultLimits;
+        long tokens = estimateTokens(contentLength);
+
+        long waitNanos = store.tryAcquire(tenant, limits, tokens, nanoClock.getAsLong());
+        usage(tenant, limits).record(waitNanos == 0, tokens);
+        return new Decision(tenant, tokens, waitNanos);
+    }
+
+    /**
+     * @return Estimated Azure OpenAI tokens of a request: its body, and an output of similar size
+     */
+    long estimateTokens(long contentLength) {
+        if (contentLength < 0) {
+            return unknownLengthTokens;
+        }
+        return Math.max(1, (long) Math.ceil(2 * contentLength / bytesPerToken));
+    }
+
+    /**
+     * @return Accounting of every tenant seen since startup, busiest first
+     */
+    public List<TenantQuotaStats> stats() {
+        List<TenantQuotaStats> stats = new ArrayList<>();
+        usage.forEach((tenant, counters) -> stats.add(counters.toStats(tenant)));
+        stats.sort(Comparator.comparingLong(TenantQuotaStats::getAdmittedTokens).reversed());
+        return stats;
+    }
+
+    private Usage usage(String tenant, TenantLimits limits) {
+        Usage counters = usage.get(tenant);
+        if (counters == null) {
+            if (usage.size() >= maxTenants) {
+                return usage.computeIfAbsent(OTHER_TENANT, ignored -> new Usage(defaultLimits));
+            }
+            counters = usage.computeIfAbsent(tenant, ignored -> new Usage(limits));
+        }
+        return counters;
+    }
+
+    /**
+     * Outcome of {@link #tryAcquire}.
+     */
+    public static final class Decision {
+
+        private final String tenant;
+        private final long tokens;
+        private final long waitNanos;
+
+        Decision(String tenant, long tokens, long waitNanos) {
+            this.tenant = tenant;
+            this.tokens = tokens;
+            this.waitNanos = waitNanos;
+        }
+
+        public boolean isAdmitted() {
+            return waitNanos == 0;
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+
+        /**
+         * @return Estimated tokens of the request
+         */
+        public long getTokens() {
+            return tokens;
+        }
+
+        /**
+         * @return Nanoseconds until a rejected request would be admitted; 0 if admitted
+         */
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+    }
+
+    private static final class Tenant {
+
+        private final String name;
+        private final TenantLimits limits;
+
+        Tenant(String name, TenantLimits limits) {
+            this.name = name;
+            this.limits = limits;
+        }
+    }
+
+    private static final class Usage {
+
+        private final TenantLimits limits;
+        private final LongAdder admittedRequests = new LongAdder();
+        private final LongAdder rejectedRequests = new LongAdder();
+        private final LongAdder admittedTokens = new LongAdder();
+        private final LongAdder rejectedTokens = new LongAdder();
+
+        Usage(TenantLimits limits) {
+            this.limits = limits;
+        }
+
+        void record(boolean admitted, long tokens) {
+            (admitted ? admittedRequests : rejectedRequests).increment();
+            (admitted ? admittedTokens : rejectedTokens).add(tokens);
+        }
+
+        TenantQuotaStats toStats(String tenant) {
+            return new TenantQuotaStats(tenant, Math.max(0, limits.getRequestsPerSecond()),
+                    Math.max(0, limits.getTokensPerMinute()), admittedRequests.sum(), rejectedRequests.sum(),
+                    admittedTokens.sum(), rejectedTokens.sum());
+        }
+    }
+}
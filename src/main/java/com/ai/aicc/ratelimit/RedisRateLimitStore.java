@@ -0,0 +1,167 @@
+package com.ai.aicc.ratelimit;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rate limit store shared by every application instance through Redis.
+ *
+ * <p>Both buckets of a tenant are checked and updated by one Lua script, atomically on the Redis
+ * server and against the server's clock, so instances need neither locks nor synchronized clocks.
+ * Each bucket is a single key holding its theoretical arrival time (see {@link TokenBucket}) that
+ * expires once the bucket is full again.
+ *
+ * <p>While Redis cannot be reached, requests are limited by a local {@link InMemoryRateLimitStore}
+ * instead, so an outage loosens the limits to per-instance ones rather than rejecting or admitting
+ * everything.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.ratelimit.store=redis - Selects this store</li>
+ *   <li>aicc.ratelimit.redis.url - Redis URI, e.g. {@code redis://:password@host:6379/0}</li>
+ *   <li>aicc.ratelimit.redis.timeout - Longest wait for Redis before the local fallback is used</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "aicc.ratelimit.store", havingValue = "redis")
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimitStore.class);
+
+    private static final String KEY_PREFIX = "aicc:ratelimit:";
+
+    /** How long the local fallback is used after a Redis failure before Redis is tried again */
+    private static final long RETRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * KEYS: request bucket, token bucket. ARGV per bucket: interval and tolerance in microseconds
+     * (interval 0 = limit off), then the cost. Returns 0, or the microseconds to wait.
+     */
+    private static final String SCRIPT = """
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local next = {}
+            local wait = 0
+            for i = 1, 2 do
+              local interval = tonumber(ARGV[i * 3 - 2])
+              if interval > 0 then
+                local arrival = math.max(tonumber(redis.call('GET', KEYS[i]) or now), now)
+                next[i] = arrival + interval * tonumber(ARGV[i * 3])
+                wait = math.max(wait, next[i] - now - tonumber(ARGV[i * 3 - 1]))
+              end
+            end
+            if wait > 0 then
+              return math.ceil(wait)
+            end
+            for i = 1, 2 do
+              if next[i] then
+                redis.call('SET', KEYS[i], string.format('%.0f', next[i]), 'PX', math.ceil((next[i] - now) / 1000) + 1)
+              end
+            end
+            return 0
+            """;
+
+    private final RedisClient client;
+    private final InMemoryRateLimitStore fallback;
+    private final ReentrantLock connectLock = new ReentrantLock();
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile long failedAtNanos;
+    private volatile boolean failed;
+
+    public RedisRateLimitStore(@Value("${aicc.ratelimit.redis.url:redis://localhost:6379}") String url,
+                               @Value("${aicc.ratelimit.redis.timeout:200ms}") Duration timeout,
+                               @Value("${aicc.ratelimit.max-tenants:10000}") int maxTenants) {
+        this.client = RedisClient.create(url);
+        this.client.setDefaultTimeout(timeout);
+        // Fail fast instead of queueing commands while disconnected, so the fallback takes over
+        this.client.setOptions(ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build());
+        this.fallback = new InMemoryRateLimitStore(maxTenants);
+    }
+
+    @Override
+    public long tryAcquire(String tenant, TenantLimits limits, long tokens, long nowNanos) {
+        if (failed && nowNanos - failedAtNanos < RETRY_INTERVAL_NANOS) {
+            return fallback.tryAcquire(tenant, limits, tokens, nowNanos);
+        }
+        try {
+            String[] requestBucket = bucket(limits.getRequestsPerSecond(), limits.getBurst(), 1);
+            String[] tokenBucket = bucket(limits.getTokensPerMinute() / 60.0, limits.getTokensPerMinute(), tokens);
+            Long waitMicros = connection().sync().eval(SCRIPT, ScriptOutputType.INTEGER,
+                    new String[]{KEY_PREFIX + tenant + ":requests", KEY_PREFIX + tenant + ":tokens"},
+                    requestBucket[0], requestBucket[1], requestBucket[2],
+                    tokenBucket[0], tokenBucket[1], tokenBucket[2]);
+            if (failed) {
+                failed = false;
+                logger.info("Redis rate limit store available again");
+            }
+            return TimeUnit.MICROSECONDS.toNanos(waitMicros);
+        } catch (RedisException e) {
+            if (!failed) {
+                logger.warn("Redis rate limit store unavailable, limiting per instance: {}", e.getMessage());
+            }
+            failedAtNanos = nowNanos;
+            failed = true;
+            return fallback.tryAcquire(tenant, limits, tokens, nowNanos);
+        }
+    }
+
+    /**
+     * @return Script arguments of one bucket: interval, tolerance and cost; an interval of 0 if off
+     */
+    private static String[] bucket(double perSecond, long capacity, long cost) {
+        if (perSecond <= 0) {
+            return new String[]{"0", "0", "0"};
+        }
+        capacity = Math.max(1, capacity);
+        double intervalMicros = 1e6 / perSecond;
+        return new String[]{Double.toString(intervalMicros), Double.toString(capacity * intervalMicros),
+                Long.toString(Math.min(cost, capacity))};
+    }
+
+    private StatefulRedisConnection<String, String> connection() {
+        StatefulRedisConnection<String, String> current = connection;
+        if (current == null) {
+            // A lock rather than a monitor, so a virtual thread blocked in connect does not pin its carrier
+            connectLock.lock();
+            try {
+                current = connection;
+                if (current == null) {
+                    // Once connected, Lettuce reconnects by itself
+                    current = client.connect();
+                    connection = current;
+                }
+            } finally {
+                connectLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ai.aicc.ratelimit;
+
+/**
+ * Rate limits of one tenant. A limit of 0 or less is not enforced.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class TenantLimits {
+
+    private final double requestsPerSecond;
+    private final int burst;
+    private final long tokensPerMinute;
+
+    /**
+     * @param requestsPerSecond Sustained request rate
+     * @param burst             Requests accepted at once after an idle period
+     * @param tokensPerMinute   Estimated Azure OpenAI tokens per minute; a minute's worth may be used at once
+     */
+    public TenantLimits(double requestsPerSecond, int burst, long tokensPerMinute) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.tokensPerMinute = tokensPerMinute;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+}
@@ -0,0 +1,85 @@
+package com.ai.aicc.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * <p>Implemented as the generic cell rate algorithm: instead of a token count and a refill
+ * timestamp, the bucket keeps a single "theoretical arrival time" - the instant at which it would be
+ * full again. Taking {@code n} tokens moves that instant {@code n} intervals into the future; a take
+ * is refused if it would move it further ahead of now than the bucket's capacity. The state is one
+ * {@link AtomicLong} updated with compare-and-set, so concurrent callers never block each other.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class TokenBucket {
+
+    /** Nanoseconds per token */
+    private final double intervalNanos;
+
+    /** How far ahead of now the arrival time may run: the capacity in nanoseconds */
+    private final long toleranceNanos;
+
+    private final long capacity;
+
+    private final AtomicLong arrivalNanos;
+
+    /**
+     * @param tokensPerSecond Refill rate; must be positive
+     * @param capacity        Tokens the bucket holds when full, i.e. the largest burst
+     * @param nowNanos        Current {@link System#nanoTime()}; the bucket starts full
+     */
+    public TokenBucket(double tokensPerSecond, long capacity, long nowNanos) {
+        this.intervalNanos = 1e9 / tokensPerSecond;
+        this.capacity = Math.max(1, capacity);
+        this.toleranceNanos = (long) (this.capacity * intervalNanos);
+        this.arrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes tokens if the bucket holds enough. Costs above the capacity are capped at it, so a large
+     * request empties a full bucket rather than never fitting.
+     *
+     * @param tokens   Tokens to take
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return 0 if the tokens were taken, otherwise the nanoseconds until they would be available
+     */
+    public long tryAcquire(long tokens, long nowNanos) {
+        long cost = (long) (Math.min(tokens, capacity) * intervalNanos);
+        while (true) {
+            long arrival = arrivalNanos.get();
+            long next = Math.max(arrival - nowNanos, 0) + nowNanos + cost;
+            long wait = next - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrivalNanos.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns tokens taken by a request that was refused by another limit after all.
+     */
+    public void release(long tokens) {
+        arrivalNanos.addAndGet(-(long) (Math.min(tokens, capacity) * intervalNanos));
+    }
+
+    /**
+     * @return Tokens currently available
+     */
+    public long available(long nowNanos) {
+        long ahead = Math.max(arrivalNanos.get() - nowNanos, 0);
+        return (long) ((toleranceNanos - ahead) / intervalNanos);
+    }
+
+    /**
+     * @return Whether the bucket is full, so forgetting it changes nothing
+     */
+    public boolean isFull(long nowNanos) {
+        return arrivalNanos.get() - nowNanos <= 0;
+    }
+}
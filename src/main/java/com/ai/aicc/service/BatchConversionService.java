@@ -0,0 +1,107 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.model.BatchConversionResponse;
+import com.ai.aicc.model.BatchItemResult;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.upstream.Priority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converts many code snippets with a bounded number of conversions in flight.
+ *
+ * <p>Items are handed to {@link CodeConversionService#convertCodeAsync}, so they benefit from the
+ * result cache and request coalescing like single conversions, and no thread is held per item while
+ * Azure OpenAI generates. At most {@code aicc.batch.parallelism} items of one batch wait on the
+ * model at a time; the rest are started as earlier items complete. Items are scheduled with
+ * {@link Priority#BATCH}, so they yield Azure OpenAI capacity to interactive requests.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.batch.parallelism - Concurrent conversions per batch</li>
+ *   <li>aicc.batch.max-items - Largest accepted batch</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see CodeConversionService
+ */
+@Service
+public class BatchConversionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchConversionService.class);
+
+    @Autowired
+    private CodeConversionService conversionService;
+
+    /** Maximum number of items of one batch converted concurrently */
+    @Value("${aicc.batch.parallelism:16}")
+    private int parallelism;
+
+    /** Maximum number of items accepted in one batch */
+    @Value("${aicc.batch.max-items:1000}")
+    private int maxItems;
+
+    /**
+     * Checks whether a batch can be accepted.
+     *
+     * @param items Requested items
+     * @return Error message if the batch is rejected, otherwise {@code null}
+     */
+    public String validate(List<ConversionRequest> items) {
+        if (items == null || items.isEmpty()) {
+            return "Batch must contain at least one item";
+        }
+        if (items.size() > maxItems) {
+            return "Batch must not contain more than " + maxItems + " items";
+        }
+        return null;
+    }
+
+    /**
+     * Converts all items and emits each result as soon as it is available.
+     *
+     * <p>Results are emitted in completion order, tagged with the item's index. Items without
+     * source code fail individually without calling Azure OpenAI. The stream never errors: every
+     * item produces exactly one result.
+     *
+     * @param items Items to convert; must have passed {@link #validate}
+     * @return Cold stream of one result per item
+     */
+    public Flux<BatchItemResult> convertBatch(List<ConversionRequest> items) {
+        logger.info("Converting batch of {} items with parallelism {}", items.size(), parallelism);
+
+        return Flux.range(0, items.size())
+                .flatMap(index -> convertItem(items.get(index))
+                        .map(result -> new BatchItemResult(index, result)), parallelism);
+    }
+
+    /**
+     * Converts all items and returns the results in request order once the whole batch is done.
+     *
+     * @param items Items to convert; must have passed {@link #validate}
+     * @return Batch response with one result per item
+     */
+    public Mono<BatchConversionResponse> convertBatchOrdered(List<ConversionRequest> items) {
+        return convertBatch(items)
+                .collect(() -> new ConversionResponse[items.size()],
+                        (results, item) -> results[item.getIndex()] = item.getResult())
+                .map(results -> new BatchConversionResponse(Arrays.asList(results)));
+    }
+
+    private Mono<ConversionResponse> convertItem(ConversionRequest request) {
+        if (request == null || request.getSourceCode() == null || request.getSourceCode().isBlank()) {
+            return Mono.just(ConversionResponse.error("Source code cannot be empty"));
+        }
+        return Mono.fromFuture(() -> conversionService.convertCodeAsync(request, Priority.BATCH));
+    }
+}
@@ -0,0 +1,123 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.chunk.SourceSegment;
+import com.ai.aicc.chunk.SourceSegmenter;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.TokenUsage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Converts source files too large for a single completion by splitting them into segments.
+ *
+ * <p>A single conversion is capped by the completion's maxTokens and takes time proportional to
+ * the length of the output, since generation is sequential. In large-input mode the file is split
+ * by {@link SourceSegmenter} into syntactically complete segments, which are converted in parallel
+ * and concatenated in source order. Wall-clock time therefore grows with the number of segments
+ * divided by {@code aicc.chunk.parallelism} rather than with the file length.
+ *
+ * <p>Segments are converted through {@link CodeConversionService#convertFragmentAsync}, so
+ * unchanged segments of a file that is converted again are served from the result cache. If any
+ * segment fails, the whole conversion fails.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.chunk.max-segment-chars - Target maximum segment size</li>
+ *   <li>aicc.chunk.parallelism - Segments of one file converted concurrently</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see SourceSegmenter
+ */
+@Service
+public class ChunkedConversionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedConversionService.class);
+
+    @Autowired
+    private CodeConversionService conversionService;
+
+    @Autowired
+    private SourceSegmenter segmenter;
+
+    /** Target maximum size of a segment; roughly 1500 tokens, leaving room for the converted output */
+    @Value("${aicc.chunk.max-segment-chars:6000}")
+    private int maxSegmentChars;
+
+    /** Maximum number of segments of one file converted concurrently */
+    @Value("${aicc.chunk.parallelism:8}")
+    private int parallelism;
+
+    /**
+     * Converts a possibly large source file segment by segment.
+     *
+     * <p>Sources that fit into one segment are converted as a regular request.
+     *
+     * @param request The conversion request containing source code, source language, and target language
+     * @return Future completed with the reassembled converted code or an error response; never completed exceptionally
+     */
+    public CompletableFuture<ConversionResponse> convertLarge(ConversionRequest request) {
+        List<SourceSegment> segments;
+        try {
+            segments = segmenter.split(request.getSourceCode(), request.getSourceLanguage(), maxSegmentChars);
+        } catch (Exception e) {
+            logger.error("Error splitting source code", e);
+            return CompletableFuture.completedFuture(
+                    ConversionResponse.error("Failed to convert code: " + e.getMessage()));
+        }
+        if (segments.size() == 1) {
+            return conversionService.convertCodeAsync(request);
+        }
+
+        logger.info("Converting {} characters of {} in {} segments with parallelism {}",
+                request.getSourceCode().length(), request.getSourceLanguage(), segments.size(), parallelism);
+
+        return Flux.range(0, segments.size())
+                .flatMapSequential(index -> convertSegment(request, segments.get(index)), parallelism)
+                .collectList()
+                .map(converted -> reassemble(request, converted))
+                .toFuture();
+    }
+
+    private Mono<ConversionResponse> convertSegment(ConversionRequest request, SourceSegment segment) {
+        ConversionRequest fragment = new ConversionRequest(
+                segment.getCode(), request.getSourceLanguage(), request.getTargetLanguage());
+        return Mono.fromFuture(() -> conversionService.convertFragmentAsync(fragment, segment.getContext()));
+    }
+
+    private ConversionResponse reassemble(ConversionRequest request, List<ConversionResponse> converted) {
+        StringBuilder code = new StringBuilder();
+        TokenUsage usage = null;
+        for (int i = 0; i < converted.size(); i++) {
+            ConversionResponse segment = converted.get(i);
+            if (!segment.isSuccess()) {
+                logger.warn("Segment {} of {} failed: {}", i + 1, converted.size(), segment.getError());
+                return ConversionResponse.error(
+                        "Failed to convert segment " + (i + 1) + " of " + converted.size() + ": " + segment.getError(),
+                        segment.getFailure());
+            }
+            if (code.length() > 0) {
+                code.append("\n\n");
+            }
+            // Drop blank lines around the segment but keep the indentation of its first line
+            code.append(segment.getConvertedCode().replaceFirst("^\\s*\\n", "").stripTrailing());
+            usage = usage == null ? segment.getUsage() : usage.plus(segment.getUsage());
+        }
+        logger.info("Large code conversion successful");
+        ConversionResponse response = new ConversionResponse(
+                code.toString(), request.getSourceLanguage(), request.getTargetLanguage());
+        // Summed over the segments that were converted by Azure OpenAI rather than served from the cache
+        response.setUsage(usage);
+        return response;
+    }
+}
@@ -1,18 +1,34 @@
 package com.ai.aicc.service;
 
+import com.ai.aicc.cache.ConversionCache;
+import com.ai.aicc.cache.FingerprintCache;
+import com.ai.aicc.cache.RequestDigest;
+import com.ai.aicc.fastpath.FastPathConverter;
+import com.ai.aicc.metrics.ConversionMetrics;
+import com.ai.aicc.model.CoalescingStats;
 import com.ai.aicc.model.ConversionRequest;
 import com.ai.aicc.model.ConversionResponse;
-import com.azure.ai.openai.OpenAIClient;
-import com.azure.ai.openai.OpenAIClientBuilder;
+import com.ai.aicc.model.TokenUsage;
+import com.ai.aicc.token.TokenBudget;
+import com.ai.aicc.token.TokenCounter;
+import com.ai.aicc.token.TokenLimitExceededException;
+import com.ai.aicc.upstream.DeploymentRouter;
+import com.ai.aicc.upstream.Priority;
+import com.ai.aicc.upstream.UpstreamScheduler;
 import com.azure.ai.openai.models.*;
-import com.azure.core.credential.AzureKeyCredential;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 /**
  * Service responsible for converting code between different programming languages using Azure OpenAI.
@@ -20,8 +36,23 @@ import java.util.List;
  * <p>This service integrates with Azure OpenAI's GPT models to perform intelligent code conversion
  * between supported languages (Java, Python, SQL). It handles the entire conversion workflow including:
  * <ul>
+ *   <li>Answering simple requests locally through the {@link FastPathConverter}, without a model call</li>
  *   <li>Building appropriate prompts for the AI model</li>
- *   <li>Managing Azure OpenAI client connections</li>
+ *   <li>Counting prompt tokens locally ({@link TokenCounter}) to size maxTokens per call and to reject
+ *       inputs that do not fit the model context before calling it ({@link TokenBudget})</li>
+ *   <li>Serving repeated requests from the {@link ConversionCache}</li>
+ *   <li>Re-targeting cached conversions to near-duplicates (other names or literals) through the
+ *       {@link FingerprintCache}</li>
+ *   <li>Coalescing identical concurrent requests into a single Azure OpenAI call</li>
+ *   <li>Admitting Azure OpenAI calls through the {@link UpstreamScheduler}, which adapts the number
+ *       of concurrent calls to throttling, queues callers by {@link Priority}, keeps interactive and
+ *       batch calls in separate bulkheads and fails calls fast while its circuit breaker is open</li>
+ *   <li>A non-blocking variant ({@link #convertCodeAsync}) built on the async Azure OpenAI client</li>
+ *   <li>A streaming variant ({@link #convertCodeStream}) that emits code as the model generates it</li>
+ *   <li>Spreading Azure OpenAI calls across deployments and failing over between them through the
+ *       {@link DeploymentRouter}</li>
+ *   <li>Recording prompt build and upstream call times, token counts and errors in
+ *       {@link ConversionMetrics}</li>
  *   <li>Processing conversion requests and responses</li>
  *   <li>Error handling and logging</li>
  * </ul>
@@ -32,6 +63,11 @@ import java.util.List;
  *   <li>azure.openai.api-key - Your Azure OpenAI API key</li>
  *   <li>azure.openai.deployment-name - The name of your deployed model</li>
  * </ul>
+ * Further deployments for load balancing are configured as {@code aicc.upstream.deployments[n].*}.
+ *
+ * <p><b>Threading:</b> No monitor ({@code synchronized}) is held around I/O; shared state is guarded
+ * by {@code java.util.concurrent} locks and futures. The blocking path can therefore run on virtual
+ * threads ({@code spring.threads.virtual.enabled=true}) without pinning carrier threads.
  *
  * <p><b>Usage Example:</b>
  * <pre>
@@ -51,63 +87,70 @@ public class CodeConversionService {
     private static final Logger logger = LoggerFactory.getLogger(CodeConversionService.class);
 
     /**
-     * Azure OpenAI endpoint URL.
-     * Format: https://YOUR-RESOURCE-NAME.openai.azure.com/
-     * Injected from application.properties: azure.openai.endpoint
+     * Version of the prompt template built by {@link #buildPrompt} and {@link #callAzureOpenAI}.
+     * Part of the cache key: bump it whenever the prompt or system message changes so that
+     * previously cached conversions are no longer served.
      */
-    @Value("${azure.openai.endpoint}")
-    private String endpoint;
+    public static final String PROMPT_VERSION = "1";
 
-    /**
-     * Azure OpenAI API key for authentication.
-     * This is a sensitive credential - ensure it's not exposed in logs or version control.
-     * Injected from application.properties: azure.openai.api-key
-     */
-    @Value("${azure.openai.api-key}")
-    private String apiKey;
+    /** System message of every conversion call */
+    private static final String SYSTEM_MESSAGE =
+            "You are a code conversion expert. Convert code accurately between different programming languages.";
+
+    /** Tokens the chat format adds: 3 per message plus 3 priming the reply */
+    private static final int CHAT_FORMAT_TOKENS = 9;
 
     /**
      * Name of the deployed model in Azure OpenAI Studio.
      * Common values: gpt-4, gpt-35-turbo, gpt-4-32k
      * Injected from application.properties: azure.openai.deployment-name
+     *
+     * <p>Part of every cache key. Calls themselves go to the deployments of the {@link DeploymentRouter},
+     * which are expected to serve this model.
      */
     @Value("${azure.openai.deployment-name}")
     private String deploymentName;
 
-    /**
-     * Singleton instance of the Azure OpenAI client.
-     * Lazily initialized to optimize resource usage.
-     * Reused across multiple conversion requests to avoid connection overhead.
-     */
-    private OpenAIClient client;
+    /** Template-based converters tried before the cache and Azure OpenAI */
+    @Autowired
+    private FastPathConverter fastPath;
+
+    /** Result cache consulted before any prompt is sent to Azure OpenAI */
+    @Autowired
+    private ConversionCache cache;
+
+    /** Conversion templates consulted after a result cache miss */
+    @Autowired
+    private FingerprintCache fingerprintCache;
 
     /**
-     * Gets or creates the Azure OpenAI client instance.
-     *
-     * <p>This method implements lazy initialization pattern - the client is only created
-     * when first needed and then reused for subsequent requests. This approach:
-     * <ul>
-     *   <li>Reduces startup time by deferring client creation</li>
-     *   <li>Avoids unnecessary connections if service is never used</li>
-     *   <li>Reuses the same client for better performance</li>
-     * </ul>
-     *
-     * <p><b>Thread Safety:</b> This method is not thread-safe. In a multi-threaded environment,
-     * consider adding synchronization or using dependency injection with @Bean.
-     *
-     * @return Configured Azure OpenAI client ready for API calls
-     * @throws IllegalArgumentException if endpoint or API key is invalid
+     * Identical requests in flight at the same time share one Azure OpenAI call.
+     * Keyed by the cache key; the shared value is the converted code.
      */
-    private OpenAIClient getClient() {
-        if (client == null) {
-            // Build client with endpoint and credentials from application.properties
-            client = new OpenAIClientBuilder()
-                    .endpoint(endpoint)
-                    .credential(new AzureKeyCredential(apiKey))
-                    .buildClient();
-        }
-        return client;
-    }
+    private final SingleFlight<String, Completion> inFlight = new SingleFlight<>();
+
+    /** Admission control for every Azure OpenAI call */
+    @Autowired
+    private UpstreamScheduler upstreamScheduler;
+
+    /** Chooses the deployment of every Azure OpenAI call and fails over between deployments */
+    @Autowired
+    private DeploymentRouter router;
+
+    /** Counts prompt tokens before each call */
+    @Autowired
+    private TokenCounter tokenCounter;
+
+    /** Sizes maxTokens from the prompt's token count */
+    @Autowired
+    private TokenBudget tokenBudget;
+
+    /** Timers and counters of the conversion path */
+    @Autowired
+    private ConversionMetrics metrics;
+
+    /** Token count of {@link #SYSTEM_MESSAGE}, computed on first use */
+    private volatile int systemMessageTokens = -1;
 
     /**
      * Converts source code from one programming language to another using Azure OpenAI.
@@ -115,6 +158,10 @@ public class CodeConversionService {
      * <p>This is the main entry point for code conversion. The method:
      * <ol>
      *   <li>Logs the conversion attempt</li>
+     *   <li>Converts simple inputs locally, see {@link FastPathConverter}</li>
+     *   <li>Returns a cached result if an identical request was converted before</li>
+     *   <li>Re-targets a cached conversion if a request differing only in names or literals was converted before</li>
+     *   <li>Joins an identical conversion that is already in flight, if any</li>
      *   <li>Builds an appropriate prompt for the AI model</li>
      *   <li>Calls Azure OpenAI API with the prompt</li>
      *   <li>Returns the converted code or error response</li>
@@ -141,22 +188,385 @@ public class CodeConversionService {
      * @see ConversionResponse
      */
     public ConversionResponse convertCode(ConversionRequest request) {
+        return convertCode(request, Priority.INTERACTIVE);
+    }
+
+    /**
+     * Converts source code like {@link #convertCode(ConversionRequest)}, scheduling the Azure OpenAI
+     * call with the given priority.
+     *
+     * @param request  The conversion request containing source code, source language, and target language
+     * @param priority Scheduling priority of the Azure OpenAI call
+     * @return ConversionResponse with converted code if successful, or error message if failed
+     */
+    public ConversionResponse convertCode(ConversionRequest request, Priority priority) {
         logger.info("Converting code from {} to {}", request.getSourceLanguage(), request.getTargetLanguage());
 
         try {
-            // Build the AI prompt with conversion instructions
-            String prompt = buildPrompt(request);
+            ConversionResponse local = convertLocally(request);
+            if (local != null) {
+                return local;
+            }
 
-            // Call Azure OpenAI API to perform the conversion
-            String convertedCode = callAzureOpenAI(prompt);
+            // Identical requests are answered from the cache without calling Azure OpenAI
+            String cacheKey = cacheKey(request);
+            ConversionResponse cached = cache.get(cacheKey);
+            if (cached != null) {
+                logger.info("Code conversion served from cache");
+                return new ConversionResponse(
+                        cached.getConvertedCode(), request.getSourceLanguage(), request.getTargetLanguage());
+            }
+            ConversionResponse reused = convertFromTemplate(request);
+            if (reused != null) {
+                return reused;
+            }
+
+            // Concurrent identical requests wait for the leader's call instead of issuing their own
+            Completion completion = inFlight.execute(cacheKey,
+                    () -> CompletableFuture.completedFuture(convertUncached(cacheKey, request, priority))).join();
 
             logger.info("Code conversion successful");
-            return new ConversionResponse(convertedCode, request.getSourceLanguage(), request.getTargetLanguage());
+            return completion.toResponse(request);
         } catch (Exception e) {
+            // Unwrap failures delivered through the shared in-flight call
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
             // Log the error and return a user-friendly error response
+            logger.error("Error converting code", cause);
+            metrics.recordError(request, cause);
+            return ConversionResponse.error("Failed to convert code: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Converts source code without blocking the calling thread.
+     *
+     * <p>Behaves like {@link #convertCode}: cached results complete immediately, identical
+     * in-flight requests (blocking or async) share one call, and failures complete the future
+     * with an error response rather than exceptionally. Because no thread is held while the model
+     * generates, a handful of threads can keep thousands of conversions in flight.
+     *
+     * @param request The conversion request containing source code, source language, and target language
+     * @return Future completed with the converted code or an error response; never completed exceptionally
+     */
+    public CompletableFuture<ConversionResponse> convertCodeAsync(ConversionRequest request) {
+        return convertCodeAsync(request, Priority.INTERACTIVE);
+    }
+
+    /**
+     * Converts source code like {@link #convertCodeAsync(ConversionRequest)}, scheduling the Azure
+     * OpenAI call with the given priority.
+     *
+     * @param request  The conversion request containing source code, source language, and target language
+     * @param priority Scheduling priority of the Azure OpenAI call
+     * @return Future completed with the converted code or an error response; never completed exceptionally
+     */
+    public CompletableFuture<ConversionResponse> convertCodeAsync(ConversionRequest request, Priority priority) {
+        logger.info("Converting code asynchronously from {} to {}",
+                request.getSourceLanguage(), request.getTargetLanguage());
+
+        try {
+            ConversionResponse local = convertLocally(request);
+            if (local != null) {
+                return CompletableFuture.completedFuture(local);
+            }
+        } catch (Exception e) {
+            logger.error("Error converting code", e);
+            metrics.recordError(request, e);
+            return CompletableFuture.completedFuture(
+                    ConversionResponse.error("Failed to convert code: " + e.getMessage(), e));
+        }
+        return convertAsync(request, () -> cacheKey(request), () -> buildPrompt(request), priority, true);
+    }
+
+    /**
+     * Converts one segment of a larger source file without blocking the calling thread.
+     *
+     * <p>The model is told that the code is a fragment whose converted output will be concatenated
+     * with that of the other segments, and is given the segment's context (imports, enclosing
+     * declarations) for reference only. Fragments are cached and coalesced like whole requests,
+     * keyed by both code and context.
+     *
+     * @param fragment Request holding the segment's code and the languages of the whole file
+     * @param context  Declarations the segment depends on, or {@code null}
+     * @return Future completed with the converted segment or an error response; never completed exceptionally
+     * @see com.ai.aicc.chunk.SourceSegmenter
+     */
+    public CompletableFuture<ConversionResponse> convertFragmentAsync(ConversionRequest fragment, String context) {
+        logger.debug("Converting {} character fragment from {} to {}", fragment.getSourceCode().length(),
+                fragment.getSourceLanguage(), fragment.getTargetLanguage());
+
+        String contextText = context == null ? "" : context;
+        return convertAsync(fragment,
+                () -> RequestDigest.of(new ConversionRequest(contextText + "\n\u0000\n" + fragment.getSourceCode(),
+                        fragment.getSourceLanguage(), fragment.getTargetLanguage()),
+                        deploymentName, PROMPT_VERSION + "-fragment"),
+                () -> buildFragmentPrompt(fragment, contextText), Priority.INTERACTIVE, false);
+    }
+
+    /**
+     * Converts one file of a project without blocking the calling thread, given the converted
+     * declarations of the files it depends on.
+     *
+     * <p>The context lets the model use the names and signatures the dependencies were converted to
+     * instead of guessing them. Results are cached and coalesced keyed by both code and context;
+     * without context this is {@link #convertCodeAsync(ConversionRequest, Priority)}.
+     *
+     * @param request  Request holding the file's code and languages
+     * @param context  Converted declarations of the file's dependencies, or {@code null}
+     * @param priority Scheduling priority of the Azure OpenAI call
+     * @return Future completed with the converted file or an error response; never completed exceptionally
+     * @see com.ai.aicc.project.ProjectConversionService
+     */
+    public CompletableFuture<ConversionResponse> convertWithContextAsync(ConversionRequest request, String context,
+                                                                         Priority priority) {
+        if (context == null || context.isBlank()) {
+            return convertCodeAsync(request, priority);
+        }
+        logger.debug("Converting {} character file from {} to {} with {} characters of context",
+                request.getSourceCode().length(), request.getSourceLanguage(), request.getTargetLanguage(),
+                context.length());
+
+        return convertAsync(request,
+                () -> RequestDigest.of(new ConversionRequest(context + "\n\u0000\n" + request.getSourceCode(),
+                        request.getSourceLanguage(), request.getTargetLanguage()),
+                        deploymentName, PROMPT_VERSION + "-project"),
+                () -> buildContextPrompt(request, context), priority, false);
+    }
+
+    /**
+     * Shared implementation of the non-blocking conversions: cache lookup, coalescing of identical
+     * in-flight calls and mapping of failures to error responses.
+     *
+     * @param request  The conversion request
+     * @param cacheKey Computes the result cache key
+     * @param prompt   Builds the prompt, only invoked when Azure OpenAI is actually called
+     * @param priority  Scheduling priority of the Azure OpenAI call
+     * @param templated Whether the {@link FingerprintCache} applies; false for fragments, whose
+     *                  conversion depends on their context
+     * @return Future completed with the converted code or an error response
+     */
+    private CompletableFuture<ConversionResponse> convertAsync(ConversionRequest request, Supplier<String> cacheKey,
+                                                               Supplier<Prompt> prompt, Priority priority,
+                                                               boolean templated) {
+        try {
+            String key = cacheKey.get();
+            ConversionResponse cached = cache.get(key);
+            if (cached != null) {
+                logger.info("Code conversion served from cache");
+                return CompletableFuture.completedFuture(new ConversionResponse(
+                        cached.getConvertedCode(), request.getSourceLanguage(), request.getTargetLanguage()));
+            }
+            ConversionResponse reused = templated ? convertFromTemplate(request) : null;
+            if (reused != null) {
+                return CompletableFuture.completedFuture(reused);
+            }
+
+            return inFlight.execute(key, () -> convertUncachedAsync(key, request, prompt, priority, templated))
+                    .handle((completion, failure) -> {
+                        if (failure != null) {
+                            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                                    ? failure.getCause() : failure;
+                            logger.error("Error converting code", cause);
+                            metrics.recordError(request, cause);
+                            return ConversionResponse.error("Failed to convert code: " + cause.getMessage(), cause);
+                        }
+                        logger.info("Code conversion successful");
+                        return completion.toResponse(request);
+                    });
+        } catch (Exception e) {
             logger.error("Error converting code", e);
-            return ConversionResponse.error("Failed to convert code: " + e.getMessage());
+            metrics.recordError(request, e);
+            return CompletableFuture.completedFuture(
+                    ConversionResponse.error("Failed to convert code: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Streams the converted code as the model generates it.
+     *
+     * <p>Each element is the next fragment of the converted code; concatenated they form the same
+     * result {@link #convertCode} would return. A cached result is emitted as a single fragment.
+     * Once the stream completes successfully the full result is cached, which costs at most the
+     * size of one completion (bounded by maxTokens) per stream.
+     *
+     * <p>Unlike the other variants, failures are signalled as a stream error so fragments already
+     * sent can be followed by an error event. Streams are not coalesced with other requests.
+     *
+     * @param request The conversion request containing source code, source language, and target language
+     * @return Cold stream of converted code fragments
+     */
+    public Flux<String> convertCodeStream(ConversionRequest request) {
+        logger.info("Streaming code conversion from {} to {}", request.getSourceLanguage(), request.getTargetLanguage());
+
+        return Flux.defer(() -> {
+            ConversionResponse local = convertLocally(request);
+            if (local != null) {
+                return Flux.just(local.getConvertedCode());
+            }
+
+            String cacheKey = cacheKey(request);
+            ConversionResponse cached = cache.get(cacheKey);
+            if (cached != null) {
+                logger.info("Code conversion served from cache");
+                return Flux.just(cached.getConvertedCode());
+            }
+            ConversionResponse reused = convertFromTemplate(request);
+            if (reused != null) {
+                return Flux.just(reused.getConvertedCode());
+            }
+
+            // Rejected before waiting for a permit if the source does not fit the model context
+            Prompt prompt = buildPrompt(request);
+            ChatCompletionsOptions options = buildChatOptions(prompt);
+
+            // The permit is held until the stream completes, fails or is cancelled by the client
+            StringBuilder convertedCode = new StringBuilder();
+            return Flux.usingWhen(
+                            Mono.fromFuture(() -> upstreamScheduler.acquire(Priority.INTERACTIVE)),
+                            permit -> timed(prompt, router.stream(prompt.budgetTokens(), deployment -> deployment
+                                    .asyncClient().getChatCompletionsStream(deployment.deploymentName(), options))),
+                            permit -> Mono.fromRunnable(() ->
+                                    permit.release(null, tokenCounter.count(convertedCode.toString()))),
+                            (permit, e) -> Mono.fromRunnable(() -> permit.release(e)),
+                            permit -> Mono.fromRunnable(() -> permit.release(null)))
+                    .doOnNext(this::checkNotTruncated)
+                    .mapNotNull(this::extractDelta)
+                    .doOnNext(convertedCode::append)
+                    .doOnComplete(() -> {
+                        logger.info("Streaming code conversion successful");
+                        metrics.recordTokens(request, new TokenUsage(prompt.promptTokens,
+                                tokenCounter.count(convertedCode.toString()), prompt.maxTokens));
+                        cache.put(cacheKey, new ConversionResponse(convertedCode.toString(),
+                                request.getSourceLanguage(), request.getTargetLanguage()));
+                        fingerprintCache.put(request, convertedCode.toString(), deploymentName, PROMPT_VERSION);
+                    })
+                    .doOnError(e -> {
+                        logger.error("Error streaming code conversion", e);
+                        metrics.recordError(request, e);
+                    });
+        });
+    }
+
+    /**
+     * Converts the request from a local template if one applies. Local results are not cached:
+     * producing them again is cheaper than a cache lookup.
+     *
+     * @param request The conversion request
+     * @return The converted code, or null if the request needs Azure OpenAI
+     */
+    private ConversionResponse convertLocally(ConversionRequest request) {
+        String convertedCode = fastPath.tryConvert(request).orElse(null);
+        if (convertedCode == null) {
+            return null;
+        }
+        logger.info("Code conversion served by local fast path");
+        return new ConversionResponse(convertedCode, request.getSourceLanguage(), request.getTargetLanguage());
+    }
+
+    /**
+     * Converts the request from the template of an earlier request that differed only in names or
+     * literal values, see {@link FingerprintCache}.
+     *
+     * @param request The conversion request
+     * @return The converted code, or null if no usable template exists
+     */
+    private ConversionResponse convertFromTemplate(ConversionRequest request) {
+        String convertedCode = fingerprintCache.get(request, deploymentName, PROMPT_VERSION);
+        if (convertedCode == null) {
+            return null;
         }
+        logger.info("Code conversion served from fingerprint cache");
+        return new ConversionResponse(convertedCode, request.getSourceLanguage(), request.getTargetLanguage());
+    }
+
+    /**
+     * Removes the conversion template a request would be answered from.
+     *
+     * @param request The conversion request
+     * @return true if a template was removed
+     */
+    public boolean invalidateTemplate(ConversionRequest request) {
+        return fingerprintCache.invalidate(request, deploymentName, PROMPT_VERSION);
+    }
+
+    /**
+     * Performs the Azure OpenAI call for a request that missed the cache and caches the result.
+     *
+     * <p>The cache is checked once more because an identical call may have completed between
+     * the caller's lookup and it becoming the in-flight leader.
+     *
+     * @param cacheKey Request digest
+     * @param request  The conversion request
+     * @param priority Scheduling priority of the Azure OpenAI call
+     * @return The converted code and the call's token usage
+     */
+    private Completion convertUncached(String cacheKey, ConversionRequest request, Priority priority) {
+        ConversionResponse cached = cache.peek(cacheKey);
+        if (cached != null) {
+            return new Completion(cached.getConvertedCode(), null);
+        }
+
+        // Build the AI prompt with conversion instructions
+        Prompt prompt = buildPrompt(request);
+
+        // Call Azure OpenAI API to perform the conversion
+        Completion completion = callAzureOpenAI(prompt, priority);
+
+        cache.put(cacheKey, new ConversionResponse(
+                completion.code, request.getSourceLanguage(), request.getTargetLanguage()));
+        fingerprintCache.put(request, completion.code, deploymentName, PROMPT_VERSION);
+        return completion;
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #convertUncached}.
+     *
+     * @param cacheKey Request digest
+     * @param request  The conversion request
+     * @param prompt   Builds the prompt sent to Azure OpenAI
+     * @param priority  Scheduling priority of the Azure OpenAI call
+     * @param templated Whether to store the result in the {@link FingerprintCache}
+     * @return Future of the converted code and the call's token usage
+     */
+    private CompletableFuture<Completion> convertUncachedAsync(String cacheKey, ConversionRequest request,
+                                                               Supplier<Prompt> prompt, Priority priority,
+                                                               boolean templated) {
+        ConversionResponse cached = cache.peek(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(new Completion(cached.getConvertedCode(), null));
+        }
+
+        return callAzureOpenAIAsync(prompt.get(), priority).thenApply(completion -> {
+            cache.put(cacheKey, new ConversionResponse(
+                    completion.code, request.getSourceLanguage(), request.getTargetLanguage()));
+            if (templated) {
+                fingerprintCache.put(request, completion.code, deploymentName, PROMPT_VERSION);
+            }
+            return completion;
+        });
+    }
+
+    /**
+     * Returns how many requests were served by sharing an identical in-flight conversion.
+     *
+     * @return Current coalescing counters
+     */
+    public CoalescingStats getCoalescingStats() {
+        return new CoalescingStats(inFlight.inFlight(), inFlight.executions(), inFlight.coalesced());
+    }
+
+    /**
+     * Computes the result cache key for a request.
+     *
+     * <p>The key covers the normalized source code, both languages, the deployment name and
+     * {@link #PROMPT_VERSION}, see {@link RequestDigest}.
+     *
+     * @param request The conversion request
+     * @return Hex-encoded request digest
+     */
+    public String cacheKey(ConversionRequest request) {
+        return RequestDigest.of(request, deploymentName, PROMPT_VERSION);
     }
 
     /**
@@ -181,16 +591,98 @@ public class CodeConversionService {
      * is critical to ensure the AI returns clean, executable code rather than markdown-wrapped
      * code with commentary.
      *
+     * <p>Package-private for the prompt benchmark in the {@code benchmarks} module.
+     *
      * @param request The conversion request containing source language, target language, and code
-     * @return A formatted prompt string ready for the AI model
+     * @return The prompt ready for the AI model, with its token budget
+     * @throws com.ai.aicc.token.TokenLimitExceededException if the source does not fit the model context
+     */
+    Prompt buildPrompt(ConversionRequest request) {
+        return prompt(request, "Convert the following " + request.getSourceLanguage() + " code to "
+                + request.getTargetLanguage() + ". Only return the converted code without explanations:\n\n",
+                request.getSourceCode());
+    }
+
+    /**
+     * Builds the prompt for one segment of a file that is converted piece by piece.
+     *
+     * <p>Besides the instructions of {@link #buildPrompt}, the model is asked to convert only the
+     * fragment (no closing braces or members it does not contain) and to keep its indentation, so
+     * that the converted segments can be concatenated in order.
+     *
+     * @param fragment The segment to convert
+     * @param context  Declarations the segment depends on; may be empty
+     * @return The prompt ready for the AI model, with its token budget
+     * @throws com.ai.aicc.token.TokenLimitExceededException if the fragment does not fit the model context
+     */
+    private Prompt buildFragmentPrompt(ConversionRequest fragment, String context) {
+        StringBuilder instructions = new StringBuilder(String.format(
+                "Convert the following %s code fragment to %s. The fragment is one consecutive part of a larger file; "
+                        + "the converted parts are concatenated in order. Convert only the fragment, keep its "
+                        + "indentation, and do not add code it does not contain, such as closing braces or missing "
+                        + "declarations. Only return the converted code without explanations.\n\n",
+                fragment.getSourceLanguage(),
+                fragment.getTargetLanguage()));
+        if (!context.isEmpty()) {
+            instructions.append("Context (converted separately, for reference only - do not repeat it):\n\n")
+                    .append(context)
+                    .append("\n\nFragment to convert:\n\n");
+        }
+        return prompt(fragment, instructions.toString(), fragment.getSourceCode());
+    }
+
+    /**
+     * Builds the prompt for one file of a project whose dependencies were converted before it.
+     *
+     * @param request The file to convert
+     * @param context Converted declarations of the file's dependencies
+     * @return The prompt ready for the AI model, with its token budget
+     * @throws com.ai.aicc.token.TokenLimitExceededException if the file does not fit the model context
+     */
+    private Prompt buildContextPrompt(ConversionRequest request, String context) {
+        String instructions = "Convert the following " + request.getSourceLanguage() + " file to "
+                + request.getTargetLanguage() + ". It is part of a project whose other files are converted separately. "
+                + "Use the names and signatures of the already converted declarations below when the file refers to "
+                + "them, but do not repeat them. Only return the converted code without explanations.\n\n"
+                + "Converted declarations (for reference only):\n\n" + context + "\n\nFile to convert:\n\n";
+        return prompt(request, instructions, request.getSourceCode());
+    }
+
+    /**
+     * Appends the source code to the instructions and computes the call's token budget.
+     *
+     * <p>Instructions and source are counted separately, so the source count is available for
+     * estimating the output without tokenizing the source twice. Splitting the text can change the
+     * count by a token at the boundary, which the budget's output reserve absorbs.
+     *
+     * <p>The concatenation copies the source once, into an array of the exact combined length,
+     * without an intermediate buffer.
+     *
+     * @param request      The request the prompt is built for, used to tag metrics
+     * @param instructions Prompt text preceding the source code
+     * @param source       The code to convert
+     * @return The prompt with its token counts and maxTokens
+     * @throws com.ai.aicc.token.TokenLimitExceededException if the prompt does not fit the model context
      */
-    private String buildPrompt(ConversionRequest request) {
-        return String.format(
-                "Convert the following %s code to %s. Only return the converted code without explanations:\n\n%s",
-                request.getSourceLanguage(),
-                request.getTargetLanguage(),
-                request.getSourceCode()
-        );
+    private Prompt prompt(ConversionRequest request, String instructions, String source) {
+        long start = System.nanoTime();
+        int systemTokens = systemMessageTokens;
+        if (systemTokens < 0) {
+            systemTokens = tokenCounter.count(SYSTEM_MESSAGE);
+            systemMessageTokens = systemTokens;
+        }
+        int sourceTokens = tokenCounter.count(source);
+        int promptTokens = CHAT_FORMAT_TOKENS + systemTokens + tokenCounter.count(instructions) + sourceTokens;
+        int maxTokens;
+        try {
+            maxTokens = tokenBudget.maxTokens(promptTokens, sourceTokens);
+        } catch (TokenLimitExceededException e) {
+            metrics.recordPromptBuild(request, false, System.nanoTime() - start);
+            throw e;
+        }
+        Prompt prompt = new Prompt(request, instructions + source, promptTokens, maxTokens);
+        metrics.recordPromptBuild(request, true, System.nanoTime() - start);
+        return prompt;
     }
 
     /**
@@ -207,8 +699,8 @@ public class CodeConversionService {
      *
      * <p><b>Configuration Parameters:</b>
      * <ul>
-     *   <li><b>maxTokens (2000):</b> Sufficient for most code conversions including classes.
-     *       Increase if converting very large files.</li>
+     *   <li><b>maxTokens:</b> Sized per call by the {@link TokenBudget} from the source's token count,
+     *       so small inputs do not reserve a large completion and large ones are not truncated.</li>
      *   <li><b>temperature (0.3):</b> Low temperature for deterministic, consistent output.
      *       Higher values (0.7-1.0) produce more creative but less predictable results.</li>
      * </ul>
@@ -219,42 +711,217 @@ public class CodeConversionService {
      * <p><b>Cost Considerations:</b> Each call consumes tokens based on input (prompt) and
      * output (converted code) length. Monitor usage in Azure Portal.
      *
-     * @param prompt The formatted prompt instructing the AI what to convert
-     * @return The converted code as a string
-     * @throws RuntimeException if Azure OpenAI returns no response or connection fails
+     * <p><b>Admission Control:</b> The call waits for a permit from the {@link UpstreamScheduler}
+     * and releases it when the response arrives, reporting 429s and timeouts so the concurrency
+     * limit adapts.
+     *
+     * <p><b>Hedging:</b> With {@code aicc.upstream.hedging.enabled}, a call slower than the recent
+     * latency percentile is duplicated by the {@link DeploymentRouter} and the first answer wins.
+     *
+     * @param prompt   The prompt instructing the AI what to convert
+     * @param priority Scheduling priority of the call
+     * @return The converted code and the call's token usage
+     * @throws RuntimeException if Azure OpenAI returns no response, the output was truncated, or connection fails
      * @throws com.azure.core.exception.HttpResponseException if API credentials are invalid
+     * @throws com.ai.aicc.upstream.UpstreamRejectedException if the call was not admitted in time
+     * @throws com.ai.aicc.upstream.CircuitOpenException if recent calls failed and calls are suspended
      */
-    private String callAzureOpenAI(String prompt) {
+    private Completion callAzureOpenAI(Prompt prompt, Priority priority) {
+        // Execute the API call
+        ChatCompletionsOptions options = buildChatOptions(prompt);
+        ChatCompletions completions = upstreamScheduler.call(priority, () -> {
+            long start = System.nanoTime();
+            try {
+                // Hedging needs attempts that can be cancelled, so hedged calls wait on the async client
+                ChatCompletions result = router.isHedging()
+                        ? router.callAsync(prompt.budgetTokens(), () -> upstreamScheduler.tryAcquire(priority),
+                                deployment -> deployment.asyncClient()
+                                        .getChatCompletions(deployment.deploymentName(), options).toFuture()).join()
+                        : router.call(prompt.budgetTokens(), deployment -> deployment.client()
+                                .getChatCompletions(deployment.deploymentName(), options));
+                metrics.recordUpstreamCall(prompt.request, null, System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException e) {
+                metrics.recordUpstreamCall(prompt.request, e, System.nanoTime() - start);
+                throw e;
+            }
+        }, CodeConversionService::completionTokens);
+
+        return extractCompletion(completions, prompt);
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #callAzureOpenAI} using the same messages and parameters.
+     *
+     * @param prompt   The prompt instructing the AI what to convert
+     * @param priority Scheduling priority of the call
+     * @return Future of the converted code and token usage, completed on the HTTP client's event loop
+     */
+    private CompletableFuture<Completion> callAzureOpenAIAsync(Prompt prompt, Priority priority) {
+        ChatCompletionsOptions options = buildChatOptions(prompt);
+        return upstreamScheduler.callAsync(priority, () -> {
+                    long start = System.nanoTime();
+                    return router.callAsync(prompt.budgetTokens(), () -> upstreamScheduler.tryAcquire(priority),
+                                    deployment -> deployment.asyncClient()
+                                            .getChatCompletions(deployment.deploymentName(), options).toFuture())
+                            .whenComplete((completions, failure) ->
+                                    metrics.recordUpstreamCall(prompt.request, failure, System.nanoTime() - start));
+                }, CodeConversionService::completionTokens)
+                .thenApply(completions -> extractCompletion(completions, prompt));
+    }
+
+    /**
+     * Records the duration of a streaming call, from subscription to its last chunk or failure.
+     * Streams cancelled by the client are not recorded.
+     *
+     * @param prompt The prompt being streamed
+     * @param chunks The streaming call
+     * @return The same chunks
+     */
+    private Flux<ChatCompletions> timed(Prompt prompt, Flux<ChatCompletions> chunks) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return chunks
+                    .doOnComplete(() -> metrics.recordUpstreamCall(prompt.request, null, System.nanoTime() - start))
+                    .doOnError(e -> metrics.recordUpstreamCall(prompt.request, e, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Builds the chat completion request: system and user messages plus sampling parameters.
+     *
+     * @param prompt The prompt instructing the AI what to convert
+     * @return Options for a chat completions call
+     */
+    private ChatCompletionsOptions buildChatOptions(Prompt prompt) {
         // Prepare the conversation messages
         List<ChatRequestMessage> messages = new ArrayList<>();
 
         // System message: Defines the AI's role and behavior
-        messages.add(new ChatRequestSystemMessage(
-                "You are a code conversion expert. Convert code accurately between different programming languages."
-        ));
+        messages.add(new ChatRequestSystemMessage(SYSTEM_MESSAGE));
 
         // User message: Contains the actual conversion request
-        messages.add(new ChatRequestUserMessage(prompt));
+        messages.add(new ChatRequestUserMessage(prompt.text));
 
         // Configure the chat completion options
         ChatCompletionsOptions options = new ChatCompletionsOptions(messages);
 
-        // Max tokens: Maximum length of the response (adjust for larger code files)
-        options.setMaxTokens(2000);
+        // Max tokens: Expected length of the converted code, bounded by the remaining context
+        options.setMaxTokens(prompt.maxTokens);
 
         // Temperature: Controls randomness (0.0 = deterministic, 1.0 = creative)
         // Lower temperature (0.3) ensures consistent, reliable code conversion
         options.setTemperature(0.3);
 
-        // Execute the API call
-        ChatCompletions completions = getClient().getChatCompletions(deploymentName, options);
+        return options;
+    }
 
+    /**
+     * Extracts the newly generated text from a streamed completion chunk.
+     *
+     * @param chunk A partial completion from a streaming call
+     * @return The delta content, or null for chunks without content (e.g. role or filter updates)
+     */
+    private String extractDelta(ChatCompletions chunk) {
+        if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+            return null;
+        }
+        ChatResponseMessage delta = chunk.getChoices().get(0).getDelta();
+        if (delta == null || delta.getContent() == null || delta.getContent().isEmpty()) {
+            return null;
+        }
+        return delta.getContent();
+    }
+
+    /**
+     * Fails a completion that stopped at maxTokens. Truncated code would otherwise be returned
+     * and cached as if it were a complete conversion.
+     *
+     * @param completions A completion or streamed completion chunk
+     * @throws RuntimeException if the first choice was cut off by the token limit
+     */
+    private void checkNotTruncated(ChatCompletions completions) {
+        if (completions.getChoices() != null && !completions.getChoices().isEmpty()
+                && CompletionsFinishReason.TOKEN_LIMIT_REACHED.equals(completions.getChoices().get(0).getFinishReason())) {
+            throw new RuntimeException("Converted code exceeded the token limit of the model and was truncated; "
+                    + "use /api/convert/large to convert it in segments");
+        }
+    }
+
+    /**
+     * Extracts the converted code from the first choice of a completion.
+     *
+     * <p>Token usage is taken from the completion. If the response carries none, it is estimated
+     * from the local prompt count and the converted code.
+     *
+     * @param completions The chat completion returned by Azure OpenAI
+     * @param prompt      The prompt the completion answers
+     * @return The converted code and the call's token usage
+     * @throws RuntimeException if the completion contains no choices or was truncated
+     */
+    private Completion extractCompletion(ChatCompletions completions, Prompt prompt) {
         // Extract and return the converted code from the first choice
         if (completions.getChoices() != null && !completions.getChoices().isEmpty()) {
-            return completions.getChoices().get(0).getMessage().getContent();
+            checkNotTruncated(completions);
+            String convertedCode = completions.getChoices().get(0).getMessage().getContent();
+            CompletionsUsage usage = completions.getUsage();
+            TokenUsage tokens = usage != null
+                    ? new TokenUsage(usage.getPromptTokens(), usage.getCompletionTokens(), prompt.maxTokens)
+                    : new TokenUsage(prompt.promptTokens, tokenCounter.count(convertedCode), prompt.maxTokens);
+            metrics.recordTokens(prompt.request, tokens);
+            return new Completion(convertedCode, tokens);
         }
 
         // Throw exception if no response received (unlikely but possible)
         throw new RuntimeException("No response from Azure OpenAI");
     }
+
+    /**
+     * @return Completion tokens Azure OpenAI reported for the call, or 0 if it reported no usage
+     */
+    private static int completionTokens(ChatCompletions completions) {
+        CompletionsUsage usage = completions != null ? completions.getUsage() : null;
+        return usage != null ? usage.getCompletionTokens() : 0;
+    }
+
+    /** Prompt text with the token counts computed while building it */
+    static final class Prompt {
+        final ConversionRequest request;
+        final String text;
+        final int promptTokens;
+        final int maxTokens;
+
+        Prompt(ConversionRequest request, String text, int promptTokens, int maxTokens) {
+            this.request = request;
+            this.text = text;
+            this.promptTokens = promptTokens;
+            this.maxTokens = maxTokens;
+        }
+
+        /** Tokens Azure OpenAI counts against the deployment's quota when the call is made */
+        int budgetTokens() {
+            return promptTokens + maxTokens;
+        }
+    }
+
+    /**
+     * Result of one Azure OpenAI call, shared by coalesced requests. Usage is null if the
+     * code came from the cache.
+     */
+    private static final class Completion {
+        final String code;
+        final TokenUsage usage;
+
+        Completion(String code, TokenUsage usage) {
+            this.code = code;
+            this.usage = usage;
+        }
+
+        ConversionResponse toResponse(ConversionRequest request) {
+            ConversionResponse response = new ConversionResponse(
+                    code, request.getSourceLanguage(), request.getTargetLanguage());
+            response.setUsage(usage);
+            return response;
+        }
+    }
 }
@@ -0,0 +1,214 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.chunk.SourceSegment;
+import com.ai.aicc.chunk.SourceSegmenter;
+import com.ai.aicc.incremental.ConvertedRegion;
+import com.ai.aicc.incremental.DocumentRevision;
+import com.ai.aicc.incremental.DocumentStore;
+import com.ai.aicc.incremental.RevisionDiff;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.DocumentConversionResponse;
+import com.ai.aicc.model.TokenUsage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Converts new revisions of a versioned document by reconverting only what changed.
+ *
+ * <p>The first conversion of a document splits it with the {@link SourceSegmenter} into regions of
+ * at most {@code aicc.incremental.max-region-chars}, converts them like large-input mode does and
+ * keeps each region's conversion in the {@link DocumentStore}. A later revision is diffed against
+ * those regions ({@link RevisionDiff}): unchanged regions are reused as they are, and only the lines
+ * between them are split and converted, with the new file's imports and enclosing declarations as
+ * context. Latency and tokens therefore scale with the size of the edit, rounded up to whole
+ * regions, instead of with the size of the file.
+ *
+ * <p>A document converted between other languages than before, or unknown to the store, is
+ * converted in full. If any region fails, the conversion fails and the previous revision is kept.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.incremental.max-region-chars - Target maximum size of a region; smaller regions make
+ *       edits cheaper but give the model less surrounding code</li>
+ *   <li>aicc.chunk.parallelism - Regions of one document converted concurrently</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see ChunkedConversionService
+ */
+@Service
+public class IncrementalConversionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalConversionService.class);
+
+    @Autowired
+    private CodeConversionService conversionService;
+
+    @Autowired
+    private SourceSegmenter segmenter;
+
+    @Autowired
+    private DocumentStore store;
+
+    /** Target maximum size of a region; roughly 500 tokens */
+    @Value("${aicc.incremental.max-region-chars:2000}")
+    private int maxRegionChars;
+
+    /** Maximum number of regions of one document converted concurrently */
+    @Value("${aicc.chunk.parallelism:8}")
+    private int parallelism;
+
+    /**
+     * Converts a new revision of a document, reusing the unchanged regions of the previous one.
+     *
+     * @param documentId Client-chosen identifier of the document
+     * @param request    The document's new source code and the conversion's languages
+     * @return Future completed with the converted document or an error response; never completed exceptionally
+     */
+    public CompletableFuture<DocumentConversionResponse> convert(String documentId, ConversionRequest request) {
+        String source = request.getSourceCode().replace("\r\n", "\n");
+        List<String> lines = Arrays.asList(source.split("\n", -1));
+        DocumentRevision previous = store.get(documentId);
+
+        List<RevisionDiff.Part> parts = new ArrayList<>();
+        List<Region> changed = new ArrayList<>();
+        try {
+            List<ConvertedRegion> regions = previous != null
+                    && previous.converts(request.getSourceLanguage(), request.getTargetLanguage())
+                    ? previous.getRegions() : List.of();
+            parts.addAll(RevisionDiff.align(regions, lines,
+                    regions.isEmpty() ? List.of() : segmenter.cuts(source, request.getSourceLanguage())));
+            for (int i = 0; i < parts.size(); i++) {
+                if (parts.get(i).isChanged()) {
+                    changed.addAll(split(source, lines, i, parts.get(i), request.getSourceLanguage()));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error diffing document {}", documentId, e);
+            return CompletableFuture.completedFuture(new DocumentConversionResponse(documentId, 0, 0, 0,
+                    ConversionResponse.error("Failed to convert code: " + e.getMessage())));
+        }
+
+        int convertedLines = changedLines(parts);
+        int reusedLines = lines.size() - convertedLines;
+        int revision = previous == null ? 1 : previous.getRevision() + 1;
+        logger.info("Converting revision {} of document {}: {} of {} lines changed, {} region(s) to convert",
+                revision, documentId, convertedLines, lines.size(), changed.size());
+
+        boolean whole = parts.size() == 1 && changed.size() == 1;
+        return Flux.fromIterable(changed)
+                .flatMapSequential(region -> whole
+                        ? Mono.fromFuture(() -> conversionService.convertCodeAsync(new ConversionRequest(
+                                region.code, request.getSourceLanguage(), request.getTargetLanguage())))
+                        : convertRegion(request, region), parallelism)
+                .collectList()
+                .map(converted -> assemble(documentId, revision, request, parts, changed, converted,
+                        reusedLines, convertedLines))
+                .toFuture();
+    }
+
+    /**
+     * Forgets a document, so that its next conversion is a full one.
+     *
+     * @return true if the document was known
+     */
+    public boolean forget(String documentId) {
+        return store.remove(documentId);
+    }
+
+    /**
+     * Splits the changed lines into regions, each with the context it has in the whole new source.
+     */
+    private List<Region> split(String source, List<String> lines, int index, RevisionDiff.Part part,
+                               String language) {
+        boolean wholeFile = part.getFrom() == 0 && part.getTo() == lines.size();
+        String text = wholeFile ? source : String.join("\n", lines.subList(part.getFrom(), part.getTo()));
+        List<Region> regions = new ArrayList<>();
+        int line = part.getFrom();
+        for (SourceSegment segment : segmenter.split(text, language, maxRegionChars)) {
+            String context = wholeFile ? segment.getContext() : segmenter.contextAt(source, language, line);
+            regions.add(new Region(index, segment.getCode(), context));
+            line += segment.getCode().split("\n", -1).length;
+        }
+        return regions;
+    }
+
+    private Mono<ConversionResponse> convertRegion(ConversionRequest request, Region region) {
+        ConversionRequest fragment = new ConversionRequest(
+                region.code, request.getSourceLanguage(), request.getTargetLanguage());
+        return Mono.fromFuture(() -> conversionService.convertFragmentAsync(fragment, region.context));
+    }
+
+    /**
+     * Splices the converted regions between the reused ones and stores the new revision.
+     */
+    private DocumentConversionResponse assemble(String documentId, int revision, ConversionRequest request,
+                                                List<RevisionDiff.Part> parts, List<Region> changed,
+                                                List<ConversionResponse> converted, int reusedLines,
+                                                int convertedLines) {
+        List<ConvertedRegion> regions = new ArrayList<>();
+        TokenUsage usage = null;
+        int next = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            if (!parts.get(i).isChanged()) {
+                regions.add(parts.get(i).getRegion());
+                continue;
+            }
+            for (; next < changed.size() && changed.get(next).part == i; next++) {
+                ConversionResponse response = converted.get(next);
+                if (!response.isSuccess()) {
+                    logger.warn("Region {} of document {} failed: {}", next + 1, documentId, response.getError());
+                    return new DocumentConversionResponse(documentId, 0, reusedLines, convertedLines,
+                            ConversionResponse.error("Failed to convert region " + (next + 1) + " of "
+                                    + changed.size() + ": " + response.getError(), response.getFailure()));
+                }
+                // Drop blank lines around the region but keep the indentation of its first line
+                regions.add(new ConvertedRegion(changed.get(next).code,
+                        response.getConvertedCode().replaceFirst("^\\s*\\n", "").stripTrailing()));
+                usage = usage == null ? response.getUsage() : usage.plus(response.getUsage());
+            }
+        }
+        store.put(documentId, new DocumentRevision(revision, request.getSourceLanguage(),
+                request.getTargetLanguage(), regions));
+
+        StringBuilder code = new StringBuilder();
+        for (ConvertedRegion region : regions) {
+            if (region.getConvertedCode().isEmpty()) {
+                continue;
+            }
+            if (code.length() > 0) {
+                code.append("\n\n");
+            }
+            code.append(region.getConvertedCode());
+        }
+        ConversionResponse response = new ConversionResponse(
+                code.toString(), request.getSourceLanguage(), request.getTargetLanguage());
+        // Summed over the regions converted by Azure OpenAI for this revision
+        response.setUsage(usage);
+        return new DocumentConversionResponse(documentId, revision, reusedLines, convertedLines, response);
+    }
+
+    private static int changedLines(List<RevisionDiff.Part> parts) {
+        int lines = 0;
+        for (RevisionDiff.Part part : parts) {
+            lines += part.isChanged() ? part.getTo() - part.getFrom() : 0;
+        }
+        return lines;
+    }
+
+    /** A changed region to convert, the index of the diff part it belongs to, and its context */
+    private record Region(int part, String code, String context) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.ai.aicc.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ *
+ * <p>The first caller for a key (the leader) runs the call; callers arriving while it is still
+ * in flight receive the leader's result instead of starting their own. Once the call completes
+ * the key is released, so later callers execute again (typically hitting a cache by then).
+ *
+ * <p>Every caller receives its own dependent future, so cancelling one caller's future never
+ * cancels the shared execution or the other callers.
+ *
+ * <p><b>Example:</b>
+ * <pre>
+ * String code = singleFlight.execute(digest, () -&gt; callUpstreamAsync(prompt)).join();
+ * </pre>
+ *
+ * @param <K> Key type identifying identical calls
+ * @param <V> Result type
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Runs the call unless an identical one is already in flight.
+     *
+     * <p>If the supplier itself throws, the exception is delivered through the returned future.
+     *
+     * @param key  Identity of the call
+     * @param call Starts the call; only invoked by the leader
+     * @return Future completed with the shared result
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing.copy();
+        }
+        executions.incrementAndGet();
+        try {
+            call.get().whenComplete((value, failure) -> {
+                // Release the key before completing so late arrivals never join a finished call
+                inFlight.remove(key, promise);
+                if (failure != null) {
+                    promise.completeExceptionally(failure);
+                } else {
+                    promise.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise.copy();
+    }
+
+    /** @return Number of calls currently in flight */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /** @return Number of calls actually executed (leaders) */
+    public long executions() {
+        return executions.get();
+    }
+
+    /** @return Number of callers that joined an in-flight call instead of executing their own */
+    public long coalesced() {
+        return coalesced.get();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ai.aicc.token;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the completion of each Azure OpenAI call from the token count of its prompt.
+ *
+ * <p>A fixed maxTokens either truncates the conversion of a large input or reserves (and, on
+ * some deployments, bills quota for) far more output than a small one needs. Instead, the
+ * expected output is estimated from the source: {@code sourceTokens * output-ratio + output-reserve},
+ * capped by {@code max-output} and by what is left of the context window after the prompt.
+ *
+ * <p>If the prompt leaves less than {@code output-reserve} tokens, a conversion could not complete
+ * and the request is rejected with a {@link TokenLimitExceededException} before anything is sent.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.tokens.context-window - Prompt plus completion tokens the deployment accepts</li>
+ *   <li>aicc.tokens.max-output - Upper bound of maxTokens</li>
+ *   <li>aicc.tokens.output-ratio - Expected output tokens per source token</li>
+ *   <li>aicc.tokens.output-reserve - Added to the estimate; also the least room a call needs</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see TokenCounter
+ */
+@Component
+public class TokenBudget {
+
+    private final int contextWindow;
+    private final int maxOutput;
+    private final double outputRatio;
+    private final int outputReserve;
+
+    @Autowired
+    public TokenBudget(@Value("${aicc.tokens.context-window:1047576}") int contextWindow,
+                       @Value("${aicc.tokens.max-output:32768}") int maxOutput,
+                       @Value("${aicc.tokens.output-ratio:2.0}") double outputRatio,
+                       @Value("${aicc.tokens.output-reserve:256}") int outputReserve) {
+        this.contextWindow = contextWindow;
+        this.maxOutput = maxOutput;
+        this.outputRatio = outputRatio;
+        this.outputReserve = outputReserve;
+    }
+
+    /**
+     * Computes maxTokens for a call.
+     *
+     * @param promptTokens All tokens sent, including messages and chat formatting
+     * @param sourceTokens Tokens of the code to convert, which the output is expected to mirror
+     * @return Completion tokens to request
+     * @throws TokenLimitExceededException if the prompt leaves too little room for a completion
+     */
+    public int maxTokens(int promptTokens, int sourceTokens) {
+        int available = contextWindow - promptTokens;
+        if (available < outputReserve) {
+            throw new TokenLimitExceededException(String.format(
+                    "Source code too large: the prompt needs %d tokens, but the model context of %d tokens "
+                            + "allows at most %d; use /api/convert/large to convert it in segments",
+                    promptTokens, contextWindow, contextWindow - outputReserve));
+        }
+        long expected = (long) Math.ceil(sourceTokens * outputRatio) + outputReserve;
+        return (int) Math.min(expected, Math.min(maxOutput, available));
+    }
+}
@@ -0,0 +1,45 @@
+package com.ai.aicc.token;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts tokens locally with the same byte-pair encoding the model uses.
+ *
+ * <p>The vocabulary ships with the tokenizer library, so counting needs no network call and can
+ * run on every request before Azure OpenAI is contacted. Text that happens to contain special
+ * tokens such as {@code <|endoftext|>} is counted as ordinary text, which is how the service sends it.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.tokens.encoding - {@code o200k_base} for GPT-4o and GPT-4.1, {@code cl100k_base} for GPT-3.5 and GPT-4</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see TokenBudget
+ */
+@Component
+public class TokenCounter {
+
+    private final Encoding encoding;
+
+    @Autowired
+    public TokenCounter(@Value("${aicc.tokens.encoding:o200k_base}") String encodingName) {
+        EncodingType type = EncodingType.fromName(encodingName)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown token encoding: " + encodingName));
+        this.encoding = Encodings.newLazyEncodingRegistry().getEncoding(type);
+    }
+
+    /**
+     * @param text Text to count; may be null
+     * @return Number of tokens the text encodes to
+     */
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokensOrdinary(text);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ai.aicc.token;
+
+/**
+ * Thrown when a prompt leaves too little room in the model's context window for the converted
+ * code, so the call is not made at all.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see TokenBudget
+ */
+public class TokenLimitExceededException extends RuntimeException {
+
+    public TokenLimitExceededException(String message) {
+        super(message);
+    }
+}
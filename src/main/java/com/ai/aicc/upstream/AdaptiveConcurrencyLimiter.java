@@ -0,0 +1,126 @@
+package com.ai.aicc.upstream;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit for Azure OpenAI calls that adapts to throttling and latency.
+ *
+ * <p>The limit follows AIMD with a Vegas-style latency signal:
+ * <ul>
+ *   <li><b>Additive increase:</b> each successful call while at least half the limit is in use
+ *       raises the limit by {@code 1/limit}, i.e. by about one per round of calls</li>
+ *   <li><b>Multiplicative decrease on throttling:</b> a 429 or a timeout multiplies the limit by
+ *       {@code backoffRatio}; further signals within one round-trip time belong to the same
+ *       congestion event and are ignored</li>
+ *   <li><b>Latency guard:</b> if the smoothed time per completion token rises above
+ *       {@code latencyTolerance} times its recent minimum, Azure OpenAI is queueing requests
+ *       internally; the limit is lowered by 10% instead of raised</li>
+ * </ul>
+ * A call takes longer the more tokens it generates, so the guard compares time per completion
+ * token rather than raw round-trip times, which would mistake a mix of small and large conversions
+ * for congestion. Calls whose token count is unknown only count towards the increase. The recent
+ * minimum is the smallest smoothed value of the current and the previous window of
+ * {@value #BASELINE_WINDOW} samples, so the baseline follows changes of deployment or prompt size
+ * without being set by a single unusually fast call.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe; {@link UpstreamScheduler} calls it under its lock.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /** Number of samples after which the minimum round-trip time is re-established */
+    static final int BASELINE_WINDOW = 100;
+
+    /** Weight of the newest sample in the smoothed round-trip time */
+    private static final double SMOOTHING = 0.1;
+
+    /** Factor applied when latency, rather than throttling, signals congestion */
+    private static final double LATENCY_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final LongSupplier nanoClock;
+
+    private double limit;
+    private double smoothedRttNanos;
+    private double smoothedNanosPerToken;
+    private double baselineNanosPerToken = Double.MAX_VALUE;
+    private double windowMinNanosPerToken = Double.MAX_VALUE;
+    private int windowSamples;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                      double latencyTolerance, LongSupplier nanoClock) {
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return Current number of calls allowed in flight
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param rttNanos         Duration of the call
+     * @param completionTokens Tokens the call generated, or 0 if unknown
+     * @param inFlight         Calls in flight when the call completed, including itself
+     */
+    public void onSuccess(long rttNanos, int completionTokens, int inFlight) {
+        recordRtt(rttNanos, completionTokens);
+        double baseline = Math.min(baselineNanosPerToken, windowMinNanosPerToken);
+        if (completionTokens > 0 && smoothedNanosPerToken > baseline * latencyTolerance) {
+            decrease(LATENCY_BACKOFF);
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Records a call rejected with 429 or timed out.
+     */
+    public void onThrottled() {
+        decrease(backoffRatio);
+    }
+
+    private void decrease(double ratio) {
+        long now = nanoClock.getAsLong();
+        long epoch = smoothedRttNanos > 0 ? (long) smoothedRttNanos : 0;
+        if (decreased && now - lastDecreaseNanos < epoch) {
+            return;
+        }
+        limit = Math.max(minLimit, limit * ratio);
+        lastDecreaseNanos = now;
+        decreased = true;
+    }
+
+    private void recordRtt(long rttNanos, int completionTokens) {
+        smoothedRttNanos = smooth(smoothedRttNanos, rttNanos);
+        if (completionTokens <= 0) {
+            return;
+        }
+        smoothedNanosPerToken = smooth(smoothedNanosPerToken, (double) rttNanos / completionTokens);
+        windowMinNanosPerToken = Math.min(windowMinNanosPerToken, smoothedNanosPerToken);
+        if (++windowSamples >= BASELINE_WINDOW) {
+            baselineNanosPerToken = windowMinNanosPerToken;
+            windowMinNanosPerToken = Double.MAX_VALUE;
+            windowSamples = 0;
+        }
+    }
+
+    private static double smooth(double smoothed, double sample) {
+        return smoothed == 0 ? sample : smoothed + SMOOTHING * (sample - smoothed);
+    }
+}
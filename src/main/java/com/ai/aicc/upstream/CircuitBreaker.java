@@ -0,0 +1,205 @@
+package com.ai.aicc.upstream;
+
+import com.azure.core.exception.HttpResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker for Azure OpenAI calls.
+ *
+ * <p>The outcomes of the last {@code windowSize} calls are kept. Once at least {@code minimumCalls}
+ * are known, the breaker opens if the share of failed calls reaches {@code failureRateThreshold} or
+ * the share of calls slower than {@code slowCallNanos} reaches {@code slowCallRateThreshold}. While
+ * open, no call is made: callers fail at once instead of waiting for a timeout. After
+ * {@code openNanos} the breaker is half-open and lets {@code halfOpenCalls} trial calls through; it
+ * closes once they all succeed in time and opens again on the first one that does not.
+ *
+ * <p>Failures are 5xx and 408 responses, timeouts and connection errors. Other 4xx responses,
+ * including 429 (handled by the {@link AdaptiveConcurrencyLimiter}), show that Azure OpenAI is
+ * reachable and are not counted; cancelled calls are ignored.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe; {@link UpstreamScheduler} calls it under its lock.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public class CircuitBreaker {
+
+    /** State of the breaker */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /** Decision for one call */
+    enum Admission {
+        PERMITTED, TRIAL, REJECTED
+    }
+
+    /** Outcome flags kept per call in the window */
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final byte[] window;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int trialsStarted;
+    private int trialsSucceeded;
+    private long timesOpened;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration slowCall,
+                          double slowCallRateThreshold, Duration open, int halfOpenCalls) {
+        this.window = new byte[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCall.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = open.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * Decides whether a call may start.
+     *
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return PERMITTED, TRIAL for a half-open trial call, or REJECTED
+     */
+    Admission tryAcquire(long nowNanos) {
+        if (state == State.OPEN && nowNanos - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.CLOSED) {
+            return Admission.PERMITTED;
+        }
+        if (state == State.HALF_OPEN && trialsStarted < halfOpenCalls) {
+            trialsStarted++;
+            return Admission.TRIAL;
+        }
+        return Admission.REJECTED;
+    }
+
+    /**
+     * Records the outcome of a call.
+     *
+     * @param trial         Whether the call was admitted as a half-open trial
+     * @param failure       Why the call failed, or {@code null}
+     * @param durationNanos Duration of the call
+     * @param nowNanos      Current {@link System#nanoTime()}
+     */
+    void onResult(boolean trial, Throwable failure, long durationNanos, long nowNanos) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof CancellationException) {
+            if (trial && state == State.HALF_OPEN) {
+                trialsStarted--;
+            }
+            return;
+        }
+        boolean failed = cause != null && isFailure(cause);
+        boolean slow = durationNanos >= slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            // Calls started before the breaker opened do not decide the trial
+            if (!trial) {
+                return;
+            }
+            if (failed || slow) {
+                open(nowNanos);
+            } else if (++trialsSucceeded >= halfOpenCalls) {
+                state = State.CLOSED;
+            }
+            return;
+        }
+        if (state == State.OPEN || (cause != null && !failed)) {
+            return;
+        }
+
+        if (recorded == window.length) {
+            byte evicted = window[next];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        window[next] = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        next = (next + 1) % window.length;
+        failures += failed ? 1 : 0;
+        slowCalls += slow ? 1 : 0;
+
+        if (recorded >= minimumCalls && ((double) failures / recorded >= failureRateThreshold
+                || (double) slowCalls / recorded >= slowCallRateThreshold)) {
+            open(nowNanos);
+        }
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openedAtNanos = nowNanos;
+        timesOpened++;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return Nanoseconds until an open breaker lets trial calls through; 0 if it is not open
+     */
+    long retryAfterNanos(long nowNanos) {
+        return state == State.OPEN ? Math.max(0, openNanos - (nowNanos - openedAtNanos)) : 0;
+    }
+
+    /**
+     * @return Seconds until an open breaker lets trial calls through, at least 1
+     */
+    long retryAfterSeconds(long nowNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos(nowNanos) + 999_999_999));
+    }
+
+    /**
+     * @return Number of times the breaker has opened
+     */
+    public long getTimesOpened() {
+        return timesOpened;
+    }
+
+    /**
+     * Decides whether a failed call shows that Azure OpenAI is unhealthy, as opposed to rejecting
+     * this particular request.
+     */
+    static boolean isFailure(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof HttpResponseException http && http.getResponse() != null) {
+            int status = http.getResponse().getStatusCode();
+            return status >= 500 || status == 408;
+        }
+        return !(cause instanceof CancellationException);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
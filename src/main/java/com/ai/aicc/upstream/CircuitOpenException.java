@@ -0,0 +1,26 @@
+package com.ai.aicc.upstream;
+
+/**
+ * Thrown instead of calling Azure OpenAI while the {@link CircuitBreaker} is open because recent
+ * calls failed or were too slow.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see UpstreamScheduler
+ */
+public class CircuitOpenException extends UpstreamRejectedException {
+
+    private final long retryAfterSeconds;
+
+    public CircuitOpenException(long retryAfterSeconds) {
+        super("Azure OpenAI is failing or too slow; calls are suspended, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return Seconds until calls are tried again
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
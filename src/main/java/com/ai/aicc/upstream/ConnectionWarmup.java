@@ -0,0 +1,114 @@
+package com.ai.aicc.upstream;
+
+import com.azure.ai.openai.models.ChatCompletions;
+import com.azure.ai.openai.models.ChatCompletionsOptions;
+import com.azure.ai.openai.models.ChatRequestSystemMessage;
+import com.azure.ai.openai.models.ChatRequestUserMessage;
+import com.azure.core.util.BinaryData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Prepares the Azure OpenAI clients at startup so the first conversions are not slower than the rest.
+ *
+ * <p>Once all beans are created, every deployment's clients are created and a few connections are
+ * opened to each endpoint, see {@link DeploymentRouter#warmUp}. A chat completions request and
+ * response are also serialized once locally, which loads and initializes the SDK's model and JSON
+ * classes - on a cold JVM that is most of the first call's overhead. This runs as a lifecycle phase
+ * before the embedded web server starts, so no request is accepted until it is done. It is bounded by
+ * the timeout; an unreachable endpoint only delays startup by that long and is logged, it does not
+ * fail startup.
+ *
+ * <p>Idle connections are closed after {@code aicc.upstream.http.max-idle-time}; if the first
+ * traffic arrives later than that, it finds a cold pool again.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.upstream.warmup.enabled - Warm up at startup; otherwise clients are created by the first call</li>
+ *   <li>aicc.upstream.warmup.connections - Connections opened per deployment</li>
+ *   <li>aicc.upstream.warmup.timeout - Longest time readiness waits for the warm-up</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see com.ai.aicc.config.OpenAIHttpClientConfig
+ */
+@Component
+public class ConnectionWarmup implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionWarmup.class);
+
+    /** Before the web server, which starts {@code 1024} below the graceful shutdown phase */
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    /** Minimal chat completions response, parsed once to load the SDK's response model */
+    private static final String SAMPLE_RESPONSE = """
+            {"id": "warmup", "created": 0, "choices": [{"index": 0, "finish_reason": "stop",
+              "message": {"role": "assistant", "content": "warmup"}}],
+             "usage": {"prompt_tokens": 1, "completion_tokens": 1, "total_tokens": 2}}
+            """;
+
+    @Autowired
+    private DeploymentRouter router;
+
+    @Value("${aicc.upstream.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${aicc.upstream.warmup.connections:4}")
+    private int connections;
+
+    @Value("${aicc.upstream.warmup.timeout:10s}")
+    private Duration timeout;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        try {
+            warmUpSerialization();
+            router.warmUp(connections).block(timeout);
+            logger.info("Azure OpenAI clients warmed up in {} ms with {} connection(s) per deployment",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis(), connections);
+        } catch (RuntimeException e) {
+            logger.warn("Azure OpenAI warm-up did not complete: {}", e.getMessage());
+        }
+    }
+
+    private static void warmUpSerialization() {
+        ChatCompletionsOptions options = new ChatCompletionsOptions(List.of(
+                new ChatRequestSystemMessage("warmup"), new ChatRequestUserMessage("warmup")));
+        BinaryData.fromObject(options.setMaxTokens(1).setTemperature(0.0)).toBytes();
+        BinaryData.fromString(SAMPLE_RESPONSE).toObject(ChatCompletions.class);
+    }
+}
@@ -0,0 +1,279 @@
+package com.ai.aicc.upstream;
+
+import com.ai.aicc.model.DeploymentStats;
+import com.azure.ai.openai.OpenAIAsyncClient;
+import com.azure.ai.openai.OpenAIClient;
+import com.azure.ai.openai.OpenAIClientBuilder;
+import com.azure.core.credential.AzureKeyCredential;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.AddHeadersPolicy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One Azure OpenAI deployment behind the {@link DeploymentRouter}: its clients, the calls
+ * currently outstanding against it, its health and its tokens-per-minute budget.
+ *
+ * <p>Clients are created on first use, or ahead of it by {@link #warmUp}, and then reused for every
+ * call. They send requests through the given {@link HttpClient}, or the SDK's default one if none
+ * is given. The token budget is a
+ * bucket holding up to one minute of quota that refills continuously; it only steers routing and
+ * never blocks a call, since Azure OpenAI enforces the actual quota.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+public final class Deployment {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final String name;
+    private final String endpoint;
+    private final String apiKey;
+    private final String deploymentName;
+    private final int weight;
+    private final long tokensPerMinute;
+    private final HttpClient httpClient;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private OpenAIClient client;
+    private OpenAIAsyncClient asyncClient;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    // Guarded by lock
+    private int consecutiveFailures;
+    private long ejectedUntilNanos;
+    private double tokens;
+    private long refilledAtNanos;
+
+    public Deployment(String name, String endpoint, String apiKey, String deploymentName, int weight,
+                      long tokensPerMinute, long nowNanos) {
+        this(name, endpoint, apiKey, deploymentName, weight, tokensPerMinute, nowNanos, null);
+    }
+
+    public Deployment(String name, String endpoint, String apiKey, String deploymentName, int weight,
+                      long tokensPerMinute, long nowNanos, HttpClient httpClient) {
+        this.name = name;
+        this.endpoint = endpoint;
+        this.apiKey = apiKey;
+        this.deploymentName = deploymentName;
+        this.weight = Math.max(1, weight);
+        this.tokensPerMinute = tokensPerMinute;
+        this.httpClient = httpClient;
+        this.tokens = tokensPerMinute;
+        this.refilledAtNanos = nowNanos;
+    }
+
+    /** @return Label used in logs and statistics */
+    public String name() {
+        return name;
+    }
+
+    /** @return Name of the model deployment to pass to the client */
+    public String deploymentName() {
+        return deploymentName;
+    }
+
+    /**
+     * @return Blocking client for this deployment
+     */
+    public OpenAIClient client() {
+        lock.lock();
+        try {
+            if (client == null) {
+                client = newClientBuilder().buildClient();
+            }
+            return client;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Non-blocking client for this deployment; responses arrive on the HTTP client's event loop
+     */
+    public OpenAIAsyncClient asyncClient() {
+        lock.lock();
+        try {
+            if (asyncClient == null) {
+                asyncClient = newClientBuilder().buildAsyncClient();
+            }
+            return asyncClient;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates both clients and opens connections to the endpoint, so the first calls do not pay for
+     * client construction and the TCP and TLS handshakes.
+     *
+     * <p>Connections are opened by concurrent unauthenticated {@code GET} requests to the endpoint
+     * root; whatever the status, the connection is returned to the pool afterwards. Without an
+     * explicit {@link HttpClient} only the clients are created.
+     *
+     * @param connections Connections to open
+     * @return Completes once every request has been answered; never fails
+     */
+    public Mono<Void> warmUp(int connections) {
+        client();
+        asyncClient();
+        if (httpClient == null || connections <= 0) {
+            return Mono.empty();
+        }
+        return Flux.range(0, connections)
+                .flatMap(i -> httpClient.send(new HttpRequest(HttpMethod.GET, endpoint))
+                        .doOnNext(HttpResponse::close)
+                        .onErrorResume(e -> Mono.empty()), connections)
+                .then();
+    }
+
+    /**
+     * Creates a client builder for the endpoint and API key.
+     *
+     * <p>The SDK only sends key credentials over HTTPS. For plain-HTTP endpoints, such as a local
+     * stub or simulator, the key is sent as an {@code api-key} header instead.
+     */
+    private OpenAIClientBuilder newClientBuilder() {
+        OpenAIClientBuilder builder = new OpenAIClientBuilder().endpoint(endpoint);
+        if (httpClient != null) {
+            builder.httpClient(httpClient);
+        }
+        if (endpoint.startsWith("http://")) {
+            return builder.addPolicy(new AddHeadersPolicy(
+                    new HttpHeaders().set(HttpHeaderName.fromString("api-key"), apiKey)));
+        }
+        return builder.credential(new AzureKeyCredential(apiKey));
+    }
+
+    /** Routing cost: outstanding calls relative to weight, counting the call about to be made */
+    double load() {
+        return (outstanding.get() + 1) / (double) weight;
+    }
+
+    boolean isEjected(long nowNanos) {
+        lock.lock();
+        try {
+            return nowNanos - ejectedUntilNanos < 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long ejectedUntilNanos() {
+        lock.lock();
+        try {
+            return ejectedUntilNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if the budget covers a call of the given size or no quota is configured
+     */
+    boolean hasBudget(int callTokens, long nowNanos) {
+        if (tokensPerMinute <= 0) {
+            return true;
+        }
+        lock.lock();
+        try {
+            refill(nowNanos);
+            return tokens >= callTokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Takes a call's tokens from the budget; may overdraw it when no deployment had room. */
+    void reserve(int callTokens, long nowNanos) {
+        if (tokensPerMinute <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            refill(nowNanos);
+            tokens -= callTokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - refilledAtNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(tokensPerMinute, tokens + (double) tokensPerMinute * elapsed / NANOS_PER_MINUTE);
+            refilledAtNanos = nowNanos;
+        }
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+        calls.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess() {
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a failure attributable to the deployment.
+     *
+     * @param failureThreshold Consecutive failures after which the deployment is ejected
+     * @param ejectionNanos    How long an ejection lasts, unless the deployment asked for longer
+     * @param retryAfterNanos  Wait requested by the deployment (Retry-After), or 0
+     * @return true if the deployment was ejected by this failure
+     */
+    boolean onFailure(int failureThreshold, long ejectionNanos, long retryAfterNanos, long nowNanos) {
+        failures.incrementAndGet();
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (retryAfterNanos <= 0 && consecutiveFailures < failureThreshold) {
+                return false;
+            }
+            consecutiveFailures = 0;
+            ejectedUntilNanos = nowNanos + (retryAfterNanos > 0 ? retryAfterNanos : ejectionNanos);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    DeploymentStats stats(long nowNanos) {
+        long available = -1;
+        if (tokensPerMinute > 0) {
+            lock.lock();
+            try {
+                refill(nowNanos);
+                available = (long) Math.max(0, tokens);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return new DeploymentStats(name, deploymentName, weight, outstanding.get(), !isEjected(nowNanos),
+                calls.get(), failures.get(), tokensPerMinute, available);
+    }
+}
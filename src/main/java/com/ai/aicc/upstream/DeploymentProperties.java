@@ -0,0 +1,109 @@
+package com.ai.aicc.upstream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Azure OpenAI deployments that conversions are spread across.
+ *
+ * <p>Bound from indexed properties, for example:
+ * <pre>
+ * aicc.upstream.deployments[0].name=eastus
+ * aicc.upstream.deployments[0].endpoint=https://my-eastus.openai.azure.com/
+ * aicc.upstream.deployments[0].api-key=${AZURE_OPENAI_EASTUS_KEY}
+ * aicc.upstream.deployments[0].deployment-name=gpt-4.1
+ * aicc.upstream.deployments[0].weight=2
+ * aicc.upstream.deployments[0].tokens-per-minute=300000
+ * </pre>
+ * Without any entry, the single deployment configured by {@code azure.openai.*} is used.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see DeploymentRouter
+ */
+@Component
+@ConfigurationProperties(prefix = "aicc.upstream")
+public class DeploymentProperties {
+
+    private List<Endpoint> deployments = new ArrayList<>();
+
+    public List<Endpoint> getDeployments() {
+        return deployments;
+    }
+
+    public void setDeployments(List<Endpoint> deployments) {
+        this.deployments = deployments;
+    }
+
+    /**
+     * One configured deployment.
+     */
+    public static class Endpoint {
+
+        /** Label used in logs and statistics; defaults to the endpoint host */
+        private String name;
+
+        private String endpoint;
+
+        private String apiKey;
+
+        private String deploymentName;
+
+        /** Relative share of calls compared to the other deployments */
+        private int weight = 1;
+
+        /** Tokens-per-minute quota of the deployment; 0 if unknown */
+        private long tokensPerMinute;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public void setEndpoint(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public String getApiKey() {
+            return apiKey;
+        }
+
+        public void setApiKey(String apiKey) {
+            this.apiKey = apiKey;
+        }
+
+        public String getDeploymentName() {
+            return deploymentName;
+        }
+
+        public void setDeploymentName(String deploymentName) {
+            this.deploymentName = deploymentName;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public long getTokensPerMinute() {
+            return tokensPerMinute;
+        }
+
+        public void setTokensPerMinute(long tokensPerMinute) {
+            this.tokensPerMinute = tokensPerMinute;
+        }
+    }
+}
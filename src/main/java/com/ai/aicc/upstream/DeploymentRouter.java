@@ -0,0 +1,490 @@
+package com.ai.aicc.upstream;
+
+import com.ai.aicc.model.DeploymentStats;
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaderName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Spreads Azure OpenAI calls across several deployments and fails over between them.
+ *
+ * <p><b>Selection:</b> Each call goes to the healthy deployment with the fewest outstanding calls
+ * relative to its weight. Deployments with a {@code tokens-per-minute} quota are only chosen while
+ * their budget covers the call's prompt plus maxTokens (which is what Azure OpenAI charges against
+ * the quota); if none has room, the least loaded healthy deployment is used anyway.
+ *
+ * <p><b>Ejection:</b> A deployment that fails {@code failure-threshold} calls in a row with a
+ * server error, 429, timeout or connection error is skipped for {@code ejection}. A 429 carrying
+ * Retry-After ejects it for that long right away. Client errors such as 400 do not count. If every
+ * deployment is ejected, the one whose ejection ends first still receives calls, so a recovered
+ * deployment is noticed without a separate health check.
+ *
+ * <p><b>Failover:</b> A call that fails with one of the errors above is retried on a deployment it
+ * has not tried yet, up to {@code max-attempts} deployments. Streams are only retried if they fail
+ * before the first element, since what was already sent to the client cannot be taken back.
+ *
+ * <p><b>Hedging:</b> Asynchronous calls that run longer than usual may be duplicated on another
+ * deployment, see {@link HedgingPolicy}. A hedge is a call of its own: it only starts if the
+ * {@link UpstreamScheduler} grants it a permit at once, so hedging never pushes concurrency past the
+ * adaptive limit and stops while the circuit breaker is not closed. Streams are not hedged.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.upstream.deployments[n].* - The deployments, see {@link DeploymentProperties}; defaults
+ *       to {@code azure.openai.*}</li>
+ *   <li>aicc.upstream.routing.max-attempts - Deployments tried per call</li>
+ *   <li>aicc.upstream.routing.failure-threshold - Consecutive failures before ejection</li>
+ *   <li>aicc.upstream.routing.ejection - How long an ejected deployment is skipped</li>
+ * </ul>
+ *
+ * <p>The result cache is keyed by {@code azure.openai.deployment-name}, so all deployments are
+ * expected to serve the same model. Every deployment sends its requests through the application's
+ * {@link HttpClient} bean, see {@link com.ai.aicc.config.OpenAIHttpClientConfig}.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see UpstreamScheduler
+ */
+@Component
+public class DeploymentRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentRouter.class);
+
+    private final List<Deployment> deployments;
+    private final int maxAttempts;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final HedgingPolicy hedging;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public DeploymentRouter(DeploymentProperties properties,
+                            HedgingPolicy hedging,
+                            ObjectProvider<HttpClient> httpClient,
+                            @Value("${azure.openai.endpoint}") String endpoint,
+                            @Value("${azure.openai.api-key}") String apiKey,
+                            @Value("${azure.openai.deployment-name}") String deploymentName,
+                            @Value("${aicc.upstream.routing.max-attempts:3}") int maxAttempts,
+                            @Value("${aicc.upstream.routing.failure-threshold:3}") int failureThreshold,
+                            @Value("${aicc.upstream.routing.ejection:30s}") Duration ejection) {
+        this(deployments(properties, endpoint, apiKey, deploymentName, httpClient.getIfAvailable()),
+                maxAttempts, failureThreshold, ejection, hedging, System::nanoTime);
+        logger.info("Routing Azure OpenAI calls across {} deployment(s): {}", deployments.size(),
+                deployments.stream().map(Deployment::name).toList());
+    }
+
+    DeploymentRouter(List<Deployment> deployments, int maxAttempts, int failureThreshold, Duration ejection,
+                     HedgingPolicy hedging, LongSupplier nanoClock) {
+        if (deployments.isEmpty()) {
+            throw new IllegalArgumentException("At least one Azure OpenAI deployment is required");
+        }
+        this.deployments = List.copyOf(deployments);
+        this.maxAttempts = Math.max(1, Math.min(maxAttempts, deployments.size()));
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejection.toNanos();
+        this.hedging = hedging;
+        this.nanoClock = nanoClock;
+    }
+
+    private static List<Deployment> deployments(DeploymentProperties properties, String endpoint, String apiKey,
+                                                String deploymentName, HttpClient httpClient) {
+        long now = System.nanoTime();
+        List<Deployment> deployments = new ArrayList<>();
+        for (DeploymentProperties.Endpoint configured : properties.getDeployments()) {
+            String url = configured.getEndpoint() != null ? configured.getEndpoint() : endpoint;
+            deployments.add(new Deployment(
+                    configured.getName() != null ? configured.getName() : host(url),
+                    url,
+                    configured.getApiKey() != null ? configured.getApiKey() : apiKey,
+                    configured.getDeploymentName() != null ? configured.getDeploymentName() : deploymentName,
+                    configured.getWeight(),
+                    configured.getTokensPerMinute(),
+                    now,
+                    httpClient));
+        }
+        if (deployments.isEmpty()) {
+            deployments.add(new Deployment(host(endpoint), endpoint, apiKey, deploymentName, 1, 0, now, httpClient));
+        }
+        return deployments;
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Runs a blocking call on one deployment after another until it succeeds or fails for a reason
+     * another deployment would not fix.
+     *
+     * @param tokens Prompt tokens plus maxTokens of the call
+     * @param call   The call against the given deployment
+     * @return Result of the first successful attempt
+     */
+    public <T> T call(int tokens, Function<Deployment, T> call) {
+        List<Deployment> tried = new ArrayList<>();
+        while (true) {
+            Deployment deployment = select(tokens, tried);
+            deployment.begin();
+            try {
+                T result = call.apply(deployment);
+                deployment.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                if (!onFailure(deployment, e, tried)) {
+                    throw e;
+                }
+            } finally {
+                deployment.end();
+            }
+        }
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #call}.
+     *
+     * <p>If the {@link HedgingPolicy} asks for it and {@code hedgePermit} grants a permit, a call still
+     * running after the hedge delay is duplicated on another deployment (or the same one if there is
+     * no other). The first successful attempt completes the call and the other is cancelled.
+     * Cancelling the returned future cancels all attempts.
+     *
+     * @param tokens      Prompt tokens plus maxTokens of the call
+     * @param hedgePermit Admits a hedge, typically {@link UpstreamScheduler#tryAcquire}; returns null
+     *                    to skip it. The permit is released when the hedge ends
+     * @param call        Starts the call against the given deployment; must not block
+     * @return Future of the result of the first successful attempt
+     */
+    public <T> CompletableFuture<T> callAsync(int tokens, Supplier<UpstreamScheduler.Permit> hedgePermit,
+                                              Function<Deployment, CompletableFuture<T>> call) {
+        AsyncCall<T> asyncCall = new AsyncCall<>(tokens, hedgePermit, call);
+        asyncCall.start();
+        return asyncCall.result;
+    }
+
+    /**
+     * @return true if asynchronous calls may be hedged
+     */
+    public boolean isHedging() {
+        return hedging.isEnabled();
+    }
+
+    /**
+     * Streaming counterpart of {@link #call}. Fails over only while nothing has been emitted.
+     *
+     * @param tokens Prompt tokens plus maxTokens of the call
+     * @param call   Opens the stream against the given deployment
+     * @return Elements of the first attempt that did not fail before emitting
+     */
+    public <T> Flux<T> stream(int tokens, Function<Deployment, Flux<T>> call) {
+        return stream(tokens, call, new ArrayList<>());
+    }
+
+    private <T> Flux<T> stream(int tokens, Function<Deployment, Flux<T>> call, List<Deployment> tried) {
+        return Flux.defer(() -> {
+            Deployment deployment = select(tokens, tried);
+            deployment.begin();
+            AtomicBoolean emitted = new AtomicBoolean();
+            return call.apply(deployment)
+                    .doOnNext(element -> emitted.set(true))
+                    .doOnComplete(deployment::onSuccess)
+                    .doFinally(signal -> deployment.end())
+                    .onErrorResume(e -> !emitted.get() && onFailure(deployment, e, tried)
+                            ? stream(tokens, call, tried)
+                            : Flux.error(e));
+        });
+    }
+
+    /**
+     * Creates the clients of every deployment and opens connections to them, see
+     * {@link Deployment#warmUp}.
+     *
+     * @param connectionsPerDeployment Connections to open to each deployment
+     * @return Completes once all deployments are warmed up; never fails
+     */
+    public Mono<Void> warmUp(int connectionsPerDeployment) {
+        return Flux.fromIterable(deployments)
+                .flatMap(deployment -> deployment.warmUp(connectionsPerDeployment))
+                .then();
+    }
+
+    /**
+     * @return Load, health and token budget of every deployment
+     */
+    public List<DeploymentStats> stats() {
+        long now = nanoClock.getAsLong();
+        return deployments.stream().map(deployment -> deployment.stats(now)).toList();
+    }
+
+    /**
+     * Picks the deployment for the next attempt and reserves the call's tokens from its budget.
+     */
+    Deployment select(int tokens, List<Deployment> tried) {
+        long now = nanoClock.getAsLong();
+        Deployment withBudget = null;
+        Deployment healthy = null;
+        Deployment ejected = null;
+        for (Deployment candidate : deployments) {
+            if (tried.contains(candidate)) {
+                continue;
+            }
+            if (candidate.isEjected(now)) {
+                if (ejected == null || candidate.ejectedUntilNanos() - ejected.ejectedUntilNanos() < 0) {
+                    ejected = candidate;
+                }
+                continue;
+            }
+            double load = candidate.load();
+            if (healthy == null || load < healthy.load()) {
+                healthy = candidate;
+            }
+            if ((withBudget == null || load < withBudget.load()) && candidate.hasBudget(tokens, now)) {
+                withBudget = candidate;
+            }
+        }
+
+        Deployment selected = withBudget != null ? withBudget : healthy != null ? healthy : ejected;
+        if (selected == null) {
+            throw new IllegalStateException("No Azure OpenAI deployment left to try");
+        }
+        selected.reserve(tokens, now);
+        tried.add(selected);
+        return selected;
+    }
+
+    /**
+     * Records a failed attempt and decides whether to fail over.
+     *
+     * @return true if the call should be retried on another deployment
+     */
+    private boolean onFailure(Deployment deployment, Throwable failure, List<Deployment> tried) {
+        if (!isRetryable(failure)) {
+            return false;
+        }
+        long now = nanoClock.getAsLong();
+        if (deployment.onFailure(failureThreshold, ejectionNanos, retryAfterNanos(failure), now)) {
+            logger.warn("Ejected Azure OpenAI deployment {} after failure: {}", deployment.name(), failure.toString());
+        }
+        boolean retry = tried.size() < maxAttempts;
+        if (retry) {
+            logger.info("Azure OpenAI call failed on {}, retrying on another deployment: {}",
+                    deployment.name(), failure.toString());
+        }
+        return retry;
+    }
+
+    /**
+     * Decides whether a failure is the deployment's rather than the request's: 408, 429 and 5xx
+     * responses, timeouts and connection errors.
+     */
+    static boolean isRetryable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpResponseException http && http.getResponse() != null) {
+                int status = http.getResponse().getStatusCode();
+                return status == 408 || status == 429 || status >= 500;
+            }
+            if (cause instanceof TimeoutException || cause instanceof IOException
+                    || cause instanceof UncheckedIOException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static long retryAfterNanos(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof HttpResponseException http && http.getResponse() != null
+                && http.getResponse().getStatusCode() == 429 && http.getResponse().getHeaders() != null) {
+            String retryAfter = http.getResponse().getHeaders().getValue(HttpHeaderName.RETRY_AFTER);
+            if (retryAfter != null) {
+                try {
+                    return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+                } catch (NumberFormatException e) {
+                    // HTTP-date form; fall back to the regular ejection rules
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * State of one asynchronous call: its attempts in flight, the deployments tried and whether it
+     * was hedged. Attempts complete on the HTTP client's threads, so the state is guarded by a lock.
+     */
+    private final class AsyncCall<T> {
+
+        private final int tokens;
+        private final Supplier<UpstreamScheduler.Permit> hedgePermit;
+        private final Function<Deployment, CompletableFuture<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long startNanos = nanoClock.getAsLong();
+        private final AtomicBoolean won = new AtomicBoolean();
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Deployment> tried = new ArrayList<>();
+        private final List<CompletableFuture<T>> active = new ArrayList<>();
+        private boolean primaryRecorded;
+
+        private AsyncCall(int tokens, Supplier<UpstreamScheduler.Permit> hedgePermit,
+                          Function<Deployment, CompletableFuture<T>> call) {
+            this.tokens = tokens;
+            this.hedgePermit = hedgePermit;
+            this.call = call;
+        }
+
+        private void start() {
+            result.whenComplete((value, failure) -> {
+                if (result.isCancelled()) {
+                    cancelActive();
+                }
+            });
+            long hedgeDelay = hedging.onCall();
+            attempt(false, null);
+            if (hedgeDelay > 0 && !result.isDone()) {
+                CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.NANOSECONDS).execute(this::hedge);
+            }
+        }
+
+        private void hedge() {
+            if (result.isDone()) {
+                return;
+            }
+            UpstreamScheduler.Permit permit = hedgePermit.get();
+            if (permit == null) {
+                logger.debug("Not hedging Azure OpenAI call: no upstream capacity to spare");
+                return;
+            }
+            if (!hedging.tryHedge()) {
+                permit.abandon();
+                return;
+            }
+            logger.debug("Hedging Azure OpenAI call after {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - startNanos));
+            attempt(true, permit);
+        }
+
+        /**
+         * @param permit The hedge's own permit, or null for the first attempt and retries, which run
+         *               under the caller's
+         */
+        private void attempt(boolean hedge, UpstreamScheduler.Permit permit) {
+            Deployment deployment;
+            lock.lock();
+            try {
+                // A hedge may go to the deployment of the first attempt if there is no other
+                deployment = select(tokens, hedge && tried.size() >= deployments.size() ? new ArrayList<>() : tried);
+                if (!tried.contains(deployment)) {
+                    tried.add(deployment);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            deployment.begin();
+            CompletableFuture<T> attempt;
+            try {
+                attempt = call.apply(deployment);
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            lock.lock();
+            try {
+                active.add(attempt);
+            } finally {
+                lock.unlock();
+            }
+            CompletableFuture<T> started = attempt;
+            attempt.whenComplete((value, failure) -> finish(deployment, started, hedge, permit, value, failure));
+        }
+
+        private void finish(Deployment deployment, CompletableFuture<T> attempt, boolean hedge,
+                            UpstreamScheduler.Permit permit, T value, Throwable failure) {
+            deployment.end();
+            if (permit != null) {
+                if (attempt.isCancelled()) {
+                    permit.abandon();
+                } else {
+                    permit.release(failure);
+                }
+            }
+            long elapsed = nanoClock.getAsLong() - startNanos;
+            boolean othersActive;
+            boolean retry = false;
+            lock.lock();
+            try {
+                active.remove(attempt);
+                othersActive = !active.isEmpty();
+                if (!hedge && !primaryRecorded && (failure == null || attempt.isCancelled())) {
+                    // A cancelled first attempt lost to its hedge; its elapsed time is a lower bound
+                    primaryRecorded = true;
+                    hedging.recordPrimary(elapsed);
+                }
+                if (failure != null && !attempt.isCancelled() && !result.isDone()) {
+                    retry = onFailure(deployment, failure, tried);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (failure == null) {
+                deployment.onSuccess();
+                if (won.compareAndSet(false, true)) {
+                    // Settled before the caller resumes: losers cancelled and their deployments released
+                    cancelActive();
+                    hedging.recordDelivered(elapsed, hedge);
+                    result.complete(value);
+                }
+            } else if (!attempt.isCancelled() && !othersActive) {
+                if (retry) {
+                    attempt(false, null);
+                } else {
+                    result.completeExceptionally(failure);
+                }
+            }
+        }
+
+        private void cancelActive() {
+            List<CompletableFuture<T>> losers;
+            lock.lock();
+            try {
+                losers = new ArrayList<>(active);
+            } finally {
+                lock.unlock();
+            }
+            losers.forEach(loser -> loser.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.ai.aicc.upstream;
+
+import com.ai.aicc.model.HedgingStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides when a slow Azure OpenAI call gets a duplicate (hedge) and keeps hedges within budget.
+ *
+ * <p>A call that has not completed after the {@code percentile} of recent call latencies is
+ * duplicated by the {@link DeploymentRouter}; whichever attempt answers first wins and the other is
+ * cancelled. The delay never drops below {@code min-delay}, and hedging starts only once
+ * {@code min-samples} latencies have been observed.
+ *
+ * <p><b>Budget:</b> Every call earns {@code max-ratio} hedge credits, and a hedge costs one, so at
+ * most that fraction of calls is duplicated over time. Credits are capped so that a quiet period
+ * cannot be followed by a burst of hedges.
+ *
+ * <p><b>Measurement:</b> Latency is recorded twice: for the first attempt of each call and for what
+ * the caller actually waited. The gap between their 99th percentiles is the tail latency saved by
+ * hedging. A first attempt cancelled because its hedge won is recorded with the time it had run,
+ * which understates its real latency, so the reported improvement is conservative.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.upstream.hedging.enabled - Turns hedging on or off</li>
+ *   <li>aicc.upstream.hedging.percentile - Latency percentile after which a call is hedged</li>
+ *   <li>aicc.upstream.hedging.min-delay - Lower bound of the hedge delay</li>
+ *   <li>aicc.upstream.hedging.max-ratio - Maximum fraction of calls that are hedged</li>
+ *   <li>aicc.upstream.hedging.min-samples - Latencies observed before hedging starts</li>
+ * </ul>
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see DeploymentRouter
+ */
+@Component
+public class HedgingPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgingPolicy.class);
+
+    /** Latency samples kept per window */
+    private static final int WINDOW_SIZE = 1024;
+
+    /** The hedge delay is recomputed after this many new samples */
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    /** Upper bound of saved-up hedge credits */
+    private static final double MAX_CREDITS = 10;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double maxRatio;
+    private final int minSamples;
+
+    private final LatencyWindow primary = new LatencyWindow(WINDOW_SIZE);
+    private final LatencyWindow delivered = new LatencyWindow(WINDOW_SIZE);
+    private volatile long delayNanos = -1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double credits;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    @Autowired
+    public HedgingPolicy(@Value("${aicc.upstream.hedging.enabled:false}") boolean enabled,
+                         @Value("${aicc.upstream.hedging.percentile:0.95}") double percentile,
+                         @Value("${aicc.upstream.hedging.min-delay:2s}") Duration minDelay,
+                         @Value("${aicc.upstream.hedging.max-ratio:0.05}") double maxRatio,
+                         @Value("${aicc.upstream.hedging.min-samples:100}") int minSamples) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxRatio = maxRatio;
+        this.minSamples = minSamples;
+        if (enabled) {
+            logger.info("Hedging Azure OpenAI calls slower than p{} (at least {}), at most {}% of calls",
+                    Math.round(percentile * 100), minDelay, Math.round(maxRatio * 100));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a new call and earns its hedge credits.
+     *
+     * @return Delay after which the call should be hedged, or -1 if it should not be
+     */
+    long onCall() {
+        if (!enabled) {
+            return -1;
+        }
+        calls.incrementAndGet();
+        lock.lock();
+        try {
+            credits = Math.min(MAX_CREDITS, credits + maxRatio);
+        } finally {
+            lock.unlock();
+        }
+        return delayNanos;
+    }
+
+    /**
+     * Spends a credit for a hedge.
+     *
+     * @return true if the budget allows the hedge
+     */
+    boolean tryHedge() {
+        lock.lock();
+        try {
+            if (credits < 1) {
+                return false;
+            }
+            credits -= 1;
+        } finally {
+            lock.unlock();
+        }
+        hedges.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Records how long the first attempt of a call ran until it succeeded or was cancelled.
+     */
+    void recordPrimary(long nanos) {
+        if (!enabled) {
+            return;
+        }
+        long recorded = primary.record(nanos);
+        if (recorded % RECOMPUTE_INTERVAL == 0 && primary.size() >= minSamples) {
+            delayNanos = Math.max(minDelayNanos, primary.percentile(percentile));
+        }
+    }
+
+    /**
+     * Records how long the caller waited for a successful call.
+     *
+     * @param hedgeWon Whether the hedge answered first
+     */
+    void recordDelivered(long nanos, boolean hedgeWon) {
+        if (!enabled) {
+            return;
+        }
+        delivered.record(nanos);
+        if (hedgeWon) {
+            hedgeWins.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return Hedge delay, counters and latency percentiles with and without hedging
+     */
+    public HedgingStats stats() {
+        return new HedgingStats(enabled, millis(delayNanos), calls.get(), hedges.get(), hedgeWins.get(),
+                millis(primary.percentile(0.5)), millis(primary.percentile(0.99)),
+                millis(delivered.percentile(0.5)), millis(delivered.percentile(0.99)));
+    }
+
+    private static long millis(long nanos) {
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ai.aicc.upstream;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The most recent latency samples of a call type, for percentile estimates.
+ *
+ * <p>Samples are kept in a ring buffer; a percentile sorts a copy, so callers that need one on
+ * every request should cache it.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ */
+final class LatencyWindow {
+
+    private final long[] samples;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int next;
+    private int size;
+    private long total;
+
+    LatencyWindow(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * @return Number of samples recorded so far, including those that were overwritten
+     */
+    long record(long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+            return ++total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.99
+     * @return The sample at the quantile, or -1 if no samples were recorded
+     */
+    long percentile(double quantile) {
+        long[] sorted;
+        lock.lock();
+        try {
+            if (size == 0) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, size);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
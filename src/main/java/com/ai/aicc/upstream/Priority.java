@@ -0,0 +1,17 @@
+package com.ai.aicc.upstream;
+
+/**
+ * Scheduling priority of an Azure OpenAI call.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see UpstreamScheduler
+ */
+public enum Priority {
+
+    /** A user or client is waiting on the HTTP response (single, async, streaming and large-input conversions) */
+    INTERACTIVE,
+
+    /** Throughput-oriented work without a waiting user (batch items, queued jobs) */
+    BATCH
+}
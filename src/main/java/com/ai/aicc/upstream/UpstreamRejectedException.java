@@ -0,0 +1,16 @@
+package com.ai.aicc.upstream;
+
+/**
+ * Thrown when a call is not admitted to Azure OpenAI because too many calls are already waiting
+ * or because it waited longer than its priority's queue timeout.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see UpstreamScheduler
+ */
+public class UpstreamRejectedException extends RuntimeException {
+
+    public UpstreamRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,535 @@
+package com.ai.aicc.upstream;
+
+import com.ai.aicc.model.UpstreamStats;
+import com.azure.core.exception.HttpResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Admission control between the conversion services and the Azure OpenAI client.
+ *
+ * <p>Every Azure OpenAI call first acquires a {@link Permit}. At most
+ * {@link AdaptiveConcurrencyLimiter#getLimit()} permits are out at a time; the limit shrinks on
+ * 429 responses and timeouts and grows while calls succeed, so a burst is absorbed by queueing here
+ * instead of turning into a storm of throttled calls and 500 responses.
+ *
+ * <p>Callers that find no free permit wait in one queue per {@link Priority}. Freed permits go to
+ * interactive callers first; after {@value #INTERACTIVE_BURST} interactive grants in a row a waiting
+ * batch caller is served, so batch work keeps progressing under sustained interactive load. A caller
+ * that waits longer than its priority's queue timeout, or arrives while {@code maxQueued} callers
+ * of its priority are waiting, fails with {@link UpstreamRejectedException}.
+ *
+ * <p><b>Bulkheads:</b> each priority may hold at most its share of the limit in flight. Slow batch
+ * calls therefore cannot take every permit and make interactive callers wait for them to finish,
+ * and a burst of interactive traffic leaves batch work a few permits.
+ *
+ * <p><b>Circuit breaker:</b> outcomes of the calls feed a {@link CircuitBreaker}. When too many of
+ * them fail or are slow, new callers and those already waiting fail at once with
+ * {@link CircuitOpenException} instead of holding threads and permits until the SDK times out,
+ * so cache hits, local conversions and invalid requests keep being answered promptly.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>aicc.upstream.limiter.enabled - Turns admission control on or off</li>
+ *   <li>aicc.upstream.limiter.initial-limit, min-limit, max-limit - Bounds of the concurrency limit</li>
+ *   <li>aicc.upstream.limiter.backoff-ratio - Factor applied to the limit on a 429 or timeout</li>
+ *   <li>aicc.upstream.limiter.latency-tolerance - Time per completion token, as a multiple of the
+ *       recent minimum, above which the limit stops growing and is lowered</li>
+ *   <li>aicc.upstream.queue.interactive-timeout, batch-timeout - Maximum wait for a permit</li>
+ *   <li>aicc.upstream.queue.max-queued - Maximum waiting callers per priority</li>
+ *   <li>aicc.upstream.bulkhead.interactive-share, batch-share - Share of the limit each priority
+ *       may hold in flight</li>
+ *   <li>aicc.upstream.circuit-breaker.* - Failure and slow-call rates that open the breaker, and how
+ *       long it stays open (see {@link CircuitBreaker})</li>
+ * </ul>
+ *
+ * <p><b>Threading:</b> Waiting callers are completed outside the lock, on the thread that released
+ * the permit. Blocking callers park in {@link #call}; asynchronous callers continue on that thread,
+ * so their continuation must not block.
+ *
+ * @author AI Code Converter Team
+ * @version 1.0
+ * @see AdaptiveConcurrencyLimiter
+ * @see CircuitBreaker
+ */
+@Component
+public class UpstreamScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamScheduler.class);
+
+    /** Interactive grants in a row after which a waiting batch caller is served */
+    static final int INTERACTIVE_BURST = 4;
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Duration interactiveTimeout;
+    private final Duration batchTimeout;
+    private final int maxQueued;
+    private final double interactiveShare;
+    private final double batchShare;
+    private final CircuitBreaker breaker;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> interactive = new ArrayDeque<>();
+    private final ArrayDeque<Waiter> batch = new ArrayDeque<>();
+    private int inFlight;
+    private int inFlightInteractive;
+    private int inFlightBatch;
+    private int interactiveStreak;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+
+    @Autowired
+    public UpstreamScheduler(@Value("${aicc.upstream.limiter.enabled:true}") boolean enabled,
+                             @Value("${aicc.upstream.limiter.initial-limit:16}") int initialLimit,
+                             @Value("${aicc.upstream.limiter.min-limit:1}") int minLimit,
+                             @Value("${aicc.upstream.limiter.max-limit:256}") int maxLimit,
+                             @Value("${aicc.upstream.limiter.backoff-ratio:0.7}") double backoffRatio,
+                             @Value("${aicc.upstream.limiter.latency-tolerance:4.0}") double latencyTolerance,
+                             @Value("${aicc.upstream.queue.interactive-timeout:30s}") Duration interactiveTimeout,
+                             @Value("${aicc.upstream.queue.batch-timeout:10m}") Duration batchTimeout,
+                             @Value("${aicc.upstream.queue.max-queued:10000}") int maxQueued,
+                             @Value("${aicc.upstream.bulkhead.interactive-share:0.9}") double interactiveShare,
+                             @Value("${aicc.upstream.bulkhead.batch-share:0.5}") double batchShare,
+                             @Value("${aicc.upstream.circuit-breaker.enabled:true}") boolean breakerEnabled,
+                             @Value("${aicc.upstream.circuit-breaker.window-size:50}") int windowSize,
+                             @Value("${aicc.upstream.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                             @Value("${aicc.upstream.circuit-breaker.failure-rate-threshold:0.5}") double failureRate,
+                             @Value("${aicc.upstream.circuit-breaker.slow-call-duration:30s}") Duration slowCall,
+                             @Value("${aicc.upstream.circuit-breaker.slow-call-rate-threshold:0.8}") double slowRate,
+                             @Value("${aicc.upstream.circuit-breaker.open-duration:30s}") Duration openDuration,
+                             @Value("${aicc.upstream.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this(enabled, new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance,
+                System::nanoTime), interactiveTimeout, batchTimeout, maxQueued, interactiveShare, batchShare,
+                breakerEnabled ? new CircuitBreaker(windowSize, minimumCalls, failureRate, slowCall, slowRate,
+                        openDuration, halfOpenCalls) : null, System::nanoTime);
+        logger.info("Upstream scheduler enabled={}, initialLimit={}, limit range [{}, {}], shares interactive={} "
+                + "batch={}, circuit breaker={}", enabled, initialLimit, minLimit, maxLimit, interactiveShare,
+                batchShare, breakerEnabled);
+    }
+
+    UpstreamScheduler(boolean enabled, AdaptiveConcurrencyLimiter limiter, Duration interactiveTimeout,
+                      Duration batchTimeout, int maxQueued, LongSupplier nanoClock) {
+        this(enabled, limiter, interactiveTimeout, batchTimeout, maxQueued, 1.0, 1.0, null, nanoClock);
+    }
+
+    UpstreamScheduler(boolean enabled, AdaptiveConcurrencyLimiter limiter, Duration interactiveTimeout,
+                      Duration batchTimeout, int maxQueued, double interactiveShare, double batchShare,
+                      CircuitBreaker breaker, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.limiter = limiter;
+        this.interactiveTimeout = interactiveTimeout;
+        this.batchTimeout = batchTimeout;
+        this.maxQueued = maxQueued;
+        this.interactiveShare = interactiveShare;
+        this.batchShare = batchShare;
+        this.breaker = breaker;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Requests a permit for one Azure OpenAI call.
+     *
+     * <p>The returned future completes once the call may start. It fails with
+     * {@link UpstreamRejectedException} if the caller's queue is full or the queue timeout passes,
+     * and with {@link CircuitOpenException} while the circuit breaker is open.
+     * Cancelling the future gives up the place in the queue; a permit granted concurrently is
+     * returned without counting as a call. The permit must be released exactly once when the call ends.
+     *
+     * @param priority Scheduling priority of the call
+     * @return Future of the permit
+     */
+    public CompletableFuture<Permit> acquire(Priority priority) {
+        Waiter waiter;
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            CircuitBreaker.Admission admission =
+                    breaker != null ? breaker.tryAcquire(now) : CircuitBreaker.Admission.PERMITTED;
+            if (admission == CircuitBreaker.Admission.REJECTED) {
+                shortCircuited.incrementAndGet();
+                return CompletableFuture.failedFuture(new CircuitOpenException(breaker.retryAfterSeconds(now)));
+            }
+            boolean trial = admission == CircuitBreaker.Admission.TRIAL;
+            if (!enabled) {
+                return CompletableFuture.completedFuture(new Permit(priority, now, trial));
+            }
+
+            ArrayDeque<Waiter> queue = priority == Priority.BATCH ? batch : interactive;
+            ArrayDeque<Waiter> other = priority == Priority.BATCH ? interactive : batch;
+            // The few trial calls skip the queue and the limit: they decide whether calls are made at all
+            if (trial || inFlight < limiter.getLimit() && hasRoom(priority)
+                    && queue.isEmpty() && (other.isEmpty() || !hasRoom(other.peek().priority))) {
+                inFlight++;
+                inFlight(priority, 1);
+                dispatched.incrementAndGet();
+                return CompletableFuture.completedFuture(new Permit(priority, now, trial));
+            }
+            if (queue.size() >= maxQueued) {
+                rejected.incrementAndGet();
+                return CompletableFuture.failedFuture(new UpstreamRejectedException(
+                        "Too many conversions waiting for Azure OpenAI, retry later"));
+            }
+            waiter = new Waiter(priority);
+            queue.add(waiter);
+        } finally {
+            lock.unlock();
+        }
+        // A cancelled caller, such as a disconnected stream, leaves the queue at once
+        waiter.future.whenComplete((permit, failure) -> {
+            if (waiter.future.isCancelled()) {
+                dequeue(waiter);
+            }
+        });
+
+        Duration timeout = priority == Priority.BATCH ? batchTimeout : interactiveTimeout;
+        CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS).execute(() -> expire(waiter, timeout));
+        return waiter.future;
+    }
+
+    /**
+     * Grants a permit only if one is free right now and nobody is waiting for it. Meant for optional
+     * calls, such as hedges of slow calls, that should rather not run than queue or exceed the limit.
+     *
+     * @param priority Scheduling priority of the call
+     * @return The permit, or null if none is free or the circuit breaker is not closed
+     */
+    public Permit tryAcquire(Priority priority) {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (breaker != null && breaker.getState() != CircuitBreaker.State.CLOSED) {
+                return null;
+            }
+            if (!enabled) {
+                return new Permit(priority, now, false);
+            }
+            if (inFlight >= limiter.getLimit() || !hasRoom(priority) || !interactive.isEmpty() || !batch.isEmpty()) {
+                return null;
+            }
+            inFlight++;
+            inFlight(priority, 1);
+            dispatched.incrementAndGet();
+            return new Permit(priority, now, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a blocking Azure OpenAI call under a permit.
+     *
+     * @param priority Scheduling priority of the call
+     * @param call     The call
+     * @return Result of the call
+     * @throws UpstreamRejectedException if no permit was granted
+     */
+    public <T> T call(Priority priority, Supplier<T> call) {
+        return call(priority, call, result -> 0);
+    }
+
+    /**
+     * Runs a blocking Azure OpenAI call under a permit, reporting the tokens it generated so the
+     * limiter can tell slow calls from long answers.
+     *
+     * @param priority         Scheduling priority of the call
+     * @param call             The call
+     * @param completionTokens Completion tokens of the result, or 0 if unknown
+     * @return Result of the call
+     * @throws UpstreamRejectedException if no permit was granted
+     */
+    public <T> T call(Priority priority, Supplier<T> call, ToIntFunction<? super T> completionTokens) {
+        Permit permit;
+        try {
+            permit = acquire(priority).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamRejectedException("Interrupted while waiting for Azure OpenAI");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new CompletionException(e.getCause());
+        }
+
+        try {
+            T result = call.get();
+            permit.release(null, completionTokens.applyAsInt(result));
+            return result;
+        } catch (RuntimeException e) {
+            permit.release(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a non-blocking Azure OpenAI call under a permit.
+     *
+     * @param priority Scheduling priority of the call
+     * @param call     Starts the call; must not block
+     * @return Future of the call's result, failed with {@link UpstreamRejectedException} if no permit was granted
+     */
+    public <T> CompletableFuture<T> callAsync(Priority priority, Supplier<CompletableFuture<T>> call) {
+        return callAsync(priority, call, result -> 0);
+    }
+
+    /**
+     * Runs a non-blocking Azure OpenAI call under a permit, reporting the tokens it generated.
+     *
+     * @param priority         Scheduling priority of the call
+     * @param call             Starts the call; must not block
+     * @param completionTokens Completion tokens of the result, or 0 if unknown
+     * @return Future of the call's result, failed with {@link UpstreamRejectedException} if no permit was granted
+     */
+    public <T> CompletableFuture<T> callAsync(Priority priority, Supplier<CompletableFuture<T>> call,
+                                              ToIntFunction<? super T> completionTokens) {
+        return acquire(priority).thenCompose(permit -> {
+            CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                permit.release(e);
+                throw e;
+            }
+            return result.whenComplete((value, failure) ->
+                    permit.release(failure, failure == null ? completionTokens.applyAsInt(value) : 0));
+        });
+    }
+
+    /**
+     * @return Current limit, queue lengths and counters
+     */
+    public UpstreamStats stats() {
+        lock.lock();
+        try {
+            UpstreamStats stats = new UpstreamStats(enabled, limiter.getLimit(), inFlight, interactive.size(),
+                    batch.size(), dispatched.get(), throttled.get(), rejected.get(), expired.get());
+            stats.setInFlightInteractive(inFlightInteractive);
+            stats.setInFlightBatch(inFlightBatch);
+            if (breaker != null) {
+                // Report an elapsed open period as half-open without admitting a call
+                boolean elapsed = breaker.getState() == CircuitBreaker.State.OPEN
+                        && breaker.retryAfterNanos(nanoClock.getAsLong()) == 0;
+                stats.setCircuitState(elapsed ? CircuitBreaker.State.HALF_OPEN.name() : breaker.getState().name());
+                stats.setCircuitOpened(breaker.getTimesOpened());
+            }
+            stats.setShortCircuited(shortCircuited.get());
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void expire(Waiter waiter, Duration timeout) {
+        if (!dequeue(waiter)) {
+            return;
+        }
+        expired.incrementAndGet();
+        waiter.future.completeExceptionally(new UpstreamRejectedException(
+                "Timed out after " + timeout.toSeconds() + "s waiting for Azure OpenAI capacity"));
+    }
+
+    /**
+     * @return Whether the waiter was still queued
+     */
+    private boolean dequeue(Waiter waiter) {
+        lock.lock();
+        try {
+            return (waiter.priority == Priority.BATCH ? batch : interactive).remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands a released permit on. A permit whose call never started ({@code used} false) gives the
+     * limiter and the breaker no feedback: its zero duration is not a round-trip time.
+     */
+    private void onRelease(Permit permit, Throwable failure, boolean used, int completionTokens) {
+        boolean congestion = used && isCongestion(failure);
+        List<Waiter> granted = new ArrayList<>();
+        List<Waiter> shortCircuit = new ArrayList<>();
+        long retryAfterSeconds = 0;
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (breaker != null && used) {
+                breaker.onResult(permit.trial, failure, now - permit.startNanos, now);
+            }
+            if (!enabled) {
+                return;
+            }
+            if (congestion) {
+                throttled.incrementAndGet();
+                limiter.onThrottled();
+            } else if (used && failure == null) {
+                limiter.onSuccess(now - permit.startNanos, completionTokens, inFlight);
+            }
+            inFlight--;
+            inFlight(permit.priority, -1);
+
+            if (breaker != null && breaker.getState() == CircuitBreaker.State.OPEN) {
+                // Nobody waiting would get through: fail them now instead of at their queue timeout
+                shortCircuit.addAll(interactive);
+                shortCircuit.addAll(batch);
+                interactive.clear();
+                batch.clear();
+                shortCircuited.addAndGet(shortCircuit.size());
+                retryAfterSeconds = breaker.retryAfterSeconds(now);
+            }
+            while (inFlight < limiter.getLimit()) {
+                Waiter next = next();
+                if (next == null) {
+                    break;
+                }
+                inFlight++;
+                inFlight(next.priority, 1);
+                dispatched.incrementAndGet();
+                granted.add(next);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Waiter waiter : shortCircuit) {
+            waiter.future.completeExceptionally(new CircuitOpenException(retryAfterSeconds));
+        }
+        for (Waiter waiter : granted) {
+            Permit next = new Permit(waiter.priority, nanoClock.getAsLong(), false);
+            if (!waiter.future.complete(next)) {
+                // Cancelled in the meantime
+                next.abandon();
+            }
+        }
+    }
+
+    /**
+     * Picks the next waiter whose priority is below its bulkhead share.
+     */
+    private Waiter next() {
+        boolean batchReady = !batch.isEmpty() && hasRoom(Priority.BATCH);
+        boolean interactiveReady = !interactive.isEmpty() && hasRoom(Priority.INTERACTIVE);
+        boolean batchTurn = batchReady && (!interactiveReady || interactiveStreak >= INTERACTIVE_BURST);
+        if (batchTurn) {
+            interactiveStreak = 0;
+            return batch.poll();
+        }
+        if (!interactiveReady) {
+            return null;
+        }
+        interactiveStreak++;
+        return interactive.poll();
+    }
+
+    /**
+     * @return Whether the priority holds less than its share of the limit
+     */
+    private boolean hasRoom(Priority priority) {
+        double share = priority == Priority.BATCH ? batchShare : interactiveShare;
+        int held = priority == Priority.BATCH ? inFlightBatch : inFlightInteractive;
+        return held < Math.max(1, (int) Math.ceil(limiter.getLimit() * share));
+    }
+
+    private void inFlight(Priority priority, int delta) {
+        if (priority == Priority.BATCH) {
+            inFlightBatch += delta;
+        } else {
+            inFlightInteractive += delta;
+        }
+    }
+
+    /**
+     * Decides whether a failed call signals that Azure OpenAI is overloaded: a 429 response or a
+     * timeout. Other failures, such as invalid requests, leave the limit unchanged.
+     */
+    static boolean isCongestion(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof HttpResponseException http && http.getResponse() != null) {
+            int status = http.getResponse().getStatusCode();
+            return status == 429 || status == 408 || status == 504;
+        }
+        return cause instanceof TimeoutException;
+    }
+
+    /**
+     * Admission of one Azure OpenAI call. Releasing it more than once has no effect.
+     */
+    public final class Permit {
+
+        private final Priority priority;
+        private final long startNanos;
+        private final boolean trial;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Priority priority, long startNanos, boolean trial) {
+            this.priority = priority;
+            this.startNanos = startNanos;
+            this.trial = trial;
+        }
+
+        /**
+         * Ends the call and hands the permit to the next waiting caller.
+         *
+         * @param failure Why the call failed, or {@code null} if it succeeded
+         */
+        public void release(Throwable failure) {
+            release(failure, 0);
+        }
+
+        /**
+         * Ends the call and hands the permit to the next waiting caller.
+         *
+         * @param failure          Why the call failed, or {@code null} if it succeeded
+         * @param completionTokens Tokens the call generated, or 0 if unknown
+         */
+        public void release(Throwable failure, int completionTokens) {
+            if ((enabled || breaker != null) && released.compareAndSet(false, true)) {
+                onRelease(this, failure, true, completionTokens);
+            }
+        }
+
+        /**
+         * Hands the permit on without reporting an outcome, for a call that was cancelled before it
+         * completed or never started: its duration says nothing about Azure OpenAI's latency.
+         */
+        public void abandon() {
+            if (released.compareAndSet(false, true)) {
+                onRelease(this, null, false, 0);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Priority priority;
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        private Waiter(Priority priority) {
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.ai.aicc.cache;
+
+import com.ai.aicc.model.CacheStats;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ConversionCache newCache(int maxEntries, long maxWeightBytes) {
+        return new ConversionCache(true, maxEntries, maxWeightBytes, Duration.ofMinutes(10), clock::get, null);
+    }
+
+    @Test
+    void testHitAndMissCounters() {
+        ConversionCache cache = newCache(10, 1_000_000);
+
+        assertNull(cache.get("a"));
+        cache.put("a", new ConversionResponse("print(1)", "Java", "Python"));
+        ConversionResponse hit = cache.get("a");
+
+        assertNotNull(hit);
+        assertEquals("print(1)", hit.getConvertedCode());
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void testErrorResponsesAreNotCached() {
+        ConversionCache cache = newCache(10, 1_000_000);
+
+        cache.put("a", ConversionResponse.error("boom"));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ConversionCache cache = newCache(2, 1_000_000);
+
+        cache.put("a", new ConversionResponse("a", "SQL", "Java"));
+        cache.put("b", new ConversionResponse("b", "SQL", "Java"));
+        cache.get("a");
+        cache.put("c", new ConversionResponse("c", "SQL", "Java"));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void testWeightLimitEvicts() {
+        ConversionCache cache = newCache(100, 1_000);
+
+        cache.put("a", new ConversionResponse("x".repeat(200), "SQL", "Java"));
+        cache.put("b", new ConversionResponse("y".repeat(200), "SQL", "Java"));
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertTrue(cache.stats().getWeightBytes() <= 1_000);
+    }
+
+    @Test
+    void testExpiredEntryIsAMiss() {
+        ConversionCache cache = newCache(10, 1_000_000);
+
+        cache.put("a", new ConversionResponse("a", "SQL", "Java"));
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.stats().getExpirations());
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void testPromotedDiskEntryExpiresWithTheRecord(@TempDir Path directory) throws IOException {
+        AtomicLong millis = new AtomicLong(1_000_000);
+        try (DiskConversionStore disk = new DiskConversionStore(directory, 1_000_000, 64, 0.5,
+                Duration.ofMinutes(10), millis::get)) {
+            disk.put("0".repeat(64), new ConversionResponse("a", "SQL", "Java"));
+            millis.addAndGet(Duration.ofMinutes(9).toMillis());
+
+            ConversionCache cache = new ConversionCache(true, 10, 1_000_000, Duration.ofMinutes(10), clock::get, disk);
+            assertNotNull(cache.get("0".repeat(64)));
+            assertEquals(1, cache.stats().getDiskHits());
+            assertNotNull(cache.peek("0".repeat(64)));
+
+            // Written 11 minutes ago: gone from memory as well as from disk
+            clock.addAndGet(Duration.ofMinutes(2).toNanos());
+            millis.addAndGet(Duration.ofMinutes(2).toMillis());
+            assertNull(cache.peek("0".repeat(64)));
+            assertNull(cache.get("0".repeat(64)));
+            assertEquals(1, cache.stats().getExpirations());
+        }
+    }
+
+    @Test
+    void testInvalidate() {
+        ConversionCache cache = newCache(10, 1_000_000);
+        cache.put("a", new ConversionResponse("a", "SQL", "Java"));
+        cache.put("b", new ConversionResponse("b", "SQL", "Java"));
+
+        assertTrue(cache.invalidate("a"));
+        assertFalse(cache.invalidate("a"));
+        assertEquals(1, cache.invalidateAll());
+        assertEquals(0, cache.stats().getWeightBytes());
+    }
+
+    @Test
+    void testDigestIgnoresCosmeticWhitespace() {
+        String a = RequestDigest.of(new ConversionRequest("SELECT 1;  \r\n\r\n", "SQL", "Java"), "gpt-4", "1");
+        String b = RequestDigest.of(new ConversionRequest("\nSELECT 1;", "sql", "JAVA"), "gpt-4", "1");
+
+        assertEquals(a, b);
+        assertNotEquals(a, RequestDigest.of(new ConversionRequest("SELECT 1;", "SQL", "Python"), "gpt-4", "1"));
+        assertNotEquals(a, RequestDigest.of(new ConversionRequest("SELECT 1;", "SQL", "Java"), "gpt-4", "2"));
+        assertNotEquals(a, RequestDigest.of(new ConversionRequest("SELECT 1;", "SQL", "Java"), "gpt-35", "1"));
+    }
+
+    @Test
+    void testDigestOfLargeSourceMatchesNormalizedText() throws Exception {
+        // Lines longer than the encode buffer, non-ASCII text, a surrogate pair and a lone surrogate
+        String line = "x = \"\u00e9\u4e2d\ud83d\ude00\" + 1;\t ".repeat(400);
+        String source = "\r\n\n" + line + "\r\n\n   \n" + line + "\ud800\r" + line + "\n\n \n";
+
+        MessageDigest expected = MessageDigest.getInstance("SHA-256");
+        for (String field : new String[]{"java", "python", "gpt-4", "1", RequestDigest.normalizeSource(source)}) {
+            expected.update(field.getBytes(StandardCharsets.UTF_8));
+            expected.update((byte) 0);
+        }
+
+        assertEquals(HexFormat.of().formatHex(expected.digest()),
+                RequestDigest.of(new ConversionRequest(source, "Java", "Python"), "gpt-4", "1"));
+        assertEquals("a\n\n  b", RequestDigest.normalizeSource("\n \na \r\n\r  b\t\n\n"));
+    }
+}
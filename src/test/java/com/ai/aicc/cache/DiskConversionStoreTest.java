@@ -0,0 +1,103 @@
+package com.ai.aicc.cache;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskConversionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private DiskConversionStore open(long maxSizeBytes) {
+        return new DiskConversionStore(directory, maxSizeBytes, 64, 0.5, Duration.ofHours(1), clock::get);
+    }
+
+    private static String key(int i) {
+        return RequestDigest.of(new ConversionRequest("SELECT " + i, "SQL", "Java"), "gpt-4", "1");
+    }
+
+    @Test
+    void testEntriesSurviveRestart() throws IOException {
+        DiskConversionStore store = open(1_000_000);
+        store.put(key(1), new ConversionResponse("int one = 1;", "SQL", "Java"));
+        store.close();
+
+        DiskConversionStore reopened = open(1_000_000);
+        ConversionResponse response = reopened.get(key(1));
+
+        assertNotNull(response);
+        assertEquals("int one = 1;", response.getConvertedCode());
+        assertNull(reopened.get(key(2)));
+        reopened.close();
+    }
+
+    @Test
+    void testIndexIsRebuiltFromSegmentIncludingTombstones() throws IOException {
+        DiskConversionStore store = open(1_000_000);
+        store.put(key(1), new ConversionResponse("one", "SQL", "Java"));
+        store.put(key(2), new ConversionResponse("two", "SQL", "Java"));
+        store.put(key(2), new ConversionResponse("two v2", "SQL", "Java"));
+        assertTrue(store.invalidate(key(1)));
+        store.close();
+        Files.delete(directory.resolve(DiskConversionStore.INDEX_FILE));
+
+        DiskConversionStore reopened = open(1_000_000);
+
+        assertNull(reopened.get(key(1)));
+        assertEquals("two v2", reopened.get(key(2)).getConvertedCode());
+        assertEquals(1, reopened.stats().getEntries());
+        reopened.close();
+    }
+
+    @Test
+    void testCompactionReclaimsSupersededRecords() throws IOException {
+        DiskConversionStore store = open(1_000_000);
+        for (int version = 0; version < 10; version++) {
+            store.put(key(1), new ConversionResponse("v" + version, "SQL", "Java"));
+        }
+        long before = store.stats().getSegmentBytes();
+
+        store.compact();
+
+        assertTrue(store.stats().getSegmentBytes() < before);
+        assertEquals(store.stats().getLiveBytes() + 8, store.stats().getSegmentBytes());
+        assertEquals("v9", store.get(key(1)).getConvertedCode());
+        store.close();
+    }
+
+    @Test
+    void testSizeCapDropsOldestEntries() throws IOException {
+        DiskConversionStore store = open(2_000);
+        for (int i = 0; i < 40; i++) {
+            store.put(key(i), new ConversionResponse("converted " + i, "SQL", "Java"));
+        }
+
+        assertTrue(store.stats().getSegmentBytes() <= 2_000);
+        assertTrue(store.stats().getCompactions() > 0);
+        assertNull(store.get(key(0)));
+        assertEquals("converted 39", store.get(key(39)).getConvertedCode());
+        store.close();
+    }
+
+    @Test
+    void testExpiredEntriesAreIgnored() throws IOException {
+        DiskConversionStore store = open(1_000_000);
+        store.put(key(1), new ConversionResponse("one", "SQL", "Java"));
+        clock.addAndGet(Duration.ofHours(2).toMillis());
+
+        assertNull(store.get(key(1)));
+        store.close();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ai.aicc.cache;
+
+import com.ai.aicc.model.ConversionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private FingerprintCache newCache(boolean enabled) {
+        return new FingerprintCache(enabled, 10, 200, Duration.ofMinutes(10), clock::get);
+    }
+
+    private static ConversionRequest java(String code) {
+        return new ConversionRequest(code, "Java", "Python");
+    }
+
+    @Test
+    void testNearDuplicateIsRetargeted() {
+        FingerprintCache cache = newCache(true);
+        cache.put(java("int total = price * 2;\nSystem.out.println(\"Total\");"),
+                "total = price * 2\nprint(\"Total\")", "gpt-4", "v1");
+
+        String converted = cache.get(java("int sum = cost * 3;\nSystem.out.println(\"Sum\");"), "gpt-4", "v1");
+
+        assertEquals("sum = cost * 3\nprint(\"Sum\")", converted);
+        assertEquals(1, cache.stats().getHits());
+        assertNull(cache.get(java("int sum = cost * 3;"), "gpt-4", "v1"));
+        assertNull(cache.get(java("int sum = cost * 3;\nSystem.out.println(\"Sum\");"), "gpt-4", "v2"));
+    }
+
+    @Test
+    void testRenamedOutputIsNotTemplated() {
+        FingerprintCache cache = newCache(true);
+        // The model renamed total to grand_total, so the binding cannot be traced
+        cache.put(java("int total = price * 2;"), "grand_total = price * 2", "gpt-4", "v1");
+
+        assertNull(cache.get(java("int sum = cost * 3;"), "gpt-4", "v1"));
+        assertEquals(1, cache.stats().getNotTemplatable());
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void testNameCollidingWithTemplateIsRejected() {
+        FingerprintCache cache = newCache(true);
+        cache.put(java("int total = price * 2;"), "total = price * 2  # via print", "gpt-4", "v1");
+
+        // print already occurs in the template, so substituting it would change the meaning
+        assertNull(cache.get(java("int print = cost * 3;"), "gpt-4", "v1"));
+        assertNotNull(cache.get(java("int sum = cost * 3;"), "gpt-4", "v1"));
+    }
+
+    @Test
+    void testExpiredAndInvalidatedTemplatesAreNotServed() {
+        FingerprintCache cache = newCache(true);
+        cache.put(java("int total = price * 2;"), "total = price * 2", "gpt-4", "v1");
+
+        assertTrue(cache.invalidate(java("int sum = cost * 3;"), "gpt-4", "v1"));
+        assertNull(cache.get(java("int sum = cost * 3;"), "gpt-4", "v1"));
+
+        cache.put(java("int total = price * 2;"), "total = price * 2", "gpt-4", "v1");
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        assertNull(cache.get(java("int sum = cost * 3;"), "gpt-4", "v1"));
+    }
+
+    @Test
+    void testDisabledCacheStoresNothing() {
+        FingerprintCache cache = newCache(false);
+        cache.put(java("int total = price * 2;"), "total = price * 2", "gpt-4", "v1");
+
+        assertNull(cache.get(java("int sum = cost * 3;"), "gpt-4", "v1"));
+        assertFalse(cache.stats().isEnabled());
+    }
+
+    @Test
+    void testLongSourceIsNotFingerprinted() {
+        FingerprintCache cache = newCache(true);
+        String padding = "\n".repeat(200);
+        cache.put(java("int total = price * 2;" + padding), "total = price * 2", "gpt-4", "v1");
+
+        assertNull(cache.get(java("int sum = cost * 3;" + padding), "gpt-4", "v1"));
+        assertEquals(0, cache.stats().getStored());
+        assertEquals(0, cache.stats().getMisses());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ai.aicc.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceFingerprintTest {
+
+    @Test
+    void testRenamesLiteralsAndCommentsShareFingerprint() {
+        SourceFingerprint a = SourceFingerprint.of(
+                "int total = price * 2; // doubled\nSystem.out.println(\"Total\");", "Java");
+        SourceFingerprint b = SourceFingerprint.of(
+                "int   sum = cost * 3;\n/* tripled */ System.out.println(\"Sum\");", "Java");
+
+        assertNotNull(a);
+        assertEquals(a.canonical(), b.canonical());
+        assertEquals(List.of("total", "price"), a.identifiers());
+        assertEquals(List.of("sum", "cost"), b.identifiers());
+        assertEquals(List.of("Total"), a.strings());
+        assertEquals(List.of("3"), b.numbers());
+    }
+
+    @Test
+    void testCalledMethodsAndOperatorsStayLiteral() {
+        String base = SourceFingerprint.of("x = compute(y) + 1", "Python").canonical();
+
+        assertNotEquals(base, SourceFingerprint.of("x = evaluate(y) + 1", "Python").canonical());
+        assertNotEquals(base, SourceFingerprint.of("x = compute(y) - 1", "Python").canonical());
+        assertEquals(base, SourceFingerprint.of("z = compute(w) + 7", "Python").canonical());
+    }
+
+    @Test
+    void testPythonIndentationIsStructural() {
+        String nested = "if a:\n    b = 1\n    c = 2\n";
+        String dedented = "if a:\n    b = 1\nc = 2\n";
+
+        assertNotEquals(SourceFingerprint.of(nested, "Python").canonical(),
+                SourceFingerprint.of(dedented, "Python").canonical());
+    }
+
+    @Test
+    void testRepeatedNameGetsOnePlaceholder() {
+        SourceFingerprint fingerprint = SourceFingerprint.of("a = a + b", "Python");
+
+        assertEquals(List.of("a", "b"), fingerprint.identifiers());
+        assertNotEquals(fingerprint.canonical(), SourceFingerprint.of("a = c + b", "Python").canonical());
+    }
+
+    @Test
+    void testUnsupportedLanguageHasNoFingerprint() {
+        assertNull(SourceFingerprint.of("fn main() {}", "Rust"));
+        assertNull(SourceFingerprint.of("int x = 1;\u0001", "Java"));
+    }
+}
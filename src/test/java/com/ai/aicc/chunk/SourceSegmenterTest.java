@@ -0,0 +1,212 @@
+package com.ai.aicc.chunk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceSegmenterTest {
+
+    private final SourceSegmenter segmenter = new SourceSegmenter();
+
+    @Test
+    void testSmallSourceIsSingleSegment() {
+        List<SourceSegment> segments = segmenter.split("SELECT 1;\nSELECT 2;", "SQL", 1000);
+
+        assertEquals(1, segments.size());
+        assertEquals("SELECT 1;\nSELECT 2;", segments.get(0).getCode());
+        assertNull(segments.get(0).getContext());
+    }
+
+    @Test
+    void testUnknownLanguageIsNotSplit() {
+        String source = "line one\n".repeat(50);
+
+        assertEquals(1, segmenter.split(source, "COBOL", 40).size());
+    }
+
+    @Test
+    void testJavaSplitsBetweenTopLevelTypesWithImportsAsContext() {
+        String source = """
+                package com.example;
+
+                import java.util.List;
+                import java.util.Map;
+
+                public class First {
+                    private final String brace = "}";
+
+                    void first() {
+                        // } not a real brace
+                    }
+                }
+
+                class Second {
+                    void second() {
+                        if (true) {
+                        }
+                        else {
+                        }
+                    }
+                }
+                """;
+
+        List<SourceSegment> segments = segmenter.split(source, "Java", 200);
+
+        assertEquals(2, segments.size());
+        assertTrue(segments.get(0).getCode().startsWith("package com.example;"));
+        assertTrue(segments.get(0).getCode().contains("class First"));
+        assertNull(segments.get(0).getContext());
+        assertTrue(segments.get(1).getCode().contains("class Second"));
+        assertTrue(segments.get(1).getContext().contains("import java.util.Map;"));
+        assertEquals(source, join(segments));
+    }
+
+    @Test
+    void testOversizedJavaClassIsSplitBetweenMembers() {
+        StringBuilder source = new StringBuilder("import java.util.List;\n\n/** Docs */\npublic class Big extends Base {\n");
+        for (int i = 0; i < 6; i++) {
+            source.append("\n    /** Method ").append(i).append(" */\n")
+                    .append("    int method").append(i).append("() {\n")
+                    .append("        String s = \"{ not a block\";\n")
+                    .append("        return ").append(i).append(";\n")
+                    .append("    }\n");
+        }
+        source.append("}\n");
+
+        List<SourceSegment> segments = segmenter.split(source.toString(), "Java", 250);
+
+        assertTrue(segments.size() > 1);
+        assertEquals(source.toString(), join(segments));
+        assertNull(segments.get(0).getContext());
+        assertTrue(segments.get(0).getCode().contains("public class Big extends Base {"));
+        for (SourceSegment segment : segments.subList(1, segments.size())) {
+            assertTrue(segment.getContext().contains("import java.util.List;"));
+            assertTrue(segment.getContext().contains("public class Big extends Base {"));
+            // Every member segment starts at a member boundary and holds complete methods
+            assertEquals(count(segment.getCode(), "int method"), count(segment.getCode(), "return "));
+        }
+        assertTrue(segments.get(segments.size() - 1).getCode().stripTrailing().endsWith("}"));
+    }
+
+    @Test
+    void testCutsIncludeMembersOfSmallTypesAndContextMatchesSplit() {
+        String source = """
+                import java.util.List;
+
+                public class Small {
+                    int a() {
+                        return 1;
+                    }
+
+                    int b() {
+                        return 2;
+                    }
+                }
+                """;
+
+        assertEquals(List.of(1, 6), segmenter.cuts(source, "Java"));
+        assertEquals(List.of(), segmenter.cuts(source, "COBOL"));
+        assertNull(segmenter.contextAt(source, "Java", 0));
+        assertEquals("import java.util.List;", segmenter.contextAt(source, "Java", 2));
+        assertEquals("import java.util.List;\n\npublic class Small {", segmenter.contextAt(source, "Java", 6));
+    }
+
+    @Test
+    void testPythonSplitsClassMethodsAndKeepsDecoratorsAndElseTogether() {
+        String source = """
+                import os
+                from typing import (
+                    List,
+                )
+
+                if os.name == "nt":
+                    SEP = "\\\\"
+                else:
+                    SEP = "/"
+
+
+                class Service:
+                    \"""Docstring with def inside: def fake():\"""
+
+                    # Creates the service
+                    @staticmethod
+                    def create():
+                        return Service()
+
+                    def run(self, items: List[str]):
+                        for item in items:
+                            print(item)
+                        return len(items)
+
+                    def stop(self):
+                        return None
+                """;
+
+        List<SourceSegment> segments = segmenter.split(source, "Python", 120);
+
+        assertEquals(source, join(segments));
+        String joined = segments.stream().map(SourceSegment::getCode).collect(Collectors.joining("\n---\n"));
+        assertFalse(joined.contains("---\nelse:"), joined);
+        assertFalse(joined.contains("---\n    def create"), "decorator separated from its function:\n" + joined);
+        assertFalse(joined.contains("---\n    @staticmethod"), "comment separated from its function:\n" + joined);
+        SourceSegment run = segments.stream().filter(s -> s.getCode().contains("def run")).findFirst().orElseThrow();
+        assertTrue(run.getContext().contains("class Service:"));
+        assertTrue(run.getContext().contains("from typing import ("));
+        assertTrue(run.getContext().contains("    List,\n)"));
+    }
+
+    @Test
+    void testSqlSplitsStatementsAndKeepsProcedureBodiesWhole() {
+        String source = """
+                INSERT INTO log VALUES ('a; b');
+                -- comment; with semicolon
+                UPDATE users SET name = 'x' WHERE id = 1;
+
+                CREATE PROCEDURE cleanup()
+                BEGIN
+                    DECLARE n INT;
+                    SET n = CASE WHEN 1 = 1 THEN 1 ELSE 0 END;
+                    BEGIN TRANSACTION;
+                    DELETE FROM log WHERE created < NOW();
+                    IF n > 0 THEN
+                        COMMIT;
+                    END IF;
+                END;
+
+                SELECT * FROM users;
+                """;
+
+        List<SourceSegment> segments = segmenter.split(source, "SQL", 60);
+
+        assertEquals(source, join(segments));
+        SourceSegment procedure = segments.stream()
+                .filter(s -> s.getCode().contains("CREATE PROCEDURE")).findFirst().orElseThrow();
+        assertTrue(procedure.getCode().contains("DELETE FROM log"));
+        assertTrue(procedure.getCode().stripTrailing().endsWith("END;"));
+        assertTrue(segments.get(0).getCode().contains("'a; b'"));
+        assertTrue(segments.get(segments.size() - 1).getCode().contains("SELECT * FROM users;"));
+        assertNull(procedure.getContext());
+    }
+
+    @Test
+    void testSqlGoSeparatesTransactSqlBatches() {
+        String source = "CREATE PROCEDURE p AS\n    SELECT 1;\n    SELECT 2;\nGO\nCREATE PROCEDURE q AS\n    SELECT 3;\nGO\n";
+
+        List<SourceSegment> segments = segmenter.split(source, "SQL", 40);
+
+        assertEquals(2, segments.size());
+        assertTrue(segments.get(0).getCode().endsWith("GO"));
+        assertEquals(source, join(segments));
+    }
+
+    private static String join(List<SourceSegment> segments) {
+        return segments.stream().map(SourceSegment::getCode).collect(Collectors.joining("\n"));
+    }
+
+    private static int count(String text, String needle) {
+        return text.split(java.util.regex.Pattern.quote(needle), -1).length - 1;
+    }
+}
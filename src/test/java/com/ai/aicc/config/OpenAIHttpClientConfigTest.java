@@ -0,0 +1,45 @@
+package com.ai.aicc.config;
+
+import com.azure.core.http.HttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAIHttpClientConfigTest {
+
+    private static final HttpClient TEST_CLIENT = request -> Mono.empty();
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            // Converts the "30s" style defaults of the @Value parameters, as a Boot application does
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(OpenAIHttpClientConfig.class);
+
+    @Test
+    void testPrimaryClientRegisteredLaterOverridesTransport() {
+        runner.withUserConfiguration(TestTransport.class).run(context ->
+                assertSame(TEST_CLIENT, context.getBeanProvider(HttpClient.class).getIfAvailable()));
+    }
+
+    @Test
+    void testTransportCanBeTurnedOff() {
+        runner.withPropertyValues("aicc.upstream.http.enabled=false").run(context ->
+                assertNull(context.getBeanProvider(HttpClient.class).getIfAvailable()));
+    }
+
+    @Configuration
+    static class TestTransport {
+
+        @Bean
+        @Primary
+        HttpClient testHttpClient() {
+            return TEST_CLIENT;
+        }
+    }
+}
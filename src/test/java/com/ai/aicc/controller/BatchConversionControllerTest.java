@@ -0,0 +1,98 @@
+package com.ai.aicc.controller;
+
+import com.ai.aicc.model.BatchConversionResponse;
+import com.ai.aicc.model.BatchItemResult;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.service.BatchConversionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BatchConversionController.class)
+class BatchConversionControllerTest {
+
+    private static final String BATCH = "{\"items\":["
+            + "{\"sourceCode\":\"SELECT 1\",\"sourceLanguage\":\"SQL\",\"targetLanguage\":\"Java\"},"
+            + "{\"sourceCode\":\"\",\"sourceLanguage\":\"SQL\",\"targetLanguage\":\"Java\"}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BatchConversionService batchService;
+
+    @Test
+    void testConvertBatchReturnsResultsInOrder() throws Exception {
+        when(batchService.convertBatchOrdered(anyList())).thenReturn(Mono.just(new BatchConversionResponse(List.of(
+                new ConversionResponse("int one = 1;", "SQL", "Java"),
+                ConversionResponse.error("Source code cannot be empty")))));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BATCH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].convertedCode").value("int one = 1;"))
+                .andExpect(jsonPath("$.results[1].error").value("Source code cannot be empty"));
+    }
+
+    @Test
+    void testConvertBatchRejectsEmptyBatch() throws Exception {
+        when(batchService.validate(any())).thenReturn("Batch must contain at least one item");
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[]}"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Batch must contain at least one item"));
+    }
+
+    @Test
+    void testConvertBatchStreamsNdjson() throws Exception {
+        when(batchService.convertBatch(anyList())).thenReturn(Flux.just(
+                new BatchItemResult(1, ConversionResponse.error("Source code cannot be empty")),
+                new BatchItemResult(0, new ConversionResponse("int one = 1;", "SQL", "Java"))));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(BATCH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"index\":1,"));
+        assertTrue(lines[1].contains("\"convertedCode\":\"int one = 1;\""));
+    }
+}
@@ -1,21 +1,46 @@
 package com.ai.aicc.controller;
 
+import com.ai.aicc.config.ResponseFormatConfig;
+import com.ai.aicc.metrics.ConversionMetrics;
 import com.ai.aicc.model.ConversionRequest;
 import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.DocumentConversionResponse;
+import com.ai.aicc.service.ChunkedConversionService;
 import com.ai.aicc.service.CodeConversionService;
+import com.ai.aicc.service.IncrementalConversionService;
+import com.ai.aicc.token.TokenLimitExceededException;
+import com.ai.aicc.upstream.CircuitOpenException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CodeConversionController.class)
+@Import(ResponseFormatConfig.class)
 class CodeConversionControllerTest {
 
     @Autowired
@@ -24,6 +49,15 @@ class CodeConversionControllerTest {
     @MockBean
     private CodeConversionService conversionService;
 
+    @MockBean
+    private ChunkedConversionService chunkedConversionService;
+
+    @MockBean
+    private IncrementalConversionService incrementalConversionService;
+
+    @MockBean
+    private ConversionMetrics metrics;
+
     @Test
     void testConvertCodeSuccess() throws Exception {
         ConversionResponse response = new ConversionResponse("public class Test {}", "Java", "Python");
@@ -39,6 +73,27 @@ class CodeConversionControllerTest {
                 .andExpect(jsonPath("$.convertedCode").exists());
     }
 
+    @Test
+    void testConvertCodeNegotiatesCbor() throws Exception {
+        when(conversionService.convertCode(any(ConversionRequest.class)))
+                .thenReturn(new ConversionResponse("print(\"hi\")", "Java", "Python"));
+
+        MvcResult result = mockMvc.perform(post("/api/convert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content("{\"sourceCode\":\"System.out.println(\\\"hi\\\");\",\"sourceLanguage\":\"Java\",\"targetLanguage\":\"Python\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        ConversionResponse response = new ObjectMapper(new CBORFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), ConversionResponse.class);
+        assertEquals("print(\"hi\")", response.getConvertedCode());
+        assertTrue(response.isSuccess());
+        // A known length lets server.compression.min-response-size leave small results uncompressed
+        assertEquals(result.getResponse().getContentAsByteArray().length, result.getResponse().getContentLength());
+    }
+
     @Test
     void testConvertCodeEmptySource() throws Exception {
         mockMvc.perform(post("/api/convert")
@@ -60,4 +115,187 @@ class CodeConversionControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.error").value("Service error"));
     }
+
+    @Test
+    void testConvertCodeTooLargeForModelIsPayloadTooLarge() throws Exception {
+        TokenLimitExceededException tooLarge = new TokenLimitExceededException(
+                "Source code too large: the prompt needs 130000 tokens, but the model context of 128000 tokens "
+                        + "allows at most 127744");
+        when(conversionService.convertCode(any(ConversionRequest.class)))
+                .thenReturn(ConversionResponse.error("Failed to convert code: " + tooLarge.getMessage(), tooLarge));
+
+        mockMvc.perform(post("/api/convert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"SELECT * FROM users\",\"sourceLanguage\":\"SQL\",\"targetLanguage\":\"Java\"}"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.error").value(containsString("needs 130000 tokens")))
+                .andExpect(jsonPath("$.failure").doesNotExist());
+    }
+
+    @Test
+    void testConvertCodeWhileCircuitIsOpenIsServiceUnavailable() throws Exception {
+        CircuitOpenException circuitOpen = new CircuitOpenException(30);
+        when(conversionService.convertCode(any(ConversionRequest.class)))
+                .thenReturn(ConversionResponse.error("Failed to convert code: " + circuitOpen.getMessage(), circuitOpen));
+
+        mockMvc.perform(post("/api/convert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"SELECT * FROM users\",\"sourceLanguage\":\"SQL\",\"targetLanguage\":\"Java\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.error").value(containsString("calls are suspended")));
+    }
+
+    @Test
+    void testConvertCodeAsyncSuccess() throws Exception {
+        when(conversionService.convertCodeAsync(any(ConversionRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new ConversionResponse("print('hi')", "Java", "Python")));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"int x = 1;\",\"sourceLanguage\":\"Java\",\"targetLanguage\":\"Python\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.convertedCode").value("print('hi')"));
+    }
+
+    @Test
+    void testConvertCodeAsyncEmptySource() throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/convert/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"  \",\"sourceLanguage\":\"SQL\",\"targetLanguage\":\"Java\"}"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Source code cannot be empty"));
+    }
+
+    @Test
+    void testConvertCodeStreamEmitsDeltasThenDone() throws Exception {
+        when(conversionService.convertCodeStream(any(ConversionRequest.class)))
+                .thenReturn(Flux.just("def add(a, b):", "\n    return a + b"));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"int add(int a, int b) { return a + b; }\",\"sourceLanguage\":\"Java\",\"targetLanguage\":\"Python\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andDo(CodeConversionControllerTest::awaitEvents)
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:delta\ndata:{\"content\":\"def add(a, b):\"}")))
+                .andExpect(content().string(containsString("data:{\"content\":\"\\n    return a + b\"}")))
+                .andExpect(content().string(containsString("event:done")));
+    }
+
+    @Test
+    void testConvertCodeStreamReportsUpstreamError() throws Exception {
+        when(conversionService.convertCodeStream(any(ConversionRequest.class)))
+                .thenReturn(Flux.concat(Flux.just("partial"), Flux.error(new IllegalStateException("upstream down"))));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"SELECT 1\",\"sourceLanguage\":\"SQL\",\"targetLanguage\":\"Java\"}"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andDo(CodeConversionControllerTest::awaitEvents)
+                .andExpect(content().string(containsString("event:error")))
+                .andExpect(content().string(containsString("Failed to convert code: upstream down")));
+    }
+
+    @Test
+    void testConvertCodeStreamRejectedBeforeFirstFragmentSetsStatus() throws Exception {
+        when(conversionService.convertCodeStream(any(ConversionRequest.class)))
+                .thenReturn(Flux.error(new TokenLimitExceededException("Source code too large")));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"SELECT 1\",\"sourceLanguage\":\"SQL\",\"targetLanguage\":\"Java\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andDo(CodeConversionControllerTest::awaitEvents)
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(content().string(containsString("event:error")))
+                .andExpect(content().string(containsString("Failed to convert code: Source code too large")));
+    }
+
+    @Test
+    void testConvertLargeCodeSuccess() throws Exception {
+        when(chunkedConversionService.convertLarge(any(ConversionRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new ConversionResponse("class A:\n    pass\n\nclass B:\n    pass", "Java", "Python")));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/large")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"class A {}\\nclass B {}\",\"sourceLanguage\":\"Java\",\"targetLanguage\":\"Python\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.convertedCode").value("class A:\n    pass\n\nclass B:\n    pass"));
+    }
+
+    @Test
+    void testConvertDocumentReportsReusedLines() throws Exception {
+        when(incrementalConversionService.convert(eq("Orders.java"), any(ConversionRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(new DocumentConversionResponse("Orders.java", 3, 40, 2,
+                        new ConversionResponse("class Orders:\n    pass", "Java", "Python"))));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/documents/Orders.java")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"class Orders {}\",\"sourceLanguage\":\"Java\",\"targetLanguage\":\"Python\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.revision").value(3))
+                .andExpect(jsonPath("$.reusedLines").value(40))
+                .andExpect(jsonPath("$.convertedLines").value(2))
+                .andExpect(jsonPath("$.result.convertedCode").value("class Orders:\n    pass"));
+
+        mockMvc.perform(delete("/api/convert/documents/Unknown.java"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testConvertDocumentWhileCircuitIsOpenKeepsRetryAfter() throws Exception {
+        CircuitOpenException circuitOpen = new CircuitOpenException(12);
+        when(incrementalConversionService.convert(eq("Orders.java"), any(ConversionRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(new DocumentConversionResponse("Orders.java", 1, 0, 0,
+                        ConversionResponse.error("Failed to convert code: " + circuitOpen.getMessage(), circuitOpen))));
+
+        MvcResult pending = mockMvc.perform(post("/api/convert/documents/Orders.java")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceCode\":\"class Orders {}\",\"sourceLanguage\":\"Java\",\"targetLanguage\":\"Python\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(jsonPath("$.result.success").value(false));
+    }
+
+    /**
+     * The stream's status is decided first; its events are then written by a second async request.
+     */
+    private static void awaitEvents(MvcResult result) throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        ((MockAsyncContext) result.getRequest().getAsyncContext()).addDispatchHandler(written::countDown);
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+    }
 }
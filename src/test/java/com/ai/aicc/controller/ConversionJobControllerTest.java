@@ -0,0 +1,82 @@
+package com.ai.aicc.controller;
+
+import com.ai.aicc.job.ConversionJobQueue;
+import com.ai.aicc.model.ConversionJob;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.JobStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ConversionJobController.class)
+class ConversionJobControllerTest {
+
+    private static final String REQUEST =
+            "{\"sourceCode\":\"SELECT * FROM users\",\"sourceLanguage\":\"SQL\",\"targetLanguage\":\"Java\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConversionJobQueue jobQueue;
+
+    @Test
+    void testSubmitJobReturnsAcceptedWithLocation() throws Exception {
+        when(jobQueue.submit(any(ConversionRequest.class))).thenReturn(Optional.of(
+                new ConversionJob("job-1", new ConversionRequest("SELECT * FROM users", "SQL", "Java"), Instant.now())));
+
+        mockMvc.perform(post("/api/convert/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/convert/jobs/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void testSubmitJobWhenQueueIsFull() throws Exception {
+        when(jobQueue.submit(any(ConversionRequest.class))).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/convert/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error").value("Job queue is full, retry later"));
+    }
+
+    @Test
+    void testGetFinishedJob() throws Exception {
+        ConversionJob job = new ConversionJob("job-1", new ConversionRequest("SELECT 1", "SQL", "Java"), Instant.now());
+        job.setStatus(JobStatus.SUCCEEDED);
+        job.setResult(new ConversionResponse("int one = 1;", "SQL", "Java"));
+        when(jobQueue.find("job-1")).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/api/convert/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.result.convertedCode").value("int one = 1;"));
+    }
+
+    @Test
+    void testGetUnknownJob() throws Exception {
+        when(jobQueue.find("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/convert/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,85 @@
+package com.ai.aicc.controller;
+
+import com.ai.aicc.model.JobStatus;
+import com.ai.aicc.model.ProjectConversionStatus;
+import com.ai.aicc.project.ProjectConversion;
+import com.ai.aicc.project.ProjectConversionService;
+import com.ai.aicc.project.ProjectTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProjectConversionController.class)
+class ProjectConversionControllerTest {
+
+    private static final byte[] ARCHIVE = {'P', 'K', 3, 4};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProjectConversionService projectConversionService;
+
+    @Test
+    void testSubmitProjectReturnsAcceptedWithLocation() throws Exception {
+        ProjectConversionStatus status = new ProjectConversionStatus();
+        status.setId("project-1");
+        status.setStatus(JobStatus.RUNNING);
+        status.setTotalFiles(12);
+        ProjectConversion project = mock(ProjectConversion.class);
+        when(project.getId()).thenReturn("project-1");
+        when(project.status(anyLong())).thenReturn(status);
+        when(projectConversionService.submit(any(), eq("Python"))).thenReturn(Optional.of(project));
+
+        mockMvc.perform(post("/api/convert/projects").param("targetLanguage", "Python")
+                        .contentType("application/zip")
+                        .content(ARCHIVE))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/convert/projects/project-1"))
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.totalFiles").value(12));
+    }
+
+    @Test
+    void testSubmitProjectErrors() throws Exception {
+        when(projectConversionService.submit(any(), eq("Python")))
+                .thenThrow(new ProjectTooLargeException("Archive has more than 5000 source files"));
+        when(projectConversionService.submit(any(), eq("Java"))).thenReturn(Optional.empty());
+        when(projectConversionService.submit(any(), eq("C#")))
+                .thenThrow(new IllegalArgumentException("Archive contains no Java, Python, SQL or C# source files"));
+
+        mockMvc.perform(post("/api/convert/projects").param("targetLanguage", "Python")
+                        .contentType("application/zip").content(ARCHIVE))
+                .andExpect(status().isPayloadTooLarge());
+        mockMvc.perform(post("/api/convert/projects").param("targetLanguage", "Java")
+                        .contentType("application/zip").content(ARCHIVE))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(post("/api/convert/projects").param("targetLanguage", "C#")
+                        .contentType("application/zip").content(ARCHIVE))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetUnknownProject() throws Exception {
+        when(projectConversionService.find("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/convert/projects/missing"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/convert/projects/missing/archive"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ai.aicc.fastpath;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.FastPathStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastPathConverterTest {
+
+    @Test
+    void testCountsHitsAndFallbacks() {
+        FastPathConverter fastPath = new FastPathConverter(List.of(new SqlTemplateConverter()), true);
+
+        assertTrue(fastPath.tryConvert(new ConversionRequest("SELECT * FROM users", "SQL", "Java")).isPresent());
+        assertTrue(fastPath.tryConvert(new ConversionRequest("SELECT COUNT(*) FROM users", "SQL", "Java")).isEmpty());
+        assertTrue(fastPath.tryConvert(new ConversionRequest("print('hi')", "Python", "Java")).isEmpty());
+        assertTrue(fastPath.tryConvert(new ConversionRequest("DELETE FROM users", "SQL", "Python")).isPresent());
+
+        FastPathStats stats = fastPath.stats();
+        assertEquals(4, stats.getRequests());
+        assertEquals(3, stats.getEligible());
+        assertEquals(2, stats.getHits());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void testFailingConverterFallsBackToNextConverter() {
+        LocalConverter broken = new LocalConverter() {
+            @Override
+            public boolean supports(String sourceLanguage, String targetLanguage) {
+                return true;
+            }
+
+            @Override
+            public Optional<String> convert(ConversionRequest request) {
+                throw new IllegalStateException("bug");
+            }
+        };
+        FastPathConverter fastPath = new FastPathConverter(List.of(broken, new SqlTemplateConverter()), true);
+
+        assertTrue(fastPath.tryConvert(new ConversionRequest("SELECT * FROM users", "SQL", "Java")).isPresent());
+        assertTrue(fastPath.tryConvert(new ConversionRequest("class A {}", "Java", "Python")).isEmpty());
+    }
+
+    @Test
+    void testDisabledFastPathConvertsNothing() {
+        FastPathConverter fastPath = new FastPathConverter(List.of(new SqlTemplateConverter()), false);
+
+        assertTrue(fastPath.tryConvert(new ConversionRequest("SELECT * FROM users", "SQL", "Java")).isEmpty());
+        assertEquals(0, fastPath.stats().getRequests());
+        assertFalse(fastPath.stats().isEnabled());
+    }
+}
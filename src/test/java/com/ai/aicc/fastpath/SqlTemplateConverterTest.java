@@ -0,0 +1,102 @@
+package com.ai.aicc.fastpath;
+
+import com.ai.aicc.model.ConversionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlTemplateConverterTest {
+
+    private final SqlTemplateConverter converter = new SqlTemplateConverter();
+
+    @Test
+    void testSelectToJdbc() {
+        String java = convert("select id, user_name from app.users where status = 'active' and age >= ? "
+                + "order by user_name desc limit 10;", "Java").orElseThrow();
+
+        assertTrue(java.contains("public class UsersRepository {"));
+        assertTrue(java.contains("public List<Map<String, Object>> findUsers(Connection connection, Object age)"));
+        assertTrue(java.contains("String sql = \"SELECT id, user_name FROM app.users WHERE status = ? AND age >= ? "
+                + "ORDER BY user_name DESC LIMIT 10\";"));
+        assertTrue(java.contains("statement.setString(1, \"active\");"));
+        assertTrue(java.contains("statement.setObject(2, age);"));
+        assertTrue(java.contains("try (ResultSet resultSet = statement.executeQuery())"));
+    }
+
+    @Test
+    void testInsertAndUpdateToJdbc() {
+        String insert = convert("INSERT INTO order_items (order_id, price, note, qty) VALUES (?, 9.99, NULL, "
+                + "3000000000)", "Java").orElseThrow();
+        assertTrue(insert.startsWith("import java.math.BigDecimal;\n"));
+        assertTrue(insert.contains("public int insertOrderItems(Connection connection, Object orderId)"));
+        assertTrue(insert.contains("\"INSERT INTO order_items (order_id, price, note, qty) VALUES (?, ?, NULL, ?)\""));
+        assertTrue(insert.contains("statement.setBigDecimal(2, new BigDecimal(\"9.99\"));"));
+        assertTrue(insert.contains("statement.setLong(3, 3000000000L);"));
+        assertTrue(insert.contains("return statement.executeUpdate();"));
+
+        String update = convert("UPDATE users SET class = ?, name = 'O''Brien \"x\"' WHERE class = ?", "Java")
+                .orElseThrow();
+        assertTrue(update.contains("updateUsers(Connection connection, Object classValue, Object classValue2)"));
+        assertTrue(update.contains("statement.setString(2, \"O'Brien \\\"x\\\"\");"));
+    }
+
+    @Test
+    void testDeleteAndSelectToPython() {
+        String delete = convert("DELETE FROM Sessions WHERE expiresAt < -5 OR userId IS NULL", "python")
+                .orElseThrow();
+        assertEquals("""
+                def delete_sessions(connection):
+                    sql = "DELETE FROM Sessions WHERE expiresAt < %s OR userId IS NULL"
+                    cursor = connection.cursor()
+                    try:
+                        cursor.execute(sql, (-5,))
+                        return cursor.rowcount
+                    finally:
+                        cursor.close()
+                """, delete);
+
+        String select = convert("SELECT * FROM users WHERE name LIKE 'a%' AND id = ?", "Python").orElseThrow();
+        assertTrue(select.startsWith("def find_users(connection, id):\n"));
+        assertTrue(select.contains("sql = \"SELECT * FROM users WHERE name LIKE %s AND id = %s\""));
+        assertTrue(select.contains("cursor.execute(sql, ('a%', id))"));
+        assertTrue(select.contains("return [dict(zip(columns, row)) for row in cursor.fetchall()]"));
+    }
+
+    @Test
+    void testDeclinesStatementsBeyondTemplates() {
+        String[] unsupported = {
+                "SELECT u.id FROM users u JOIN orders o ON o.user_id = u.id",
+                "SELECT COUNT(*) FROM users",
+                "SELECT DISTINCT name FROM users",
+                "SELECT 1 FROM dual",
+                "SELECT * FROM users WHERE id IN (1, 2)",
+                "SELECT * FROM users WHERE (a = 1 OR b = 2)",
+                "SELECT * FROM users; DELETE FROM users",
+                "SELECT * FROM users -- all of them",
+                "SELECT * FROM \"users\"",
+                "INSERT INTO users (id, name) VALUES (1)",
+                "INSERT INTO users (id) SELECT id FROM people",
+                "UPDATE users SET visits = visits + 1",
+                "CREATE TABLE users (id INT)",
+                "SELECT * FROM users WHERE name = 'unterminated",
+                ""
+        };
+        for (String sql : unsupported) {
+            assertEquals(Optional.empty(), convert(sql, "Java"), sql);
+        }
+    }
+
+    @Test
+    void testSupportsOnlySqlToJavaAndPython() {
+        assertTrue(converter.supports("SQL", "Java"));
+        assertTrue(converter.supports("sql", "PYTHON"));
+        assertFalse(converter.supports("SQL", "C#"));
+        assertFalse(converter.supports("Java", "Python"));
+    }
+
+    private Optional<String> convert(String sql, String targetLanguage) {
+        return converter.convert(new ConversionRequest(sql, "SQL", targetLanguage));
+    }
+}
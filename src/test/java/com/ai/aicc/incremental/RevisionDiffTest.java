@@ -0,0 +1,70 @@
+package com.ai.aicc.incremental;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevisionDiffTest {
+
+    private static final List<ConvertedRegion> PREVIOUS = List.of(
+            new ConvertedRegion("class A {\n    int a() { return 1; }", "converted"),
+            new ConvertedRegion("    int b() { return 2; }", "converted"),
+            new ConvertedRegion("    int c() { return 3; }\n}\n", "converted"));
+
+    @Test
+    void testUnchangedSourceReusesEveryRegion() {
+        List<RevisionDiff.Part> parts = RevisionDiff.align(PREVIOUS, lines(
+                "class A {\n    int a() { return 1; }\n    int b() { return 2; }\n    int c() { return 3; }\n}\n"),
+                List.of(2, 3));
+
+        assertEquals(3, parts.size());
+        for (int i = 0; i < 3; i++) {
+            assertSame(PREVIOUS.get(i), parts.get(i).getRegion());
+        }
+    }
+
+    @Test
+    void testEditedAndInsertedLinesAreChangedParts() {
+        List<String> lines = lines("class A {\n    int a() { return 1; }\n    int b() { return 20; }\n"
+                + "    int d() { return 4; }\n    int c() { return 3; }\n}\n");
+
+        List<RevisionDiff.Part> parts = RevisionDiff.align(PREVIOUS, lines, List.of(2, 3, 4));
+
+        assertEquals(3, parts.size());
+        assertSame(PREVIOUS.get(0), parts.get(0).getRegion());
+        assertTrue(parts.get(1).isChanged());
+        assertEquals(2, parts.get(1).getFrom());
+        assertEquals(4, parts.get(1).getTo());
+        assertSame(PREVIOUS.get(2), parts.get(2).getRegion());
+        assertEquals(lines.size(), parts.get(2).getTo());
+    }
+
+    @Test
+    void testRegionIsOnlyReusedBetweenCuts() {
+        // Region b's text is present, but not where the new source may be cut
+        List<RevisionDiff.Part> parts = RevisionDiff.align(PREVIOUS, lines(
+                "class A {\n    int a() { return 1; }\n    int b() { return 2; }\n    int c() { return 3; }\n}\n"),
+                List.of(2));
+
+        assertSame(PREVIOUS.get(0), parts.get(0).getRegion());
+        assertTrue(parts.get(1).isChanged());
+        assertEquals(6, parts.get(1).getTo());
+    }
+
+    @Test
+    void testWithoutPreviousRegionsEverythingChanged() {
+        List<RevisionDiff.Part> parts = RevisionDiff.align(List.of(), lines("SELECT 1;\nSELECT 2;"), List.of(1));
+
+        assertEquals(1, parts.size());
+        assertTrue(parts.get(0).isChanged());
+        assertEquals(0, parts.get(0).getFrom());
+        assertEquals(2, parts.get(0).getTo());
+    }
+
+    private static List<String> lines(String source) {
+        return Arrays.asList(source.split("\n", -1));
+    }
+}
@@ -0,0 +1,141 @@
+package com.ai.aicc.job;
+
+import com.ai.aicc.model.ConversionJob;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.JobStatus;
+import com.ai.aicc.service.CodeConversionService;
+import com.ai.aicc.upstream.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConversionJobQueueTest {
+
+    private final CodeConversionService conversionService = mock(CodeConversionService.class);
+    private final InMemoryJobStore store = new InMemoryJobStore();
+    private ConversionJobQueue jobQueue;
+
+    @AfterEach
+    void tearDown() {
+        if (jobQueue != null) {
+            jobQueue.stop();
+        }
+    }
+
+    @Test
+    void testSubmittedJobIsConvertedByWorker() throws Exception {
+        when(conversionService.convertCode(any(), eq(Priority.BATCH)))
+                .thenReturn(new ConversionResponse("int one = 1;", "SQL", "Java"));
+        jobQueue = newQueue(2, 10);
+
+        ConversionJob job = jobQueue.submit(new ConversionRequest("SELECT 1", "SQL", "Java")).orElseThrow();
+        assertEquals(JobStatus.QUEUED, job.getStatus());
+
+        ConversionJob done = awaitDone(job.getId());
+        assertEquals(JobStatus.SUCCEEDED, done.getStatus());
+        assertEquals("int one = 1;", done.getResult().getConvertedCode());
+        assertNotNull(done.getStartedAt());
+        assertNotNull(done.getCompletedAt());
+        assertEquals(1, jobQueue.stats().getCompleted());
+    }
+
+    @Test
+    void testFailedConversionCompletesJobAsFailed() throws Exception {
+        when(conversionService.convertCode(any(), eq(Priority.BATCH)))
+                .thenReturn(ConversionResponse.error("Failed to convert code: boom"));
+        jobQueue = newQueue(1, 10);
+
+        ConversionJob job = jobQueue.submit(new ConversionRequest("SELECT 1", "SQL", "Java")).orElseThrow();
+
+        ConversionJob done = awaitDone(job.getId());
+        assertEquals(JobStatus.FAILED, done.getStatus());
+        assertEquals("Failed to convert code: boom", done.getResult().getError());
+    }
+
+    @Test
+    void testSubmissionsBeyondCapacityAreRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(conversionService.convertCode(any(), eq(Priority.BATCH))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new ConversionResponse("ok", "SQL", "Java");
+        });
+        jobQueue = newQueue(1, 2);
+
+        ConversionRequest request = new ConversionRequest("SELECT 1", "SQL", "Java");
+        assertTrue(jobQueue.submit(request).isPresent());
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertTrue(jobQueue.submit(request).isPresent());
+        assertTrue(jobQueue.submit(request).isPresent());
+        Optional<ConversionJob> rejected = jobQueue.submit(request);
+        release.countDown();
+
+        assertTrue(rejected.isEmpty());
+        assertEquals(1, jobQueue.stats().getRejected());
+        assertEquals(3, jobQueue.stats().getSubmitted());
+    }
+
+    @Test
+    void testUnfinishedJobsAreResumedOnStart() throws Exception {
+        when(conversionService.convertCode(any(), eq(Priority.BATCH)))
+                .thenReturn(new ConversionResponse("ok", "SQL", "Java"));
+        ConversionJob interrupted = new ConversionJob("interrupted", new ConversionRequest("SELECT 1", "SQL", "Java"),
+                Instant.now());
+        interrupted.setStatus(JobStatus.RUNNING);
+        store.save(interrupted);
+        store.save(new ConversionJob("queued", new ConversionRequest("SELECT 2", "SQL", "Java"), Instant.now()));
+
+        jobQueue = newQueue(1, 10);
+
+        assertEquals(JobStatus.SUCCEEDED, awaitDone("interrupted").getStatus());
+        assertEquals(JobStatus.SUCCEEDED, awaitDone("queued").getStatus());
+    }
+
+    @Test
+    void testFinishedJobsArePurgedAfterRetention() {
+        ConversionJob old = new ConversionJob("old", new ConversionRequest("SELECT 1", "SQL", "Java"),
+                Instant.now().minus(Duration.ofDays(2)));
+        old.setStatus(JobStatus.SUCCEEDED);
+        old.setCompletedAt(Instant.now().minus(Duration.ofDays(2)));
+        store.save(old);
+        jobQueue = newQueue(0, 10);
+
+        jobQueue.submit(new ConversionRequest("SELECT 2", "SQL", "Java"));
+
+        assertTrue(jobQueue.find("old").isEmpty());
+    }
+
+    private ConversionJobQueue newQueue(int workers, int capacity) {
+        ConversionJobQueue queue = new ConversionJobQueue(store, conversionService, workers, capacity,
+                Duration.ofHours(1), Clock.systemUTC());
+        queue.start();
+        return queue;
+    }
+
+    private ConversionJob awaitDone(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ConversionJob job = jobQueue.find(id).orElseThrow();
+            if (job.isDone()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job " + id + " did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ai.aicc.job;
+
+import com.ai.aicc.model.ConversionJob;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.JobStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileJobStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testJobsSurviveRestart() throws Exception {
+        FileJobStore store = new FileJobStore(directory.toString());
+        Instant created = Instant.parse("2024-01-15T10:30:00Z");
+        ConversionJob queued = new ConversionJob("queued", new ConversionRequest("SELECT 1", "SQL", "Java"), created);
+        ConversionJob done = new ConversionJob("done", new ConversionRequest("SELECT 2", "SQL", "Java"), created);
+        done.setStatus(JobStatus.SUCCEEDED);
+        done.setResult(new ConversionResponse("int two = 2;", "SQL", "Java"));
+        done.setCompletedAt(created.plusSeconds(5));
+        store.save(queued);
+        store.save(done);
+
+        FileJobStore reopened = new FileJobStore(directory.toString());
+
+        List<ConversionJob> unfinished = reopened.findUnfinished();
+        assertEquals(1, unfinished.size());
+        assertEquals("SELECT 1", unfinished.get(0).getRequest().getSourceCode());
+        assertEquals(created, unfinished.get(0).getCreatedAt());
+        ConversionJob reloaded = reopened.find("done").orElseThrow();
+        assertEquals(JobStatus.SUCCEEDED, reloaded.getStatus());
+        assertEquals("int two = 2;", reloaded.getResult().getConvertedCode());
+    }
+
+    @Test
+    void testPurgeDeletesJobFiles() throws Exception {
+        FileJobStore store = new FileJobStore(directory.toString());
+        ConversionJob done = new ConversionJob("done", new ConversionRequest("SELECT 1", "SQL", "Java"), Instant.now());
+        done.setStatus(JobStatus.FAILED);
+        done.setCompletedAt(Instant.now().minus(Duration.ofDays(1)));
+        store.save(done);
+        assertTrue(Files.exists(directory.resolve("done.json")));
+
+        assertEquals(1, store.deleteCompletedBefore(Instant.now()));
+
+        assertFalse(Files.exists(directory.resolve("done.json")));
+        assertTrue(new FileJobStore(directory.toString()).find("done").isEmpty());
+    }
+
+    @Test
+    void testReturnedJobsAreCopies() throws Exception {
+        FileJobStore store = new FileJobStore(directory.toString());
+        ConversionJob job = new ConversionJob("job", new ConversionRequest("SELECT 1", "SQL", "Java"), Instant.now());
+        store.save(job);
+
+        job.setStatus(JobStatus.RUNNING);
+        store.find("job").orElseThrow().setStatus(JobStatus.FAILED);
+
+        assertEquals(JobStatus.QUEUED, store.find("job").orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,110 @@
+package com.ai.aicc.metrics;
+
+import com.ai.aicc.model.ConversionDelta;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.TokenUsage;
+import com.ai.aicc.token.TokenLimitExceededException;
+import com.ai.aicc.upstream.CircuitOpenException;
+import com.ai.aicc.upstream.UpstreamRejectedException;
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConversionMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConversionMetrics metrics = new ConversionMetrics(registry);
+
+    private static HttpResponseException httpError(int status) {
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.getStatusCode()).thenReturn(status);
+        return new HttpResponseException("HTTP " + status, response);
+    }
+
+    @Test
+    void testLanguageTagsAreBounded() {
+        assertEquals("java", ConversionMetrics.language("Java"));
+        assertEquals("csharp", ConversionMetrics.language("C#"));
+        assertEquals("sql", ConversionMetrics.language("sql"));
+        assertEquals("other", ConversionMetrics.language("COBOL"));
+        assertEquals("none", ConversionMetrics.language(null));
+    }
+
+    @Test
+    void testErrorTypes() {
+        assertEquals("throttled", ConversionMetrics.errorType(httpError(429)));
+        assertEquals("upstream_5xx", ConversionMetrics.errorType(httpError(503)));
+        assertEquals("upstream_4xx", ConversionMetrics.errorType(httpError(401)));
+        assertEquals("rejected", ConversionMetrics.errorType(
+                new CompletionException(new UpstreamRejectedException("queue timeout"))));
+        assertEquals("circuit_open", ConversionMetrics.errorType(new CompletionException(new CircuitOpenException(30))));
+        assertEquals("token_limit", ConversionMetrics.errorType(new TokenLimitExceededException("too large")));
+        assertEquals("other", ConversionMetrics.errorType(new IllegalStateException()));
+    }
+
+    @Test
+    void testTimersAndCountersAreTaggedByLanguagePair() {
+        ConversionRequest request = new ConversionRequest("SELECT 1", "SQL", "Java");
+
+        metrics.recordConversion(request, "sync", ConversionMetrics.SUCCESS, 2_000_000);
+        metrics.recordUpstreamCall(request, httpError(429), 1_000_000);
+        metrics.recordTokens(request, new TokenUsage(120, 80, 512));
+        metrics.recordTokens(request, null);
+        metrics.recordError(request, httpError(429));
+
+        assertEquals(1, registry.get(ConversionMetrics.CONVERSION)
+                .tags("source", "sql", "target", "java", "endpoint", "sync", "outcome", "success").timer().count());
+        assertEquals(1, registry.get(ConversionMetrics.UPSTREAM_CALL)
+                .tags("source", "sql", "target", "java", "outcome", "throttled").timer().count());
+        assertEquals(120, registry.get(ConversionMetrics.TOKENS).tags("type", "prompt").counter().count());
+        assertEquals(80, registry.get(ConversionMetrics.TOKENS).tags("type", "completion").counter().count());
+        assertEquals(1, registry.get(ConversionMetrics.ERRORS).tags("type", "throttled").counter().count());
+    }
+
+    @Test
+    void testResponseSerializationIsTimed() throws Exception {
+        TimedJsonHttpMessageConverter converter = new TimedJsonHttpMessageConverter(new ObjectMapper(), metrics);
+
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(new ConversionResponse("x = 1", "Java", "Python"), MediaType.APPLICATION_JSON, message);
+        converter.write(new ConversionDelta("x"), MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+
+        assertTrue(message.getBodyAsString().contains("\"convertedCode\":\"x = 1\""));
+        assertEquals(1, registry.get(ConversionMetrics.SERIALIZATION)
+                .tags("source", "java", "target", "python", "format", "json", "outcome", "success").timer().count());
+        assertEquals(1, registry.get(ConversionMetrics.SERIALIZATION).timers().size());
+    }
+
+    @Test
+    void testCompactFormatsAreTimedByFormat() throws Exception {
+        ConversionResponse response = new ConversionResponse("x = 1", "Java", "Python");
+        MockHttpOutputMessage cbor = new MockHttpOutputMessage();
+        MockHttpOutputMessage smile = new MockHttpOutputMessage();
+
+        new TimedCborHttpMessageConverter(new ObjectMapper(new CBORFactory()), metrics)
+                .write(response, MediaType.APPLICATION_CBOR, cbor);
+        new TimedSmileHttpMessageConverter(new ObjectMapper(new SmileFactory()), metrics)
+                .write(response, new MediaType("application", "x-smile"), smile);
+
+        assertEquals("x = 1", new ObjectMapper(new CBORFactory())
+                .readValue(cbor.getBodyAsBytes(), ConversionResponse.class).getConvertedCode());
+        assertEquals("x = 1", new ObjectMapper(new SmileFactory())
+                .readValue(smile.getBodyAsBytes(), ConversionResponse.class).getConvertedCode());
+        assertEquals(1, registry.get(ConversionMetrics.SERIALIZATION).tags("format", "cbor").timer().count());
+        assertEquals(1, registry.get(ConversionMetrics.SERIALIZATION).tags("format", "smile").timer().count());
+    }
+}
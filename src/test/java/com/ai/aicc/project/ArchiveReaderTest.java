@@ -0,0 +1,127 @@
+package com.ai.aicc.project;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveReaderTest {
+
+    private static final Map<String, byte[]> ENTRIES = new LinkedHashMap<>();
+
+    static {
+        ENTRIES.put("src/Main.java", "public class Main { }".getBytes(StandardCharsets.UTF_8));
+        ENTRIES.put("scripts/report.py", "print('report')".getBytes(StandardCharsets.UTF_8));
+        ENTRIES.put("README.md", "# Project".getBytes(StandardCharsets.UTF_8));
+        ENTRIES.put("lib/Native.java", new byte[]{'c', 0, 1, 2});
+        ENTRIES.put("../escape.java", "class Escape { }".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testZipKeepsSourceFilesAndListsSkippedEntries() throws IOException {
+        ArchiveReader.Contents contents = ArchiveReader.read(new ByteArrayInputStream(zip()), 100, 1 << 20);
+
+        assertSourcesRead(contents);
+    }
+
+    @Test
+    void testTarAndGzippedTarAreDetectedFromTheirContent() throws IOException {
+        byte[] tar = tar();
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(tar);
+        }
+
+        assertSourcesRead(ArchiveReader.read(new ByteArrayInputStream(tar), 100, 1 << 20));
+        assertSourcesRead(ArchiveReader.read(new ByteArrayInputStream(gzipped.toByteArray()), 100, 1 << 20));
+    }
+
+    @Test
+    void testOnlyTheFirstSkippedPathsAreKept() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < ArchiveReader.Contents.MAX_SKIPPED_LISTED + 500; i++) {
+                zip.putNextEntry(new ZipEntry("assets/" + i + ".png"));
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("src/Main.java"));
+            zip.write("public class Main { }".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        ArchiveReader.Contents contents = ArchiveReader.read(new ByteArrayInputStream(bytes.toByteArray()), 100, 1 << 20);
+
+        assertEquals(1, contents.getFiles().size());
+        assertEquals(ArchiveReader.Contents.MAX_SKIPPED_LISTED, contents.getSkipped().size());
+        assertEquals(ArchiveReader.Contents.MAX_SKIPPED_LISTED + 500, contents.getSkippedCount());
+    }
+
+    @Test
+    void testLimitsAndInvalidArchivesAreRejected() throws IOException {
+        byte[] zip = zip();
+
+        assertThrows(ProjectTooLargeException.class, () -> ArchiveReader.read(new ByteArrayInputStream(zip), 1, 1 << 20));
+        assertThrows(ProjectTooLargeException.class, () -> ArchiveReader.read(new ByteArrayInputStream(zip), 100, 10));
+        assertThrows(IOException.class, () -> ArchiveReader.read(
+                new ByteArrayInputStream("not an archive".getBytes(StandardCharsets.UTF_8)), 100, 1 << 20));
+    }
+
+    @Test
+    void testConvertedPathUsesTheTargetExtension() {
+        assertEquals("src/Main.py", ArchiveReader.convertedPath("src/Main.java", "Python"));
+        assertEquals("db/schema.cs", ArchiveReader.convertedPath("db/schema.sql", "C#"));
+        assertEquals("src/Main.java", ArchiveReader.convertedPath("src/Main.java", "Kotlin"));
+        assertEquals("C#", ArchiveReader.languageOf("Program.CS"));
+        assertNull(ArchiveReader.languageOf("Makefile"));
+    }
+
+    private static void assertSourcesRead(ArchiveReader.Contents contents) {
+        List<ProjectFile> files = contents.getFiles();
+        assertEquals(2, files.size());
+        assertEquals("src/Main.java", files.get(0).getPath());
+        assertEquals("Java", files.get(0).getLanguage());
+        assertEquals("public class Main { }", files.get(0).getSource());
+        assertEquals("Python", files.get(1).getLanguage());
+        assertTrue(contents.getSkipped().containsAll(List.of("README.md", "lib/Native.java", "../escape.java")));
+    }
+
+    private static byte[] zip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("src/"));
+            zip.closeEntry();
+            for (Map.Entry<String, byte[]> entry : ENTRIES.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] tar() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : ENTRIES.entrySet()) {
+                TarArchiveEntry tarEntry = new TarArchiveEntry(entry.getKey(), true);
+                tarEntry.setSize(entry.getValue().length);
+                tar.putArchiveEntry(tarEntry);
+                tar.write(entry.getValue());
+                tar.closeArchiveEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
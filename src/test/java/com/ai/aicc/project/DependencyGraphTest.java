@@ -0,0 +1,74 @@
+package com.ai.aicc.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    @Test
+    void testJavaImportsAndSamePackageReferencesOrderDependenciesFirst() {
+        List<ProjectFile> files = List.of(
+                new ProjectFile("src/com/shop/web/OrderController.java", "Java", """
+                        package com.shop.web;
+                        import com.shop.service.OrderService;
+                        public class OrderController { private OrderService service; }
+                        """),
+                new ProjectFile("src/com/shop/service/OrderService.java", "Java", """
+                        package com.shop.service;
+                        import com.shop.model.*;
+                        public class OrderService { Order find(long id) { return new Order(); } OrderRepository repository; }
+                        """),
+                new ProjectFile("src/com/shop/service/OrderRepository.java", "Java", """
+                        package com.shop.service;
+                        public interface OrderRepository { }
+                        """),
+                new ProjectFile("src/com/shop/model/Order.java", "Java", """
+                        package com.shop.model;
+                        public class Order { }
+                        """));
+
+        DependencyGraph graph = DependencyGraph.of(files);
+
+        assertEquals(Set.of(1), graph.dependenciesOf(0));
+        assertEquals(Set.of(2, 3), graph.dependenciesOf(1));
+        assertTrue(graph.dependenciesOf(3).isEmpty());
+        List<Integer> order = graph.order();
+        assertTrue(order.indexOf(3) < order.indexOf(1));
+        assertTrue(order.indexOf(2) < order.indexOf(1));
+        assertTrue(order.indexOf(1) < order.indexOf(0));
+    }
+
+    @Test
+    void testPythonAbsoluteAndRelativeImports() {
+        List<ProjectFile> files = List.of(
+                new ProjectFile("app/main.py", "Python", "from app.models import User\nfrom .util import slug\n"),
+                new ProjectFile("app/models.py", "Python", "import app.util\nclass User:\n    pass\n"),
+                new ProjectFile("app/util.py", "Python", "def slug(s):\n    return s\n"));
+
+        DependencyGraph graph = DependencyGraph.of(files);
+
+        assertEquals(Set.of(1, 2), graph.dependenciesOf(0));
+        assertEquals(Set.of(2), graph.dependenciesOf(1));
+        assertEquals(List.of(2, 1, 0), graph.order());
+    }
+
+    @Test
+    void testCyclesAreBrokenAndEveryFileIsOrderedOnce() {
+        List<ProjectFile> files = List.of(
+                new ProjectFile("b.py", "Python", "import a\n"),
+                new ProjectFile("a.py", "Python", "import b\n"),
+                new ProjectFile("c.py", "Python", "import a\n"));
+
+        List<Integer> order = DependencyGraph.of(files).order();
+
+        assertEquals(3, order.size());
+        assertEquals(Set.of(0, 1, 2), Set.copyOf(order));
+        // The cycle is entered at the first path; c waits for a
+        assertEquals(1, order.get(0));
+        assertTrue(order.indexOf(1) < order.indexOf(2));
+    }
+}
@@ -0,0 +1,216 @@
+package com.ai.aicc.project;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.JobStatus;
+import com.ai.aicc.model.ProjectConversionStatus;
+import com.ai.aicc.model.TokenUsage;
+import com.ai.aicc.service.ChunkedConversionService;
+import com.ai.aicc.service.CodeConversionService;
+import com.ai.aicc.upstream.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ProjectConversionServiceTest {
+
+    private final CodeConversionService conversionService = mock(CodeConversionService.class);
+    private final ChunkedConversionService chunkedConversionService = mock(ChunkedConversionService.class);
+    private ProjectConversionService projectService;
+
+    /** Paths of converted sources in call order, and the context each was given */
+    private final List<String> converted = new CopyOnWriteArrayList<>();
+    private final Map<String, String> contexts = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        projectService = new ProjectConversionService(conversionService, chunkedConversionService, 4, 1, 100,
+                1 << 20, 4000, 6000, Duration.ofHours(1), Clock.systemUTC(), System::nanoTime);
+
+        // The "conversion" of class X is "class X:" plus one method, the first source line names the file
+        doAnswer(invocation -> {
+            ConversionRequest request = invocation.getArgument(0);
+            String name = request.getSourceCode().lines().findFirst().orElseThrow();
+            converted.add(name);
+            contexts.put(name, invocation.getArgument(1));
+            if (name.startsWith("public class Broken")) {
+                return CompletableFuture.completedFuture(ConversionResponse.error("Model refused"));
+            }
+            ConversionResponse response = new ConversionResponse(
+                    "# " + name + "\nclass " + name.replaceAll(".*class (\\w+).*", "$1") + ":\n"
+                            + "    def run(self):\n        return 1\n",
+                    request.getSourceLanguage(), request.getTargetLanguage());
+            response.setUsage(new TokenUsage(100, 50, 150));
+            return CompletableFuture.completedFuture(response);
+        }).when(conversionService).convertWithContextAsync(any(), anyString(), eq(Priority.BATCH));
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.stop();
+    }
+
+    @Test
+    void testDependenciesAreConvertedFirstAndGivenAsContext() throws IOException {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("src/app/App.java", "public class App { Order order; }\npackage app;\nimport app.model.Order;\n");
+        sources.put("src/app/model/Order.java", "public class Order { }\npackage app.model;\n");
+        sources.put("scripts/tool.py", "print('already python')");
+
+        ProjectConversion project = projectService.submit(new ByteArrayInputStream(zip(sources)), "Python").orElseThrow();
+        Map<String, String> archive = download(project);
+
+        assertEquals(List.of("public class Order { }", "public class App { Order order; }"), converted);
+        String context = contexts.get(converted.get(1));
+        assertTrue(context.startsWith("# src/app/model/Order.py\n"), context);
+        assertTrue(context.contains("class Order:") && context.contains("def run(self):"), context);
+        assertFalse(context.contains("return 1"), context);
+        assertEquals("", contexts.get(converted.get(0)));
+
+        assertTrue(archive.get("src/app/App.py").contains("class App:"));
+        assertEquals("print('already python')", archive.get("scripts/tool.py"));
+        assertTrue(archive.containsKey(ProjectConversionService.REPORT));
+
+        ProjectConversionStatus status = project.status(System.nanoTime());
+        assertEquals(JobStatus.SUCCEEDED, status.getStatus());
+        assertEquals(2, status.getConvertedFiles());
+        assertEquals(1, status.getCopiedFiles());
+        assertEquals(200, status.getPromptTokens());
+        verify(chunkedConversionService, never()).convertLarge(any());
+    }
+
+    @Test
+    void testFailedFilesKeepTheirSourceAndAreReported() throws IOException {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("Broken.java", "public class Broken { }");
+        sources.put("Fine.java", "public class Fine { Broken broken; }");
+        sources.put("notes.txt", "not source");
+
+        ProjectConversion project = projectService.submit(new ByteArrayInputStream(zip(sources)), "Python").orElseThrow();
+        Map<String, String> archive = download(project);
+
+        assertEquals("public class Broken { }", archive.get("Broken.java"));
+        assertTrue(archive.get("Fine.py").contains("class Fine:"));
+        // A failed dependency contributes no context
+        assertEquals("", contexts.get("public class Fine { Broken broken; }"));
+        String report = archive.get(ProjectConversionService.REPORT);
+        assertTrue(report.contains("Broken.java: Model refused"), report);
+        assertTrue(report.contains("notes.txt"), report);
+        assertEquals(JobStatus.FAILED, project.status(System.nanoTime()).getStatus());
+    }
+
+    @Test
+    void testUploadsAreRejectedWhileTooManyProjectsRun() throws IOException {
+        CompletableFuture<ConversionResponse> pending = new CompletableFuture<>();
+        doAnswer(invocation -> pending).when(conversionService)
+                .convertWithContextAsync(any(), anyString(), eq(Priority.BATCH));
+        byte[] zip = zip(Map.of("A.java", "public class A { }"));
+
+        ProjectConversion first = projectService.submit(new ByteArrayInputStream(zip), "Python").orElseThrow();
+        Optional<ProjectConversion> second = projectService.submit(new ByteArrayInputStream(zip), "Python");
+
+        assertTrue(second.isEmpty());
+        assertEquals(first, projectService.find(first.getId()).orElseThrow());
+        pending.complete(new ConversionResponse("class A:\n    pass\n", "Java", "Python"));
+        first.result(0).orTimeout(5, TimeUnit.SECONDS).join();
+        assertTrue(first.isDone());
+        assertTrue(projectService.submit(new ByteArrayInputStream(zip), "Python").isPresent());
+    }
+
+    @Test
+    void testUploadsBeingReadCountAsRunning() throws Exception {
+        byte[] zip = zip(Map.of("A.java", "public class A { }"));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slowUpload = new FilterInputStream(new ByteArrayInputStream(zip)) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+        CompletableFuture<Optional<ProjectConversion>> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return projectService.submit(slowUpload, "Python");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        assertTrue(projectService.submit(new ByteArrayInputStream(zip), "Python").isEmpty());
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+    }
+
+    @Test
+    void testRejectedArchiveFreesItsSlot() throws IOException {
+        byte[] empty = zip(Map.of("notes.txt", "nothing to convert"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> projectService.submit(new ByteArrayInputStream(empty), "Python"));
+        assertTrue(projectService.submit(new ByteArrayInputStream(zip(Map.of("A.java", "public class A { }"))),
+                "Python").isPresent());
+    }
+
+    private Map<String, String> download(ProjectConversion project) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        projectService.writeArchive(project, out);
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static byte[] zip(Map<String, String> files) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
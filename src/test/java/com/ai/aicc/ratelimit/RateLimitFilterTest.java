@@ -0,0 +1,64 @@
+package com.ai.aicc.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private final RateLimiter rateLimiter = mock(RateLimiter.class);
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimiter, "X-API-Key", new ObjectMapper());
+
+    @Test
+    void testRejectedRequestGets429WithoutReachingTheController() throws Exception {
+        when(rateLimiter.tryAcquire(eq("secret"), eq("10.0.0.1"), anyLong())).thenReturn(
+                new RateLimiter.Decision("payments", 800, TimeUnit.MILLISECONDS.toNanos(1_500)));
+        MockHttpServletRequest request = request("POST");
+        request.addHeader("X-API-Key", "secret");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Rate limit exceeded for payments"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testAdmittedAndReadOnlyRequestsPassThrough() throws Exception {
+        when(rateLimiter.tryAcquire(eq(null), eq("10.0.0.1"), eq(11L)))
+                .thenReturn(new RateLimiter.Decision("ip-10.0.0.1", 6, 0));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+
+        RateLimiter unused = mock(RateLimiter.class);
+        MockFilterChain pollChain = new MockFilterChain();
+        new RateLimitFilter(unused, "X-API-Key", new ObjectMapper())
+                .doFilter(request("GET"), new MockHttpServletResponse(), pollChain);
+        assertNotNull(pollChain.getRequest());
+        verifyNoInteractions(unused);
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/convert");
+        request.setRemoteAddr("10.0.0.1");
+        request.setContent("{\"a\":\"b\"}\n\n".getBytes());
+        return request;
+    }
+}
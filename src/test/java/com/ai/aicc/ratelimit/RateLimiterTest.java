@@ -0,0 +1,97 @@
+package com.ai.aicc.ratelimit;
+
+import com.ai.aicc.model.TenantQuotaStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private RateLimiter limiter(RateLimitProperties properties) {
+        return new RateLimiter(new InMemoryRateLimitStore(100), properties, new TenantLimits(5, 2, 1_000),
+                4, 400, 100, clock::get);
+    }
+
+    @Test
+    void testRequestRateIsLimitedPerClientAddress() {
+        RateLimiter limiter = limiter(new RateLimitProperties());
+
+        assertTrue(limiter.tryAcquire(null, "10.0.0.1", 40).isAdmitted());
+        assertTrue(limiter.tryAcquire(null, "10.0.0.1", 40).isAdmitted());
+        RateLimiter.Decision rejected = limiter.tryAcquire(null, "10.0.0.1", 40);
+        assertFalse(rejected.isAdmitted());
+        assertEquals("ip-10.0.0.1", rejected.getTenant());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), rejected.getWaitNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+
+        // Other clients have their own buckets; the first one recovers at 5 requests per second
+        assertTrue(limiter.tryAcquire(null, "10.0.0.2", 40).isAdmitted());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(limiter.tryAcquire(null, "10.0.0.1", 40).isAdmitted());
+    }
+
+    @Test
+    void testEstimatedTokensAreLimitedPerMinute() {
+        RateLimiter limiter = limiter(new RateLimitProperties());
+
+        // 1,600 bytes = 400 source tokens + 400 output tokens
+        assertEquals(800, limiter.tryAcquire("key", "10.0.0.1", 1_600).getTokens());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        RateLimiter.Decision rejected = limiter.tryAcquire("key", "10.0.0.1", 1_600);
+        assertFalse(rejected.isAdmitted());
+        assertEquals("ip-10.0.0.1", rejected.getTenant());
+        // 600 of 800 tokens missing at 1,000 per minute
+        assertEquals(TimeUnit.SECONDS.toNanos(35), rejected.getWaitNanos(), TimeUnit.SECONDS.toNanos(1));
+
+        // A rejection by the token limit does not use up a request
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(limiter.tryAcquire("key", "10.0.0.1", 4).isAdmitted());
+        assertTrue(limiter.tryAcquire("key", "10.0.0.1", 4).isAdmitted());
+        assertEquals(400, limiter.estimateTokens(-1));
+    }
+
+    @Test
+    void testUnknownApiKeysShareTheClientAddressLimits() {
+        RateLimiter limiter = limiter(new RateLimitProperties());
+
+        assertTrue(limiter.tryAcquire("random-1", "10.0.0.1", 4).isAdmitted());
+        assertTrue(limiter.tryAcquire("random-2", "10.0.0.1", 4).isAdmitted());
+        RateLimiter.Decision rejected = limiter.tryAcquire("random-3", "10.0.0.1", 4);
+        assertFalse(rejected.isAdmitted());
+        assertEquals("ip-10.0.0.1", rejected.getTenant());
+        assertFalse(limiter.tryAcquire(null, "10.0.0.1", 4).isAdmitted());
+        assertEquals(1, limiter.stats().size());
+    }
+
+    @Test
+    void testConfiguredTenantsShareLimitsAcrossKeysAndAreAccounted() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Tenant payments = new RateLimitProperties.Tenant();
+        payments.setName("payments");
+        payments.setApiKeys(List.of("key-a", "key-b"));
+        payments.setBurst(3);
+        properties.getTenants().add(payments);
+        RateLimiter limiter = limiter(properties);
+
+        assertTrue(limiter.tryAcquire("key-a", "10.0.0.1", 4).isAdmitted());
+        assertTrue(limiter.tryAcquire("key-b", "10.0.0.2", 4).isAdmitted());
+        assertTrue(limiter.tryAcquire("key-a", "10.0.0.3", 4).isAdmitted());
+        RateLimiter.Decision rejected = limiter.tryAcquire("key-b", "10.0.0.1", 4);
+        assertFalse(rejected.isAdmitted());
+        assertEquals("payments", rejected.getTenant());
+
+        TenantQuotaStats stats = limiter.stats().get(0);
+        assertEquals("payments", stats.getTenant());
+        assertEquals(3, stats.getAdmittedRequests());
+        assertEquals(1, stats.getRejectedRequests());
+        assertEquals(6, stats.getAdmittedTokens());
+        assertEquals(2, stats.getRejectedTokens());
+        assertEquals(5.0, stats.getRequestsPerSecond());
+        assertEquals(1_000, stats.getTokensPerMinute());
+    }
+}
@@ -0,0 +1,76 @@
+package com.ai.aicc.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testBurstThenSustainedRate() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(10, 5, now);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(1, now));
+        }
+        long wait = bucket.tryAcquire(1, now);
+        assertEquals(SECOND / 10, wait, SECOND / 1000);
+        assertEquals(0, bucket.available(now));
+
+        // One token refills every 100 ms
+        assertEquals(0, bucket.tryAcquire(1, now + SECOND / 10));
+        assertTrue(bucket.tryAcquire(1, now + SECOND / 10) > 0);
+        assertEquals(5, bucket.available(now + 10 * SECOND));
+        assertTrue(bucket.isFull(now + 10 * SECOND));
+    }
+
+    @Test
+    void testOversizedCostEmptiesAFullBucketAndReleaseRefunds() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(1000, 60_000, now);
+
+        assertEquals(0, bucket.tryAcquire(500_000, now));
+        assertEquals(0, bucket.available(now));
+        assertTrue(bucket.tryAcquire(1, now) > 0);
+
+        bucket.release(20_000);
+        assertEquals(20_000, bucket.available(now), 1);
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedTheCapacity() throws InterruptedException {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(1e-3, 1_000, now);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryAcquire(1, now) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1_000, admitted.get());
+    }
+}
@@ -0,0 +1,99 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.model.BatchConversionResponse;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.upstream.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchConversionServiceTest {
+
+    private final CodeConversionService conversionService = mock(CodeConversionService.class);
+    private final BatchConversionService batchService = new BatchConversionService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchService, "conversionService", conversionService);
+        ReflectionTestUtils.setField(batchService, "parallelism", 4);
+        ReflectionTestUtils.setField(batchService, "maxItems", 10);
+    }
+
+    @Test
+    void testResultsAreReturnedInRequestOrderWithBoundedParallelism() {
+        List<CompletableFuture<ConversionResponse>> pending = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(conversionService.convertCodeAsync(any(), eq(Priority.BATCH))).thenAnswer(invocation -> {
+            ConversionRequest request = invocation.getArgument(0);
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<ConversionResponse> result = new CompletableFuture<>();
+            pending.add(result);
+            return result.thenApply(ignored -> {
+                inFlight.decrementAndGet();
+                return new ConversionResponse(request.getSourceCode().toLowerCase(), "SQL", "Java");
+            });
+        });
+
+        List<ConversionRequest> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new ConversionRequest("SELECT " + i, "SQL", "Java"));
+        }
+        CompletableFuture<BatchConversionResponse> response = batchService.convertBatchOrdered(items).toFuture();
+
+        // Complete the oldest outstanding call first until the whole batch has been issued
+        int completed = 0;
+        while (completed < items.size()) {
+            pending.get(0).complete(null);
+            pending.remove(0);
+            completed++;
+        }
+
+        BatchConversionResponse result = response.join();
+        assertEquals(10, result.getSucceeded());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("select " + i, result.getResults().get(i).getConvertedCode());
+        }
+        assertEquals(4, peak.get());
+    }
+
+    @Test
+    void testBlankItemFailsWithoutCallingAzureOpenAI() {
+        when(conversionService.convertCodeAsync(any(), eq(Priority.BATCH))).thenReturn(
+                CompletableFuture.completedFuture(new ConversionResponse("int one = 1;", "SQL", "Java")));
+
+        ConversionRequest blank = new ConversionRequest("   ", "SQL", "Java");
+        BatchConversionResponse result = batchService.convertBatchOrdered(
+                List.of(new ConversionRequest("SELECT 1", "SQL", "Java"), blank)).block(Duration.ofSeconds(1));
+
+        assertNotNull(result);
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals("Source code cannot be empty", result.getResults().get(1).getError());
+        verify(conversionService, never()).convertCodeAsync(eq(blank), any());
+    }
+
+    @Test
+    void testValidateRejectsEmptyAndOversizedBatches() {
+        assertEquals("Batch must contain at least one item", batchService.validate(List.of()));
+        assertEquals("Batch must not contain more than 10 items", batchService.validate(
+                Collections.nCopies(11, new ConversionRequest("SELECT 1", "SQL", "Java"))));
+        assertNull(batchService.validate(List.of(new ConversionRequest("SELECT 1", "SQL", "Java"))));
+    }
+}
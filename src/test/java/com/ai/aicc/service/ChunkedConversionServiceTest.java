@@ -0,0 +1,98 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.chunk.SourceSegmenter;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChunkedConversionServiceTest {
+
+    private static final Executor UPSTREAM_DELAY = CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS);
+
+    private final CodeConversionService conversionService = mock(CodeConversionService.class);
+    private final ChunkedConversionService chunkedService = new ChunkedConversionService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(chunkedService, "conversionService", conversionService);
+        ReflectionTestUtils.setField(chunkedService, "segmenter", new SourceSegmenter());
+        ReflectionTestUtils.setField(chunkedService, "maxSegmentChars", 40);
+        ReflectionTestUtils.setField(chunkedService, "parallelism", 8);
+    }
+
+    @Test
+    void testSegmentsAreConvertedInParallelAndReassembledInOrder() {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 16; i++) {
+            source.append("UPDATE accounts SET balance = ").append(i).append(";\n");
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(conversionService.convertFragmentAsync(any(), any())).thenAnswer(invocation -> {
+            ConversionRequest fragment = invocation.getArgument(0);
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return new ConversionResponse("// " + fragment.getSourceCode().trim(), "SQL", "Java");
+            }, UPSTREAM_DELAY);
+        });
+
+        long start = System.nanoTime();
+        ConversionResponse response = chunkedService.convertLarge(
+                new ConversionRequest(source.toString(), "SQL", "Java")).join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(response.isSuccess());
+        String[] lines = response.getConvertedCode().split("\n\n");
+        assertEquals(16, lines.length);
+        for (int i = 0; i < 16; i++) {
+            assertEquals("// UPDATE accounts SET balance = " + i + ";", lines[i]);
+        }
+        assertEquals(8, peak.get());
+        // 16 segments at parallelism 8 take two rounds of upstream latency, not sixteen
+        assertTrue(elapsedMillis < 1_000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testFailedSegmentFailsConversion() {
+        when(conversionService.convertFragmentAsync(any(), any())).thenAnswer(invocation -> {
+            ConversionRequest fragment = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(fragment.getSourceCode().contains("2")
+                    ? ConversionResponse.error("Failed to convert code: rate limited")
+                    : new ConversionResponse("ok", "SQL", "Java"));
+        });
+
+        ConversionResponse response = chunkedService.convertLarge(new ConversionRequest(
+                "SELECT 1 FROM accounts;\nSELECT 2 FROM accounts;\nSELECT 3 FROM accounts;", "SQL", "Java")).join();
+
+        assertFalse(response.isSuccess());
+        assertEquals("Failed to convert segment 2 of 3: Failed to convert code: rate limited", response.getError());
+    }
+
+    @Test
+    void testSmallSourceIsConvertedAsRegularRequest() {
+        ConversionRequest request = new ConversionRequest("SELECT 1;", "SQL", "Java");
+        when(conversionService.convertCodeAsync(request)).thenReturn(
+                CompletableFuture.completedFuture(new ConversionResponse("int one = 1;", "SQL", "Java")));
+
+        assertEquals("int one = 1;", chunkedService.convertLarge(request).join().getConvertedCode());
+        verify(conversionService, never()).convertFragmentAsync(any(), isNull());
+        verify(conversionService, never()).convertFragmentAsync(any(), anyString());
+    }
+}
@@ -8,7 +8,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "aicc.upstream.warmup.enabled=false")
 class CodeConversionServiceTest {
 
     @Autowired
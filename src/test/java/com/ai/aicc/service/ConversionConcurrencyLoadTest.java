@@ -0,0 +1,145 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.support.StubOpenAIServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares how many slow upstream calls the blocking and async conversion paths can keep in
+ * flight against a local stub with fixed latency.
+ *
+ * <p>The blocking path is driven by a pool the size of Tomcat's default maximum thread count,
+ * which is what limits POST /api/convert in production. The async path is driven by a single
+ * thread. Run with {@code mvn test -Pload-tests}.
+ */
+@Tag("load")
+@SpringBootTest(properties = {"aicc.cache.enabled=false", "aicc.upstream.limiter.enabled=false",
+        "aicc.fast-path.enabled=false", "aicc.upstream.warmup.enabled=false", "logging.level.com.ai.aicc=WARN"})
+class ConversionConcurrencyLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionConcurrencyLoadTest.class);
+
+    /** Tomcat's default server.tomcat.threads.max */
+    private static final int SERVLET_THREADS = 200;
+    private static final int REQUESTS = 2_000;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(500);
+
+    private static final StubOpenAIServer stub = startStub();
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private CodeConversionService conversionService;
+
+    @DynamicPropertySource
+    static void stubEndpoint(DynamicPropertyRegistry registry) {
+        registry.add("azure.openai.endpoint", stub::endpoint);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void warmUp() {
+        assertTrue(conversionService.convertCode(nextRequest()).isSuccess());
+        assertTrue(conversionService.convertCodeAsync(nextRequest()).join().isSuccess());
+        stub.resetCounters();
+    }
+
+    @Test
+    void testAsyncPathHoldsMoreConcurrentConversionsThanBlockingPath() throws Exception {
+        Result blocking = runBlocking();
+        stub.resetCounters();
+        Result async = runAsync();
+
+        logger.warn("Blocking path: {} threads, peak {} concurrent upstream calls, {} conversions/s",
+                SERVLET_THREADS, blocking.peakConcurrency, String.format("%.0f", blocking.throughput()));
+        logger.warn("Async path:    1 thread, peak {} concurrent upstream calls, {} conversions/s",
+                async.peakConcurrency, String.format("%.0f", async.throughput()));
+
+        assertEquals(REQUESTS, blocking.succeeded);
+        assertEquals(REQUESTS, async.succeeded);
+        assertTrue(blocking.peakConcurrency <= SERVLET_THREADS);
+        assertTrue(async.peakConcurrency > SERVLET_THREADS,
+                "async path should not be limited by the servlet thread count");
+        assertTrue(async.throughput() > blocking.throughput());
+    }
+
+    private Result runBlocking() throws Exception {
+        ExecutorService servletThreads = Executors.newFixedThreadPool(SERVLET_THREADS);
+        try {
+            long start = System.nanoTime();
+            List<CompletableFuture<ConversionResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                ConversionRequest request = nextRequest();
+                responses.add(CompletableFuture.supplyAsync(() -> conversionService.convertCode(request),
+                        servletThreads));
+            }
+            return collect(responses, start);
+        } finally {
+            servletThreads.shutdown();
+            servletThreads.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private Result runAsync() throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<ConversionResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(conversionService.convertCodeAsync(nextRequest()));
+        }
+        return collect(responses, start);
+    }
+
+    private Result collect(List<CompletableFuture<ConversionResponse>> responses, long startNanos) throws Exception {
+        int succeeded = 0;
+        for (CompletableFuture<ConversionResponse> response : responses) {
+            if (response.get(2, TimeUnit.MINUTES).isSuccess()) {
+                succeeded++;
+            }
+        }
+        return new Result(succeeded, stub.peakActive(), System.nanoTime() - startNanos);
+    }
+
+    private static ConversionRequest nextRequest() {
+        // Distinct sources so neither caching nor coalescing hides upstream calls
+        return new ConversionRequest("SELECT " + sequence.incrementAndGet() + " FROM dual", "SQL", "Java");
+    }
+
+    private static StubOpenAIServer startStub() {
+        try {
+            return StubOpenAIServer.start(UPSTREAM_LATENCY);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Result(int succeeded, int peakConcurrency, long elapsedNanos) {
+        double throughput() {
+            return succeeded / (elapsedNanos / 1e9);
+        }
+    }
+}
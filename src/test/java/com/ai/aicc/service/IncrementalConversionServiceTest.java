@@ -0,0 +1,160 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.chunk.SourceSegmenter;
+import com.ai.aicc.incremental.DocumentStore;
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.model.DocumentConversionResponse;
+import com.ai.aicc.model.TokenUsage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IncrementalConversionServiceTest {
+
+    private final CodeConversionService conversionService = mock(CodeConversionService.class);
+    private final IncrementalConversionService incrementalService = new IncrementalConversionService();
+
+    /** Sources sent to the model, in call order */
+    private final List<String> converted = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(incrementalService, "conversionService", conversionService);
+        ReflectionTestUtils.setField(incrementalService, "segmenter", new SourceSegmenter());
+        ReflectionTestUtils.setField(incrementalService, "store", new DocumentStore(100, Duration.ofHours(1)));
+        ReflectionTestUtils.setField(incrementalService, "maxRegionChars", 120);
+        ReflectionTestUtils.setField(incrementalService, "parallelism", 4);
+
+        // The "conversion" upper-cases the code, so the output shows which source it came from
+        when(conversionService.convertFragmentAsync(any(), any())).thenAnswer(invocation ->
+                convert(invocation.getArgument(0)));
+        when(conversionService.convertCodeAsync(any())).thenAnswer(invocation -> convert(invocation.getArgument(0)));
+    }
+
+    private CompletableFuture<ConversionResponse> convert(ConversionRequest request) {
+        converted.add(request.getSourceCode());
+        ConversionResponse response = new ConversionResponse(request.getSourceCode().toUpperCase(Locale.ROOT),
+                request.getSourceLanguage(), request.getTargetLanguage());
+        response.setUsage(new TokenUsage(10, 10, 20));
+        return CompletableFuture.completedFuture(response);
+    }
+
+    @Test
+    void testEditReconvertsOnlyTheChangedRegion() {
+        DocumentConversionResponse first = incrementalService.convert("Orders.java",
+                new ConversionRequest(source(2), "Java", "Python")).join();
+
+        assertTrue(first.getResult().isSuccess());
+        assertEquals(1, first.getRevision());
+        assertEquals(0, first.getReusedLines());
+        int regions = converted.size();
+        assertTrue(regions > 2, "converted in " + regions + " regions");
+
+        converted.clear();
+        DocumentConversionResponse second = incrementalService.convert("Orders.java",
+                new ConversionRequest(source(20), "Java", "Python")).join();
+
+        assertTrue(second.getResult().isSuccess());
+        assertEquals(2, second.getRevision());
+        assertEquals(1, converted.size());
+        assertTrue(converted.get(0).contains("return 20;"));
+        assertTrue(second.getReusedLines() > second.getConvertedLines());
+        assertEquals(20, second.getResult().getUsage().getTotalTokens());
+        // Spliced output equals what a full conversion of the new revision produces
+        assertEquals(first.getResult().getConvertedCode().replace("RETURN 2;", "RETURN 20;"),
+                second.getResult().getConvertedCode());
+    }
+
+    @Test
+    void testUnchangedRevisionCallsNothing() {
+        incrementalService.convert("Orders.java", new ConversionRequest(source(2), "Java", "Python")).join();
+        converted.clear();
+
+        DocumentConversionResponse again = incrementalService.convert("Orders.java",
+                new ConversionRequest(source(2).replace("\n", "\r\n"), "Java", "Python")).join();
+
+        assertTrue(again.getResult().isSuccess());
+        assertTrue(converted.isEmpty());
+        assertEquals(0, again.getConvertedLines());
+        assertNull(again.getResult().getUsage());
+    }
+
+    @Test
+    void testOtherTargetLanguageOrForgottenDocumentIsConvertedInFull() {
+        incrementalService.convert("Orders.java", new ConversionRequest(source(2), "Java", "Python")).join();
+        converted.clear();
+
+        DocumentConversionResponse csharp = incrementalService.convert("Orders.java",
+                new ConversionRequest(source(2), "Java", "C#")).join();
+        assertEquals(0, csharp.getReusedLines());
+        assertFalse(converted.isEmpty());
+
+        assertTrue(incrementalService.forget("Orders.java"));
+        assertFalse(incrementalService.forget("Orders.java"));
+        DocumentConversionResponse restarted = incrementalService.convert("Orders.java",
+                new ConversionRequest(source(2), "Java", "C#")).join();
+        assertEquals(1, restarted.getRevision());
+        assertEquals(0, restarted.getReusedLines());
+    }
+
+    @Test
+    void testFailedRegionKeepsPreviousRevision() {
+        incrementalService.convert("Orders.java", new ConversionRequest(source(2), "Java", "Python")).join();
+        doReturn(CompletableFuture.completedFuture(ConversionResponse.error("Failed to convert code: rate limited")))
+                .when(conversionService).convertFragmentAsync(any(), any());
+
+        DocumentConversionResponse failed = incrementalService.convert("Orders.java",
+                new ConversionRequest(source(20), "Java", "Python")).join();
+
+        assertFalse(failed.getResult().isSuccess());
+        assertTrue(failed.getResult().getError().contains("rate limited"));
+        assertEquals(0, failed.getRevision());
+
+        doAnswer(invocation -> convert(invocation.getArgument(0)))
+                .when(conversionService).convertFragmentAsync(any(), any());
+        DocumentConversionResponse retried = incrementalService.convert("Orders.java",
+                new ConversionRequest(source(20), "Java", "Python")).join();
+        assertEquals(2, retried.getRevision());
+    }
+
+    /**
+     * A class with four methods; the second returns {@code second}.
+     */
+    private static String source(int second) {
+        return """
+                import java.util.List;
+
+                public class Orders {
+                    int first(List<Integer> items) {
+                        return items.size();
+                    }
+
+                    int second() {
+                        return %d;
+                    }
+
+                    int third(int value) {
+                        return value * 3;
+                    }
+
+                    int fourth(int value) {
+                        return value * 4;
+                    }
+                }
+                """.formatted(second);
+    }
+}
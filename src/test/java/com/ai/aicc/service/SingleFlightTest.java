@@ -0,0 +1,112 @@
+package com.ai.aicc.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                return upstream;
+            }));
+        }
+        upstream.complete("converted");
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("converted", result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.executions());
+        assertEquals(19, singleFlight.coalesced());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testBlockingLeaderIsJoinedByOtherThreads() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                    singleFlight.execute("key", () -> {
+                        leaderStarted.countDown();
+                        await(release);
+                        return CompletableFuture.completedFuture("converted");
+                    }).join(), executor);
+            assertTrue(leaderStarted.await(1, TimeUnit.SECONDS));
+
+            List<CompletableFuture<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                followers.add(CompletableFuture.supplyAsync(() ->
+                        singleFlight.execute("key", () -> CompletableFuture.completedFuture("duplicate")).join(),
+                        executor));
+            }
+            while (singleFlight.coalesced() < 5) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("converted", leader.get(1, TimeUnit.SECONDS));
+            for (CompletableFuture<String> follower : followers) {
+                assertEquals("converted", follower.get(1, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailureIsSharedAndKeyIsReleased() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        CompletableFuture<String> failed = singleFlight.execute("key", () -> {
+            throw new IllegalStateException("upstream down");
+        });
+
+        CompletionException error = assertThrows(CompletionException.class, failed::join);
+        assertEquals("upstream down", error.getCause().getMessage());
+        assertEquals("ok", singleFlight.execute("key", () -> CompletableFuture.completedFuture("ok")).join());
+    }
+
+    @Test
+    void testCancellingOneCallerDoesNotCancelOthers() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("key", () -> upstream);
+        CompletableFuture<String> second = singleFlight.execute("key", () -> upstream);
+        first.cancel(true);
+        upstream.complete("converted");
+
+        assertEquals("converted", second.join());
+        assertFalse(upstream.isCancelled());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
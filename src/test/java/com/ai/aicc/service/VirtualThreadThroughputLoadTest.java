@@ -0,0 +1,145 @@
+package com.ai.aicc.service;
+
+import com.ai.aicc.model.ConversionRequest;
+import com.ai.aicc.model.ConversionResponse;
+import com.ai.aicc.support.StubOpenAIServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of the blocking conversion path at 1k-10k concurrent slow upstream calls, comparing
+ * a Tomcat-sized platform thread pool with one virtual thread per request (what
+ * {@code spring.threads.virtual.enabled=true} gives POST /api/convert).
+ *
+ * <p>Requires Java 21: {@code mvn test -Pjava21,load-tests -Dtest=VirtualThreadThroughputLoadTest}.
+ * The java21 profile also enables {@code -Djdk.tracePinnedThreads}, so any carrier-thread pinning in
+ * the request path is printed to the test output.
+ *
+ * <p>With virtual threads the servlet thread count stops being the limit; the next one is the
+ * Azure SDK's default Reactor Netty connection pool (500 connections, 1000 pending acquisitions).
+ * Calls beyond that fail fast with {@code PoolAcquirePendingLimitException}, which is reported as
+ * the error count rather than failing the benchmark.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(properties = {"aicc.cache.enabled=false", "aicc.upstream.limiter.enabled=false",
+        "aicc.fast-path.enabled=false", "aicc.upstream.warmup.enabled=false", "logging.level.com.ai.aicc=WARN"})
+class VirtualThreadThroughputLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadThroughputLoadTest.class);
+
+    /** Tomcat's default server.tomcat.threads.max */
+    private static final int PLATFORM_THREADS = 200;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(250);
+
+    private static final StubOpenAIServer stub = startStub();
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private CodeConversionService conversionService;
+
+    @DynamicPropertySource
+    static void stubEndpoint(DynamicPropertyRegistry registry) {
+        registry.add("azure.openai.endpoint", stub::endpoint);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void warmUp() {
+        assertTrue(conversionService.convertCode(nextRequest()).isSuccess());
+        stub.resetCounters();
+    }
+
+    @ParameterizedTest(name = "{0} concurrent conversions")
+    @ValueSource(ints = {1_000, 5_000, 10_000})
+    void testVirtualThreadsSustainMoreConcurrentBlockingCalls(int concurrency) throws Exception {
+        ExecutorService platformThreads = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        Result platform;
+        try {
+            platform = run(platformThreads, concurrency);
+        } finally {
+            platformThreads.shutdown();
+            platformThreads.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        stub.resetCounters();
+
+        SimpleAsyncTaskExecutor virtualThreads = new SimpleAsyncTaskExecutor("convert-");
+        virtualThreads.setVirtualThreads(true);
+        Result virtual = run(virtualThreads, concurrency);
+
+        logger.warn("{} calls, platform ({} threads): peak {} in flight, {} conversions/s, {} errors, {} ms",
+                concurrency, PLATFORM_THREADS, platform.peakConcurrency, String.format("%.0f", platform.throughput()),
+                concurrency - platform.succeeded, platform.elapsedNanos / 1_000_000);
+        logger.warn("{} calls, virtual threads:      peak {} in flight, {} conversions/s, {} errors, {} ms",
+                concurrency, virtual.peakConcurrency, String.format("%.0f", virtual.throughput()),
+                concurrency - virtual.succeeded, virtual.elapsedNanos / 1_000_000);
+
+        assertEquals(concurrency, platform.succeeded);
+        assertTrue(platform.peakConcurrency <= PLATFORM_THREADS);
+        assertTrue(virtual.succeeded > 0);
+    }
+
+    private Result run(Executor executor, int concurrency) throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<ConversionResponse>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            ConversionRequest request = nextRequest();
+            responses.add(CompletableFuture.supplyAsync(() -> conversionService.convertCode(request), executor));
+        }
+        int succeeded = 0;
+        for (CompletableFuture<ConversionResponse> response : responses) {
+            if (response.get(5, TimeUnit.MINUTES).isSuccess()) {
+                succeeded++;
+            }
+        }
+        return new Result(succeeded, stub.peakActive(), System.nanoTime() - start);
+    }
+
+    private static ConversionRequest nextRequest() {
+        // Distinct sources so neither caching nor coalescing hides upstream calls
+        return new ConversionRequest("SELECT " + sequence.incrementAndGet() + " FROM dual", "SQL", "Java");
+    }
+
+    private static StubOpenAIServer startStub() {
+        try {
+            return StubOpenAIServer.start(UPSTREAM_LATENCY);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Result(int succeeded, int peakConcurrency, long elapsedNanos) {
+        double throughput() {
+            return succeeded / (elapsedNanos / 1e9);
+        }
+    }
+}
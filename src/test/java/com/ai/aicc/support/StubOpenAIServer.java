@@ -0,0 +1,111 @@
+package com.ai.aicc.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal local stand-in for the Azure OpenAI chat completions endpoint.
+ *
+ * <p>Every request is answered with a fixed completion after a configurable latency. Responses
+ * are scheduled on a timer instead of sleeping in a handler thread, so the stub itself can hold
+ * thousands of slow requests open and never becomes the concurrency bottleneck under test.
+ */
+public class StubOpenAIServer implements AutoCloseable {
+
+    static {
+        // The JDK server drops idle keep-alive connections beyond 200 by default, which makes
+        // pooled clients fail with premature-close errors once more connections are open
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", "100000");
+        }
+    }
+
+    private static final byte[] COMPLETION = """
+            {"id":"stub","created":0,"choices":[{"index":0,"message":{"role":"assistant",\
+            "content":"// converted by stub"},"finish_reason":"stop"}],\
+            "usage":{"prompt_tokens":10,"completion_tokens":5,"total_tokens":15}}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(4);
+    private final ScheduledExecutorService timer = Executors.newScheduledThreadPool(2);
+    private volatile Duration latency;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+
+    private StubOpenAIServer(Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 16_384);
+        server.createContext("/", this::handle);
+        server.setExecutor(dispatcher);
+        server.start();
+    }
+
+    public static StubOpenAIServer start(Duration latency) throws IOException {
+        return new StubOpenAIServer(latency);
+    }
+
+    /** @return Endpoint to configure as azure.openai.endpoint */
+    public String endpoint() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    /** @return Highest number of requests held open at the same time since the last reset */
+    public int peakActive() {
+        return peakActive.get();
+    }
+
+    public void resetCounters() {
+        requests.set(0);
+        peakActive.set(active.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        requests.incrementAndGet();
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        timer.schedule(() -> respond(exchange), latency.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void respond(HttpExchange exchange) {
+        active.decrementAndGet();
+        try (exchange) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, COMPLETION.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(COMPLETION);
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to do for a stub
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        timer.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ai.aicc.token;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBudgetTest {
+
+    private final TokenBudget budget = new TokenBudget(8192, 4096, 2.0, 256);
+
+    @Test
+    void testMaxTokensFollowsSourceSize() {
+        assertEquals(2 * 10 + 256, budget.maxTokens(60, 10));
+        assertEquals(2 * 1000 + 256, budget.maxTokens(1050, 1000));
+    }
+
+    @Test
+    void testMaxTokensIsCapped() {
+        // Capped by max-output
+        assertEquals(4096, budget.maxTokens(3050, 3000));
+        // Capped by the context left after the prompt
+        assertEquals(8192 - 7000, budget.maxTokens(7000, 6950));
+    }
+
+    @Test
+    void testPromptWithoutRoomForOutputIsRejected() {
+        TokenLimitExceededException e = assertThrows(TokenLimitExceededException.class,
+                () -> budget.maxTokens(8000, 7950));
+        assertTrue(e.getMessage().contains("/api/convert/large"));
+    }
+}
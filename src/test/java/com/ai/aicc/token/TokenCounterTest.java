@@ -0,0 +1,27 @@
+package com.ai.aicc.token;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenCounterTest {
+
+    private final TokenCounter counter = new TokenCounter("cl100k_base");
+
+    @Test
+    void testCountsBytePairTokens() {
+        assertEquals(2, counter.count("hello world"));
+        assertEquals(0, counter.count(""));
+        assertEquals(0, counter.count(null));
+    }
+
+    @Test
+    void testSpecialTokensAreCountedAsText() {
+        assertTrue(counter.count("String eos = \"<|endoftext|>\";") > 3);
+    }
+
+    @Test
+    void testUnknownEncodingIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenCounter("gpt5_base"));
+    }
+}
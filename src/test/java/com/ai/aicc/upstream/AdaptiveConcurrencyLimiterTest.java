@@ -0,0 +1,113 @@
+package com.ai.aicc.upstream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = 1_000_000_000L;
+
+    private static final int TOKENS = 100;
+
+    private final AtomicLong now = new AtomicLong(1);
+
+    @Test
+    void testLimitGrowsWhileCallsSucceedAtCapacity() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.5, 4.0, now::get);
+
+        // Roughly one round of calls raises the limit by one
+        for (int i = 0; i < 11; i++) {
+            limiter.onSuccess(RTT, TOKENS, limiter.getLimit());
+        }
+        assertEquals(11, limiter.getLimit());
+
+        // Mostly idle capacity is no evidence that more would be tolerated
+        for (int i = 0; i < 50; i++) {
+            limiter.onSuccess(RTT, TOKENS, 1);
+        }
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void testThrottlingDecreasesLimitOncePerRoundTrip() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, 0.5, 4.0, now::get);
+        limiter.onSuccess(RTT, TOKENS, 1);
+
+        limiter.onThrottled();
+        assertEquals(10, limiter.getLimit());
+
+        // Further 429s of the same burst are one congestion event
+        limiter.onThrottled();
+        limiter.onThrottled();
+        assertEquals(10, limiter.getLimit());
+
+        now.addAndGet(RTT + 1);
+        limiter.onThrottled();
+        assertEquals(5, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(RTT + 1);
+            limiter.onThrottled();
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testRisingLatencyLowersLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100, 0.5, 2.0, now::get);
+        limiter.onSuccess(RTT, TOKENS, 50);
+        int before = limiter.getLimit();
+
+        // The smoothed time per token climbs past twice the baseline
+        for (int i = 0; i < 20; i++) {
+            now.addAndGet(20 * RTT);
+            limiter.onSuccess(20 * RTT, TOKENS, 50);
+        }
+        assertTrue(limiter.getLimit() < before, "limit " + limiter.getLimit() + " should be below " + before);
+    }
+
+    @Test
+    void testMixedAnswerSizesDoNotLowerLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 0.5, 4.0, now::get);
+        Random random = new Random(42);
+
+        // 0.5s to the first token, then 20ms per token; answers of 10 to 2,000 tokens
+        for (int i = 0; i < 1_000; i++) {
+            int tokens = random.nextBoolean() ? 10 + random.nextInt(40) : 500 + random.nextInt(1_500);
+            long rtt = 500_000_000L + tokens * 20_000_000L;
+            now.addAndGet(rtt / limiter.getLimit());
+            limiter.onSuccess(rtt, tokens, limiter.getLimit());
+        }
+        assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit() + " should have grown");
+    }
+
+    @Test
+    void testCallsWithoutTokenCountOnlyRaiseLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.5, 2.0, now::get);
+        limiter.onSuccess(RTT, TOKENS, 10);
+
+        for (int i = 0; i < 11; i++) {
+            now.addAndGet(20 * RTT);
+            limiter.onSuccess(20 * RTT, 0, limiter.getLimit());
+        }
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void testLimitStaysWithinBounds() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(500, 4, 8, 0.1, 4.0, now::get);
+        assertEquals(8, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess(RTT, TOKENS, 8);
+        }
+        assertEquals(8, limiter.getLimit());
+
+        limiter.onThrottled();
+        assertEquals(4, limiter.getLimit());
+    }
+}
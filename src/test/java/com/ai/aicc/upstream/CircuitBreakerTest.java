@@ -0,0 +1,94 @@
+package com.ai.aicc.upstream;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CircuitBreakerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, Duration.ofSeconds(5), 0.75,
+            Duration.ofSeconds(30), 2);
+
+    @Test
+    void testOpensOnFailureRateAndRecoversThroughTrialCalls() {
+        long now = 0;
+        breaker.onResult(false, null, 100 * MS, now);
+        breaker.onResult(false, httpError(503), 100 * MS, now);
+        breaker.onResult(false, null, 100 * MS, now);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onResult(false, new CompletionException(new TimeoutException()), 100 * MS, now);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.Admission.REJECTED, breaker.tryAcquire(now + 1_000 * MS));
+        assertEquals(29, breaker.retryAfterSeconds(now + 1_000 * MS));
+
+        // After the open period two trial calls are let through, no more
+        now += 30_000 * MS;
+        assertEquals(CircuitBreaker.Admission.TRIAL, breaker.tryAcquire(now));
+        assertEquals(CircuitBreaker.Admission.TRIAL, breaker.tryAcquire(now));
+        assertEquals(CircuitBreaker.Admission.REJECTED, breaker.tryAcquire(now));
+
+        // A late result of a call started before the breaker opened decides nothing
+        breaker.onResult(false, null, 100 * MS, now);
+        breaker.onResult(true, null, 100 * MS, now);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(true, null, 100 * MS, now);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(CircuitBreaker.Admission.PERMITTED, breaker.tryAcquire(now));
+        assertEquals(1, breaker.getTimesOpened());
+    }
+
+    @Test
+    void testOpensOnSlowCallsAndReopensOnFailedTrial() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(false, null, i == 0 ? 100 * MS : 6_000 * MS, 0);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        long now = 31_000 * MS;
+        assertEquals(CircuitBreaker.Admission.TRIAL, breaker.tryAcquire(now));
+        breaker.onResult(true, null, 6_000 * MS, now);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(30, breaker.retryAfterSeconds(now));
+        assertEquals(2, breaker.getTimesOpened());
+    }
+
+    @Test
+    void testClientErrorsThrottlingAndCancellationsAreNotFailures() {
+        for (int i = 0; i < 10; i++) {
+            breaker.onResult(false, httpError(i % 2 == 0 ? 400 : 429), 100 * MS, 0);
+            breaker.onResult(false, new CancellationException(), 100 * MS, 0);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // Old failures leave the window as newer calls succeed
+        breaker.onResult(false, httpError(500), 100 * MS, 0);
+        for (int i = 0; i < 20; i++) {
+            breaker.onResult(false, null, 100 * MS, 0);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(false, httpError(502), 100 * MS, 0);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(CircuitBreaker.isFailure(httpError(408)));
+        assertFalse(CircuitBreaker.isFailure(httpError(404)));
+    }
+
+    private static HttpResponseException httpError(int status) {
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.getStatusCode()).thenReturn(status);
+        return new HttpResponseException("HTTP " + status, response);
+    }
+}
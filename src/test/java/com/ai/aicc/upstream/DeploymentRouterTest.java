@@ -0,0 +1,271 @@
+package com.ai.aicc.upstream;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeploymentRouterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private Deployment deployment(String name, int weight, long tokensPerMinute) {
+        return new Deployment(name, "https://" + name + ".example.com/", "key", "gpt-4.1", weight,
+                tokensPerMinute, clock.get());
+    }
+
+    private DeploymentRouter router(Deployment... deployments) {
+        return new DeploymentRouter(List.of(deployments), 3, 2, Duration.ofSeconds(30),
+                new HedgingPolicy(false, 0.95, Duration.ZERO, 0, 0), clock::get);
+    }
+
+    private static HttpResponseException httpError(int status, String retryAfter) {
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.getStatusCode()).thenReturn(status);
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaderName.RETRY_AFTER, retryAfter);
+        }
+        when(response.getHeaders()).thenReturn(headers);
+        return new HttpResponseException("HTTP " + status, response);
+    }
+
+    @Test
+    void testOutstandingCallsAreSpreadByWeight() {
+        DeploymentRouter router = router(deployment("a", 1, 0), deployment("b", 2, 0));
+        Map<String, Integer> selected = new HashMap<>();
+
+        // Calls that have not finished yet count as outstanding
+        for (int i = 0; i < 30; i++) {
+            Deployment deployment = router.select(100, new ArrayList<>());
+            deployment.begin();
+            selected.merge(deployment.name(), 1, Integer::sum);
+        }
+
+        assertEquals(10, selected.get("a"));
+        assertEquals(20, selected.get("b"));
+    }
+
+    @Test
+    void testServerErrorFailsOverToAnotherDeployment() {
+        DeploymentRouter router = router(deployment("a", 1, 0), deployment("b", 1, 0));
+        List<String> attempts = new ArrayList<>();
+
+        String result = router.call(100, deployment -> {
+            attempts.add(deployment.name());
+            if (deployment.name().equals("a")) {
+                throw httpError(503, null);
+            }
+            return "converted";
+        });
+
+        assertEquals("converted", result);
+        assertEquals(List.of("a", "b"), attempts);
+    }
+
+    @Test
+    void testClientErrorIsNotRetried() {
+        DeploymentRouter router = router(deployment("a", 1, 0), deployment("b", 1, 0));
+        List<String> attempts = new ArrayList<>();
+
+        assertThrows(HttpResponseException.class, () -> router.call(100, deployment -> {
+            attempts.add(deployment.name());
+            throw httpError(400, null);
+        }));
+        assertEquals(1, attempts.size());
+        assertTrue(router.stats().stream().allMatch(stats -> stats.isHealthy() && stats.getFailures() == 0));
+    }
+
+    @Test
+    void testFailingDeploymentIsEjectedUntilEjectionEnds() {
+        Deployment a = deployment("a", 1, 0);
+        DeploymentRouter router = router(a, deployment("b", 1, 0));
+        for (int i = 0; i < 2; i++) {
+            router.call(100, deployment -> {
+                if (deployment == a) {
+                    throw httpError(500, null);
+                }
+                return "ok";
+            });
+        }
+        assertFalse(router.stats().get(0).isHealthy());
+
+        // While ejected, every call goes to b even though a has no outstanding calls
+        for (int i = 0; i < 5; i++) {
+            assertEquals("b", router.call(100, Deployment::name));
+        }
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertTrue(router.stats().get(0).isHealthy());
+        assertEquals("a", router.call(100, Deployment::name));
+    }
+
+    @Test
+    void testRetryAfterEjectsImmediately() {
+        Deployment a = deployment("a", 1, 0);
+        DeploymentRouter router = router(a, deployment("b", 1, 0));
+
+        router.call(100, deployment -> {
+            if (deployment == a) {
+                throw httpError(429, "60");
+            }
+            return "ok";
+        });
+
+        assertFalse(router.stats().get(0).isHealthy());
+        clock.addAndGet(Duration.ofSeconds(45).toNanos());
+        assertFalse(router.stats().get(0).isHealthy());
+    }
+
+    @Test
+    void testTokenBudgetSteersCallsToDeploymentWithQuotaLeft() {
+        DeploymentRouter router = router(deployment("small", 1, 1_000), deployment("large", 1, 100_000));
+
+        assertEquals("small", router.call(900, Deployment::name));
+        assertEquals("large", router.call(900, Deployment::name));
+        assertEquals(100, router.stats().get(0).getAvailableTokens());
+
+        // Refills at the quota rate: a minute restores the full budget
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertEquals("small", router.call(900, Deployment::name));
+    }
+
+    @Test
+    void testAsyncCallFailsOver() {
+        DeploymentRouter router = router(deployment("a", 1, 0), deployment("b", 1, 0));
+
+        String result = router.callAsync(100, () -> null, deployment -> deployment.name().equals("a")
+                ? CompletableFuture.<String>failedFuture(new CompletionException(httpError(502, null)))
+                : CompletableFuture.completedFuture("converted by " + deployment.name())).join();
+
+        assertEquals("converted by b", result);
+        assertTrue(router.stats().stream().allMatch(stats -> stats.getOutstanding() == 0));
+    }
+
+    @Test
+    void testStreamFailsOverOnlyBeforeFirstElement() {
+        DeploymentRouter router = router(deployment("a", 1, 0), deployment("b", 1, 0));
+
+        List<String> failedEarly = router.stream(100, deployment -> deployment.name().equals("a")
+                ? Flux.<String>error(httpError(503, null))
+                : Flux.just("x", "y")).collectList().block();
+        assertEquals(List.of("x", "y"), failedEarly);
+
+        List<String> emitted = new ArrayList<>();
+        assertThrows(HttpResponseException.class, () -> router.stream(100, deployment ->
+                Flux.just("partial").concatWith(Flux.error(httpError(503, null))))
+                .doOnNext(emitted::add).blockLast());
+        assertEquals(List.of("partial"), emitted);
+    }
+
+    @Test
+    void testSlowCallIsHedgedAndLoserCancelled() {
+        HedgingPolicy hedging = hedgingPolicy();
+        DeploymentRouter router = new DeploymentRouter(List.of(deployment("a", 1, 0), deployment("b", 1, 0)),
+                3, 2, Duration.ofSeconds(30), hedging, clock::get);
+        UpstreamScheduler scheduler = scheduler(2);
+        UpstreamScheduler.Permit primary = scheduler.tryAcquire(Priority.INTERACTIVE);
+        CompletableFuture<String> stalled = new CompletableFuture<>();
+
+        String result = router.callAsync(100, () -> scheduler.tryAcquire(Priority.INTERACTIVE),
+                deployment -> deployment.name().equals("a")
+                        ? stalled
+                        : CompletableFuture.completedFuture("converted by " + deployment.name())).join();
+
+        assertEquals("converted by b", result);
+        assertTrue(stalled.isCancelled());
+        assertEquals(1, hedging.stats().getHedgeWins());
+        assertTrue(router.stats().stream().allMatch(stats -> stats.getOutstanding() == 0));
+        // The hedge released its own permit; the caller's is still held
+        assertEquals(2, scheduler.stats().getDispatched());
+        assertEquals(1, scheduler.stats().getInFlight());
+        primary.release(null);
+    }
+
+    @Test
+    void testCallIsNotHedgedWithoutSpareUpstreamCapacity() throws Exception {
+        HedgingPolicy hedging = hedgingPolicy();
+        DeploymentRouter router = new DeploymentRouter(List.of(deployment("a", 1, 0), deployment("b", 1, 0)),
+                3, 2, Duration.ofSeconds(30), hedging, clock::get);
+        UpstreamScheduler scheduler = scheduler(1);
+        UpstreamScheduler.Permit primary = scheduler.tryAcquire(Priority.INTERACTIVE);
+        CountDownLatch hedgeConsidered = new CountDownLatch(1);
+        List<String> attempts = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> slow = new CompletableFuture<>();
+
+        CompletableFuture<String> result = router.callAsync(100, () -> {
+            hedgeConsidered.countDown();
+            return scheduler.tryAcquire(Priority.INTERACTIVE);
+        }, deployment -> {
+            attempts.add(deployment.name());
+            return slow;
+        });
+
+        assertTrue(hedgeConsidered.await(5, TimeUnit.SECONDS));
+        slow.complete("converted");
+        assertEquals("converted", result.join());
+        assertEquals(1, attempts.size());
+        assertEquals(0, hedging.stats().getHedges());
+        assertNull(scheduler.tryAcquire(Priority.INTERACTIVE));
+        primary.release(null);
+    }
+
+    private static HedgingPolicy hedgingPolicy() {
+        HedgingPolicy hedging = new HedgingPolicy(true, 0.5, Duration.ofMillis(20), 1.0, 1);
+        for (int i = 0; i < 32; i++) {
+            hedging.recordPrimary(Duration.ofMillis(5).toNanos());
+        }
+        return hedging;
+    }
+
+    private static UpstreamScheduler scheduler(int limit) {
+        return new UpstreamScheduler(true, new AdaptiveConcurrencyLimiter(limit, 1, limit, 0.5, 4.0, System::nanoTime),
+                Duration.ofMinutes(1), Duration.ofMinutes(1), 10, System::nanoTime);
+    }
+
+    @Test
+    void testWarmUpOpensConnectionsToEveryDeploymentAndIgnoresFailures() {
+        List<String> requested = new ArrayList<>();
+        HttpClient httpClient = request -> {
+            synchronized (requested) {
+                requested.add(request.getHttpMethod() + " " + request.getUrl());
+            }
+            if (request.getUrl().getHost().startsWith("down")) {
+                return Mono.error(new IOException("Connection refused"));
+            }
+            HttpResponse response = mock(HttpResponse.class);
+            when(response.getStatusCode()).thenReturn(404);
+            return Mono.just(response);
+        };
+        DeploymentRouter router = router(
+                new Deployment("up", "https://up.example.com/", "key", "gpt-4.1", 1, 0, clock.get(), httpClient),
+                new Deployment("down", "https://down.example.com/", "key", "gpt-4.1", 1, 0, clock.get(), httpClient));
+
+        router.warmUp(2).block(Duration.ofSeconds(5));
+
+        assertEquals(4, requested.size());
+        assertEquals(2, requested.stream().filter("GET https://up.example.com/"::equals).count());
+        assertEquals(2, requested.stream().filter("GET https://down.example.com/"::equals).count());
+    }
+}
@@ -0,0 +1,75 @@
+package com.ai.aicc.upstream;
+
+import com.ai.aicc.model.HedgingStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingPolicyTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void testNoHedgingUntilEnoughSamples() {
+        HedgingPolicy policy = new HedgingPolicy(true, 0.9, Duration.ofMillis(100), 1.0, 64);
+
+        for (int i = 0; i < 32; i++) {
+            policy.recordPrimary(500 * MILLIS);
+        }
+        assertEquals(-1, policy.onCall());
+
+        for (int i = 0; i < 32; i++) {
+            policy.recordPrimary(500 * MILLIS);
+        }
+        assertEquals(500 * MILLIS, policy.onCall());
+    }
+
+    @Test
+    void testDelayFollowsPercentileButNotBelowMinimum() {
+        HedgingPolicy policy = new HedgingPolicy(true, 0.9, Duration.ofMillis(100), 1.0, 10);
+
+        for (int i = 1; i <= 64; i++) {
+            policy.recordPrimary((i <= 57 ? 10 : 1000) * MILLIS);
+        }
+        // 7 of 64 samples are slow, so the 90th percentile is one of them
+        assertEquals(1000 * MILLIS, policy.onCall());
+
+        HedgingPolicy fast = new HedgingPolicy(true, 0.9, Duration.ofMillis(100), 1.0, 10);
+        for (int i = 0; i < 64; i++) {
+            fast.recordPrimary(10 * MILLIS);
+        }
+        assertEquals(100 * MILLIS, fast.onCall());
+    }
+
+    @Test
+    void testHedgesAreCappedByRatio() {
+        HedgingPolicy policy = new HedgingPolicy(true, 0.9, Duration.ofMillis(100), 0.25, 10);
+
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.onCall();
+            if (policy.tryHedge()) {
+                hedges++;
+            }
+        }
+
+        assertEquals(25, hedges);
+    }
+
+    @Test
+    void testStatsReportTailLatencySaved() {
+        HedgingPolicy policy = new HedgingPolicy(true, 0.9, Duration.ofMillis(100), 0.25, 10);
+        for (int i = 0; i < 100; i++) {
+            policy.recordPrimary((i < 95 ? 4_000 : 30_000) * MILLIS);
+            policy.recordDelivered((i < 95 ? 4_000 : 12_000) * MILLIS, i >= 95);
+        }
+
+        HedgingStats stats = policy.stats();
+        assertEquals(30_000, stats.getPrimaryP99Millis());
+        assertEquals(12_000, stats.getDeliveredP99Millis());
+        assertEquals(18_000, stats.getP99ImprovementMillis());
+        assertEquals(5, stats.getHedgeWins());
+    }
+}
@@ -0,0 +1,234 @@
+package com.ai.aicc.upstream;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UpstreamSchedulerTest {
+
+    @Test
+    void testCallersBeyondLimitWaitForRelease() throws Exception {
+        UpstreamScheduler scheduler = newScheduler(2, Duration.ofMinutes(1), 10);
+
+        UpstreamScheduler.Permit first = scheduler.acquire(Priority.INTERACTIVE).getNow(null);
+        UpstreamScheduler.Permit second = scheduler.acquire(Priority.INTERACTIVE).getNow(null);
+        CompletableFuture<UpstreamScheduler.Permit> third = scheduler.acquire(Priority.INTERACTIVE);
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertFalse(third.isDone());
+        assertEquals(2, scheduler.stats().getInFlight());
+        assertEquals(1, scheduler.stats().getQueuedInteractive());
+
+        first.release(null);
+        first.release(null);
+        assertNotNull(third.get(1, TimeUnit.SECONDS));
+        assertEquals(2, scheduler.stats().getInFlight());
+        assertEquals(0, scheduler.stats().getQueuedInteractive());
+    }
+
+    @Test
+    void testInteractiveCallersOvertakeBatchButBatchIsNotStarved() {
+        UpstreamScheduler scheduler = newScheduler(1, Duration.ofMinutes(1), 100);
+        UpstreamScheduler.Permit running = scheduler.acquire(Priority.BATCH).getNow(null);
+
+        List<String> order = new ArrayList<>();
+        ArrayDeque<UpstreamScheduler.Permit> granted = new ArrayDeque<>();
+        for (int i = 0; i < 2; i++) {
+            String name = "batch-" + i;
+            scheduler.acquire(Priority.BATCH).thenAccept(permit -> record(order, granted, name, permit));
+        }
+        for (int i = 0; i < 6; i++) {
+            String name = "interactive-" + i;
+            scheduler.acquire(Priority.INTERACTIVE).thenAccept(permit -> record(order, granted, name, permit));
+        }
+
+        // Each release hands the single permit to the next caller in line
+        running.release(null);
+        while (!granted.isEmpty()) {
+            granted.poll().release(null);
+        }
+
+        assertEquals(List.of("interactive-0", "interactive-1", "interactive-2", "interactive-3", "batch-0",
+                "interactive-4", "interactive-5", "batch-1"), order);
+    }
+
+    @Test
+    void testFullQueueAndQueueTimeoutRejectCallers() throws Exception {
+        UpstreamScheduler scheduler = newScheduler(1, Duration.ofMillis(50), 1);
+        UpstreamScheduler.Permit running = scheduler.acquire(Priority.INTERACTIVE).getNow(null);
+        CompletableFuture<UpstreamScheduler.Permit> queued = scheduler.acquire(Priority.INTERACTIVE);
+
+        CompletableFuture<UpstreamScheduler.Permit> overflow = scheduler.acquire(Priority.INTERACTIVE);
+        ExecutionException full = assertThrows(ExecutionException.class, overflow::get);
+        assertInstanceOf(UpstreamRejectedException.class, full.getCause());
+
+        ExecutionException timedOut = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UpstreamRejectedException.class, timedOut.getCause());
+        assertEquals(1, scheduler.stats().getRejected());
+        assertEquals(1, scheduler.stats().getExpired());
+
+        // The expired caller did not take the permit freed afterwards
+        running.release(null);
+        assertEquals(0, scheduler.stats().getInFlight());
+    }
+
+    @Test
+    void testCancelledWaiterHandsPermitOn() throws Exception {
+        UpstreamScheduler scheduler = newScheduler(1, Duration.ofMinutes(1), 10);
+        UpstreamScheduler.Permit running = scheduler.acquire(Priority.INTERACTIVE).getNow(null);
+        CompletableFuture<UpstreamScheduler.Permit> cancelled = scheduler.acquire(Priority.INTERACTIVE);
+        CompletableFuture<UpstreamScheduler.Permit> next = scheduler.acquire(Priority.BATCH);
+
+        cancelled.cancel(false);
+        assertEquals(0, scheduler.stats().getQueuedInteractive());
+        running.release(null);
+
+        assertNotNull(next.get(1, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.stats().getInFlight());
+        assertEquals(2, scheduler.stats().getDispatched());
+    }
+
+    @Test
+    void testCancelledWaitersAreNotReportedAsCalls() {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 4, 0.5, 4.0, clock::get);
+        CircuitBreaker breaker = new CircuitBreaker(10, 1, 0.5, Duration.ofSeconds(30), 0.5, Duration.ofSeconds(10), 1);
+        UpstreamScheduler scheduler = new UpstreamScheduler(true, limiter, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                10, 1.0, 1.0, breaker, clock::get);
+        List<UpstreamScheduler.Permit> running = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            running.add(scheduler.acquire(Priority.INTERACTIVE).getNow(null));
+        }
+        List<CompletableFuture<UpstreamScheduler.Permit>> waiting = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            waiting.add(scheduler.acquire(Priority.INTERACTIVE));
+        }
+        waiting.forEach(future -> future.cancel(false));
+
+        // Had the cancelled waiters been granted and released at once, their ~0 ns "calls" would be the baseline
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        for (UpstreamScheduler.Permit permit : running) {
+            permit.release(null);
+        }
+        for (int i = 0; i < 4; i++) {
+            assertEquals("ok", scheduler.call(Priority.INTERACTIVE, () -> {
+                clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+                return "ok";
+            }));
+        }
+        assertEquals(4, scheduler.stats().getLimit());
+        assertEquals(0, scheduler.stats().getQueuedInteractive());
+        assertEquals("CLOSED", scheduler.stats().getCircuitState());
+    }
+
+    @Test
+    void testThrottledCallsLowerTheLimit() {
+        UpstreamScheduler scheduler = newScheduler(8, Duration.ofMinutes(1), 10);
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.getStatusCode()).thenReturn(429);
+
+        HttpResponseException tooManyRequests = new HttpResponseException("Too Many Requests", response);
+        assertThrows(HttpResponseException.class, () -> scheduler.call(Priority.INTERACTIVE, () -> {
+            throw tooManyRequests;
+        }));
+        CompletableFuture<String> timedOut = scheduler.callAsync(Priority.BATCH,
+                () -> CompletableFuture.failedFuture(new TimeoutException()));
+
+        // No round-trip time is known yet, so both failures count as separate congestion events
+        assertTrue(timedOut.isCompletedExceptionally());
+        assertEquals(2, scheduler.stats().getLimit());
+        assertEquals(2, scheduler.stats().getThrottled());
+        assertEquals(0, scheduler.stats().getInFlight());
+        assertEquals("ok", scheduler.call(Priority.INTERACTIVE, () -> "ok"));
+    }
+
+    @Test
+    void testDisabledSchedulerAdmitsEveryCall() {
+        UpstreamScheduler scheduler = new UpstreamScheduler(false,
+                new AdaptiveConcurrencyLimiter(1, 1, 1, 0.5, 4.0, System::nanoTime),
+                Duration.ofMinutes(1), Duration.ofMinutes(1), 0, System::nanoTime);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(scheduler.acquire(Priority.BATCH).isDone());
+        }
+        assertFalse(scheduler.stats().isEnabled());
+    }
+
+    @Test
+    void testBatchCallsCannotTakeThePermitsOfInteractiveCalls() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 4, 0.5, 4.0, System::nanoTime);
+        UpstreamScheduler scheduler = new UpstreamScheduler(true, limiter, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                10, 0.75, 0.5, null, System::nanoTime);
+
+        UpstreamScheduler.Permit batch1 = scheduler.acquire(Priority.BATCH).getNow(null);
+        assertNotNull(batch1);
+        assertNotNull(scheduler.acquire(Priority.BATCH).getNow(null));
+        CompletableFuture<UpstreamScheduler.Permit> batch3 = scheduler.acquire(Priority.BATCH);
+        assertFalse(batch3.isDone());
+
+        // Half the limit is still free for interactive calls, which in turn leave one permit to batch
+        assertNotNull(scheduler.acquire(Priority.INTERACTIVE).getNow(null));
+        assertNotNull(scheduler.acquire(Priority.INTERACTIVE).getNow(null));
+        assertEquals(2, scheduler.stats().getInFlightBatch());
+        assertEquals(2, scheduler.stats().getInFlightInteractive());
+
+        batch1.release(null);
+        assertTrue(batch3.isDone());
+        assertEquals(2, scheduler.stats().getInFlightBatch());
+    }
+
+    @Test
+    void testOpenCircuitFailsNewAndWaitingCallersAtOnce() {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, 0.5, 4.0, clock::get);
+        CircuitBreaker breaker = new CircuitBreaker(10, 2, 0.5, Duration.ofSeconds(30), 0.8, Duration.ofSeconds(10), 1);
+        UpstreamScheduler scheduler = new UpstreamScheduler(true, limiter, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                10, 1.0, 1.0, breaker, clock::get);
+
+        UpstreamScheduler.Permit first = scheduler.acquire(Priority.INTERACTIVE).getNow(null);
+        UpstreamScheduler.Permit second = scheduler.acquire(Priority.BATCH).getNow(null);
+        CompletableFuture<UpstreamScheduler.Permit> waiting = scheduler.acquire(Priority.INTERACTIVE);
+        first.release(new TimeoutException());
+        second.release(new TimeoutException());
+
+        ExecutionException released = assertThrows(ExecutionException.class, waiting::get);
+        assertInstanceOf(CircuitOpenException.class, released.getCause());
+        ExecutionException rejected = assertThrows(ExecutionException.class,
+                () -> scheduler.acquire(Priority.INTERACTIVE).get());
+        assertEquals(10, ((CircuitOpenException) rejected.getCause()).getRetryAfterSeconds());
+        assertEquals("OPEN", scheduler.stats().getCircuitState());
+        assertEquals(2, scheduler.stats().getShortCircuited());
+        assertEquals(0, scheduler.stats().getInFlight());
+
+        // A successful trial call closes the breaker again
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals("ok", scheduler.call(Priority.INTERACTIVE, () -> "ok"));
+        assertEquals("CLOSED", scheduler.stats().getCircuitState());
+    }
+
+    private static UpstreamScheduler newScheduler(int limit, Duration timeout, int maxQueued) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limit, 1, limit, 0.5, 4.0, System::nanoTime);
+        return new UpstreamScheduler(true, limiter, timeout, timeout, maxQueued, System::nanoTime);
+    }
+
+    private static void record(List<String> order, ArrayDeque<UpstreamScheduler.Permit> granted, String name,
+                               UpstreamScheduler.Permit permit) {
+        order.add(name);
+        granted.add(permit);
+    }
+}